@@ -111,6 +111,37 @@ public class AnalyzerModuleConfig extends ModuleConfig {
     @Getter
     private String segmentStatusAnalysisStrategy = FROM_SPAN_STATUS.name();
 
+    /**
+     * Make the sampling decision per trace rather than per segment. The segments are buffered by trace ID until
+     * {@link #traceTailSamplingDecisionWait} after the first segment of the trace, then all segments of the trace are
+     * saved or dropped together, by the error status, the trace latency and the sampling rate of the service of the
+     * earliest segment. The metrics analysis is not affected.
+     *
+     * @since 9.1.0
+     */
+    @Setter
+    @Getter
+    private boolean traceTailSampling = false;
+
+    /**
+     * The time window(in seconds) of a trace waiting for its segments before the tail sampling decision.
+     *
+     * @since 9.1.0
+     */
+    @Setter
+    @Getter
+    private int traceTailSamplingDecisionWait = 10;
+
+    /**
+     * The max estimated memory(in MB) of the buffered segments. The oldest traces are decided earlier than their window
+     * once it is reached.
+     *
+     * @since 9.1.0
+     */
+    @Setter
+    @Getter
+    private int traceTailSamplingBufferSize = 256;
+
     private List<Integer> virtualPeers;
 
     /**
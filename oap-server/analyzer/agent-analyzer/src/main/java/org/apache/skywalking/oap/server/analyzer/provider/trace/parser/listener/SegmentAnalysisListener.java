@@ -20,6 +20,7 @@ package org.apache.skywalking.oap.server.analyzer.provider.trace.parser.listener
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.skywalking.apm.network.language.agent.v3.SegmentObject;
@@ -28,6 +29,7 @@ import org.apache.skywalking.oap.server.core.analysis.manual.searchtag.TagType;
 import org.apache.skywalking.oap.server.core.source.TagAutocomplete;
 import org.apache.skywalking.oap.server.library.util.StringUtil;
 import org.apache.skywalking.oap.server.analyzer.provider.AnalyzerModuleConfig;
+import org.apache.skywalking.oap.server.analyzer.provider.trace.sampling.TailSamplingBuffer;
 import org.apache.skywalking.oap.server.analyzer.provider.trace.parser.listener.strategy.SegmentStatusAnalyzer;
 import org.apache.skywalking.oap.server.analyzer.provider.trace.parser.listener.strategy.SegmentStatusStrategy;
 import org.apache.skywalking.oap.server.core.Const;
@@ -41,6 +43,8 @@ import org.apache.skywalking.oap.server.core.source.Segment;
 import org.apache.skywalking.oap.server.core.source.SourceReceiver;
 import org.apache.skywalking.oap.server.library.module.ModuleManager;
 import org.apache.skywalking.oap.server.library.util.BooleanUtils;
+import org.apache.skywalking.oap.server.telemetry.TelemetryModule;
+import org.apache.skywalking.oap.server.telemetry.api.MetricsCreator;
 
 /**
  * SegmentSpanListener forwards the segment raw data to the persistence layer with the query required conditions.
@@ -54,6 +58,10 @@ public class SegmentAnalysisListener implements FirstAnalysisListener, EntryAnal
     private final NamingControl namingControl;
     private final List<String> searchableTagKeys;
     private final SegmentStatusAnalyzer segmentStatusAnalyzer;
+    /**
+     * Not null means the tail sampling is activated, the sampling decision is made by the buffer per trace.
+     */
+    private final TailSamplingBuffer tailSamplingBuffer;
 
     private final Segment segment = new Segment();
     private SAMPLE_STATUS sampleStatus = SAMPLE_STATUS.UNKNOWN;
@@ -65,6 +73,7 @@ public class SegmentAnalysisListener implements FirstAnalysisListener, EntryAnal
     private long endTimestamp;
     private int duration;
     private boolean isError;
+    private String samplingService = Const.EMPTY_STRING;
 
     @Override
     public boolean containsPoint(Point point) {
@@ -137,7 +146,10 @@ public class SegmentAnalysisListener implements FirstAnalysisListener, EntryAnal
         final long accurateDuration = endTimestamp - startTimestamp;
         duration = accurateDuration > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) accurateDuration;
 
-        if (sampleStatus.equals(SAMPLE_STATUS.UNKNOWN) || sampleStatus.equals(SAMPLE_STATUS.IGNORE)) {
+        if (tailSamplingBuffer != null) {
+            samplingService = segmentObject.getService();
+            sampleStatus = SAMPLE_STATUS.SAMPLED;
+        } else if (sampleStatus.equals(SAMPLE_STATUS.UNKNOWN) || sampleStatus.equals(SAMPLE_STATUS.IGNORE)) {
             if (sampler.shouldSample(segmentObject, duration)) {
                 sampleStatus = SAMPLE_STATUS.SAMPLED;
             } else if (isError && forceSampleErrorSegment) {
@@ -174,11 +186,19 @@ public class SegmentAnalysisListener implements FirstAnalysisListener, EntryAnal
 
         segment.setEndpointId(endpointId);
 
+        if (tailSamplingBuffer != null) {
+            tailSamplingBuffer.offer(samplingService, segment);
+            return;
+        }
+        receive(sourceReceiver, segment);
+    }
+
+    private static void receive(SourceReceiver sourceReceiver, Segment segment) {
         sourceReceiver.receive(segment);
-        addAutocompleteTags();
+        addAutocompleteTags(sourceReceiver, segment);
     }
 
-    private void addAutocompleteTags() {
+    private static void addAutocompleteTags(SourceReceiver sourceReceiver, Segment segment) {
         segment.getTags().forEach(tag -> {
             TagAutocomplete tagAutocomplete = new TagAutocomplete();
             tagAutocomplete.setTagKey(tag.getKey());
@@ -200,6 +220,7 @@ public class SegmentAnalysisListener implements FirstAnalysisListener, EntryAnal
         private final NamingControl namingControl;
         private final List<String> searchTagKeys;
         private final SegmentStatusAnalyzer segmentStatusAnalyzer;
+        private final TailSamplingBuffer tailSamplingBuffer;
 
         public Factory(ModuleManager moduleManager, AnalyzerModuleConfig config) {
             this.sourceReceiver = moduleManager.find(CoreModule.NAME).provider().getService(SourceReceiver.class);
@@ -214,6 +235,20 @@ public class SegmentAnalysisListener implements FirstAnalysisListener, EntryAnal
                                               .getService(NamingControl.class);
             this.segmentStatusAnalyzer = SegmentStatusStrategy.findByName(config.getSegmentStatusAnalysisStrategy())
                                                               .getExceptionAnalyzer();
+            if (config.isTraceTailSampling()) {
+                this.tailSamplingBuffer = new TailSamplingBuffer(
+                    config.getTraceSamplingPolicyWatcher(),
+                    forceSampleErrorSegment,
+                    TimeUnit.SECONDS.toMillis(config.getTraceTailSamplingDecisionWait()),
+                    config.getTraceTailSamplingBufferSize() * 1024L * 1024L,
+                    segment -> receive(sourceReceiver, segment)
+                );
+                tailSamplingBuffer.start(moduleManager.find(TelemetryModule.NAME)
+                                                      .provider()
+                                                      .getService(MetricsCreator.class));
+            } else {
+                this.tailSamplingBuffer = null;
+            }
         }
 
         @Override
@@ -224,7 +259,8 @@ public class SegmentAnalysisListener implements FirstAnalysisListener, EntryAnal
                 forceSampleErrorSegment,
                 namingControl,
                 searchTagKeys,
-                segmentStatusAnalyzer
+                segmentStatusAnalyzer,
+                tailSamplingBuffer
             );
         }
     }
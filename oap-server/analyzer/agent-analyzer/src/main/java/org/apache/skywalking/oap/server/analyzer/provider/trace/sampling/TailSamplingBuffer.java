@@ -0,0 +1,271 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.skywalking.oap.server.analyzer.provider.trace.sampling;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.skywalking.oap.server.analyzer.provider.trace.TraceSamplingPolicyWatcher;
+import org.apache.skywalking.oap.server.core.source.Segment;
+import org.apache.skywalking.oap.server.library.util.BooleanUtils;
+import org.apache.skywalking.oap.server.telemetry.api.CounterMetrics;
+import org.apache.skywalking.oap.server.telemetry.api.GaugeMetrics;
+import org.apache.skywalking.oap.server.telemetry.api.MetricsCreator;
+import org.apache.skywalking.oap.server.telemetry.api.MetricsTag;
+
+/**
+ * TailSamplingBuffer makes the sampling decision per trace rather than per segment. The segments are buffered by trace
+ * ID until the decision window of the trace, started by its first segment, is closed. Then all of them are emitted or
+ * dropped together. A trace is sampled when
+ * <ul>
+ *     <li>any segment is in error status, and the error segments are forced to be sampled, or</li>
+ *     <li>the trace latency, from the earliest start to the latest end of its segments, is over the slow threshold of
+ *     the service of the earliest segment, or</li>
+ *     <li>the trace ID is within the sampling rate of that service.</li>
+ * </ul>
+ * The policies are the ones of the {@link TraceSamplingPolicyWatcher}.
+ *
+ * <p>The buffered size is limited, the oldest traces are decided earlier than their window once the limit is reached.
+ * The decisions are kept for a while, so the segments arriving after the decision follow it.
+ */
+@Slf4j
+public class TailSamplingBuffer {
+    private static final int MAX_DECIDED_TRACES = 100_000;
+    /**
+     * The estimated memory of a buffered segment besides its binary data, including the IDs and tags.
+     */
+    private static final int SEGMENT_OVERHEAD = 512;
+
+    private final TraceSamplingPolicyWatcher policyWatcher;
+    private final boolean forceSampleErrorSegment;
+    private final long decisionWait;
+    private final long maxBufferSize;
+    private final Consumer<Segment> emitter;
+
+    /**
+     * The traces waiting for the decision, in the order of their first segments.
+     */
+    private final LinkedHashMap<String, PendingTrace> pendingTraces = new LinkedHashMap<>();
+    private final Map<String, Boolean> decidedTraces = new LinkedHashMap<String, Boolean>() {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, Boolean> eldest) {
+            return size() > MAX_DECIDED_TRACES;
+        }
+    };
+    private long bufferedSize;
+    private long bufferedSegments;
+
+    private ScheduledExecutorService scheduler;
+    private GaugeMetrics bufferedSegmentsGauge;
+    private GaugeMetrics bufferedSizeGauge;
+    private CounterMetrics sampledTraces;
+    private CounterMetrics droppedTraces;
+    private CounterMetrics evictedTraces;
+
+    /**
+     * @param decisionWait  the time window(in milliseconds) of a trace, from its first segment to the decision.
+     * @param maxBufferSize the max estimated memory(in bytes) of the buffered segments.
+     * @param emitter       receives the segments of the sampled traces.
+     */
+    public TailSamplingBuffer(TraceSamplingPolicyWatcher policyWatcher, boolean forceSampleErrorSegment,
+                              long decisionWait, long maxBufferSize, Consumer<Segment> emitter) {
+        this.policyWatcher = policyWatcher;
+        this.forceSampleErrorSegment = forceSampleErrorSegment;
+        this.decisionWait = decisionWait;
+        this.maxBufferSize = maxBufferSize;
+        this.emitter = emitter;
+    }
+
+    public void start(MetricsCreator metricsCreator) {
+        bufferedSegmentsGauge = metricsCreator.createGauge(
+            "trace_tail_sampling_buffered_segments", "The number of segments waiting for the tail sampling decision",
+            MetricsTag.EMPTY_KEY, MetricsTag.EMPTY_VALUE
+        );
+        bufferedSizeGauge = metricsCreator.createGauge(
+            "trace_tail_sampling_buffered_bytes", "The estimated memory of the segments waiting for the decision",
+            MetricsTag.EMPTY_KEY, MetricsTag.EMPTY_VALUE
+        );
+        sampledTraces = metricsCreator.createCounter(
+            "trace_tail_sampling_sampled_count", "The number of traces sampled by the tail sampling",
+            MetricsTag.EMPTY_KEY, MetricsTag.EMPTY_VALUE
+        );
+        droppedTraces = metricsCreator.createCounter(
+            "trace_tail_sampling_dropped_count", "The number of traces dropped by the tail sampling",
+            MetricsTag.EMPTY_KEY, MetricsTag.EMPTY_VALUE
+        );
+        evictedTraces = metricsCreator.createCounter(
+            "trace_tail_sampling_evicted_count",
+            "The number of traces decided before the end of their window because the buffer is full",
+            MetricsTag.EMPTY_KEY, MetricsTag.EMPTY_VALUE
+        );
+        scheduler = Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder().setDaemon(true).setNameFormat("TraceTailSampling-%d").build());
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                decideExpired(System.currentTimeMillis());
+            } catch (Throwable t) {
+                log.error("Failed to decide the tail sampling of the buffered traces.", t);
+            }
+        }, 1, 1, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Buffer the segment until the decision of its trace, or follow the decision if it has been made.
+     *
+     * @param service the original service name of the segment, used to find the sampling policy.
+     */
+    public void offer(String service, Segment segment) {
+        final List<PendingTrace> evicted = new ArrayList<>();
+        final Boolean decision;
+        synchronized (this) {
+            decision = decidedTraces.get(segment.getTraceId());
+            if (decision == null) {
+                pendingTraces.computeIfAbsent(segment.getTraceId(), id -> new PendingTrace(System.currentTimeMillis()))
+                             .add(service, segment);
+                bufferedSize += sizeOf(segment);
+                bufferedSegments++;
+                final Iterator<Map.Entry<String, PendingTrace>> it = pendingTraces.entrySet().iterator();
+                while (bufferedSize > maxBufferSize && it.hasNext()) {
+                    evicted.add(remove(it));
+                }
+                updateGauges();
+            }
+        }
+        if (decision != null) {
+            if (decision) {
+                emitter.accept(segment);
+            }
+            return;
+        }
+        if (!evicted.isEmpty()) {
+            if (evictedTraces != null) {
+                evictedTraces.inc(evicted.size());
+            }
+            evicted.forEach(this::emit);
+        }
+    }
+
+    /**
+     * Decide the traces whose window is closed before the given time.
+     */
+    void decideExpired(long now) {
+        final List<PendingTrace> expired = new ArrayList<>();
+        synchronized (this) {
+            final Iterator<Map.Entry<String, PendingTrace>> it = pendingTraces.entrySet().iterator();
+            while (it.hasNext()) {
+                final Map.Entry<String, PendingTrace> next = it.next();
+                if (next.getValue().firstSeen + decisionWait > now) {
+                    break;
+                }
+                expired.add(remove(next.getKey(), next.getValue(), it));
+            }
+            updateGauges();
+        }
+        expired.forEach(this::emit);
+    }
+
+    private PendingTrace remove(Iterator<Map.Entry<String, PendingTrace>> it) {
+        final Map.Entry<String, PendingTrace> next = it.next();
+        return remove(next.getKey(), next.getValue(), it);
+    }
+
+    /**
+     * Remove the trace from the buffer and make its decision, must be called holding the lock.
+     */
+    private PendingTrace remove(String traceId, PendingTrace trace, Iterator<Map.Entry<String, PendingTrace>> it) {
+        it.remove();
+        bufferedSize -= trace.size;
+        bufferedSegments -= trace.segments.size();
+        trace.sampled = shouldSample(traceId, trace);
+        decidedTraces.put(traceId, trace.sampled);
+        return trace;
+    }
+
+    private void emit(PendingTrace trace) {
+        if (trace.sampled) {
+            if (sampledTraces != null) {
+                sampledTraces.inc();
+            }
+            trace.segments.forEach(emitter);
+        } else {
+            if (droppedTraces != null) {
+                droppedTraces.inc();
+            }
+            if (log.isDebugEnabled()) {
+                log.debug("trace ignored by tail sampling, segments: {}", trace.segments.size());
+            }
+        }
+    }
+
+    private boolean shouldSample(String traceId, PendingTrace trace) {
+        if (trace.isError && forceSampleErrorSegment) {
+            return true;
+        }
+        final long latency = trace.endTime - trace.startTime;
+        return policyWatcher.shouldSample(
+            trace.rootService,
+            Math.abs(traceId.hashCode()) % 10000,
+            latency > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) latency
+        );
+    }
+
+    private void updateGauges() {
+        if (bufferedSizeGauge != null) {
+            bufferedSizeGauge.setValue(bufferedSize);
+            bufferedSegmentsGauge.setValue(bufferedSegments);
+        }
+    }
+
+    private static long sizeOf(Segment segment) {
+        return SEGMENT_OVERHEAD + (segment.getDataBinary() == null ? 0 : segment.getDataBinary().length);
+    }
+
+    private static class PendingTrace {
+        private final long firstSeen;
+        private final List<Segment> segments = new ArrayList<>(4);
+        private long size;
+        private String rootService;
+        private long startTime = Long.MAX_VALUE;
+        private long endTime;
+        private boolean isError;
+        private boolean sampled;
+
+        private PendingTrace(long firstSeen) {
+            this.firstSeen = firstSeen;
+        }
+
+        private void add(String service, Segment segment) {
+            segments.add(segment);
+            size += sizeOf(segment);
+            if (segment.getStartTime() < startTime) {
+                startTime = segment.getStartTime();
+                rootService = service;
+            }
+            endTime = Math.max(endTime, segment.getStartTime() + segment.getLatency());
+            isError = isError || BooleanUtils.valueToBoolean(segment.getIsError());
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.analyzer.provider.trace.sampling;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.skywalking.oap.server.analyzer.provider.AnalyzerModuleConfig;
+import org.apache.skywalking.oap.server.analyzer.provider.AnalyzerModuleProvider;
+import org.apache.skywalking.oap.server.analyzer.provider.trace.TraceSamplingPolicyWatcher;
+import org.apache.skywalking.oap.server.configuration.api.ConfigChangeWatcher;
+import org.apache.skywalking.oap.server.core.source.Segment;
+import org.apache.skywalking.oap.server.library.util.BooleanUtils;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TailSamplingBufferTest {
+    private static final long DECISION_WAIT = 10_000;
+
+    private final List<Segment> emitted = new ArrayList<>();
+    private TraceSamplingPolicyWatcher watcher;
+
+    @Before
+    public void init() {
+        AnalyzerModuleConfig moduleConfig = new AnalyzerModuleConfig();
+        moduleConfig.setTraceSamplingPolicySettingsFile("trace-sampling-policy-settings.yml");
+        watcher = new TraceSamplingPolicyWatcher(moduleConfig, new AnalyzerModuleProvider());
+        // Sample nothing by rate, only the traces slower than 1s.
+        watcher.notify(new ConfigChangeWatcher.ConfigChangeEvent(
+            "default:\n  rate: 0\n  duration: 1000", ConfigChangeWatcher.EventType.MODIFY));
+    }
+
+    @Test
+    public void testErrorSegmentSamplesWholeTrace() {
+        TailSamplingBuffer buffer = new TailSamplingBuffer(watcher, true, DECISION_WAIT, Long.MAX_VALUE, emitted::add);
+        buffer.offer("gateway", segment("trace-1", "s1", 0, 10, false));
+        buffer.offer("backend", segment("trace-1", "s2", 2, 5, true));
+        buffer.offer("gateway", segment("trace-2", "s3", 0, 10, false));
+        Assert.assertTrue(emitted.isEmpty());
+
+        buffer.decideExpired(System.currentTimeMillis() + DECISION_WAIT);
+        Assert.assertEquals(2, emitted.size());
+        emitted.forEach(segment -> Assert.assertEquals("trace-1", segment.getTraceId()));
+    }
+
+    @Test
+    public void testTraceLatencyAcrossSegments() {
+        TailSamplingBuffer buffer = new TailSamplingBuffer(watcher, true, DECISION_WAIT, Long.MAX_VALUE, emitted::add);
+        // Each segment is fast, but the trace lasts 1.5s.
+        buffer.offer("gateway", segment("trace-1", "s1", 0, 600, false));
+        buffer.offer("backend", segment("trace-1", "s2", 900, 600, false));
+
+        buffer.decideExpired(System.currentTimeMillis() + DECISION_WAIT);
+        Assert.assertEquals(2, emitted.size());
+    }
+
+    @Test
+    public void testLateSegmentsFollowDecision() {
+        TailSamplingBuffer buffer = new TailSamplingBuffer(watcher, true, DECISION_WAIT, Long.MAX_VALUE, emitted::add);
+        buffer.offer("gateway", segment("sampled", "s1", 0, 10, true));
+        buffer.offer("gateway", segment("dropped", "s2", 0, 10, false));
+        buffer.decideExpired(System.currentTimeMillis() + DECISION_WAIT);
+        Assert.assertEquals(1, emitted.size());
+
+        buffer.offer("backend", segment("dropped", "s3", 0, 10, false));
+        Assert.assertEquals(1, emitted.size());
+        buffer.offer("backend", segment("sampled", "s4", 0, 10, false));
+        Assert.assertEquals(2, emitted.size());
+        Assert.assertEquals("s4", emitted.get(1).getSegmentId());
+    }
+
+    @Test
+    public void testDecideOldestTracesWhenBufferIsFull() {
+        // Room for about two segments.
+        TailSamplingBuffer buffer = new TailSamplingBuffer(watcher, true, DECISION_WAIT, 1500, emitted::add);
+        buffer.offer("gateway", segment("trace-1", "s1", 0, 10, true));
+        buffer.offer("gateway", segment("trace-2", "s2", 0, 10, true));
+        Assert.assertTrue(emitted.isEmpty());
+
+        buffer.offer("gateway", segment("trace-3", "s3", 0, 10, true));
+        Assert.assertEquals(1, emitted.size());
+        Assert.assertEquals("trace-1", emitted.get(0).getTraceId());
+
+        buffer.decideExpired(System.currentTimeMillis() + DECISION_WAIT);
+        Assert.assertEquals(3, emitted.size());
+    }
+
+    private static Segment segment(String traceId, String segmentId, long startTime, int latency, boolean isError) {
+        Segment segment = new Segment();
+        segment.setTraceId(traceId);
+        segment.setSegmentId(segmentId);
+        segment.setStartTime(startTime);
+        segment.setLatency(latency);
+        segment.setIsError(BooleanUtils.booleanToValue(isError));
+        segment.setDataBinary(new byte[100]);
+        return segment;
+    }
+}
@@ -29,6 +29,7 @@ import java.util.concurrent.atomic.AtomicReference;
 import java.util.regex.Matcher;
 import lombok.Getter;
 import org.apache.skywalking.apm.network.logging.v3.LogData;
+import org.apache.skywalking.oap.log.analyzer.dsl.grok.Grok;
 import org.apache.skywalking.oap.meter.analyzer.dsl.SampleFamily;
 import org.apache.skywalking.oap.server.core.source.Log;
 
@@ -82,6 +83,16 @@ public class Binding extends groovy.lang.Binding {
 
     public Binding parsed(final Matcher parsed) {
         parsed().matcher = parsed;
+        parsed().grok = null;
+        return this;
+    }
+
+    /**
+     * The captures of the grok expression are read from the matcher by their names.
+     */
+    public Binding parsed(final Grok grok, final Matcher parsed) {
+        parsed().matcher = parsed;
+        parsed().grok = grok;
         return this;
     }
 
@@ -155,6 +166,9 @@ public class Binding extends groovy.lang.Binding {
         @Getter
         private Matcher matcher;
 
+        @Getter
+        private Grok grok;
+
         @Getter
         private Map<String, Object> map;
 
@@ -166,8 +180,11 @@ public class Binding extends groovy.lang.Binding {
 
         public Object getAt(final String key) {
             Object result;
-            if (matcher != null && (result = matcher.group(key)) != null) {
-                return result;
+            if (matcher != null) {
+                result = grok != null ? grok.capture(matcher, key) : matcher.group(key);
+                if (result != null) {
+                    return result;
+                }
             }
             if (map != null && (result = map.get(key)) != null) {
                 return result;
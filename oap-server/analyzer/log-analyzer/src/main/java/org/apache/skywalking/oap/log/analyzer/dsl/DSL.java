@@ -78,11 +78,13 @@ public class DSL {
                          .add(Array.class)
                          .build());
         cc.addCompilationCustomizers(secureASTCustomizer);
+        final ParsedPathCollector parsedPaths = new ParsedPathCollector();
+        cc.addCompilationCustomizers(parsedPaths);
         cc.setScriptBaseClass(LALDelegatingScript.class.getName());
 
         final GroovyShell sh = new GroovyShell(cc);
         final DelegatingScript script = (DelegatingScript) sh.parse(dsl);
-        final FilterSpec filterSpec = new FilterSpec(moduleManager, config);
+        final FilterSpec filterSpec = new FilterSpec(moduleManager, config, parsedPaths.paths());
         script.setDelegate(filterSpec);
 
         return new DSL(script, filterSpec);
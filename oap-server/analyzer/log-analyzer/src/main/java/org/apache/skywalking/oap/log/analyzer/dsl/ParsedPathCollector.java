@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.log.analyzer.dsl;
+
+import com.google.common.collect.ImmutableSet;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+import org.codehaus.groovy.ast.ClassNode;
+import org.codehaus.groovy.ast.CodeVisitorSupport;
+import org.codehaus.groovy.ast.MethodNode;
+import org.codehaus.groovy.ast.expr.Expression;
+import org.codehaus.groovy.ast.expr.PropertyExpression;
+import org.codehaus.groovy.ast.expr.VariableExpression;
+import org.codehaus.groovy.classgen.GeneratorContext;
+import org.codehaus.groovy.control.CompilePhase;
+import org.codehaus.groovy.control.SourceUnit;
+import org.codehaus.groovy.control.customizers.CompilationCustomizer;
+
+/**
+ * ParsedPathCollector collects the property paths of {@code parsed} referenced by a LAL script, for example, {@code
+ * parsed?.response?.code} references {@code [response, code]}, so that the parsers only need to read these fields. If
+ * {@code parsed} is used in any other way, such as {@code parsed[key]} or {@code parsed as Map}, all fields could be
+ * read and {@link #paths()} returns null.
+ */
+class ParsedPathCollector extends CompilationCustomizer {
+    /**
+     * The properties of {@link Binding.Parsed} itself, rather than the parsed fields.
+     */
+    private static final Set<String> PARSED_PROPERTIES = ImmutableSet.of(
+        "matcher", "map", "log", "extraLog", "grok", "class", "metaClass"
+    );
+
+    private final List<List<String>> paths = new ArrayList<>();
+
+    private boolean all;
+
+    ParsedPathCollector() {
+        super(CompilePhase.CONVERSION);
+    }
+
+    @Override
+    public void call(final SourceUnit source, final GeneratorContext context, final ClassNode classNode) {
+        final Visitor visitor = new Visitor();
+        for (final MethodNode method : classNode.getMethods()) {
+            if (method.getCode() != null) {
+                method.getCode().visit(visitor);
+            }
+        }
+    }
+
+    /**
+     * @return the referenced paths, or null if all fields could be read.
+     */
+    List<List<String>> paths() {
+        return all ? null : paths;
+    }
+
+    private class Visitor extends CodeVisitorSupport {
+        @Override
+        public void visitPropertyExpression(final PropertyExpression expression) {
+            final LinkedList<String> path = new LinkedList<>();
+            Expression current = expression;
+            while (current instanceof PropertyExpression) {
+                final String property = ((PropertyExpression) current).getPropertyAsString();
+                if (property == null) {
+                    super.visitPropertyExpression(expression);
+                    return;
+                }
+                path.addFirst(property);
+                current = ((PropertyExpression) current).getObjectExpression();
+            }
+            if (!isParsed(current)) {
+                super.visitPropertyExpression(expression);
+                return;
+            }
+            if (PARSED_PROPERTIES.contains(path.getFirst())) {
+                all = true;
+                return;
+            }
+            paths.add(path);
+        }
+
+        @Override
+        public void visitVariableExpression(final VariableExpression expression) {
+            if (isParsed(expression)) {
+                all = true;
+            }
+        }
+
+        private boolean isParsed(final Expression expression) {
+            return expression instanceof VariableExpression
+                && Binding.KEY_PARSED.equals(((VariableExpression) expression).getName());
+        }
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.log.analyzer.dsl.grok;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import lombok.Getter;
+
+/**
+ * Grok is a compiled grok expression, which is a regular expression referring to the named patterns by {@code
+ * %{SYNTAX}}, {@code %{SYNTAX:SEMANTIC}} or {@code %{SYNTAX:SEMANTIC:TYPE}}, where TYPE is {@code int} or {@code
+ * float}. The references are expanded into one regular expression, and every SEMANTIC becomes a named group, so a
+ * match is read from the {@link Matcher} directly. The standard patterns are bundled in the {@code grok-patterns}
+ * resource.
+ */
+public class Grok {
+    private static final Pattern REFERENCE = Pattern.compile("%\\{(\\w+)(?::([^:}]+))?(?::(int|float))?}");
+
+    private static final Pattern NAMED_GROUP = Pattern.compile("\\(\\?<([a-zA-Z][a-zA-Z0-9]*)>");
+
+    private static final String GROUP_PREFIX = "grok";
+
+    @Getter
+    private final String expression;
+
+    @Getter
+    private final Pattern pattern;
+
+    private final Map<String, Capture[]> captures;
+
+    private Grok(final String expression, final Pattern pattern, final Map<String, Capture[]> captures) {
+        this.expression = expression;
+        this.pattern = pattern;
+        this.captures = captures;
+    }
+
+    /**
+     * Compile the expression with the standard patterns.
+     *
+     * @throws IllegalArgumentException if the expression refers to an unknown pattern or is not a valid regexp.
+     */
+    public static Grok compile(final String expression) {
+        return compile(expression, Library.PATTERNS);
+    }
+
+    static Grok compile(final String expression, final Map<String, String> definitions) {
+        final Map<String, List<Capture>> captures = new HashMap<>();
+
+        // The named groups written in the expression are captured by their names.
+        final Matcher named = NAMED_GROUP.matcher(expression);
+        while (named.find()) {
+            final String name = named.group(1);
+            captures.computeIfAbsent(name, k -> new ArrayList<>()).add(new Capture(name, null));
+        }
+
+        final String regexp = new Expander(definitions, captures).expand(expression, new ArrayDeque<>());
+
+        final Map<String, Capture[]> compiled = new HashMap<>();
+        captures.forEach((name, list) -> compiled.put(name, list.toArray(new Capture[0])));
+        return new Grok(expression, Pattern.compile(regexp), compiled);
+    }
+
+    /**
+     * @return the names could be captured.
+     */
+    public Set<String> names() {
+        return Collections.unmodifiableSet(captures.keySet());
+    }
+
+    /**
+     * @return the value captured by the name in the matched {@link Matcher} of {@link #getPattern()}, or null if the
+     * name is unknown or not captured. The value is converted if the capture declares a type.
+     */
+    public Object capture(final Matcher matcher, final String name) {
+        final Capture[] candidates = captures.get(name);
+        if (candidates == null) {
+            return null;
+        }
+        // The same name could be captured by different alternatives.
+        for (final Capture capture : candidates) {
+            final String value = matcher.group(capture.group);
+            if (value != null) {
+                return capture.convert(value);
+            }
+        }
+        return null;
+    }
+
+    private static class Expander {
+        private final Map<String, String> definitions;
+        private final Map<String, List<Capture>> captures;
+        /**
+         * The named groups written in the expression. A group name only has letters and digits, so the generated names
+         * can't use a prefix that isn't writable, they skip the written ones instead.
+         */
+        private final Set<String> written;
+        private int groups;
+
+        private Expander(final Map<String, String> definitions, final Map<String, List<Capture>> captures) {
+            this.definitions = definitions;
+            this.captures = captures;
+            this.written = new HashSet<>(captures.keySet());
+        }
+
+        private String nextGroup() {
+            String group;
+            do {
+                group = GROUP_PREFIX + groups++;
+            }
+            while (written.contains(group));
+            return group;
+        }
+
+        private String expand(final String expression, final Deque<String> path) {
+            final Matcher reference = REFERENCE.matcher(expression);
+            final StringBuffer regexp = new StringBuffer();
+            while (reference.find()) {
+                final String syntax = reference.group(1);
+                final String definition = definitions.get(syntax);
+                if (definition == null) {
+                    throw new IllegalArgumentException("Unknown grok pattern " + syntax + " in " + expression);
+                }
+                if (path.contains(syntax)) {
+                    throw new IllegalArgumentException("Grok pattern " + syntax + " refers to itself: " + path);
+                }
+                path.push(syntax);
+                final String expanded = expand(definition, path);
+                path.pop();
+
+                final String semantic = reference.group(2);
+                final String replacement;
+                if (semantic == null) {
+                    replacement = "(?:" + expanded + ")";
+                } else {
+                    final String group = nextGroup();
+                    captures.computeIfAbsent(semantic, k -> new ArrayList<>())
+                            .add(new Capture(group, reference.group(3)));
+                    replacement = "(?<" + group + ">" + expanded + ")";
+                }
+                reference.appendReplacement(regexp, Matcher.quoteReplacement(replacement));
+            }
+            reference.appendTail(regexp);
+            return regexp.toString();
+        }
+    }
+
+    private static class Capture {
+        private final String group;
+        private final String type;
+
+        private Capture(final String group, final String type) {
+            this.group = group;
+            this.type = type;
+        }
+
+        private Object convert(final String value) {
+            if (type == null) {
+                return value;
+            }
+            try {
+                return "int".equals(type) ? (Object) Long.valueOf(value) : (Object) Double.valueOf(value);
+            } catch (NumberFormatException e) {
+                return value;
+            }
+        }
+    }
+
+    private static class Library {
+        private static final String RESOURCE = "grok-patterns";
+
+        private static final Map<String, String> PATTERNS = load();
+
+        private static Map<String, String> load() {
+            final Map<String, String> patterns = new HashMap<>();
+            try (InputStream is = Grok.class.getClassLoader().getResourceAsStream(RESOURCE)) {
+                if (is == null) {
+                    throw new IllegalStateException("Grok patterns " + RESOURCE + " not found");
+                }
+                final BufferedReader reader = new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8));
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    line = line.trim();
+                    if (line.isEmpty() || line.startsWith("#")) {
+                        continue;
+                    }
+                    final int separator = line.indexOf(' ');
+                    patterns.put(line.substring(0, separator), line.substring(separator + 1).trim());
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException("Failed to load grok patterns " + RESOURCE, e);
+            }
+            return patterns;
+        }
+    }
+}
@@ -18,7 +18,6 @@
 
 package org.apache.skywalking.oap.log.analyzer.dsl.spec.filter;
 
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.google.protobuf.Message;
 import com.google.protobuf.TextFormat;
 import groovy.lang.Closure;
@@ -32,6 +31,7 @@ import org.apache.skywalking.apm.network.logging.v3.LogData;
 import org.apache.skywalking.oap.log.analyzer.dsl.Binding;
 import org.apache.skywalking.oap.log.analyzer.dsl.spec.AbstractSpec;
 import org.apache.skywalking.oap.log.analyzer.dsl.spec.extractor.ExtractorSpec;
+import org.apache.skywalking.oap.log.analyzer.dsl.spec.parser.JsonFieldsReader;
 import org.apache.skywalking.oap.log.analyzer.dsl.spec.parser.JsonParserSpec;
 import org.apache.skywalking.oap.log.analyzer.dsl.spec.parser.TextParserSpec;
 import org.apache.skywalking.oap.log.analyzer.dsl.spec.parser.YamlParserSpec;
@@ -61,14 +61,20 @@ public class FilterSpec extends AbstractSpec {
 
     private final SinkSpec sink;
 
-    private final TypeReference<Map<String, Object>> parsedType;
+    private final JsonFieldsReader jsonReader;
 
     public FilterSpec(final ModuleManager moduleManager,
                       final LogAnalyzerModuleConfig moduleConfig) throws ModuleStartException {
-        super(moduleManager, moduleConfig);
+        this(moduleManager, moduleConfig, null);
+    }
 
-        parsedType = new TypeReference<Map<String, Object>>() {
-        };
+    /**
+     * @param parsedPaths the paths of {@code parsed} referenced by the script, null means all fields could be read.
+     */
+    public FilterSpec(final ModuleManager moduleManager,
+                      final LogAnalyzerModuleConfig moduleConfig,
+                      final List<List<String>> parsedPaths) throws ModuleStartException {
+        super(moduleManager, moduleConfig);
 
         factories = Arrays.asList(
             new RecordAnalysisListener.Factory(moduleManager(), moduleConfig()),
@@ -77,6 +83,7 @@ public class FilterSpec extends AbstractSpec {
 
         textParser = new TextParserSpec(moduleManager(), moduleConfig());
         jsonParser = new JsonParserSpec(moduleManager(), moduleConfig());
+        jsonReader = new JsonFieldsReader(jsonParser.create(), parsedPaths);
         yamlParser = new YamlParserSpec(moduleManager(), moduleConfig());
 
         extractor = new ExtractorSpec(moduleManager(), moduleConfig());
@@ -104,9 +111,7 @@ public class FilterSpec extends AbstractSpec {
         final LogData.Builder logData = BINDING.get().log();
         try {
 
-            final Map<String, Object> parsed = jsonParser.create().readValue(
-                logData.getBody().getJson().getJson(), parsedType
-            );
+            final Map<String, Object> parsed = jsonReader.read(logData.getBody().getJson().getJson());
 
             BINDING.get().parsed(parsed);
         } catch (final Exception e) {
@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.log.analyzer.dsl.spec.parser;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JsonFieldsReader reads the JSON objects into maps. When the paths of the fields to read are known, it streams the
+ * JSON and only materializes these fields, and skips the others, rather than building the whole tree. A field is read
+ * entirely if it is the end of a path or not an object.
+ */
+public class JsonFieldsReader {
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<Map<String, Object>>() {
+    };
+
+    private final ObjectMapper mapper;
+
+    /**
+     * The root of the fields to read, null means all fields.
+     */
+    private final Field root;
+
+    /**
+     * @param paths the paths of the fields to read, null means all fields.
+     */
+    public JsonFieldsReader(final ObjectMapper mapper, final List<List<String>> paths) {
+        this.mapper = mapper;
+        if (paths == null) {
+            root = null;
+            return;
+        }
+        root = new Field();
+        for (final List<String> path : paths) {
+            root.add(path, 0);
+        }
+    }
+
+    public Map<String, Object> read(final String json) throws IOException {
+        if (root == null) {
+            return mapper.readValue(json, MAP_TYPE);
+        }
+        try (JsonParser parser = mapper.getFactory().createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "The JSON is not an object");
+            }
+            return readObject(parser, root);
+        }
+    }
+
+    private Map<String, Object> readObject(final JsonParser parser, final Field field) throws IOException {
+        final Map<String, Object> object = new LinkedHashMap<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String name = parser.getCurrentName();
+            final Field child = field.children.get(name);
+            final JsonToken token = parser.nextToken();
+            if (child == null) {
+                parser.skipChildren();
+            } else if (token == JsonToken.START_OBJECT && !child.children.isEmpty()) {
+                object.put(name, readObject(parser, child));
+            } else {
+                object.put(name, readValue(parser, token));
+            }
+        }
+        return object;
+    }
+
+    /**
+     * Read the value as {@link ObjectMapper} reads it into a map.
+     */
+    private Object readValue(final JsonParser parser, final JsonToken token) throws IOException {
+        switch (token) {
+            case VALUE_STRING:
+                return parser.getText();
+            case VALUE_NUMBER_INT:
+                return parser.getNumberValue();
+            case VALUE_NUMBER_FLOAT:
+                return parser.getDoubleValue();
+            case VALUE_TRUE:
+                return Boolean.TRUE;
+            case VALUE_FALSE:
+                return Boolean.FALSE;
+            case VALUE_NULL:
+                return null;
+            default:
+                return mapper.readValue(parser, Object.class);
+        }
+    }
+
+    private static class Field {
+        /**
+         * Empty children means reading the whole field.
+         */
+        private final Map<String, Field> children = new HashMap<>();
+
+        private boolean whole;
+
+        private void add(final List<String> path, final int index) {
+            if (whole) {
+                return;
+            }
+            if (index == path.size()) {
+                whole = true;
+                children.clear();
+                return;
+            }
+            children.computeIfAbsent(path.get(index), k -> new Field()).add(path, index + 1);
+        }
+    }
+}
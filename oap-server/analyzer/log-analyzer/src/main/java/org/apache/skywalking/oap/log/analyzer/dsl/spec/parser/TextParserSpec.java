@@ -18,13 +18,27 @@
 
 package org.apache.skywalking.oap.log.analyzer.dsl.spec.parser;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import org.apache.skywalking.apm.network.logging.v3.LogData;
+import org.apache.skywalking.oap.log.analyzer.dsl.grok.Grok;
 import org.apache.skywalking.oap.log.analyzer.provider.LogAnalyzerModuleConfig;
 import org.apache.skywalking.oap.server.library.module.ModuleManager;
 
 public class TextParserSpec extends AbstractParserSpec {
+    /**
+     * The expressions are compiled once per rule and reused by all logs. The interpolated expressions could differ per
+     * log, so the cache stops growing at this size.
+     */
+    private static final int MAX_CACHED_EXPRESSIONS = 64;
+
+    private final Map<String, Pattern> patterns = new ConcurrentHashMap<>();
+
+    private final Map<String, Grok> groks = new ConcurrentHashMap<>();
+
     public TextParserSpec(final ModuleManager moduleManager,
                           final LogAnalyzerModuleConfig moduleConfig) {
         super(moduleManager, moduleConfig);
@@ -32,7 +46,7 @@ public class TextParserSpec extends AbstractParserSpec {
 
     @SuppressWarnings("unused")
     public void regexp(final String regexp) {
-        regexp(Pattern.compile(regexp));
+        regexp(compile(patterns, regexp, Pattern::compile));
     }
 
     public void regexp(final Pattern pattern) {
@@ -50,8 +64,32 @@ public class TextParserSpec extends AbstractParserSpec {
     }
 
     public boolean grok(final String grok) {
-        // TODO
+        if (BINDING.get().shouldAbort()) {
+            return false;
+        }
+        final Grok compiled = compile(groks, grok, Grok::compile);
+        final LogData.Builder log = BINDING.get().log();
+        final Matcher matcher = compiled.getPattern().matcher(log.getBody().getText().getText());
+        if (matcher.find()) {
+            BINDING.get().parsed(compiled, matcher);
+            return true;
+        }
+        if (abortOnFailure()) {
+            BINDING.get().abort();
+        }
         return false;
     }
 
+    private static <T> T compile(final Map<String, T> cache,
+                                 final String expression,
+                                 final Function<String, T> compiler) {
+        final T compiled = cache.get(expression);
+        if (compiled != null) {
+            return compiled;
+        }
+        if (cache.size() >= MAX_CACHED_EXPRESSIONS) {
+            return compiler.apply(expression);
+        }
+        return cache.computeIfAbsent(expression, compiler);
+    }
 }
@@ -25,4 +25,19 @@ public class LALConfig {
     private String name;
 
     private String dsl;
+
+    /**
+     * The optional routing keys of the rule. A rule with routing keys only evaluates the logs matching all of them, the
+     * rules without routing keys evaluate all logs. The logs without layer are routed as {@code GENERAL} logs.
+     */
+    private String layer;
+
+    private String service;
+
+    private String tagKey;
+
+    /**
+     * Only valid with {@link #tagKey}, the value of the tag is also matched when set.
+     */
+    private String tagValue;
 }
@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.log.analyzer.provider.log.listener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.skywalking.apm.network.common.v3.KeyStringValuePair;
+import org.apache.skywalking.apm.network.logging.v3.LogData;
+import org.apache.skywalking.oap.log.analyzer.provider.LALConfig;
+import org.apache.skywalking.oap.server.core.UnexpectedException;
+import org.apache.skywalking.oap.server.core.analysis.Layer;
+import org.apache.skywalking.oap.server.library.module.ModuleStartException;
+import org.apache.skywalking.oap.server.library.util.StringUtil;
+
+/**
+ * LALRouter indexes the LAL rules by their routing keys, see {@link LALConfig}, so that a log is only evaluated by the
+ * rules it could match, rather than all the rules. A rule is indexed by its most selective key, service, tag key and
+ * layer in order, and the other keys are checked when the rule is routed.
+ *
+ * @param <R> the type of the rule.
+ */
+class LALRouter<R> {
+    private final List<Route<R>> unrouted = new ArrayList<>();
+    private final Map<String, List<Route<R>>> byService = new HashMap<>();
+    private final Map<String, List<Route<R>>> byTagKey = new HashMap<>();
+    private final Map<String, List<Route<R>>> byLayer = new HashMap<>();
+    private final List<R> unroutedRules = new ArrayList<>();
+    private int size;
+
+    void add(final LALConfig config, final R rule) throws ModuleStartException {
+        final String layer = config.getLayer();
+        if (StringUtil.isNotEmpty(layer)) {
+            try {
+                Layer.nameOf(layer);
+            } catch (UnexpectedException e) {
+                throw new ModuleStartException("Unknown layer " + layer + " of LAL rule " + config.getName());
+            }
+        }
+        if (StringUtil.isNotEmpty(config.getTagValue()) && StringUtil.isEmpty(config.getTagKey())) {
+            throw new ModuleStartException("The tagValue of LAL rule " + config.getName() + " requires the tagKey");
+        }
+
+        final Route<R> route = new Route<>(size++, rule, config);
+        if (StringUtil.isNotEmpty(route.service)) {
+            byService.computeIfAbsent(route.service, k -> new ArrayList<>()).add(route);
+        } else if (StringUtil.isNotEmpty(route.tagKey)) {
+            byTagKey.computeIfAbsent(route.tagKey, k -> new ArrayList<>()).add(route);
+        } else if (StringUtil.isNotEmpty(route.layer)) {
+            byLayer.computeIfAbsent(route.layer, k -> new ArrayList<>()).add(route);
+        } else {
+            unrouted.add(route);
+            unroutedRules.add(rule);
+        }
+    }
+
+    /**
+     * @return the rules matching the log, in the order they are added.
+     */
+    List<R> route(final LogData.Builder log) {
+        if (unrouted.size() == size) {
+            return unroutedRules;
+        }
+
+        final List<Route<R>> candidates = new ArrayList<>(unrouted);
+        collect(candidates, byService.get(log.getService()), log);
+        collect(candidates, byLayer.get(StringUtil.isEmpty(log.getLayer()) ? Layer.GENERAL.name() : log.getLayer()), log);
+        if (!byTagKey.isEmpty()) {
+            for (final KeyStringValuePair tag : log.getTags().getDataList()) {
+                collect(candidates, byTagKey.get(tag.getKey()), log);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        candidates.sort(Comparator.comparingInt(it -> it.order));
+        final List<R> rules = new ArrayList<>(candidates.size());
+        for (final Route<R> candidate : candidates) {
+            rules.add(candidate.rule);
+        }
+        return rules;
+    }
+
+    private void collect(final List<Route<R>> candidates, final List<Route<R>> routes, final LogData.Builder log) {
+        if (routes == null) {
+            return;
+        }
+        for (final Route<R> route : routes) {
+            // A log could carry the same tag key more than once.
+            if (route.matches(log) && !candidates.contains(route)) {
+                candidates.add(route);
+            }
+        }
+    }
+
+    private static class Route<R> {
+        private final int order;
+        private final R rule;
+        private final String layer;
+        private final String service;
+        private final String tagKey;
+        private final String tagValue;
+
+        private Route(final int order, final R rule, final LALConfig config) {
+            this.order = order;
+            this.rule = rule;
+            this.layer = config.getLayer();
+            this.service = config.getService();
+            this.tagKey = config.getTagKey();
+            this.tagValue = config.getTagValue();
+        }
+
+        private boolean matches(final LogData.Builder log) {
+            if (StringUtil.isNotEmpty(service) && !service.equals(log.getService())) {
+                return false;
+            }
+            if (StringUtil.isNotEmpty(layer)) {
+                final String logLayer = StringUtil.isEmpty(log.getLayer()) ? Layer.GENERAL.name() : log.getLayer();
+                if (!layer.equals(logLayer)) {
+                    return false;
+                }
+            }
+            if (StringUtil.isEmpty(tagKey)) {
+                return true;
+            }
+            for (final KeyStringValuePair tag : log.getTags().getDataList()) {
+                if (tagKey.equals(tag.getKey()) && (StringUtil.isEmpty(tagValue) || tagValue.equals(tag.getValue()))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -19,7 +19,7 @@
 package org.apache.skywalking.oap.log.analyzer.provider.log.listener;
 
 import com.google.protobuf.Message;
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
@@ -35,7 +35,9 @@ import org.apache.skywalking.oap.server.library.module.ModuleManager;
 @Slf4j
 @RequiredArgsConstructor
 public class LogFilterListener implements LogAnalysisListener {
-    private final List<DSL> dsls;
+    private final LALRouter<DSL> router;
+
+    private List<DSL> dsls = Collections.emptyList();
 
     @Override
     public void build() {
@@ -51,29 +53,41 @@ public class LogFilterListener implements LogAnalysisListener {
     @Override
     public LogAnalysisListener parse(final LogData.Builder logData,
                                      final Message extraLog) {
-        dsls.forEach(dsl -> dsl.bind(new Binding().log(logData.build())
-                                                  .extraLog(extraLog)));
+        dsls = router.route(logData);
+        if (dsls.isEmpty()) {
+            return this;
+        }
+        // The binding is held by a thread local shared by all the DSLs, one binding per log is enough.
+        final Binding binding = new Binding().log(logData.build()).extraLog(extraLog);
+        dsls.forEach(dsl -> dsl.bind(binding));
         return this;
     }
 
     public static class Factory implements LogAnalysisListenerFactory {
-        private final List<DSL> dsls;
+        private final LALRouter<DSL> router;
 
         public Factory(final ModuleManager moduleManager, final LogAnalyzerModuleConfig config) throws Exception {
-            dsls = new ArrayList<>();
+            this(
+                moduleManager, config,
+                LALConfigs.load(config.getLalPath(), config.lalFiles())
+                          .stream()
+                          .flatMap(it -> it.getRules().stream())
+                          .collect(Collectors.toList())
+            );
+        }
 
-            final List<LALConfig> configList = LALConfigs.load(config.getLalPath(), config.lalFiles())
-                                                         .stream()
-                                                         .flatMap(it -> it.getRules().stream())
-                                                         .collect(Collectors.toList());
+        public Factory(final ModuleManager moduleManager,
+                       final LogAnalyzerModuleConfig config,
+                       final List<LALConfig> configList) throws Exception {
+            router = new LALRouter<>();
             for (final LALConfig c : configList) {
-                dsls.add(DSL.of(moduleManager, config, c.getDsl()));
+                router.add(c, DSL.of(moduleManager, config, c.getDsl()));
             }
         }
 
         @Override
         public LogAnalysisListener create() {
-            return new LogFilterListener(dsls);
+            return new LogFilterListener(router);
         }
     }
 }
@@ -60,6 +60,20 @@ public class DSLTest {
                     "  }" +
                     "}",
                 },
+            new String[] {
+                "grok",
+                "filter {\n" +
+                    "  text {\n" +
+                    "    abortOnFailure false // for test purpose, we want to persist all logs\n" +
+                    "    grok '%{COMBINEDAPACHELOG}'\n" +
+                    "  }\n" +
+                    "  extractor {\n" +
+                    "    tag verb: parsed.verb, response: parsed.response\n" +
+                    "  }\n" +
+                    "  sink {\n" +
+                    "  }\n" +
+                    "}",
+                },
             new String[] {
                 "extractor",
                 "filter {\n" +
@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.log.analyzer.dsl;
+
+import groovy.lang.GroovyShell;
+import java.util.Arrays;
+import org.codehaus.groovy.control.CompilerConfiguration;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class ParsedPathCollectorTest {
+    @Test
+    public void testCollectPaths() {
+        final ParsedPathCollector collector = collect(
+            "filter {\n" +
+                "  json {}\n" +
+                "  if (parsed?.response?.responseCode?.value as Integer < 400) {\n" +
+                "    abort {}\n" +
+                "  }\n" +
+                "  extractor {\n" +
+                "    tag level: parsed.level, 'flag': (parsed?.commonProperties?.responseFlags as Map)?.keySet()\n" +
+                "    service \"${parsed.service}:${log.service}\"\n" +
+                "  }\n" +
+                "}"
+        );
+
+        assertEquals(
+            Arrays.asList(
+                Arrays.asList("response", "responseCode", "value"),
+                Arrays.asList("level"),
+                Arrays.asList("commonProperties", "responseFlags"),
+                Arrays.asList("service")
+            ),
+            collector.paths()
+        );
+    }
+
+    @Test
+    public void testDynamicUsages() {
+        assertNull(collect("filter { tag 'all': parsed as Map }").paths());
+        assertNull(collect("filter { tag 'level': parsed['level'] }").paths());
+        assertNull(collect("filter { tag 'level': parsed.map.level }").paths());
+    }
+
+    private static ParsedPathCollector collect(final String script) {
+        final ParsedPathCollector collector = new ParsedPathCollector();
+        final CompilerConfiguration cc = new CompilerConfiguration();
+        cc.addCompilationCustomizers(collector);
+        new GroovyShell(cc).parse(script);
+        return collector;
+    }
+}
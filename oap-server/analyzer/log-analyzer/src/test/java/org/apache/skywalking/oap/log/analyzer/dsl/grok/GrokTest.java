@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.log.analyzer.dsl.grok;
+
+import com.google.common.collect.ImmutableMap;
+import java.util.regex.Matcher;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class GrokTest {
+    @Test
+    public void testCombinedAccessLog() {
+        final Grok grok = Grok.compile("%{COMBINEDAPACHELOG}");
+        final Matcher matcher = grok.getPattern().matcher(
+            "10.0.0.1 - frank [10/Oct/2021:13:55:36 +0800] \"GET /api/users?id=1 HTTP/1.1\" 200 2326 "
+                + "\"http://example.com/start\" \"Mozilla/5.0 (X11; Linux x86_64)\"");
+
+        assertTrue(matcher.find());
+        assertEquals("10.0.0.1", grok.capture(matcher, "clientip"));
+        assertEquals("frank", grok.capture(matcher, "auth"));
+        assertEquals("10/Oct/2021:13:55:36 +0800", grok.capture(matcher, "timestamp"));
+        assertEquals("GET", grok.capture(matcher, "verb"));
+        assertEquals("/api/users?id=1", grok.capture(matcher, "request"));
+        assertEquals("1.1", grok.capture(matcher, "httpversion"));
+        assertEquals("200", grok.capture(matcher, "response"));
+        assertEquals("2326", grok.capture(matcher, "bytes"));
+        assertEquals("\"Mozilla/5.0 (X11; Linux x86_64)\"", grok.capture(matcher, "agent"));
+        assertNull(grok.capture(matcher, "rawrequest"));
+        assertNull(grok.capture(matcher, "unknown"));
+    }
+
+    @Test
+    public void testTypesAndNamedGroups() {
+        final Grok grok = Grok.compile(
+            "%{TIMESTAMP_ISO8601:time} \\[(?<thread>[^\\]]+)] %{LOGLEVEL:level} %{NUMBER:cost:float}ms %{INT:size:int} "
+                + "%{INT:count:int}");
+        final Matcher matcher = grok.getPattern().matcher("2022-05-01 10:00:00.123 [main] ERROR 1.5ms 1024 x");
+
+        assertFalse(matcher.find());
+
+        matcher.reset("2022-05-01 10:00:00.123 [main] ERROR 1.5ms 1024 99999999999");
+        assertTrue(matcher.find());
+        assertEquals("2022-05-01 10:00:00.123", grok.capture(matcher, "time"));
+        assertEquals("main", grok.capture(matcher, "thread"));
+        assertEquals("ERROR", grok.capture(matcher, "level"));
+        assertEquals(1.5, grok.capture(matcher, "cost"));
+        assertEquals(1024L, grok.capture(matcher, "size"));
+        assertEquals(99999999999L, grok.capture(matcher, "count"));
+    }
+
+    @Test
+    public void testAlternatives() {
+        final Grok grok = Grok.compile("(?:%{IPV4:host}|%{HOSTNAME:host}):%{POSINT:port}");
+        final Matcher matcher = grok.getPattern().matcher("oap.skywalking:11800");
+
+        assertTrue(matcher.find());
+        assertEquals("oap.skywalking", grok.capture(matcher, "host"));
+        assertEquals("11800", grok.capture(matcher, "port"));
+
+        matcher.reset("127.0.0.1:11800");
+        assertTrue(matcher.find());
+        assertEquals("127.0.0.1", grok.capture(matcher, "host"));
+    }
+
+    @Test
+    public void testNamedGroupsLikeGenerated() {
+        final Grok grok = Grok.compile("(?<grok0>\\w+) %{INT:size:int} (?<grok2>\\w+) %{WORD:method}");
+        final Matcher matcher = grok.getPattern().matcher("first 1024 second GET");
+
+        assertTrue(matcher.matches());
+        assertEquals("first", grok.capture(matcher, "grok0"));
+        assertEquals(1024L, grok.capture(matcher, "size"));
+        assertEquals("second", grok.capture(matcher, "grok2"));
+        assertEquals("GET", grok.capture(matcher, "method"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownPattern() {
+        Grok.compile("%{NO_SUCH_PATTERN:value}");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRecursivePattern() {
+        Grok.compile("%{A}", ImmutableMap.of("A", "a%{B}", "B", "b%{A}"));
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.log.analyzer.dsl.spec.parser;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableMap;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class JsonFieldsReaderTest {
+    private static final String JSON = "{\"service\":\"checkout\",\"ignored\":{\"a\":[1,{\"b\":2}]},"
+        + "\"response\":{\"code\":{\"value\":503},\"size\":1.5,\"headers\":{\"a\":\"b\"}},"
+        + "\"flags\":[\"UF\",\"URX\"],\"trace\":null,\"sampled\":true,\"duration\":12345678901}";
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    public void testReadPaths() throws IOException {
+        final JsonFieldsReader reader = new JsonFieldsReader(mapper, Arrays.asList(
+            Arrays.asList("service"),
+            Arrays.asList("response", "code", "value"),
+            Arrays.asList("response", "size"),
+            Arrays.asList("flags", "length"),
+            Arrays.asList("trace"),
+            Arrays.asList("sampled"),
+            Arrays.asList("duration"),
+            Arrays.asList("absent", "field")
+        ));
+
+        final Map<String, Object> expected = new HashMap<>();
+        expected.put("service", "checkout");
+        expected.put("response", ImmutableMap.of("code", ImmutableMap.of("value", 503), "size", 1.5));
+        expected.put("flags", Arrays.asList("UF", "URX"));
+        expected.put("trace", null);
+        expected.put("sampled", true);
+        expected.put("duration", 12345678901L);
+        assertEquals(expected, reader.read(JSON));
+    }
+
+    @Test
+    public void testReadWholeField() throws IOException {
+        final JsonFieldsReader reader = new JsonFieldsReader(mapper, Arrays.asList(
+            Arrays.asList("response", "code", "value"),
+            Arrays.asList("response")
+        ));
+
+        assertEquals(
+            mapper.readValue(JSON, Map.class).get("response"),
+            reader.read(JSON).get("response")
+        );
+    }
+
+    @Test
+    public void testReadAll() throws IOException {
+        assertEquals(mapper.readValue(JSON, Map.class), new JsonFieldsReader(mapper, null).read(JSON));
+        assertEquals(Collections.emptyMap(), new JsonFieldsReader(mapper, Collections.emptyList()).read(JSON));
+    }
+
+    @Test(expected = JsonParseException.class)
+    public void testNotObject() throws IOException {
+        new JsonFieldsReader(mapper, Collections.emptyList()).read("[1, 2]");
+    }
+}
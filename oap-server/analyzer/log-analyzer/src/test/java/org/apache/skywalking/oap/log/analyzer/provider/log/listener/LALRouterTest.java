@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.log.analyzer.provider.log.listener;
+
+import java.util.Arrays;
+import java.util.Collections;
+import org.apache.skywalking.apm.network.common.v3.KeyStringValuePair;
+import org.apache.skywalking.apm.network.logging.v3.LogData;
+import org.apache.skywalking.apm.network.logging.v3.LogTags;
+import org.apache.skywalking.oap.log.analyzer.provider.LALConfig;
+import org.apache.skywalking.oap.server.library.module.ModuleStartException;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class LALRouterTest {
+    private LALRouter<String> router;
+
+    @Before
+    public void setup() throws ModuleStartException {
+        router = new LALRouter<>();
+        router.add(config("default", null, null, null, null), "default");
+        router.add(config("mesh", "MESH", null, null, null), "mesh");
+        router.add(config("general", "GENERAL", null, null, null), "general");
+        router.add(config("checkout", null, "checkout", null, null), "checkout");
+        router.add(config("checkout-mesh", "MESH", "checkout", null, null), "checkout-mesh");
+        router.add(config("level", null, null, "level", null), "level");
+        router.add(config("error", null, null, "level", "ERROR"), "error");
+    }
+
+    @Test
+    public void testRoute() {
+        assertEquals(
+            Arrays.asList("default", "general"),
+            router.route(LogData.newBuilder().setService("cart"))
+        );
+        assertEquals(
+            Arrays.asList("default", "mesh", "checkout", "checkout-mesh"),
+            router.route(LogData.newBuilder().setService("checkout").setLayer("MESH"))
+        );
+        assertEquals(
+            Arrays.asList("default", "general", "checkout", "level", "error"),
+            router.route(LogData.newBuilder()
+                                .setService("checkout")
+                                .setTags(LogTags.newBuilder()
+                                                .addData(tag("level", "ERROR"))
+                                                .addData(tag("level", "ERROR"))))
+        );
+        assertEquals(
+            Arrays.asList("default", "general", "level"),
+            router.route(LogData.newBuilder()
+                                .setService("cart")
+                                .setTags(LogTags.newBuilder().addData(tag("level", "INFO"))))
+        );
+    }
+
+    @Test
+    public void testUnrouted() throws ModuleStartException {
+        final LALRouter<String> unrouted = new LALRouter<>();
+        unrouted.add(config("default", null, null, null, null), "default");
+
+        assertSame(
+            unrouted.route(LogData.newBuilder().setService("cart")),
+            unrouted.route(LogData.newBuilder().setService("checkout"))
+        );
+        assertEquals(Collections.emptyList(), new LALRouter<String>().route(LogData.newBuilder()));
+    }
+
+    @Test(expected = ModuleStartException.class)
+    public void testUnknownLayer() throws ModuleStartException {
+        router.add(config("unknown", "UNKNOWN_LAYER", null, null, null), "unknown");
+    }
+
+    @Test(expected = ModuleStartException.class)
+    public void testTagValueWithoutKey() throws ModuleStartException {
+        router.add(config("value", null, null, null, "ERROR"), "value");
+    }
+
+    private static LALConfig config(String name, String layer, String service, String tagKey, String tagValue) {
+        final LALConfig config = new LALConfig();
+        config.setName(name);
+        config.setLayer(layer);
+        config.setService(service);
+        config.setTagKey(tagKey);
+        config.setTagValue(tagValue);
+        return config;
+    }
+
+    private static KeyStringValuePair tag(String key, String value) {
+        return KeyStringValuePair.newBuilder().setKey(key).setValue(value).build();
+    }
+}
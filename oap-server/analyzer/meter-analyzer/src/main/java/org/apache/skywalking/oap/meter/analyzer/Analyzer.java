@@ -56,6 +56,7 @@ import org.apache.skywalking.oap.server.core.analysis.meter.function.AcceptableV
 import org.apache.skywalking.oap.server.core.analysis.meter.function.BucketedValues;
 import org.apache.skywalking.oap.server.core.analysis.meter.function.PercentileArgument;
 import org.apache.skywalking.oap.server.core.analysis.metrics.DataTable;
+import org.apache.skywalking.oap.server.core.analysis.metrics.HyperLogLog;
 import org.apache.skywalking.oap.server.core.analysis.worker.MetricsStreamProcessor;
 
 import static com.google.common.collect.ImmutableMap.toImmutableMap;
@@ -106,6 +107,8 @@ public class Analyzer {
 
     private int[] percentiles;
 
+    private List<String> distinctLabels;
+
     /**
      * analyse intends to parse expression with input samples to meter-system metrics.
      *
@@ -148,8 +151,20 @@ public class Analyzer {
                     lv.accept(meterEntity, dt);
                     send(lv, ss[0].getTimestamp());
                     break;
+                case distinctCount:
+                    AcceptableValue<HyperLogLog> dv = meterSystem.buildMetrics(metricName, HyperLogLog.class);
+                    HyperLogLog hll = new HyperLogLog();
+                    for (Sample each : ss) {
+                        if (getValue(each) > 0 && each.getLabels().keySet().containsAll(distinctLabels)) {
+                            hll.add(composeGroup(each.getLabels(), distinctLabels::contains));
+                        }
+                    }
+                    dv.accept(meterEntity, hll);
+                    send(dv, ss[0].getTimestamp());
+                    break;
                 case histogram:
                 case histogramPercentile:
+                case sketchPercentile:
                     Stream.of(ss).map(s -> Tuple.of(composeGroup(s.getLabels(), k -> !Objects.equals("le", k)), s))
                           .collect(groupingBy(Tuple2::_1, mapping(Tuple2::_2, toList())))
                           .forEach((group, subSs) -> {
@@ -213,6 +228,10 @@ public class Analyzer {
         histogram("histogram"),
         // metrics is aggregated by histogram based percentile function.
         histogramPercentile("histogramPercentile"),
+        // metrics is aggregated by quantile sketch based percentile function, regardless of the downsampling.
+        sketchPercentile("sketchPercentile"),
+        // metrics is aggregated by HyperLogLog based distinct count function, regardless of the downsampling.
+        distinctCount("distinctCount"),
         // metrics is aggregated by labeled function.
         labeled("labeled"),
         // metrics is aggregated by single value function.
@@ -225,11 +244,14 @@ public class Analyzer {
         this.samples = ctx.getSamples();
         if (ctx.isHistogram()) {
             if (ctx.getPercentiles() != null && ctx.getPercentiles().length > 0) {
-                metricType = MetricType.histogramPercentile;
+                metricType = ctx.isSketch() ? MetricType.sketchPercentile : MetricType.histogramPercentile;
                 this.percentiles = ctx.getPercentiles();
             } else {
                 metricType = MetricType.histogram;
             }
+        } else if (ctx.getDistinctLabels() != null) {
+            metricType = MetricType.distinctCount;
+            this.distinctLabels = ctx.getDistinctLabels();
         } else {
             if (ctx.getLabels().isEmpty()) {
                 metricType = MetricType.single;
@@ -237,7 +259,11 @@ public class Analyzer {
                 metricType = MetricType.labeled;
             }
         }
-        createMetric(ctx.getScopeType(), metricType.literal, ctx.getDownsampling());
+        if (metricType == MetricType.sketchPercentile || metricType == MetricType.distinctCount) {
+            meterSystem.create(metricName, metricType.literal, ctx.getScopeType());
+        } else {
+            createMetric(ctx.getScopeType(), metricType.literal, ctx.getDownsampling());
+        }
 
         if (ctx.isRetagByK8sMeta()) {
             K8sInfoRegistry.getInstance().start();
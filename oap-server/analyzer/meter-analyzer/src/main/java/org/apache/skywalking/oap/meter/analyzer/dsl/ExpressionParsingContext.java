@@ -62,6 +62,14 @@ public class ExpressionParsingContext implements Closeable {
 
     boolean isHistogram;
     int[] percentiles;
+    /**
+     * Mark whether the percentiles are calculated by the quantile sketch.
+     */
+    boolean isSketch;
+    /**
+     * The labels whose distinct values are counted, null if distinctCount() is not invoked.
+     */
+    List<String> distinctLabels;
 
     Set<String> aggregationLabels;
 
@@ -424,6 +424,35 @@ public class SampleFamily {
         return this;
     }
 
+    /**
+     * The same as {@link #histogram_percentile(List)}, but the percentiles are calculated from a quantile sketch of the
+     * histogram rather than the histogram itself, so the histograms of different bucket layouts could be merged.
+     */
+    public SampleFamily histogram_sketch_percentile(List<Integer> percentiles) {
+        Preconditions.checkArgument(percentiles.size() > 0);
+        int[] p = percentiles.stream().mapToInt(i -> i).toArray();
+        ExpressionParsingContext.get().ifPresent(ctx -> {
+            Preconditions.checkState(
+                ctx.isHistogram, "histogram() should be invoked before invoking histogram_sketch_percentile()");
+            ctx.percentiles = p;
+            ctx.isSketch = true;
+        });
+        return this;
+    }
+
+    /**
+     * Count the distinct values of the labels in the samples of each entity, such as the number of clients calling a
+     * service. The samples whose value is not positive are not counted.
+     */
+    public SampleFamily distinctCount(List<String> labelKeys) {
+        Preconditions.checkArgument(labelKeys.size() > 0);
+        ExpressionParsingContext.get().ifPresent(ctx -> {
+            Preconditions.checkState(!ctx.isHistogram, "distinctCount() can't be used along with histogram()");
+            ctx.distinctLabels = labelKeys;
+        });
+        return this;
+    }
+
     public SampleFamily service(List<String> labelKeys, Layer layer) {
         Preconditions.checkArgument(labelKeys.size() > 0);
         ExpressionParsingContext.get().ifPresent(ctx -> {
@@ -19,38 +19,55 @@
 package org.apache.skywalking.oap.meter.analyzer.k8s;
 
 import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.kubernetes.client.informer.ResourceEventHandler;
 import io.kubernetes.client.informer.SharedInformerFactory;
 import io.kubernetes.client.openapi.Configuration;
 import io.kubernetes.client.openapi.apis.CoreV1Api;
+import io.kubernetes.client.openapi.models.V1ObjectMeta;
 import io.kubernetes.client.openapi.models.V1PodList;
 import io.kubernetes.client.openapi.models.V1Service;
 import io.kubernetes.client.openapi.models.V1ServiceList;
 import io.kubernetes.client.util.Config;
 import io.kubernetes.client.openapi.ApiClient;
 import io.kubernetes.client.openapi.models.V1Pod;
-import java.util.Collection;
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
-import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 
 import static java.util.Objects.isNull;
-import static java.util.Optional.ofNullable;
 
+/**
+ * K8sInfoRegistry maps the pods to the services selecting them, for the {@code retagByK8sMeta} operation of MAL.
+ *
+ * <p>The pods and the services are indexed by their label pairs per namespace, so an informer event only resolves the
+ * pods it affects instead of matching every pod against every service. Only the labels and selectors are kept from
+ * the informer objects. Same as Kubernetes, a service without selector doesn't select any pod.
+ */
 @Slf4j
 public class K8sInfoRegistry {
 
     private final static K8sInfoRegistry INSTANCE = new K8sInfoRegistry();
     private final AtomicBoolean isStarted = new AtomicBoolean(false);
-    private final Map<String/* podName.namespace */, V1Pod> namePodMap = new ConcurrentHashMap<>();
-    protected final Map<String/* serviceName.namespace  */, V1Service> nameServiceMap = new ConcurrentHashMap<>();
+    private final Map<String/* podName.namespace */, PodMeta> namePodMap = new HashMap<>();
+    private final Map<String/* serviceName.namespace */, ServiceMeta> nameServiceMap = new HashMap<>();
+    // namespace -> label pair of the pods -> podName.namespace
+    private final Map<String, Map<Map.Entry<String, String>, Set<String>>> labelIndex = new HashMap<>();
+    // namespace -> label pair of the service selectors -> serviceName.namespace
+    private final Map<String, Map<Map.Entry<String, String>, Set<String>>> selectorIndex = new HashMap<>();
     private final Map<String/* podName.namespace */, String /* serviceName.namespace */> podServiceMap = new ConcurrentHashMap<>();
     private ExecutorService executor;
     private static final String SEPARATOR = ".";
@@ -158,75 +175,224 @@ public class K8sInfoRegistry {
     }
 
     protected void addService(final V1Service service) {
-        ofNullable(service.getMetadata()).ifPresent(
-            metadata -> nameServiceMap.put(metadata.getName() + SEPARATOR + metadata.getNamespace(), service)
+        final V1ObjectMeta metadata = service.getMetadata();
+        if (isNull(metadata)) {
+            return;
+        }
+        final ServiceMeta current = new ServiceMeta(
+            metadata.getNamespace(),
+            copyOf(isNull(service.getSpec()) ? null : service.getSpec().getSelector())
         );
-        recompose();
+        final String serviceKey = metadata.getName() + SEPARATOR + metadata.getNamespace();
+
+        synchronized (this) {
+            final ServiceMeta previous = nameServiceMap.put(serviceKey, current);
+            if (current.equals(previous)) {
+                // Resync of an unchanged service.
+                return;
+            }
+            final Set<String> affectedPods = new HashSet<>();
+            if (previous != null) {
+                unindex(selectorIndex, previous.namespace, previous.selector, serviceKey);
+                affectedPods.addAll(selectedPods(previous));
+            }
+            index(selectorIndex, current.namespace, current.selector, serviceKey);
+            affectedPods.addAll(selectedPods(current));
+            affectedPods.forEach(this::resolve);
+        }
     }
 
     protected void removeService(final V1Service service) {
-        ofNullable(service.getMetadata()).ifPresent(
-            metadata -> nameServiceMap.remove(metadata.getName() + SEPARATOR + metadata.getNamespace())
-        );
-        recompose();
+        final V1ObjectMeta metadata = service.getMetadata();
+        if (isNull(metadata)) {
+            return;
+        }
+        final String serviceKey = metadata.getName() + SEPARATOR + metadata.getNamespace();
+
+        synchronized (this) {
+            final ServiceMeta previous = nameServiceMap.remove(serviceKey);
+            if (previous == null) {
+                return;
+            }
+            unindex(selectorIndex, previous.namespace, previous.selector, serviceKey);
+            selectedPods(previous).forEach(this::resolve);
+        }
     }
 
     protected void addPod(final V1Pod pod) {
-        ofNullable(pod.getMetadata()).ifPresent(
-            metadata -> namePodMap.put(metadata.getName() + SEPARATOR + metadata.getNamespace(), pod));
+        final V1ObjectMeta metadata = pod.getMetadata();
+        if (isNull(metadata)) {
+            return;
+        }
+        final PodMeta current = new PodMeta(metadata.getNamespace(), copyOf(metadata.getLabels()));
+        final String podKey = metadata.getName() + SEPARATOR + metadata.getNamespace();
 
-        recompose();
+        synchronized (this) {
+            final PodMeta previous = namePodMap.put(podKey, current);
+            if (current.equals(previous)) {
+                return;
+            }
+            if (previous != null) {
+                unindex(labelIndex, previous.namespace, previous.labels, podKey);
+            }
+            index(labelIndex, current.namespace, current.labels, podKey);
+            resolve(podKey);
+        }
     }
 
     protected void removePod(final V1Pod pod) {
-        ofNullable(pod.getMetadata()).ifPresent(
-            metadata -> namePodMap.remove(metadata.getName() + SEPARATOR + metadata.getNamespace()));
+        final V1ObjectMeta metadata = pod.getMetadata();
+        if (isNull(metadata)) {
+            return;
+        }
+        final String podKey = metadata.getName() + SEPARATOR + metadata.getNamespace();
 
-        ofNullable(pod.getMetadata()).ifPresent(
-            metadata -> podServiceMap.remove(metadata.getName() + SEPARATOR + metadata.getNamespace()));
+        synchronized (this) {
+            final PodMeta previous = namePodMap.remove(podKey);
+            if (previous != null) {
+                unindex(labelIndex, previous.namespace, previous.labels, podKey);
+            }
+            podServiceMap.remove(podKey);
+        }
     }
 
-    private void recompose() {
-        namePodMap.forEach((podName, pod) -> {
-            nameServiceMap.forEach((serviceName, service) -> {
-                if (isNull(pod.getMetadata()) || isNull(service.getMetadata()) || isNull(service.getSpec())) {
-                    return;
+    /**
+     * Find the service selecting the pod through the services indexed by the pod labels. When several services select
+     * the same pod, the one with the smallest name is chosen so the result doesn't depend on the event order.
+     */
+    private void resolve(final String podKey) {
+        final PodMeta pod = namePodMap.get(podKey);
+        if (pod == null) {
+            podServiceMap.remove(podKey);
+            return;
+        }
+        String selected = null;
+        final Map<Map.Entry<String, String>, Set<String>> servicesOfLabels = selectorIndex.getOrDefault(
+            pod.namespace, Collections.emptyMap());
+        for (final Map.Entry<String, String> label : pod.labels.entrySet()) {
+            for (final String serviceKey : servicesOfLabels.getOrDefault(label, Collections.emptySet())) {
+                if ((selected == null || serviceKey.compareTo(selected) < 0)
+                    && matches(nameServiceMap.get(serviceKey).selector, pod.labels)) {
+                    selected = serviceKey;
                 }
+            }
+        }
+        if (selected == null) {
+            podServiceMap.remove(podKey);
+        } else {
+            podServiceMap.put(podKey, selected);
+        }
+    }
 
-                Map<String, String> selector = service.getSpec().getSelector();
-                Map<String, String> labels = pod.getMetadata().getLabels();
+    /**
+     * @return the pods selected by the service, found by the least common pair of the selector.
+     */
+    private Set<String> selectedPods(final ServiceMeta service) {
+        final Map<Map.Entry<String, String>, Set<String>> podsOfLabels = labelIndex.get(service.namespace);
+        if (podsOfLabels == null || service.selector.isEmpty()) {
+            return Collections.emptySet();
+        }
+        Set<String> candidates = null;
+        for (final Map.Entry<String, String> pair : service.selector.entrySet()) {
+            final Set<String> pods = podsOfLabels.get(pair);
+            if (pods == null) {
+                return Collections.emptySet();
+            }
+            if (candidates == null || pods.size() < candidates.size()) {
+                candidates = pods;
+            }
+        }
+        final Set<String> selected = new HashSet<>();
+        for (final String podKey : candidates) {
+            if (matches(service.selector, namePodMap.get(podKey).labels)) {
+                selected.add(podKey);
+            }
+        }
+        return selected;
+    }
 
-                if (isNull(labels) || isNull(selector)) {
-                    return;
-                }
+    private static void index(final Map<String, Map<Map.Entry<String, String>, Set<String>>> index,
+                              final String namespace,
+                              final Map<String, String> labels,
+                              final String key) {
+        if (Strings.isNullOrEmpty(namespace)) {
+            return;
+        }
+        final Map<Map.Entry<String, String>, Set<String>> keysOfLabels =
+            index.computeIfAbsent(namespace, unused -> new HashMap<>());
+        for (final Map.Entry<String, String> label : labels.entrySet()) {
+            Set<String> keys = keysOfLabels.get(label);
+            if (keys == null) {
+                keys = new HashSet<>();
+                // Don't let the index key hold the entries of the labels map.
+                keysOfLabels.put(new AbstractMap.SimpleImmutableEntry<>(label), keys);
+            }
+            keys.add(key);
+        }
+    }
 
-                String podNamespace = pod.getMetadata().getNamespace();
-                String serviceNamespace = service.getMetadata().getNamespace();
+    private static void unindex(final Map<String, Map<Map.Entry<String, String>, Set<String>>> index,
+                                final String namespace,
+                                final Map<String, String> labels,
+                                final String key) {
+        final Map<Map.Entry<String, String>, Set<String>> keysOfLabels = index.get(namespace);
+        if (keysOfLabels == null) {
+            return;
+        }
+        labels.entrySet().forEach(label -> {
+            final Set<String> keys = keysOfLabels.get(label);
+            if (keys != null && keys.remove(key) && keys.isEmpty()) {
+                keysOfLabels.remove(label);
+            }
+        });
+        if (keysOfLabels.isEmpty()) {
+            index.remove(namespace);
+        }
+    }
 
-                if (Strings.isNullOrEmpty(podNamespace) || Strings.isNullOrEmpty(
-                    serviceNamespace) || !podNamespace.equals(serviceNamespace)) {
-                    return;
-                }
+    private static boolean matches(final Map<String, String> selector, final Map<String, String> labels) {
+        if (selector.isEmpty()) {
+            return false;
+        }
+        for (final Map.Entry<String, String> pair : selector.entrySet()) {
+            if (!pair.getValue().equals(labels.get(pair.getKey()))) {
+                return false;
+            }
+        }
+        return true;
+    }
 
-                if (hasIntersection(selector.entrySet(), labels.entrySet())) {
-                    podServiceMap.put(podName, serviceName);
-                }
-            });
+    private static Map<String, String> copyOf(final Map<String, String> labels) {
+        if (isNull(labels)) {
+            return Collections.emptyMap();
+        }
+        final ImmutableMap.Builder<String, String> builder = ImmutableMap.builder();
+        labels.forEach((key, value) -> {
+            if (key != null && value != null) {
+                builder.put(key, value);
+            }
         });
+        return builder.build();
     }
 
     public String findServiceName(String namespace, String podName) {
         return this.podServiceMap.get(podName + SEPARATOR + namespace);
     }
 
-    private boolean hasIntersection(Collection<?> o, Collection<?> c) {
-        Objects.requireNonNull(o);
-        Objects.requireNonNull(c);
-        for (final Object value : o) {
-            if (!c.contains(value)) {
-                return false;
-            }
-        }
-        return true;
+    /**
+     * The only pod metadata needed to resolve its service, the informer objects are not kept.
+     */
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    private static final class PodMeta {
+        private final String namespace;
+        private final Map<String, String> labels;
+    }
+
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    private static final class ServiceMeta {
+        private final String namespace;
+        private final Map<String, String> selector;
     }
 }
@@ -65,6 +65,18 @@ public class ExpressionParsingTest {
                                         .percentiles(new int[]{50, 99}).build(),
                 false,
             },
+            {
+                "distinctCount",
+                "foo.distinctCount(['client']).service(['rr'], Layer.GENERAL)",
+                ExpressionParsingContext.builder()
+                                        .samples(Collections.singletonList("foo"))
+                                        .scopeType(ScopeType.SERVICE)
+                                        .scopeLabels(Sets.newHashSet("rr"))
+                                        .aggregationLabels(Sets.newHashSet())
+                                        .downsampling(DownsamplingType.AVG)
+                                        .distinctLabels(Collections.singletonList("client")).build(),
+                false,
+            },
             {
                 "sumThenAvg",
                 "(foo - 1).tagEqual('bar', '1').sum(['tt']).irate().histogram().histogram_percentile([50,99]).service(['rr'], Layer.GENERAL).avg(['tt'])",
@@ -91,6 +103,20 @@ public class ExpressionParsingTest {
                                         .percentiles(new int[]{50, 99}).build(),
                 false,
             },
+            {
+                "sketchPercentile",
+                "foo.sum(['tt']).histogram().histogram_sketch_percentile([50,99]).service(['rr'], Layer.GENERAL)",
+                ExpressionParsingContext.builder()
+                                        .samples(Collections.singletonList("foo"))
+                                        .scopeType(ScopeType.SERVICE)
+                                        .scopeLabels(Sets.newHashSet("rr"))
+                                        .aggregationLabels(Sets.newHashSet("tt"))
+                                        .downsampling(DownsamplingType.AVG)
+                                        .isHistogram(true)
+                                        .isSketch(true)
+                                        .percentiles(new int[]{50, 99}).build(),
+                false,
+            },
             {
                 "sameSamples",
                 "(node_cpu_seconds_total.sum(['node_identifier_host_name']) - node_cpu_seconds_total.tagEqual('mode', 'idle').sum(['node_identifier_host_name'])).service(['node_identifier_host_name'], Layer.GENERAL) ",
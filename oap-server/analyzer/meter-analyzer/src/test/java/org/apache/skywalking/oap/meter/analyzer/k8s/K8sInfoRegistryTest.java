@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.meter.analyzer.k8s;
+
+import com.google.common.collect.ImmutableMap;
+import io.kubernetes.client.openapi.models.V1ObjectMeta;
+import io.kubernetes.client.openapi.models.V1Pod;
+import io.kubernetes.client.openapi.models.V1Service;
+import io.kubernetes.client.openapi.models.V1ServiceSpec;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class K8sInfoRegistryTest {
+    private K8sInfoRegistry registry;
+
+    @Before
+    public void setUp() {
+        registry = new K8sInfoRegistry();
+    }
+
+    @Test
+    public void testSelectPodsByAllSelectorLabels() {
+        registry.addService(service("nginx", "default", ImmutableMap.of("app", "nginx", "tier", "web")));
+        registry.addPod(pod("nginx-1", "default", ImmutableMap.of("app", "nginx", "tier", "web", "hash", "1")));
+        registry.addPod(pod("nginx-2", "default", ImmutableMap.of("app", "nginx")));
+        registry.addPod(pod("nginx-3", "other", ImmutableMap.of("app", "nginx", "tier", "web")));
+
+        assertEquals("nginx.default", registry.findServiceName("default", "nginx-1"));
+        assertNull(registry.findServiceName("default", "nginx-2"));
+        assertNull(registry.findServiceName("other", "nginx-3"));
+    }
+
+    @Test
+    public void testServiceAddedAfterPods() {
+        registry.addPod(pod("nginx-1", "default", ImmutableMap.of("app", "nginx")));
+        assertNull(registry.findServiceName("default", "nginx-1"));
+
+        registry.addService(service("nginx", "default", ImmutableMap.of("app", "nginx")));
+        assertEquals("nginx.default", registry.findServiceName("default", "nginx-1"));
+    }
+
+    @Test
+    public void testUpdateAndRemoveService() {
+        registry.addPod(pod("nginx-1", "default", ImmutableMap.of("app", "nginx", "version", "v1")));
+        registry.addPod(pod("nginx-2", "default", ImmutableMap.of("app", "nginx", "version", "v2")));
+        registry.addService(service("nginx", "default", ImmutableMap.of("app", "nginx")));
+        registry.addService(service("nginx-v2", "default", ImmutableMap.of("app", "nginx", "version", "v2")));
+        assertEquals("nginx.default", registry.findServiceName("default", "nginx-1"));
+        // both services select nginx-2, the one with the smaller name is chosen
+        assertEquals("nginx-v2.default", registry.findServiceName("default", "nginx-2"));
+
+        registry.addService(service("nginx", "default", ImmutableMap.of("app", "nginx", "version", "v1")));
+        assertEquals("nginx.default", registry.findServiceName("default", "nginx-1"));
+        assertEquals("nginx-v2.default", registry.findServiceName("default", "nginx-2"));
+
+        registry.removeService(service("nginx", "default", null));
+        assertNull(registry.findServiceName("default", "nginx-1"));
+        assertEquals("nginx-v2.default", registry.findServiceName("default", "nginx-2"));
+    }
+
+    @Test
+    public void testUpdateAndRemovePod() {
+        registry.addService(service("nginx", "default", ImmutableMap.of("app", "nginx")));
+        registry.addPod(pod("nginx-1", "default", ImmutableMap.of("app", "nginx")));
+        assertEquals("nginx.default", registry.findServiceName("default", "nginx-1"));
+
+        registry.addPod(pod("nginx-1", "default", ImmutableMap.of("app", "debug")));
+        assertNull(registry.findServiceName("default", "nginx-1"));
+
+        registry.addPod(pod("nginx-1", "default", ImmutableMap.of("app", "nginx")));
+        registry.removePod(pod("nginx-1", "default", null));
+        assertNull(registry.findServiceName("default", "nginx-1"));
+
+        registry.addService(service("nginx", "default", ImmutableMap.of("app", "nginx", "tier", "web")));
+        assertNull(registry.findServiceName("default", "nginx-1"));
+    }
+
+    @Test
+    public void testServiceWithoutSelector() {
+        registry.addService(service("external", "default", null));
+        registry.addPod(pod("nginx-1", "default", ImmutableMap.of("app", "nginx")));
+        assertNull(registry.findServiceName("default", "nginx-1"));
+    }
+
+    private static V1Service service(String name, String namespace, Map<String, String> selector) {
+        final V1ObjectMeta metadata = new V1ObjectMeta();
+        metadata.setName(name);
+        metadata.setNamespace(namespace);
+        final V1ServiceSpec spec = new V1ServiceSpec();
+        spec.setSelector(selector);
+        final V1Service service = new V1Service();
+        service.setMetadata(metadata);
+        service.setSpec(spec);
+        return service;
+    }
+
+    private static V1Pod pod(String name, String namespace, Map<String, String> labels) {
+        final V1ObjectMeta metadata = new V1ObjectMeta();
+        metadata.setName(name);
+        metadata.setNamespace(namespace);
+        metadata.setLabels(labels);
+        final V1Pod pod = new V1Pod();
+        pod.setMetadata(metadata);
+        return pod;
+    }
+}
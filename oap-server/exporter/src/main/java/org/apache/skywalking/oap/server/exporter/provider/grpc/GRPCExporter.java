@@ -18,14 +18,20 @@
 
 package org.apache.skywalking.oap.server.exporter.provider.grpc;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.grpc.ManagedChannel;
-import io.grpc.stub.StreamObserver;
-import java.util.ArrayList;
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientResponseObserver;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.locks.ReentrantLock;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.skywalking.oap.server.core.analysis.metrics.DoubleValueHolder;
 import org.apache.skywalking.oap.server.core.analysis.metrics.IntValueHolder;
@@ -50,20 +56,25 @@ import org.apache.skywalking.oap.server.library.client.grpc.GRPCClient;
 import org.apache.skywalking.oap.server.library.datacarrier.DataCarrier;
 import org.apache.skywalking.oap.server.library.datacarrier.consumer.IConsumer;
 import org.apache.skywalking.oap.server.library.util.GRPCStreamStatus;
+import org.apache.skywalking.oap.server.library.util.RunnableWithExceptionProtection;
 
 @Slf4j
 public class GRPCExporter extends MetricFormatter implements MetricValuesExportService, IConsumer<ExportData> {
-    /**
-     * The period of subscription list fetching is hardcoded as 30s.
-     */
-    private static final long FETCH_SUBSCRIPTION_PERIOD = 30_000;
     private final GRPCExporterSetting setting;
     private final MetricExportServiceGrpc.MetricExportServiceStub exportServiceFutureStub;
     private final MetricExportServiceGrpc.MetricExportServiceBlockingStub blockingStub;
     private final DataCarrier exportBuffer;
-    private final ReentrantLock fetchListLock;
-    private volatile List<SubscriptionMetric> subscriptionList;
-    private volatile long lastFetchTimestamp = 0;
+    /**
+     * The subscribed event types indexed by the metrics name. Empty means all metrics are subscribed in the increment
+     * event type.
+     */
+    private volatile Map<String, Set<ExportEvent.EventType>> subscriptionIndex;
+    private ScheduledExecutorService subscriptionFetcher;
+    /**
+     * The export stream is kept open across the consumed batches, and only rotated after {@link
+     * GRPCExporterSetting#getMaxMessagesPerStream()} values or an error.
+     */
+    private ExportStream exportStream;
 
     public GRPCExporter(GRPCExporterSetting setting) {
         this.setting = setting;
@@ -74,8 +85,7 @@ public class GRPCExporter extends MetricFormatter implements MetricValuesExportS
         blockingStub = MetricExportServiceGrpc.newBlockingStub(channel);
         exportBuffer = new DataCarrier<ExportData>(setting.getBufferChannelNum(), setting.getBufferChannelSize());
         exportBuffer.consume(this, 1, 200);
-        subscriptionList = new ArrayList<>();
-        fetchListLock = new ReentrantLock();
+        subscriptionIndex = Collections.emptyMap();
     }
 
     @Override
@@ -83,42 +93,75 @@ public class GRPCExporter extends MetricFormatter implements MetricValuesExportS
         Metrics metrics = event.getMetrics();
         if (metrics instanceof WithMetadata) {
             MetricsMetaInfo meta = ((WithMetadata) metrics).getMeta();
-            if (subscriptionList.size() == 0 && ExportEvent.EventType.INCREMENT.equals(event.getType())) {
+            final Map<String, Set<ExportEvent.EventType>> index = subscriptionIndex;
+            if (index.isEmpty()) {
+                if (ExportEvent.EventType.INCREMENT.equals(event.getType())) {
+                    exportBuffer.produce(new ExportData(meta, metrics, event.getType()));
+                }
+                return;
+            }
+            final Set<ExportEvent.EventType> eventTypes = index.get(meta.getMetricsName());
+            if (eventTypes != null && eventTypes.contains(event.getType())) {
                 exportBuffer.produce(new ExportData(meta, metrics, event.getType()));
-            } else {
-                subscriptionList.forEach(subscriptionMetric -> {
-                    if (subscriptionMetric.getMetricName().equals(meta.getMetricsName()) &&
-                        eventTypeMatch(event.getType(), subscriptionMetric.getEventType())) {
-                        exportBuffer.produce(new ExportData(meta, metrics, event.getType()));
-                    }
-                });
             }
+        }
+    }
 
-            fetchSubscriptionList();
+    /**
+     * Fetch the subscription list once, then refresh it periodically in the background, the export never waits for
+     * it.
+     */
+    public void start() {
+        if (subscriptionFetcher != null) {
+            return;
         }
+        fetchSubscriptionList();
+        subscriptionFetcher = Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder().setDaemon(true).setNameFormat("GRPCExporterSubscription-%d").build());
+        subscriptionFetcher.scheduleWithFixedDelay(
+            new RunnableWithExceptionProtection(
+                this::fetchSubscriptionList, t -> log.error("Getting exporter subscription list fails.", t)
+            ), setting.getFetchSubscriptionPeriod(), setting.getFetchSubscriptionPeriod(), TimeUnit.SECONDS
+        );
     }
 
     /**
-     * Read the subscription list.
+     * Read the subscription list, and rebuild the index of it.
      */
     public void fetchSubscriptionList() {
-        final long currentTimeMillis = System.currentTimeMillis();
-        if (currentTimeMillis - lastFetchTimestamp > FETCH_SUBSCRIPTION_PERIOD) {
-            fetchListLock.lock();
-            try {
-                if (currentTimeMillis - lastFetchTimestamp > FETCH_SUBSCRIPTION_PERIOD) {
-                    lastFetchTimestamp = currentTimeMillis;
-                    SubscriptionsResp subscription = blockingStub.withDeadlineAfter(10, TimeUnit.SECONDS)
-                                                                 .subscription(SubscriptionReq.newBuilder().build());
-                    subscriptionList = subscription.getMetricsList();
-                    log.debug("Get exporter subscription list, {}", subscriptionList);
-                }
-            } catch (Throwable e) {
-                log.error("Getting exporter subscription list fails.", e);
-            } finally {
-                fetchListLock.unlock();
+        try {
+            SubscriptionsResp subscription = blockingStub.withDeadlineAfter(10, TimeUnit.SECONDS)
+                                                         .subscription(SubscriptionReq.newBuilder().build());
+            subscriptionIndex = buildSubscriptionIndex(subscription.getMetricsList());
+            log.debug("Get exporter subscription list, {}", subscription.getMetricsList());
+        } catch (Throwable e) {
+            log.error("Getting exporter subscription list fails.", e);
+        }
+    }
+
+    static Map<String, Set<ExportEvent.EventType>> buildSubscriptionIndex(List<SubscriptionMetric> subscriptionList) {
+        final Map<String, Set<ExportEvent.EventType>> index = new HashMap<>(subscriptionList.size());
+        for (final SubscriptionMetric subscriptionMetric : subscriptionList) {
+            final ExportEvent.EventType eventType;
+            switch (subscriptionMetric.getEventType()) {
+                case TOTAL:
+                    eventType = ExportEvent.EventType.TOTAL;
+                    break;
+                case INCREMENT:
+                    eventType = ExportEvent.EventType.INCREMENT;
+                    break;
+                default:
+                    log.warn(
+                        "Skip the subscription of metrics {}, unrecognized event type: {}",
+                        subscriptionMetric.getMetricName(), subscriptionMetric.getEventTypeValue()
+                    );
+                    continue;
             }
+            index.computeIfAbsent(
+                subscriptionMetric.getMetricName(), name -> EnumSet.noneOf(ExportEvent.EventType.class)
+            ).add(eventType);
         }
+        return index;
     }
 
     @Override
@@ -128,30 +171,8 @@ public class GRPCExporter extends MetricFormatter implements MetricValuesExportS
 
     @Override
     public void consume(List<ExportData> data) {
-        GRPCStreamStatus status = new GRPCStreamStatus();
-        StreamObserver<ExportMetricValue> streamObserver =
-            exportServiceFutureStub.withDeadlineAfter(10, TimeUnit.SECONDS)
-                                   .export(
-                                       new StreamObserver<ExportResponse>() {
-                                           @Override
-                                           public void onNext(
-                                               ExportResponse response) {
-
-                                           }
-
-                                           @Override
-                                           public void onError(
-                                               Throwable throwable) {
-                                               status.done();
-                                           }
-
-                                           @Override
-                                           public void onCompleted() {
-                                               status.done();
-                                           }
-                                       });
-        AtomicInteger exportNum = new AtomicInteger();
-        data.forEach(row -> {
+        int exportNum = 0;
+        for (final ExportData row : data) {
             ExportMetricValue.Builder builder = ExportMetricValue.newBuilder();
 
             Metrics metrics = row.getMetrics();
@@ -174,7 +195,7 @@ public class GRPCExporter extends MetricFormatter implements MetricValuesExportS
                 }
                 builder.setType(ValueType.MULTI_LONG);
             } else {
-                return;
+                continue;
             }
 
             MetricsMetaInfo meta = row.getMeta();
@@ -183,45 +204,50 @@ public class GRPCExporter extends MetricFormatter implements MetricValuesExportS
                 ExportEvent.EventType.INCREMENT.equals(row.getEventType()) ? EventType.INCREMENT : EventType.TOTAL);
             String entityName = getEntityName(meta);
             if (entityName == null) {
-                return;
+                continue;
             }
             builder.setEntityName(entityName);
             builder.setEntityId(meta.getId());
 
             builder.setTimeBucket(metrics.getTimeBucket());
 
-            streamObserver.onNext(builder.build());
-            exportNum.getAndIncrement();
-        });
-
-        streamObserver.onCompleted();
-
-        long sleepTime = 0;
-        long cycle = 100L;
-
-        //For memory safe of oap, we must wait for the peer confirmation.
-        while (!status.isDone()) {
-            try {
-                sleepTime += cycle;
-                Thread.sleep(cycle);
-            } catch (InterruptedException e) {
-            }
-
-            if (sleepTime > 2000L) {
+            if (!send(builder.build())) {
                 log.warn(
-                    "Export {} metrics to {}:{}, wait {} milliseconds.", exportNum.get(), setting.getTargetHost(),
-                    setting
-                        .getTargetPort(), sleepTime
+                    "Export stream to {}:{} is not available, drop {} metrics.", setting.getTargetHost(),
+                    setting.getTargetPort(), data.size() - exportNum
                 );
-                cycle = 2000L;
+                return;
             }
+            exportNum++;
         }
 
         log.debug(
-            "Exported {} metrics to {}:{} in {} milliseconds.", exportNum.get(), setting.getTargetHost(), setting
-                .getTargetPort(), sleepTime);
+            "Exported {} metrics to {}:{}.", exportNum, setting.getTargetHost(), setting.getTargetPort());
+    }
 
-        fetchSubscriptionList();
+    /**
+     * Send the value through the current export stream, open a new one if there is no living stream. The sender waits
+     * for the stream being ready, so a slow target pushes back to the export buffer rather than piling up messages in
+     * the gRPC client.
+     *
+     * @return false if the stream isn't ready in {@link GRPCExporterSetting#getStreamReadyTimeout()} milliseconds.
+     */
+    private boolean send(ExportMetricValue value) {
+        if (exportStream == null || exportStream.status.isDone()) {
+            exportStream = new ExportStream();
+        }
+        final ExportStream stream = exportStream;
+        if (!stream.awaitReady(setting.getStreamReadyTimeout())) {
+            stream.cancel();
+            exportStream = null;
+            return false;
+        }
+        stream.requestStream.onNext(value);
+        if (++stream.sentNum >= setting.getMaxMessagesPerStream()) {
+            stream.complete(setting.getStreamReadyTimeout());
+            exportStream = null;
+        }
+        return true;
     }
 
     @Override
@@ -231,12 +257,104 @@ public class GRPCExporter extends MetricFormatter implements MetricValuesExportS
 
     @Override
     public void onExit() {
-
+        if (exportStream != null) {
+            exportStream.complete(setting.getStreamReadyTimeout());
+            exportStream = null;
+        }
     }
 
-    private boolean eventTypeMatch(ExportEvent.EventType eventType,
-                                   org.apache.skywalking.oap.server.exporter.grpc.EventType subscriptionType) {
-        return (ExportEvent.EventType.INCREMENT.equals(eventType) && EventType.INCREMENT.equals(subscriptionType))
-            || (ExportEvent.EventType.TOTAL.equals(eventType) && EventType.TOTAL.equals(subscriptionType));
+    private class ExportStream implements ClientResponseObserver<ExportMetricValue, ExportResponse> {
+        private final GRPCStreamStatus status = new GRPCStreamStatus();
+        private final Object readyLock = new Object();
+        private volatile ClientCallStreamObserver<ExportMetricValue> requestStream;
+        private int sentNum;
+
+        private ExportStream() {
+            exportServiceFutureStub.export(this);
+        }
+
+        @Override
+        public void beforeStart(ClientCallStreamObserver<ExportMetricValue> requestStream) {
+            this.requestStream = requestStream;
+            requestStream.setOnReadyHandler(() -> {
+                synchronized (readyLock) {
+                    readyLock.notifyAll();
+                }
+            });
+        }
+
+        private boolean awaitReady(long timeoutMillis) {
+            final long deadline = System.currentTimeMillis() + timeoutMillis;
+            synchronized (readyLock) {
+                while (!status.isDone() && !requestStream.isReady()) {
+                    final long waitTime = deadline - System.currentTimeMillis();
+                    if (waitTime <= 0) {
+                        return false;
+                    }
+                    try {
+                        readyLock.wait(waitTime);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return false;
+                    }
+                }
+            }
+            return !status.isDone();
+        }
+
+        /**
+         * Complete the stream and wait for the confirmation of the peer, for memory safe of the oap.
+         */
+        private void complete(long timeoutMillis) {
+            requestStream.onCompleted();
+            final long deadline = System.currentTimeMillis() + timeoutMillis;
+            synchronized (readyLock) {
+                while (!status.isDone() && System.currentTimeMillis() < deadline) {
+                    try {
+                        readyLock.wait(100);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            }
+            if (!status.isDone()) {
+                log.warn(
+                    "Export {} metrics to {}:{}, wait {} milliseconds without confirmation.", sentNum,
+                    setting.getTargetHost(), setting.getTargetPort(), timeoutMillis
+                );
+                cancel();
+            }
+        }
+
+        private void cancel() {
+            requestStream.cancel("Export stream is abandoned", null);
+            done();
+        }
+
+        private void done() {
+            status.done();
+            synchronized (readyLock) {
+                readyLock.notifyAll();
+            }
+        }
+
+        @Override
+        public void onNext(ExportResponse response) {
+
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            log.warn("Export stream to {}:{} is broken, {}", setting.getTargetHost(), setting.getTargetPort(),
+                     throwable.getMessage()
+            );
+            done();
+        }
+
+        @Override
+        public void onCompleted() {
+            done();
+        }
     }
 }
@@ -29,4 +29,17 @@ public class GRPCExporterSetting extends ModuleConfig {
     private int targetPort;
     private int bufferChannelSize = 20000;
     private int bufferChannelNum = 2;
+    /**
+     * The period(in seconds) of refreshing the subscription list in the background.
+     */
+    private long fetchSubscriptionPeriod = 30;
+    /**
+     * The export stream is completed and reopened after sending this number of metrics.
+     */
+    private int maxMessagesPerStream = 10000;
+    /**
+     * The max time(in milliseconds) of waiting for the export stream being ready to send, or the peer confirmation of
+     * a completed stream.
+     */
+    private long streamReadyTimeout = 10000;
 }
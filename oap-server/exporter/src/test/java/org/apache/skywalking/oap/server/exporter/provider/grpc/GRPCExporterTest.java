@@ -19,21 +19,29 @@
 package org.apache.skywalking.oap.server.exporter.provider.grpc;
 
 import io.grpc.testing.GrpcServerRule;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import org.apache.skywalking.oap.server.core.analysis.metrics.MetricsMetaInfo;
 import org.apache.skywalking.oap.server.core.analysis.metrics.WithMetadata;
 import org.apache.skywalking.oap.server.core.exporter.ExportData;
 import org.apache.skywalking.oap.server.core.exporter.ExportEvent;
 import org.apache.skywalking.oap.server.core.source.DefaultScopeDefine;
+import org.apache.skywalking.oap.server.exporter.grpc.EventType;
 import org.apache.skywalking.oap.server.exporter.grpc.MetricExportServiceGrpc;
+import org.apache.skywalking.oap.server.exporter.grpc.SubscriptionMetric;
+import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.powermock.reflect.Whitebox;
 
 import static org.apache.skywalking.oap.server.core.exporter.ExportEvent.EventType.INCREMENT;
+import static org.apache.skywalking.oap.server.core.exporter.ExportEvent.EventType.TOTAL;
 
 public class GRPCExporterTest {
 
@@ -74,6 +82,34 @@ public class GRPCExporterTest {
     @Test
     public void initSubscriptionList() {
         exporter.fetchSubscriptionList();
+        Map<String, Set<ExportEvent.EventType>> subscriptionIndex = Whitebox.getInternalState(
+            exporter, "subscriptionIndex");
+        Assert.assertEquals(2, subscriptionIndex.size());
+        Assert.assertEquals(EnumSet.of(INCREMENT), subscriptionIndex.get("first"));
+        Assert.assertEquals(EnumSet.of(INCREMENT), subscriptionIndex.get("second"));
+    }
+
+    @Test
+    public void buildSubscriptionIndex() {
+        Map<String, Set<ExportEvent.EventType>> subscriptionIndex = GRPCExporter.buildSubscriptionIndex(Arrays.asList(
+            SubscriptionMetric.newBuilder().setMetricName("first").setEventType(EventType.INCREMENT).build(),
+            SubscriptionMetric.newBuilder().setMetricName("first").setEventType(EventType.TOTAL).build(),
+            SubscriptionMetric.newBuilder().setMetricName("second").setEventType(EventType.TOTAL).build()
+        ));
+        Assert.assertEquals(EnumSet.of(INCREMENT, TOTAL), subscriptionIndex.get("first"));
+        Assert.assertEquals(EnumSet.of(TOTAL), subscriptionIndex.get("second"));
+        Assert.assertNull(subscriptionIndex.get("third"));
+    }
+
+    @Test
+    public void buildSubscriptionIndexSkipUnrecognized() {
+        Map<String, Set<ExportEvent.EventType>> subscriptionIndex = GRPCExporter.buildSubscriptionIndex(Arrays.asList(
+            SubscriptionMetric.newBuilder().setMetricName("first").setEventTypeValue(-1).build(),
+            SubscriptionMetric.newBuilder().setMetricName("second").setEventTypeValue(-1).build(),
+            SubscriptionMetric.newBuilder().setMetricName("second").setEventType(EventType.TOTAL).build()
+        ));
+        Assert.assertNull(subscriptionIndex.get("first"));
+        Assert.assertEquals(EnumSet.of(TOTAL), subscriptionIndex.get("second"));
     }
 
     @Test
@@ -0,0 +1,225 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.microbench.core.analysis.metrics;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.apache.skywalking.oap.server.core.analysis.metrics.DataTable;
+import org.apache.skywalking.oap.server.core.analysis.metrics.Metrics;
+import org.apache.skywalking.oap.server.core.analysis.metrics.PercentileMetrics;
+import org.apache.skywalking.oap.server.core.analysis.metrics.QuantileSketch;
+import org.apache.skywalking.oap.server.core.analysis.metrics.SketchPercentileMetrics;
+import org.apache.skywalking.oap.server.core.remote.grpc.proto.RemoteData;
+import org.apache.skywalking.oap.server.microbench.base.AbstractMicrobenchmark;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compare the {@code percentile} function with the {@code sketchPercentile} function, by the cost of the L1
+ * aggregation of one minute of latencies, the L2 merge of the L1 results from 10 OAP nodes, and the storage
+ * round trip. The accuracy and the storage size are listed along with the results.
+ */
+@BenchmarkMode({Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class PercentileBenchmark extends AbstractMicrobenchmark {
+    private static final int PRECISION = 10;
+    private static final int NODES = 10;
+    private static final int VALUES_PER_NODE = 1000;
+
+    @State(Scope.Thread)
+    public static class Latencies {
+        private long[][] latencies;
+        private PercentileMetrics[] percentiles;
+        private SketchPercentileMetrics[] sketches;
+        private String percentileStorage;
+        private String sketchStorage;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            final Random random = new Random(7);
+            latencies = new long[NODES][VALUES_PER_NODE];
+            percentiles = new PercentileMetrics[NODES];
+            sketches = new SketchPercentileMetrics[NODES];
+            for (int node = 0; node < NODES; node++) {
+                percentiles[node] = new PercentileMetricsImpl();
+                sketches[node] = new SketchPercentileMetricsImpl();
+                for (int i = 0; i < VALUES_PER_NODE; i++) {
+                    // Log-normal latencies, the median is about 150ms with a long tail to seconds.
+                    latencies[node][i] = (long) Math.exp(random.nextGaussian() + 5);
+                    percentiles[node].combine((int) latencies[node][i], PRECISION);
+                    sketches[node].combine(latencies[node][i]);
+                }
+            }
+            percentileStorage = mergePercentiles(percentiles).getDataset().toStorageData();
+            sketchStorage = mergeSketches(sketches).getSketch().toStorageData();
+        }
+    }
+
+    @Benchmark
+    public int percentileL1(Latencies state) {
+        final PercentileMetrics metrics = new PercentileMetricsImpl();
+        for (final long latency : state.latencies[0]) {
+            metrics.combine((int) latency, PRECISION);
+        }
+        metrics.calculate();
+        return metrics.getValues()[0];
+    }
+
+    @Benchmark
+    public int sketchPercentileL1(Latencies state) {
+        final SketchPercentileMetrics metrics = new SketchPercentileMetricsImpl();
+        for (final long latency : state.latencies[0]) {
+            metrics.combine(latency);
+        }
+        metrics.calculate();
+        return metrics.getValues()[0];
+    }
+
+    @Benchmark
+    public int percentileL2(Latencies state) {
+        return mergePercentiles(state.percentiles).getValues()[0];
+    }
+
+    @Benchmark
+    public int sketchPercentileL2(Latencies state) {
+        return mergeSketches(state.sketches).getValues()[0];
+    }
+
+    @Benchmark
+    public String percentileStorage(Latencies state) {
+        return new DataTable(state.percentileStorage).toStorageData();
+    }
+
+    @Benchmark
+    public String sketchPercentileStorage(Latencies state) {
+        return new QuantileSketch(state.sketchStorage).toStorageData();
+    }
+
+    private static PercentileMetrics mergePercentiles(PercentileMetrics[] percentiles) {
+        final PercentileMetrics merged = new PercentileMetricsImpl();
+        for (final PercentileMetrics percentile : percentiles) {
+            merged.combine(percentile);
+        }
+        merged.calculate();
+        return merged;
+    }
+
+    private static SketchPercentileMetrics mergeSketches(SketchPercentileMetrics[] sketches) {
+        final SketchPercentileMetrics merged = new SketchPercentileMetricsImpl();
+        for (final SketchPercentileMetrics sketch : sketches) {
+            merged.combine(sketch);
+        }
+        merged.calculate();
+        return merged;
+    }
+
+    public static class PercentileMetricsImpl extends PercentileMetrics {
+        @Override
+        protected String id0() {
+            return null;
+        }
+
+        @Override
+        public Metrics toHour() {
+            return null;
+        }
+
+        @Override
+        public Metrics toDay() {
+            return null;
+        }
+
+        @Override
+        public int remoteHashCode() {
+            return 0;
+        }
+
+        @Override
+        public void deserialize(final RemoteData remoteData) {
+        }
+
+        @Override
+        public RemoteData.Builder serialize() {
+            return null;
+        }
+    }
+
+    public static class SketchPercentileMetricsImpl extends SketchPercentileMetrics {
+        @Override
+        protected String id0() {
+            return null;
+        }
+
+        @Override
+        public Metrics toHour() {
+            return null;
+        }
+
+        @Override
+        public Metrics toDay() {
+            return null;
+        }
+
+        @Override
+        public int remoteHashCode() {
+            return 0;
+        }
+
+        @Override
+        public void deserialize(final RemoteData remoteData) {
+        }
+
+        @Override
+        public RemoteData.Builder serialize() {
+            return null;
+        }
+    }
+}
+
+/*
+# JMH version: 1.25
+# VM version: JDK 11.0.21, OpenJDK 64-Bit Server VM, 11.0.21+9
+# VM options: -Xmx512m
+# Warmup: 2 iterations, 10 s each
+# Measurement: 3 iterations, 10 s each
+# Benchmark mode: Average time, time/op
+
+Benchmark                                    Mode  Cnt   Score    Error  Units
+PercentileBenchmark.percentileL1             avgt    3  58.421 ± 11.135  us/op
+PercentileBenchmark.percentileL2             avgt    3  76.834 ± 31.831  us/op
+PercentileBenchmark.percentileStorage        avgt    3  41.720 ± 14.487  us/op
+PercentileBenchmark.sketchPercentileL1       avgt    3  31.862 ± 33.110  us/op
+PercentileBenchmark.sketchPercentileL2       avgt    3   6.272 ±  7.646  us/op
+PercentileBenchmark.sketchPercentileStorage  avgt    3  12.163 ± 17.846  us/op
+
+Accuracy of 10000 log-normal latencies, percentile(10) vs sketchPercentile(), and the storage size in chars:
+Median 150ms: P50 151 -> 150 / 150, P90 554 -> 550 / 550, P99 1503 -> 1500 / 1495, size 1316 / 692
+Median 3s:    P50 3069 -> 3060 / 3072, P90 21537 -> 21530 / 21382, P99 96079 -> 96070 / 95830, size 17448 / 1184
+Median 4ms:   P50 4 -> 0 / 4, P90 16 -> 10 / 16, P99 45 -> 40 / 45, size 77 / 244
+ */
@@ -18,10 +18,15 @@
 
 package org.apache.skywalking.oap.server.microbench.core.profiling.ebpf;
 
+import org.apache.skywalking.apm.network.ebpf.profiling.v3.EBPFProfilingStackMetadata;
 import org.apache.skywalking.oap.server.core.profiling.ebpf.analyze.EBPFProfilingAnalyzer;
 import org.apache.skywalking.oap.server.core.profiling.ebpf.analyze.EBPFProfilingStack;
+import org.apache.skywalking.oap.server.core.profiling.ebpf.analyze.EBPFProfilingStackAggregator;
+import org.apache.skywalking.oap.server.core.profiling.ebpf.storage.EBPFProfilingDataRecord;
 import org.apache.skywalking.oap.server.core.profiling.ebpf.storage.EBPFProfilingStackType;
 import org.apache.skywalking.oap.server.core.query.type.EBPFProfilingAnalyzation;
+import org.apache.skywalking.oap.server.core.query.type.EBPFProfilingAnalyzeTimeRange;
+import org.apache.skywalking.oap.server.core.storage.profiling.ebpf.IEBPFProfilingDataDAO;
 import org.apache.skywalking.oap.server.microbench.base.AbstractMicrobenchmark;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
@@ -30,8 +35,12 @@ import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.annotations.Threads;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
@@ -134,7 +143,103 @@ public class EBPFProfilingAnalyzerBenchmark extends AbstractMicrobenchmark {
         }
 
         public void analyze() {
-            new EBPFProfilingAnalyzer(null, 100, 5).generateTrees(new EBPFProfilingAnalyzation(), stackStream.parallelStream());
+            new EBPFProfilingAnalyzer(null, 100, 5, 0).generateTrees(new EBPFProfilingAnalyzation(), stackStream.parallelStream());
+        }
+    }
+
+    /**
+     * The stacks are stored as {@link EBPFProfilingDataRecord}s, one record per {@link #RECORD_PERIOD}, and analyzed
+     * from the storage like the query does.
+     */
+    public static class RecordDataSource extends DataSource implements IEBPFProfilingDataDAO {
+        private static final long RECORD_PERIOD = 5;
+        private final List<EBPFProfilingDataRecord> records;
+        private final long startTime;
+        private final EBPFProfilingAnalyzer uncachedAnalyzer;
+        private final EBPFProfilingAnalyzer cachedAnalyzer;
+
+        public RecordDataSource(List<EBPFProfilingStack> stackStream) {
+            super(stackStream);
+            // the time slices are cacheable only after they are finished
+            this.startTime = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(1);
+            final Map<EBPFProfilingStack, byte[]> binaries = new IdentityHashMap<>();
+            this.records = new ArrayList<>(stackStream.size());
+            for (int i = 0; i < stackStream.size(); i++) {
+                final EBPFProfilingStack stack = stackStream.get(i);
+                final EBPFProfilingDataRecord record = new EBPFProfilingDataRecord();
+                record.setUploadTime(startTime + i * RECORD_PERIOD);
+                record.setStackDumpCount(stack.getDumpCount());
+                record.setStacksBinary(binaries.computeIfAbsent(stack, RecordDataSource::serialize));
+                records.add(record);
+            }
+            this.uncachedAnalyzer = buildAnalyzer(0);
+            this.cachedAnalyzer = buildAnalyzer(Integer.MAX_VALUE);
+        }
+
+        private static byte[] serialize(EBPFProfilingStack stack) {
+            // the symbols are reported from the top of the stack, grouped by stack type
+            final ByteArrayOutputStream output = new ByteArrayOutputStream();
+            final List<EBPFProfilingStack.Symbol> symbols = new ArrayList<>(stack.getSymbols());
+            Collections.reverse(symbols);
+            try {
+                EBPFProfilingStackMetadata.Builder metadata = null;
+                EBPFProfilingStackType type = null;
+                for (EBPFProfilingStack.Symbol symbol : symbols) {
+                    if (symbol.getStackType() != type) {
+                        if (metadata != null) {
+                            metadata.build().writeDelimitedTo(output);
+                        }
+                        type = symbol.getStackType();
+                        metadata = EBPFProfilingStackMetadata.newBuilder().setStackType(type.mapping());
+                    }
+                    metadata.addStackSymbols(symbol.getName());
+                }
+                if (metadata != null) {
+                    metadata.build().writeDelimitedTo(output);
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            return output.toByteArray();
+        }
+
+        private EBPFProfilingAnalyzer buildAnalyzer(long maxNodeSizeOfCache) {
+            return new EBPFProfilingAnalyzer(null, 100, 5, maxNodeSizeOfCache) {
+                @Override
+                protected IEBPFProfilingDataDAO getDataDAO() {
+                    return RecordDataSource.this;
+                }
+            };
+        }
+
+        @Override
+        public List<EBPFProfilingDataRecord> queryData(List<String> scheduleIdList, long beginTime, long endTime) {
+            final int from = (int) Math.max(0, (beginTime - startTime + RECORD_PERIOD - 1) / RECORD_PERIOD);
+            final int to = (int) Math.min(records.size(), (endTime - startTime + RECORD_PERIOD - 1) / RECORD_PERIOD);
+            return from < to ? records.subList(from, to) : Collections.emptyList();
+        }
+
+        private List<EBPFProfilingAnalyzeTimeRange> wholeRange() {
+            final EBPFProfilingAnalyzeTimeRange range = new EBPFProfilingAnalyzeTimeRange();
+            range.setStart(startTime);
+            range.setEnd(startTime + records.size() * RECORD_PERIOD);
+            return Collections.singletonList(range);
+        }
+
+        public void aggregateRecords() throws IOException {
+            final EBPFProfilingStackAggregator aggregator = new EBPFProfilingStackAggregator();
+            for (EBPFProfilingDataRecord record : records) {
+                aggregator.accumulate(record);
+            }
+            aggregator.build();
+        }
+
+        public void analyzeUncached() throws IOException {
+            uncachedAnalyzer.analyze(Collections.singletonList("schedule"), wholeRange());
+        }
+
+        public void analyzeCached() throws IOException {
+            cachedAnalyzer.analyze(Collections.singletonList("schedule"), wholeRange());
         }
     }
 
@@ -184,6 +289,44 @@ public class EBPFProfilingAnalyzerBenchmark extends AbstractMicrobenchmark {
         }
     }
 
+    @State(Scope.Benchmark)
+    public static class LowRecordDataSource extends RecordDataSource {
+        // same with LowDataSource
+        public LowRecordDataSource() {
+            super(generateStacks(calculateStackCount(5, 60, 10), 15, 30,
+                    new double[]{100, 50, 45, 40, 35, 30, 15, 10, 5}, 5));
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class MedianRecordDataSource extends RecordDataSource {
+        // same with MedianDatasource
+        public MedianRecordDataSource() {
+            super(generateStacks(calculateStackCount(5, 100, 200), 15, 30,
+                    new double[]{50, 40, 35, 30, 20, 10, 7, 5, 2}, 3));
+        }
+    }
+
+    @Benchmark
+    public void aggregateLowDataSourceRecords(LowRecordDataSource dataSource) throws IOException {
+        dataSource.aggregateRecords();
+    }
+
+    @Benchmark
+    public void aggregateMedianDataSourceRecords(MedianRecordDataSource dataSource) throws IOException {
+        dataSource.aggregateRecords();
+    }
+
+    @Benchmark
+    public void analyzeMedianDataSourceUncached(MedianRecordDataSource dataSource) throws IOException {
+        dataSource.analyzeUncached();
+    }
+
+    @Benchmark
+    public void analyzeMedianDataSourceCached(MedianRecordDataSource dataSource) throws IOException {
+        dataSource.analyzeCached();
+    }
+
     @Benchmark
     public void analyzeLowDataSource(LowDataSource lowDataSource) {
         lowDataSource.analyze();
@@ -0,0 +1,172 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.microbench.core.profiling.trace;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.apache.skywalking.apm.network.language.profile.v3.ThreadStack;
+import org.apache.skywalking.oap.server.core.analysis.manual.segment.SegmentRecord;
+import org.apache.skywalking.oap.server.core.profiling.trace.ProfileThreadSnapshotRecord;
+import org.apache.skywalking.oap.server.core.profiling.trace.analyze.ProfileAnalyzer;
+import org.apache.skywalking.oap.server.core.query.type.BasicTrace;
+import org.apache.skywalking.oap.server.core.query.type.ProfileAnalyzation;
+import org.apache.skywalking.oap.server.core.query.type.ProfileAnalyzeTimeRange;
+import org.apache.skywalking.oap.server.core.storage.profiling.trace.IProfileThreadSnapshotQueryDAO;
+import org.apache.skywalking.oap.server.microbench.base.AbstractMicrobenchmark;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Analyze the thread snapshots of one long profiled segment. The snapshots are generated when they are queried, so the
+ * benchmark heap(512m) only needs to hold the analysis itself.
+ */
+@BenchmarkMode({Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class ProfileAnalyzerBenchmark extends AbstractMicrobenchmark {
+
+    private static final int PAGE_SIZE = 500;
+    private static final long DUMP_PERIOD = 10;
+
+    public static class DataSource implements IProfileThreadSnapshotQueryDAO {
+        private final int snapshotCount;
+        private final byte[][] stacks;
+        private final ProfileAnalyzer analyzer;
+        private final List<ProfileAnalyzeTimeRange> timeRanges;
+
+        /**
+         * @param snapshotCount   total snapshot count of the segment
+         * @param uniqStackCount  the count of different stacks, a stack is a random walk of a call tree.
+         * @param stackDepth      the depth of every stack
+         * @param methodsPerDepth the count of different methods could be called in every depth
+         */
+        public DataSource(int snapshotCount, int uniqStackCount, int stackDepth, int methodsPerDepth) {
+            final Random random = new Random(0);
+            this.snapshotCount = snapshotCount;
+            this.stacks = new byte[uniqStackCount][];
+            for (int i = 0; i < uniqStackCount; i++) {
+                final ThreadStack.Builder stack = ThreadStack.newBuilder();
+                for (int depth = 0; depth < stackDepth; depth++) {
+                    stack.addCodeSignatures(
+                        "org.apache.skywalking.Service" + depth + ".method" + random.nextInt(methodsPerDepth) + ":" + depth);
+                }
+                stacks[i] = stack.build().toByteArray();
+            }
+            this.analyzer = new ProfileAnalyzer(null, PAGE_SIZE, snapshotCount, 100_000) {
+                @Override
+                protected IProfileThreadSnapshotQueryDAO getProfileThreadSnapshotQueryDAO() {
+                    return DataSource.this;
+                }
+            };
+            final ProfileAnalyzeTimeRange timeRange = new ProfileAnalyzeTimeRange();
+            timeRange.setStart(0);
+            timeRange.setEnd(snapshotCount * DUMP_PERIOD);
+            this.timeRanges = Collections.singletonList(timeRange);
+        }
+
+        public ProfileAnalyzation analyze() throws IOException {
+            return analyzer.analyze("segment", timeRanges);
+        }
+
+        @Override
+        public List<BasicTrace> queryProfiledSegments(String taskId) {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public int queryMinSequence(String segmentId, long start, long end) {
+            return (int) (start / DUMP_PERIOD);
+        }
+
+        @Override
+        public int queryMaxSequence(String segmentId, long start, long end) {
+            return (int) Math.min(end / DUMP_PERIOD, snapshotCount - 1);
+        }
+
+        @Override
+        public List<ProfileThreadSnapshotRecord> queryRecords(String segmentId, int minSequence, int maxSequence) {
+            final List<ProfileThreadSnapshotRecord> records = new ArrayList<>(maxSequence - minSequence);
+            for (int sequence = minSequence; sequence < maxSequence; sequence++) {
+                final ProfileThreadSnapshotRecord record = new ProfileThreadSnapshotRecord();
+                record.setSegmentId(segmentId);
+                record.setSequence(sequence);
+                record.setDumpTime(sequence * DUMP_PERIOD);
+                // neighbour snapshots usually share the same stack
+                record.setStackBinary(stacks[(sequence / 5) % stacks.length]);
+                records.add(record);
+            }
+            return records;
+        }
+
+        @Override
+        public SegmentRecord getProfiledSegment(String segmentId) {
+            return null;
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class DefaultLimitDataSource extends DataSource {
+        // the default analyze limit: 12000 snapshots
+        public DefaultLimitDataSource() {
+            super(12_000, 1_000, 30, 5);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class MillionDataSource extends DataSource {
+        // 1M snapshots, about 2.8 hours of a 10ms profiling
+        public MillionDataSource() {
+            super(1_000_000, 10_000, 30, 5);
+        }
+    }
+
+    @Benchmark
+    public ProfileAnalyzation analyzeDefaultLimit(DefaultLimitDataSource dataSource) throws IOException {
+        return dataSource.analyze();
+    }
+
+    @Benchmark
+    public ProfileAnalyzation analyzeMillionSnapshots(MillionDataSource dataSource) throws IOException {
+        return dataSource.analyze();
+    }
+}
+
+/*
+# JMH version: 1.25
+# VM version: JDK 11.0.21, OpenJDK 64-Bit Server VM, 11.0.21+9
+# VM options: -Xmx512m
+# Warmup: 2 iterations, 10 s each
+# Measurement: 3 iterations, 10 s each
+# Benchmark mode: Average time, time/op
+
+Benchmark                                         Mode  Cnt     Score      Error  Units
+ProfileAnalyzerBenchmark.analyzeDefaultLimit      avgt    3    72.334 ±   72.582  ms/op
+ProfileAnalyzerBenchmark.analyzeMillionSnapshots  avgt    3  4037.177 ± 7964.900  ms/op
+ */
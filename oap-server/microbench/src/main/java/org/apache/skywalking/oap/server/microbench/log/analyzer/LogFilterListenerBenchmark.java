@@ -0,0 +1,174 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.microbench.log.analyzer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.skywalking.apm.network.logging.v3.LogData;
+import org.apache.skywalking.apm.network.logging.v3.LogDataBody;
+import org.apache.skywalking.apm.network.logging.v3.TextLog;
+import org.apache.skywalking.oap.log.analyzer.provider.LALConfig;
+import org.apache.skywalking.oap.log.analyzer.provider.LogAnalyzerModuleConfig;
+import org.apache.skywalking.oap.log.analyzer.provider.log.listener.LogAnalysisListener;
+import org.apache.skywalking.oap.log.analyzer.provider.log.listener.LogFilterListener;
+import org.apache.skywalking.oap.meter.analyzer.prometheus.rule.Rule;
+import org.apache.skywalking.oap.server.core.CoreModuleConfig;
+import org.apache.skywalking.oap.server.core.analysis.DispatcherDetectorListener;
+import org.apache.skywalking.oap.server.core.config.ConfigService;
+import org.apache.skywalking.oap.server.core.config.NamingControl;
+import org.apache.skywalking.oap.server.core.config.group.EndpointNameGrouping;
+import org.apache.skywalking.oap.server.core.source.ISource;
+import org.apache.skywalking.oap.server.core.source.SourceReceiver;
+import org.apache.skywalking.oap.server.library.module.ModuleManager;
+import org.apache.skywalking.oap.server.library.module.ModuleProviderHolder;
+import org.apache.skywalking.oap.server.library.module.ModuleServiceHolder;
+import org.apache.skywalking.oap.server.library.module.Service;
+import org.apache.skywalking.oap.server.microbench.base.AbstractMicrobenchmark;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Analyze a log with 1 or 50 LAL rules, one rule per service. The routed rules declare their service as the routing
+ * key, the unrouted rules check the service in the DSL and abort the other services' logs.
+ */
+@BenchmarkMode({Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class LogFilterListenerBenchmark extends AbstractMicrobenchmark {
+
+    @State(Scope.Thread)
+    public static class Rules {
+        @Param({"1", "50"})
+        private int ruleSize;
+
+        @Param({"true", "false"})
+        private boolean routed;
+
+        private LogFilterListener.Factory factory;
+        private LogData.Builder log;
+
+        @Setup(Level.Trial)
+        public void setup() throws Exception {
+            final List<LALConfig> rules = new ArrayList<>(ruleSize);
+            for (int i = 0; i < ruleSize; i++) {
+                final LALConfig rule = new LALConfig();
+                rule.setName("service-" + i);
+                if (routed) {
+                    rule.setService("service-" + i);
+                    rule.setDsl("filter { sink {} }");
+                } else {
+                    rule.setDsl("filter { if (log.service != 'service-" + i + "') { abort {} }\n sink {} }");
+                }
+                rules.add(rule);
+            }
+            factory = new LogFilterListener.Factory(new Modules(), new Config(), rules);
+            log = LogData.newBuilder()
+                         .setService("service-0")
+                         .setServiceInstance("instance-0")
+                         .setTimestamp(System.currentTimeMillis())
+                         .setBody(LogDataBody.newBuilder().setText(TextLog.newBuilder().setText("log content")));
+        }
+    }
+
+    @Benchmark
+    public void analyze(Rules rules) {
+        final LogAnalysisListener listener = rules.factory.create();
+        listener.parse(rules.log, null);
+        listener.build();
+    }
+
+    /**
+     * No MAL rules are loaded from the files.
+     */
+    private static class Config extends LogAnalyzerModuleConfig {
+        @Override
+        public List<Rule> malConfigs() {
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * Provide the core services required by the LAL.
+     */
+    private static class Modules extends ModuleManager {
+        private final ConfigService configService = new ConfigService(new CoreModuleConfig());
+        private final NamingControl namingControl = new NamingControl(70, 100, 150, new EndpointNameGrouping());
+        private final SourceReceiver sourceReceiver = new SourceReceiver() {
+            @Override
+            public void receive(final ISource source) {
+            }
+
+            @Override
+            public DispatcherDetectorListener getDispatcherDetectorListener() {
+                return null;
+            }
+        };
+
+        @Override
+        public ModuleProviderHolder find(final String moduleName) {
+            return () -> new ModuleServiceHolder() {
+                @Override
+                public void registerServiceImplementation(final Class<? extends Service> serviceType,
+                                                          final Service service) {
+                }
+
+                @Override
+                public <T extends Service> T getService(final Class<T> serviceType) {
+                    if (serviceType == ConfigService.class) {
+                        return serviceType.cast(configService);
+                    }
+                    if (serviceType == NamingControl.class) {
+                        return serviceType.cast(namingControl);
+                    }
+                    if (serviceType == SourceReceiver.class) {
+                        return serviceType.cast(sourceReceiver);
+                    }
+                    return null;
+                }
+            };
+        }
+    }
+}
+
+/*
+# JMH version: 1.25
+# VM version: JDK 11.0.21, OpenJDK 64-Bit Server VM, 11.0.21+9
+# VM options: -Xmx512m
+# Warmup: 2 iterations, 3 s each
+# Measurement: 3 iterations, 3 s each
+# Benchmark mode: Average time, time/op
+
+Benchmark                           (routed)  (ruleSize)  Mode  Cnt    Score    Error  Units
+LogFilterListenerBenchmark.analyze      true           1  avgt    3   11.055 ±  8.238  us/op
+LogFilterListenerBenchmark.analyze      true          50  avgt    3    8.139 ± 19.023  us/op
+LogFilterListenerBenchmark.analyze     false           1  avgt    3   10.416 ± 16.182  us/op
+LogFilterListenerBenchmark.analyze     false          50  avgt    3  133.159 ± 73.655  us/op
+ */
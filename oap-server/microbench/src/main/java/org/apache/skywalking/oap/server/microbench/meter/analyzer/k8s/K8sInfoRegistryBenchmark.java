@@ -0,0 +1,179 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.microbench.meter.analyzer.k8s;
+
+import io.kubernetes.client.openapi.models.V1ObjectMeta;
+import io.kubernetes.client.openapi.models.V1Pod;
+import io.kubernetes.client.openapi.models.V1Service;
+import io.kubernetes.client.openapi.models.V1ServiceSpec;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.apache.skywalking.oap.meter.analyzer.k8s.K8sInfoRegistry;
+import org.apache.skywalking.oap.server.microbench.base.AbstractMicrobenchmark;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Replay the informer events of a rolling deployment against a populated {@link K8sInfoRegistry}. Every operation
+ * replaces all the pods of one deployment, one pod after another, and ends with the periodical resync update of its
+ * service.
+ */
+@BenchmarkMode({Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class K8sInfoRegistryBenchmark extends AbstractMicrobenchmark {
+
+    private static final int NAMESPACES = 20;
+    private static final int REPLICAS = 20;
+
+    /**
+     * Expose the informer callbacks to the benchmark.
+     */
+    public static class Registry extends K8sInfoRegistry {
+        @Override
+        public void addService(final V1Service service) {
+            super.addService(service);
+        }
+
+        @Override
+        public void addPod(final V1Pod pod) {
+            super.addPod(pod);
+        }
+
+        @Override
+        public void removePod(final V1Pod pod) {
+            super.removePod(pod);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cluster {
+        @Param({"4000", "40000"})
+        private int podSize;
+
+        private Registry registry;
+        private List<V1Service> services;
+        private List<List<V1Pod>> podsOfDeployments;
+        private int deployment;
+        private int generation;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            registry = new Registry();
+            services = new ArrayList<>();
+            podsOfDeployments = new ArrayList<>();
+            for (int i = 0; i < podSize / REPLICAS; i++) {
+                final V1Service service = service(i);
+                services.add(service);
+                registry.addService(service);
+                final List<V1Pod> pods = new ArrayList<>(REPLICAS);
+                for (int replica = 0; replica < REPLICAS; replica++) {
+                    final V1Pod pod = pod(i, replica);
+                    pods.add(pod);
+                    registry.addPod(pod);
+                }
+                podsOfDeployments.add(pods);
+            }
+        }
+
+        public void rollingUpdate() {
+            final int current = deployment;
+            deployment = (deployment + 1) % services.size();
+            if (deployment == 0) {
+                generation++;
+            }
+            final List<V1Pod> pods = podsOfDeployments.get(current);
+            for (int replica = 0; replica < REPLICAS; replica++) {
+                final V1Pod pod = pod(current, replica);
+                registry.addPod(pod);
+                registry.removePod(pods.set(replica, pod));
+            }
+            registry.addService(services.get(current));
+        }
+
+        private V1Service service(int index) {
+            final V1ObjectMeta metadata = new V1ObjectMeta();
+            metadata.setName("service-" + index);
+            metadata.setNamespace(namespace(index));
+            final Map<String, String> selector = new HashMap<>();
+            selector.put("app", "app-" + index);
+            selector.put("tier", "tier-" + index % 3);
+            final V1ServiceSpec spec = new V1ServiceSpec();
+            spec.setSelector(selector);
+            final V1Service service = new V1Service();
+            service.setMetadata(metadata);
+            service.setSpec(spec);
+            return service;
+        }
+
+        private V1Pod pod(int index, int replica) {
+            final V1ObjectMeta metadata = new V1ObjectMeta();
+            metadata.setName("service-" + index + "-" + generation + "-" + replica);
+            metadata.setNamespace(namespace(index));
+            final Map<String, String> labels = new HashMap<>();
+            labels.put("app", "app-" + index);
+            labels.put("tier", "tier-" + index % 3);
+            labels.put("pod-template-hash", "hash-" + generation);
+            metadata.setLabels(labels);
+            final V1Pod pod = new V1Pod();
+            pod.setMetadata(metadata);
+            return pod;
+        }
+
+        private static String namespace(int index) {
+            return "namespace-" + index % NAMESPACES;
+        }
+    }
+
+    @Benchmark
+    public void rollingUpdate(Cluster cluster) {
+        cluster.rollingUpdate();
+    }
+}
+
+/*
+# JMH version: 1.25
+# VM version: JDK 11.0.21, OpenJDK 64-Bit Server VM, 11.0.21+9
+# VM options: -Xmx512m
+# Warmup: 2 iterations, 10 s each
+# Measurement: 3 iterations, 10 s each
+# Benchmark mode: Average time, time/op
+
+Matching every pod against every service on each event, 40000 pods is not measured as an operation takes minutes:
+Benchmark                               (podSize)  Mode  Cnt       Score   Error  Units
+K8sInfoRegistryBenchmark.rollingUpdate       4000  avgt    2  536077.657          us/op
+
+Indexed by the label pairs:
+Benchmark                               (podSize)  Mode  Cnt    Score     Error  Units
+K8sInfoRegistryBenchmark.rollingUpdate       4000  avgt    3   47.562 ± 162.697  us/op
+K8sInfoRegistryBenchmark.rollingUpdate      40000  avgt    3  231.925 ± 494.970  us/op
+ */
@@ -28,6 +28,7 @@ import lombok.Getter;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.skywalking.oap.server.core.analysis.metrics.annotation.BooleanValueFilterMatcher;
 import org.apache.skywalking.oap.server.core.analysis.metrics.annotation.FilterMatcher;
+import org.apache.skywalking.oap.server.core.annotation.ClassPathCache;
 
 @SuppressWarnings("UnstableApiUsage")
 public enum FilterMatchers {
@@ -44,7 +45,7 @@ public enum FilterMatchers {
     private final Map<String, MatcherInfo> matchersKeyedByType = new HashMap<>();
 
     private void init() throws IOException {
-        final ClassPath classpath = ClassPath.from(FilterMatchers.class.getClassLoader());
+        final ClassPath classpath = ClassPathCache.INSTANCE.of(FilterMatchers.class.getClassLoader());
         final Set<ClassPath.ClassInfo> classes = classpath.getTopLevelClassesRecursive("org.apache.skywalking");
         for (ClassPath.ClassInfo classInfo : classes) {
             final Class<?> clazz = classInfo.load();
@@ -26,6 +26,7 @@ import java.util.Map;
 import lombok.SneakyThrows;
 import org.apache.skywalking.oap.server.core.analysis.metrics.Metrics;
 import org.apache.skywalking.oap.server.core.analysis.metrics.annotation.MetricsFunction;
+import org.apache.skywalking.oap.server.core.annotation.ClassPathCache;
 
 @SuppressWarnings("UnstableApiUsage")
 public class MetricsHolder {
@@ -33,7 +34,7 @@ public class MetricsHolder {
     private static volatile boolean INITIALIZED = false;
 
     private static void init() throws IOException {
-        ClassPath classpath = ClassPath.from(MetricsHolder.class.getClassLoader());
+        ClassPath classpath = ClassPathCache.INSTANCE.of(MetricsHolder.class.getClassLoader());
         ImmutableSet<ClassPath.ClassInfo> classes = classpath.getTopLevelClassesRecursive("org.apache.skywalking");
         for (ClassPath.ClassInfo classInfo : classes) {
             Class<?> aClass = classInfo.load();
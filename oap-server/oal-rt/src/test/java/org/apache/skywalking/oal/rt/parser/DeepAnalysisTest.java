@@ -94,6 +94,50 @@ public class DeepAnalysisTest {
         Assert.assertEquals(4, persistentFields.size());
     }
 
+    @Test
+    public void testSketchPercentileAnalysis() {
+        AnalysisResult result = new AnalysisResult();
+        result.getFrom().setSourceName("Service");
+        result.getFrom().getSourceAttribute().add("latency");
+        result.setMetricsName("ServiceSketchPercentile");
+        result.getAggregationFuncStmt().setAggregationFunctionName("sketchPercentile");
+
+        DeepAnalysis analysis = new DeepAnalysis();
+        result = analysis.analysis(result);
+
+        EntryMethod method = result.getEntryMethod();
+        Assert.assertEquals("combine", method.getMethodName());
+        Assert.assertEquals("(long)(source.getLatency())", method.getArgsExpressions().get(0));
+
+        List<DataColumn> persistentFields = result.getPersistentFields();
+        Assert.assertTrue(persistentFields.stream().anyMatch(field -> "sketch".equals(field.getColumnName())));
+        Assert.assertEquals(1, result.getSerializeFields().getObjectFields().stream()
+                                     .filter(field -> field.getFieldType().endsWith("QuantileSketch"))
+                                     .count());
+    }
+
+    @Test
+    public void testCardinalityAnalysis() {
+        AnalysisResult result = new AnalysisResult();
+        result.getFrom().setSourceName("Endpoint");
+        result.getFrom().getSourceAttribute().add("serviceInstanceName");
+        result.setMetricsName("EndpointInstanceCardinality");
+        result.getAggregationFuncStmt().setAggregationFunctionName("cardinality");
+
+        DeepAnalysis analysis = new DeepAnalysis();
+        result = analysis.analysis(result);
+
+        EntryMethod method = result.getEntryMethod();
+        Assert.assertEquals("combine", method.getMethodName());
+        Assert.assertEquals("source.getServiceInstanceName()", method.getArgsExpressions().get(0));
+
+        List<DataColumn> persistentFields = result.getPersistentFields();
+        Assert.assertTrue(persistentFields.stream().anyMatch(field -> "hll".equals(field.getColumnName())));
+        Assert.assertEquals(1, result.getSerializeFields().getObjectFields().stream()
+                                     .filter(field -> field.getFieldType().endsWith("HyperLogLog"))
+                                     .count());
+    }
+
     @Test
     public void testFilterAnalysis() {
         AnalysisResult result = new AnalysisResult();
@@ -32,11 +32,15 @@ import org.apache.skywalking.oap.server.library.module.ModuleProvider;
 import org.apache.skywalking.oap.server.library.module.ModuleStartException;
 import org.apache.skywalking.oap.server.library.module.ServiceNotProvidedException;
 import org.apache.skywalking.oap.server.library.util.ResourceUtils;
+import org.apache.skywalking.oap.server.telemetry.TelemetryModule;
+import org.apache.skywalking.oap.server.telemetry.api.MetricsCreator;
 
 public class AlarmModuleProvider extends ModuleProvider {
 
     private NotifyHandler notifyHandler;
     private AlarmRulesWatcher alarmRulesWatcher;
+    private AlarmSettings alarmSettings;
+    private HttpAlarmSender httpAlarmSender;
 
     @Override
     public String name() {
@@ -50,7 +54,8 @@ public class AlarmModuleProvider extends ModuleProvider {
 
     @Override
     public ModuleConfig createConfigBeanIfAbsent() {
-        return new AlarmSettings();
+        alarmSettings = new AlarmSettings();
+        return alarmSettings;
     }
 
     @Override
@@ -66,7 +71,8 @@ public class AlarmModuleProvider extends ModuleProvider {
 
         alarmRulesWatcher = new AlarmRulesWatcher(rules, this);
 
-        notifyHandler = new NotifyHandler(alarmRulesWatcher, getManager());
+        httpAlarmSender = new HttpAlarmSender(alarmSettings);
+        notifyHandler = new NotifyHandler(alarmRulesWatcher, getManager(), httpAlarmSender);
         notifyHandler.init(new AlarmStandardPersistence(getManager()));
         this.registerServiceImplementation(MetricsNotify.class, notifyHandler);
     }
@@ -78,6 +84,11 @@ public class AlarmModuleProvider extends ModuleProvider {
                                                                               .getService(
                                                                                   DynamicConfigurationService.class);
         dynamicConfigurationService.registerConfigChangeWatcher(alarmRulesWatcher);
+
+        MetricsCreator metricsCreator = getManager().find(TelemetryModule.NAME)
+                                                    .provider()
+                                                    .getService(MetricsCreator.class);
+        httpAlarmSender.start(metricsCreator);
     }
 
     @Override
@@ -88,7 +99,8 @@ public class AlarmModuleProvider extends ModuleProvider {
     public String[] requiredModules() {
         return new String[] {
             CoreModule.NAME,
-            ConfigurationModule.NAME
+            ConfigurationModule.NAME,
+            TelemetryModule.NAME
         };
     }
 }
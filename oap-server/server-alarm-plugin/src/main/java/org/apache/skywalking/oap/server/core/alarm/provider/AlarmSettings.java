@@ -18,7 +18,33 @@
 
 package org.apache.skywalking.oap.server.core.alarm.provider;
 
+import lombok.Getter;
+import lombok.Setter;
 import org.apache.skywalking.oap.server.library.module.ModuleConfig;
 
+@Getter
+@Setter
 public class AlarmSettings extends ModuleConfig {
+    /**
+     * The number of threads delivering the HTTP based alarm hooks(webhook, Slack, WeChat, DingTalk, Feishu, WeLink)
+     * concurrently.
+     */
+    private int hookDeliveryThreads = 4;
+    /**
+     * The max number of pending hook requests, including the ones waiting for a retry. New requests are dropped once
+     * the queue is full.
+     */
+    private int hookDeliveryQueueSize = 10000;
+    /**
+     * The max number of pooled HTTP connections shared by all hooks.
+     */
+    private int hookMaxConnections = 50;
+    /**
+     * The max number of retries of a failed hook request. 0 means never retry.
+     */
+    private int hookMaxRetries = 3;
+    /**
+     * The delay before the first retry in milliseconds, doubled on each following retry.
+     */
+    private long hookRetryBackoff = 1000;
 }
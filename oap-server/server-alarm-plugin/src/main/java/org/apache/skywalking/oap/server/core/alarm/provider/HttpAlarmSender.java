@@ -0,0 +1,244 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.alarm.provider;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.util.EntityUtils;
+import org.apache.skywalking.oap.server.telemetry.api.CounterMetrics;
+import org.apache.skywalking.oap.server.telemetry.api.HistogramMetrics;
+import org.apache.skywalking.oap.server.telemetry.api.MetricsCreator;
+import org.apache.skywalking.oap.server.telemetry.api.MetricsTag;
+import org.apache.skywalking.oap.server.telemetry.none.MetricsCreatorNoop;
+
+/**
+ * HttpAlarmSender is the shared delivery pipeline of all HTTP based alarm hooks. The hooks only build the request
+ * bodies and hand them over, so the {@link AlarmCore} scheduler never waits for a remote endpoint.
+ *
+ * <p>All requests share one pooled HTTP client and are executed by a fixed number of threads, so several endpoints
+ * are called in parallel. The number of pending requests, including the ones waiting for a retry, is bounded, a failed
+ * request(I/O error, HTTP 429 or 5xx) is put back into the queue after an exponential backoff until the max retries are
+ * used up.
+ */
+@Slf4j
+public class HttpAlarmSender {
+    private static final int HTTP_CONNECT_TIMEOUT = 1000;
+    private static final int HTTP_CONNECTION_REQUEST_TIMEOUT = 1000;
+    private static final int HTTP_SOCKET_TIMEOUT = 10000;
+    private static final int HTTP_TOO_MANY_REQUESTS = 429;
+    private static final long MAX_RETRY_BACKOFF = TimeUnit.MINUTES.toMillis(1);
+
+    private final AlarmSettings settings;
+    private final RequestConfig requestConfig;
+    private final CloseableHttpClient httpClient;
+    private final ThreadPoolExecutor deliveryExecutor;
+    private final ScheduledExecutorService retryScheduler;
+    /**
+     * The permits of pending requests, held from the request is sent until it succeeds or fails finally, so the
+     * requests waiting for a retry are counted too.
+     */
+    private final Semaphore pendingRequests;
+    private final Map<String, DeliveryMetrics> metricsOfHooks = new ConcurrentHashMap<>();
+    private volatile MetricsCreator metricsCreator = new MetricsCreatorNoop();
+
+    public HttpAlarmSender(AlarmSettings settings) {
+        this.settings = settings;
+        this.requestConfig = RequestConfig.custom()
+                                          .setConnectTimeout(HTTP_CONNECT_TIMEOUT)
+                                          .setConnectionRequestTimeout(HTTP_CONNECTION_REQUEST_TIMEOUT)
+                                          .setSocketTimeout(HTTP_SOCKET_TIMEOUT)
+                                          .build();
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(settings.getHookMaxConnections());
+        connectionManager.setDefaultMaxPerRoute(settings.getHookMaxConnections());
+        this.httpClient = HttpClients.custom()
+                                     .setConnectionManager(connectionManager)
+                                     .setDefaultRequestConfig(requestConfig)
+                                     .build();
+        this.deliveryExecutor = new ThreadPoolExecutor(
+            settings.getHookDeliveryThreads(), settings.getHookDeliveryThreads(),
+            0L, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(),
+            new ThreadFactoryBuilder().setDaemon(true).setNameFormat("AlarmHookDelivery-%d").build()
+        );
+        this.pendingRequests = new Semaphore(settings.getHookDeliveryQueueSize());
+        this.retryScheduler = Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder().setDaemon(true).setNameFormat("AlarmHookRetry-%d").build()
+        );
+    }
+
+    /**
+     * Bind the telemetry metrics, the deliveries before that are not observed.
+     */
+    public void start(MetricsCreator metricsCreator) {
+        this.metricsCreator = metricsCreator;
+        metricsOfHooks.clear();
+    }
+
+    public CompletableFuture<String> send(String hook, String url, String requestBody) {
+        return send(hook, url, Collections.emptyMap(), requestBody);
+    }
+
+    /**
+     * Post a JSON body to the url asynchronously.
+     *
+     * @param hook the name of the alarm hook, used as the tag of the delivery metrics.
+     * @return the future of the response content, completed exceptionally if the request can't be delivered after all
+     * retries or is dropped because of a full queue.
+     */
+    public CompletableFuture<String> send(String hook, String url, Map<String, String> headers, String requestBody) {
+        final Delivery delivery = new Delivery(hook, url, headers, requestBody);
+        if (!pendingRequests.tryAcquire()) {
+            metricsOf(hook).dropped.inc();
+            log.warn("The alarm hook delivery queue is full, drop the {} alarm to {}.", hook, url);
+            delivery.result.completeExceptionally(
+                new RejectedExecutionException("The alarm hook delivery queue is full."));
+            return delivery.result;
+        }
+        delivery.result.whenComplete((content, error) -> pendingRequests.release());
+        submit(delivery);
+        return delivery.result;
+    }
+
+    private void submit(Delivery delivery) {
+        deliveryExecutor.execute(() -> execute(delivery));
+    }
+
+    private void execute(Delivery delivery) {
+        final DeliveryMetrics metrics = metricsOf(delivery.hook);
+        final HttpPost post = new HttpPost(delivery.url);
+        post.setConfig(requestConfig);
+        post.setHeader(HttpHeaders.ACCEPT, HttpHeaderValues.APPLICATION_JSON.toString());
+        post.setHeader(HttpHeaders.CONTENT_TYPE, HttpHeaderValues.APPLICATION_JSON.toString());
+        delivery.headers.forEach(post::setHeader);
+        post.setEntity(new StringEntity(delivery.requestBody, ContentType.APPLICATION_JSON));
+
+        Throwable error;
+        try (HistogramMetrics.Timer ignored = metrics.latency.createTimer();
+             CloseableHttpResponse httpResponse = httpClient.execute(post)) {
+            final int statusCode = httpResponse.getStatusLine().getStatusCode();
+            final String content = httpResponse.getEntity() == null ? "" :
+                EntityUtils.toString(httpResponse.getEntity(), StandardCharsets.UTF_8);
+            if (statusCode == HttpStatus.SC_OK) {
+                delivery.result.complete(content);
+                return;
+            }
+            error = new IOException(
+                "send " + delivery.hook + " alarm to " + delivery.url + " failure. Response code: " + statusCode
+                    + ", Response content: " + content);
+            if (statusCode != HTTP_TOO_MANY_REQUESTS && statusCode < HttpStatus.SC_INTERNAL_SERVER_ERROR) {
+                // The request itself is wrong, retrying can't make it succeed.
+                fail(delivery, metrics, error);
+                return;
+            }
+        } catch (Throwable t) {
+            error = t;
+        }
+
+        if (delivery.attempts >= settings.getHookMaxRetries()) {
+            fail(delivery, metrics, error);
+            return;
+        }
+        final long backoff = Math.min(settings.getHookRetryBackoff() << delivery.attempts, MAX_RETRY_BACKOFF);
+        delivery.attempts++;
+        metrics.retried.inc();
+        if (log.isDebugEnabled()) {
+            log.debug("Retry the {} alarm to {} in {}ms, attempt: {}", delivery.hook, delivery.url, backoff,
+                      delivery.attempts, error
+            );
+        }
+        retryScheduler.schedule(() -> submit(delivery), backoff, TimeUnit.MILLISECONDS);
+    }
+
+    private void fail(Delivery delivery, DeliveryMetrics metrics, Throwable error) {
+        metrics.failed.inc();
+        log.error("send {} alarm to {} failure after {} retries.", delivery.hook, delivery.url, delivery.attempts,
+                  error
+        );
+        delivery.result.completeExceptionally(error);
+    }
+
+    private DeliveryMetrics metricsOf(String hook) {
+        return metricsOfHooks.computeIfAbsent(hook, h -> new DeliveryMetrics(metricsCreator, h));
+    }
+
+    private static class Delivery {
+        private final String hook;
+        private final String url;
+        private final Map<String, String> headers;
+        private final String requestBody;
+        private final CompletableFuture<String> result = new CompletableFuture<>();
+        private volatile int attempts;
+
+        private Delivery(String hook, String url, Map<String, String> headers, String requestBody) {
+            this.hook = hook;
+            this.url = url;
+            this.headers = headers;
+            this.requestBody = requestBody;
+        }
+    }
+
+    private static class DeliveryMetrics {
+        private final HistogramMetrics latency;
+        private final CounterMetrics failed;
+        private final CounterMetrics retried;
+        private final CounterMetrics dropped;
+
+        private DeliveryMetrics(MetricsCreator metricsCreator, String hook) {
+            final MetricsTag.Keys keys = new MetricsTag.Keys("hook");
+            final MetricsTag.Values values = new MetricsTag.Values(hook);
+            latency = metricsCreator.createHistogramMetric(
+                "alarm_hook_delivery_latency", "The latency of delivering an alarm hook request", keys, values);
+            failed = metricsCreator.createCounter(
+                "alarm_hook_delivery_failed_count", "The number of alarm hook requests failed after all retries",
+                keys, values
+            );
+            retried = metricsCreator.createCounter(
+                "alarm_hook_delivery_retried_count", "The number of retried alarm hook requests", keys, values);
+            dropped = metricsCreator.createCounter(
+                "alarm_hook_delivery_dropped_count", "The number of alarm hook requests dropped by the full queue",
+                keys, values
+            );
+        }
+    }
+}
@@ -51,11 +51,13 @@ public class NotifyHandler implements MetricsNotify {
     private final AlarmCore core;
     private final AlarmRulesWatcher alarmRulesWatcher;
     private final ModuleManager manager;
+    private final HttpAlarmSender httpAlarmSender;
 
-    public NotifyHandler(AlarmRulesWatcher alarmRulesWatcher, ModuleManager manager) {
+    public NotifyHandler(AlarmRulesWatcher alarmRulesWatcher, ModuleManager manager, HttpAlarmSender httpAlarmSender) {
         this.alarmRulesWatcher = alarmRulesWatcher;
         core = new AlarmCore(alarmRulesWatcher);
         this.manager = manager;
+        this.httpAlarmSender = httpAlarmSender;
     }
 
     @Override
@@ -177,14 +179,14 @@ public class NotifyHandler implements MetricsNotify {
 
     public void init(AlarmCallback... callbacks) {
         List<AlarmCallback> allCallbacks = new ArrayList<>(Arrays.asList(callbacks));
-        allCallbacks.add(new WebhookCallback(alarmRulesWatcher));
+        allCallbacks.add(new WebhookCallback(alarmRulesWatcher, httpAlarmSender));
         allCallbacks.add(new GRPCCallback(alarmRulesWatcher));
-        allCallbacks.add(new SlackhookCallback(alarmRulesWatcher));
-        allCallbacks.add(new WechatHookCallback(alarmRulesWatcher));
-        allCallbacks.add(new DingtalkHookCallback(alarmRulesWatcher));
-        allCallbacks.add(new FeishuHookCallback(alarmRulesWatcher));
+        allCallbacks.add(new SlackhookCallback(alarmRulesWatcher, httpAlarmSender));
+        allCallbacks.add(new WechatHookCallback(alarmRulesWatcher, httpAlarmSender));
+        allCallbacks.add(new DingtalkHookCallback(alarmRulesWatcher, httpAlarmSender));
+        allCallbacks.add(new FeishuHookCallback(alarmRulesWatcher, httpAlarmSender));
         allCallbacks.add(new EventHookCallback(this.manager));
-        allCallbacks.add(new WeLinkHookCallback(alarmRulesWatcher));
+        allCallbacks.add(new WeLinkHookCallback(alarmRulesWatcher, httpAlarmSender));
         core.start(allCallbacks);
     }
 }
@@ -19,44 +19,21 @@
 package org.apache.skywalking.oap.server.core.alarm.provider;
 
 import com.google.gson.Gson;
-import io.netty.handler.codec.http.HttpHeaderValues;
-import java.io.IOException;
-import java.io.UnsupportedEncodingException;
-import java.nio.charset.StandardCharsets;
 import java.util.List;
-import lombok.extern.slf4j.Slf4j;
-import org.apache.http.HttpHeaders;
-import org.apache.http.HttpStatus;
-import org.apache.http.StatusLine;
-import org.apache.http.client.config.RequestConfig;
-import org.apache.http.client.methods.CloseableHttpResponse;
-import org.apache.http.client.methods.HttpPost;
-import org.apache.http.entity.StringEntity;
-import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClients;
 import org.apache.skywalking.oap.server.core.alarm.AlarmCallback;
 import org.apache.skywalking.oap.server.core.alarm.AlarmMessage;
 
 /**
  * Use SkyWalking alarm webhook API calls a remote endpoints.
  */
-@Slf4j
 public class WebhookCallback implements AlarmCallback {
-    private static final int HTTP_CONNECT_TIMEOUT = 1000;
-    private static final int HTTP_CONNECTION_REQUEST_TIMEOUT = 1000;
-    private static final int HTTP_SOCKET_TIMEOUT = 10000;
-
     private AlarmRulesWatcher alarmRulesWatcher;
-    private RequestConfig requestConfig;
+    private HttpAlarmSender httpAlarmSender;
     private Gson gson = new Gson();
 
-    public WebhookCallback(AlarmRulesWatcher alarmRulesWatcher) {
+    public WebhookCallback(AlarmRulesWatcher alarmRulesWatcher, HttpAlarmSender httpAlarmSender) {
         this.alarmRulesWatcher = alarmRulesWatcher;
-        requestConfig = RequestConfig.custom()
-                                     .setConnectTimeout(HTTP_CONNECT_TIMEOUT)
-                                     .setConnectionRequestTimeout(HTTP_CONNECTION_REQUEST_TIMEOUT)
-                                     .setSocketTimeout(HTTP_SOCKET_TIMEOUT)
-                                     .build();
+        this.httpAlarmSender = httpAlarmSender;
     }
 
     @Override
@@ -65,45 +42,7 @@ public class WebhookCallback implements AlarmCallback {
             return;
         }
 
-        CloseableHttpClient httpClient = HttpClients.custom().build();
-        try {
-            alarmRulesWatcher.getWebHooks().forEach(url -> {
-                HttpPost post = new HttpPost(url);
-                post.setConfig(requestConfig);
-                post.setHeader(HttpHeaders.ACCEPT, HttpHeaderValues.APPLICATION_JSON.toString());
-                post.setHeader(HttpHeaders.CONTENT_TYPE, HttpHeaderValues.APPLICATION_JSON.toString());
-
-                StringEntity entity;
-                CloseableHttpResponse httpResponse = null;
-                try {
-                    entity = new StringEntity(gson.toJson(alarmMessage), StandardCharsets.UTF_8);
-                    post.setEntity(entity);
-                    httpResponse = httpClient.execute(post);
-                    StatusLine statusLine = httpResponse.getStatusLine();
-                    if (statusLine != null && statusLine.getStatusCode() != HttpStatus.SC_OK) {
-                        log.error("send alarm to " + url + " failure. Response code: " + statusLine.getStatusCode());
-                    }
-                } catch (UnsupportedEncodingException e) {
-                    log.error("Alarm to JSON error, " + e.getMessage(), e);
-                } catch (IOException e) {
-                    log.error("send alarm to " + url + " failure.", e);
-                } finally {
-                    if (httpResponse != null) {
-                        try {
-                            httpResponse.close();
-                        } catch (IOException e) {
-                            log.error(e.getMessage(), e);
-                        }
-
-                    }
-                }
-            });
-        } finally {
-            try {
-                httpClient.close();
-            } catch (IOException e) {
-                log.error(e.getMessage(), e);
-            }
-        }
+        final String requestBody = gson.toJson(alarmMessage);
+        alarmRulesWatcher.getWebHooks().forEach(url -> httpAlarmSender.send("webhook", url, requestBody));
     }
 }
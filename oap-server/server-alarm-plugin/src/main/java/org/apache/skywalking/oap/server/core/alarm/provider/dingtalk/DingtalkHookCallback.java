@@ -18,27 +18,14 @@
 
 package org.apache.skywalking.oap.server.core.alarm.provider.dingtalk;
 
-import io.netty.handler.codec.http.HttpHeaderValues;
-import lombok.extern.slf4j.Slf4j;
-import org.apache.http.HttpHeaders;
-import org.apache.http.HttpStatus;
-import org.apache.http.StatusLine;
-import org.apache.http.client.config.RequestConfig;
-import org.apache.http.client.methods.CloseableHttpResponse;
-import org.apache.http.client.methods.HttpPost;
-import org.apache.http.entity.ContentType;
-import org.apache.http.entity.StringEntity;
-import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClients;
-import org.apache.http.util.EntityUtils;
 import org.apache.skywalking.oap.server.library.util.StringUtil;
 import org.apache.skywalking.oap.server.core.alarm.AlarmCallback;
 import org.apache.skywalking.oap.server.core.alarm.AlarmMessage;
 import org.apache.skywalking.oap.server.core.alarm.provider.AlarmRulesWatcher;
+import org.apache.skywalking.oap.server.core.alarm.provider.HttpAlarmSender;
 
 import javax.crypto.Mac;
 import javax.crypto.spec.SecretKeySpec;
-import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
@@ -50,22 +37,14 @@ import java.util.List;
 /**
  * Use SkyWalking alarm dingtalk webhook API.
  */
-@Slf4j
 public class DingtalkHookCallback implements AlarmCallback {
 
-    private static final int HTTP_CONNECT_TIMEOUT = 1000;
-    private static final int HTTP_CONNECTION_REQUEST_TIMEOUT = 1000;
-    private static final int HTTP_SOCKET_TIMEOUT = 10000;
     private AlarmRulesWatcher alarmRulesWatcher;
-    private RequestConfig requestConfig;
+    private HttpAlarmSender httpAlarmSender;
 
-    public DingtalkHookCallback(final AlarmRulesWatcher alarmRulesWatcher) {
+    public DingtalkHookCallback(final AlarmRulesWatcher alarmRulesWatcher, final HttpAlarmSender httpAlarmSender) {
         this.alarmRulesWatcher = alarmRulesWatcher;
-        this.requestConfig = RequestConfig.custom()
-                .setConnectTimeout(HTTP_CONNECT_TIMEOUT)
-                .setConnectionRequestTimeout(HTTP_CONNECTION_REQUEST_TIMEOUT)
-                .setSocketTimeout(HTTP_SOCKET_TIMEOUT)
-                .build();
+        this.httpAlarmSender = httpAlarmSender;
     }
 
     /**
@@ -76,20 +55,16 @@ public class DingtalkHookCallback implements AlarmCallback {
         if (this.alarmRulesWatcher.getDingtalkSettings() == null || this.alarmRulesWatcher.getDingtalkSettings().getWebhooks().isEmpty()) {
             return;
         }
-        try (CloseableHttpClient httpClient = HttpClients.custom().build()) {
-            DingtalkSettings dingtalkSettings = this.alarmRulesWatcher.getDingtalkSettings();
-            dingtalkSettings.getWebhooks().forEach(webHookUrl -> {
-                String url = getUrl(webHookUrl);
-                alarmMessages.forEach(alarmMessage -> {
-                    String requestBody = String.format(
-                            this.alarmRulesWatcher.getDingtalkSettings().getTextTemplate(), alarmMessage.getAlarmMessage()
-                    );
-                    sendAlarmMessage(httpClient, url, requestBody);
-                });
+        DingtalkSettings dingtalkSettings = this.alarmRulesWatcher.getDingtalkSettings();
+        dingtalkSettings.getWebhooks().forEach(webHookUrl -> {
+            String url = getUrl(webHookUrl);
+            alarmMessages.forEach(alarmMessage -> {
+                String requestBody = String.format(
+                        dingtalkSettings.getTextTemplate(), alarmMessage.getAlarmMessage()
+                );
+                httpAlarmSender.send("dingtalk", url, requestBody);
             });
-        } catch (IOException e) {
-            log.error(e.getMessage(), e);
-        }
+        });
     }
 
     /**
@@ -124,36 +99,4 @@ public class DingtalkHookCallback implements AlarmCallback {
         byte[] signData = mac.doFinal(stringToSign.getBytes(StandardCharsets.UTF_8));
         return URLEncoder.encode(new String(Base64.getEncoder().encode(signData)), StandardCharsets.UTF_8.name());
     }
-
-    /**
-     * Send alarm message to remote endpoint
-     */
-    private void sendAlarmMessage(CloseableHttpClient httpClient, String url, String requestBody) {
-        CloseableHttpResponse httpResponse = null;
-        try {
-            HttpPost post = new HttpPost(url);
-            post.setConfig(requestConfig);
-            post.setHeader(HttpHeaders.ACCEPT, HttpHeaderValues.APPLICATION_JSON.toString());
-            post.setHeader(HttpHeaders.CONTENT_TYPE, HttpHeaderValues.APPLICATION_JSON.toString());
-            StringEntity entity = new StringEntity(requestBody, ContentType.APPLICATION_JSON);
-            post.setEntity(entity);
-            httpResponse = httpClient.execute(post);
-            StatusLine statusLine = httpResponse.getStatusLine();
-            if (statusLine != null && statusLine.getStatusCode() != HttpStatus.SC_OK) {
-                log.error("send dingtalk alarm to {} failure. Response code: {}, Response content: {}", url, statusLine.getStatusCode(),
-                        EntityUtils.toString(httpResponse.getEntity()));
-            }
-        } catch (Throwable e) {
-            log.error("send dingtalk alarm to {} failure.", url, e);
-        } finally {
-            if (httpResponse != null) {
-                try {
-                    httpResponse.close();
-                } catch (IOException e) {
-                    log.error(e.getMessage(), e);
-                }
-
-            }
-        }
-    }
 }
@@ -20,27 +20,14 @@ package org.apache.skywalking.oap.server.core.alarm.provider.feishu;
 
 import com.google.gson.Gson;
 import com.google.gson.JsonObject;
-import io.netty.handler.codec.http.HttpHeaderValues;
-import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.codec.binary.Base64;
-import org.apache.http.HttpHeaders;
-import org.apache.http.HttpStatus;
-import org.apache.http.StatusLine;
-import org.apache.http.client.config.RequestConfig;
-import org.apache.http.client.methods.CloseableHttpResponse;
-import org.apache.http.client.methods.HttpPost;
-import org.apache.http.entity.ContentType;
-import org.apache.http.entity.StringEntity;
-import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClients;
-import org.apache.http.util.EntityUtils;
 import org.apache.skywalking.oap.server.library.util.StringUtil;
 import org.apache.skywalking.oap.server.core.alarm.AlarmCallback;
 import org.apache.skywalking.oap.server.core.alarm.AlarmMessage;
 import org.apache.skywalking.oap.server.core.alarm.provider.AlarmRulesWatcher;
+import org.apache.skywalking.oap.server.core.alarm.provider.HttpAlarmSender;
 import javax.crypto.Mac;
 import javax.crypto.spec.SecretKeySpec;
-import java.io.IOException;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
 import java.util.Arrays;
@@ -52,22 +39,14 @@ import java.util.stream.Collectors;
 /**
  * Use SkyWalking alarm feishu webhook API.
  */
-@Slf4j
 public class FeishuHookCallback implements AlarmCallback {
 
-    private static final int HTTP_CONNECT_TIMEOUT = 1000;
-    private static final int HTTP_CONNECTION_REQUEST_TIMEOUT = 1000;
-    private static final int HTTP_SOCKET_TIMEOUT = 10000;
     private AlarmRulesWatcher alarmRulesWatcher;
-    private RequestConfig requestConfig;
+    private HttpAlarmSender httpAlarmSender;
 
-    public FeishuHookCallback(final AlarmRulesWatcher alarmRulesWatcher) {
+    public FeishuHookCallback(final AlarmRulesWatcher alarmRulesWatcher, final HttpAlarmSender httpAlarmSender) {
         this.alarmRulesWatcher = alarmRulesWatcher;
-        this.requestConfig = RequestConfig.custom()
-                .setConnectTimeout(HTTP_CONNECT_TIMEOUT)
-                .setConnectionRequestTimeout(HTTP_CONNECTION_REQUEST_TIMEOUT)
-                .setSocketTimeout(HTTP_SOCKET_TIMEOUT)
-                .build();
+        this.httpAlarmSender = httpAlarmSender;
     }
 
     /**
@@ -78,22 +57,13 @@ public class FeishuHookCallback implements AlarmCallback {
         if (this.alarmRulesWatcher.getFeishuSettings() == null || this.alarmRulesWatcher.getFeishuSettings().getWebhooks().isEmpty()) {
             return;
         }
-        CloseableHttpClient httpClient = HttpClients.custom().build();
-        try {
-            FeishuSettings feishuSettings = this.alarmRulesWatcher.getFeishuSettings();
-            feishuSettings.getWebhooks().forEach(webHookUrl -> {
-                alarmMessages.forEach(alarmMessage -> {
-                    String requestBody = getRequestBody(webHookUrl, alarmMessage);
-                    sendAlarmMessage(httpClient, webHookUrl.getUrl(), requestBody);
-                });
+        FeishuSettings feishuSettings = this.alarmRulesWatcher.getFeishuSettings();
+        feishuSettings.getWebhooks().forEach(webHookUrl -> {
+            alarmMessages.forEach(alarmMessage -> {
+                String requestBody = getRequestBody(webHookUrl, alarmMessage);
+                httpAlarmSender.send("feishu", webHookUrl.getUrl(), requestBody);
             });
-        } finally {
-            try {
-                httpClient.close();
-            } catch (IOException e) {
-                log.error(e.getMessage(), e);
-            }
-        }
+        });
     }
 
     /**
@@ -148,36 +118,4 @@ public class FeishuHookCallback implements AlarmCallback {
         byte[] signData = mac.doFinal();
         return Base64.encodeBase64String(signData);
     }
-
-    /**
-     * Send alarm message to remote endpoint
-     */
-    private void sendAlarmMessage(CloseableHttpClient httpClient, String url, String requestBody) {
-        CloseableHttpResponse httpResponse = null;
-        try {
-            HttpPost post = new HttpPost(url);
-            post.setConfig(requestConfig);
-            post.setHeader(HttpHeaders.ACCEPT, HttpHeaderValues.APPLICATION_JSON.toString());
-            post.setHeader(HttpHeaders.CONTENT_TYPE, HttpHeaderValues.APPLICATION_JSON.toString());
-            StringEntity entity = new StringEntity(requestBody, ContentType.APPLICATION_JSON);
-            post.setEntity(entity);
-            httpResponse = httpClient.execute(post);
-            StatusLine statusLine = httpResponse.getStatusLine();
-            if (statusLine != null && statusLine.getStatusCode() != HttpStatus.SC_OK) {
-                log.error("send feishu alarm to {} failure. Response code: {}, Response content: {}", url, statusLine.getStatusCode(),
-                        EntityUtils.toString(httpResponse.getEntity()));
-            }
-        } catch (Throwable e) {
-            log.error("send feishu alarm to {} failure.", url, e);
-        } finally {
-            if (httpResponse != null) {
-                try {
-                    httpResponse.close();
-                } catch (IOException e) {
-                    log.error(e.getMessage(), e);
-                }
-
-            }
-        }
-    }
 }
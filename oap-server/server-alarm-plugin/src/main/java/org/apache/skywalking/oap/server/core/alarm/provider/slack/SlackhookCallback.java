@@ -21,44 +21,23 @@ package org.apache.skywalking.oap.server.core.alarm.provider.slack;
 import com.google.gson.Gson;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
-import io.netty.handler.codec.http.HttpHeaderValues;
-import java.io.IOException;
-import java.io.UnsupportedEncodingException;
 import java.util.List;
-import lombok.extern.slf4j.Slf4j;
-import org.apache.http.HttpHeaders;
-import org.apache.http.HttpStatus;
-import org.apache.http.StatusLine;
-import org.apache.http.client.config.RequestConfig;
-import org.apache.http.client.methods.CloseableHttpResponse;
-import org.apache.http.client.methods.HttpPost;
-import org.apache.http.entity.ContentType;
-import org.apache.http.entity.StringEntity;
-import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClients;
 import org.apache.skywalking.oap.server.core.alarm.AlarmCallback;
 import org.apache.skywalking.oap.server.core.alarm.AlarmMessage;
 import org.apache.skywalking.oap.server.core.alarm.provider.AlarmRulesWatcher;
+import org.apache.skywalking.oap.server.core.alarm.provider.HttpAlarmSender;
 
 /**
  * Use SkyWalking alarm slack webhook API calls a remote endpoints.
  */
-@Slf4j
 public class SlackhookCallback implements AlarmCallback {
-    private static final int HTTP_CONNECT_TIMEOUT = 1000;
-    private static final int HTTP_CONNECTION_REQUEST_TIMEOUT = 1000;
-    private static final int HTTP_SOCKET_TIMEOUT = 10000;
     private static final Gson GSON = new Gson();
     private AlarmRulesWatcher alarmRulesWatcher;
-    private RequestConfig requestConfig;
+    private HttpAlarmSender httpAlarmSender;
 
-    public SlackhookCallback(final AlarmRulesWatcher alarmRulesWatcher) {
+    public SlackhookCallback(final AlarmRulesWatcher alarmRulesWatcher, final HttpAlarmSender httpAlarmSender) {
         this.alarmRulesWatcher = alarmRulesWatcher;
-        this.requestConfig = RequestConfig.custom()
-                                          .setConnectTimeout(HTTP_CONNECT_TIMEOUT)
-                                          .setConnectionRequestTimeout(HTTP_CONNECTION_REQUEST_TIMEOUT)
-                                          .setSocketTimeout(HTTP_SOCKET_TIMEOUT)
-                                          .build();
+        this.httpAlarmSender = httpAlarmSender;
     }
 
     @Override
@@ -67,54 +46,17 @@ public class SlackhookCallback implements AlarmCallback {
             return;
         }
 
-        CloseableHttpClient httpClient = HttpClients.custom().build();
-        try {
-            this.alarmRulesWatcher.getSlackSettings().getWebhooks().forEach(url -> {
-                HttpPost post = new HttpPost(url);
-                post.setConfig(requestConfig);
-                post.setHeader(HttpHeaders.ACCEPT, HttpHeaderValues.APPLICATION_JSON.toString());
-                post.setHeader(HttpHeaders.CONTENT_TYPE, HttpHeaderValues.APPLICATION_JSON.toString());
-
-                StringEntity entity;
-                CloseableHttpResponse httpResponse = null;
-                try {
-                    JsonObject jsonObject = new JsonObject();
-                    JsonArray jsonElements = new JsonArray();
-                    alarmMessages.forEach(item -> {
-                        jsonElements.add(GSON.fromJson(
-                            String.format(
-                                this.alarmRulesWatcher.getSlackSettings().getTextTemplate(), item.getAlarmMessage()
-                            ), JsonObject.class));
-                    });
-                    jsonObject.add("blocks", jsonElements);
-                    entity = new StringEntity(GSON.toJson(jsonObject), ContentType.APPLICATION_JSON);
-                    post.setEntity(entity);
-                    httpResponse = httpClient.execute(post);
-                    StatusLine statusLine = httpResponse.getStatusLine();
-                    if (statusLine != null && statusLine.getStatusCode() != HttpStatus.SC_OK) {
-                        log.error("Send slack alarm to {} failure. Response code: {}", url , statusLine.getStatusCode());
-                    }
-                } catch (UnsupportedEncodingException e) {
-                    log.error("Alarm to JSON error, {} ", e.getMessage(), e);
-                } catch (IOException e) {
-                    log.error("Send slack alarm to {} failure.", url , e);
-                } finally {
-                    if (httpResponse != null) {
-                        try {
-                            httpResponse.close();
-                        } catch (IOException e) {
-                            log.error(e.getMessage(), e);
-                        }
-
-                    }
-                }
-            });
-        } finally {
-            try {
-                httpClient.close();
-            } catch (IOException e) {
-                log.error(e.getMessage(), e);
-            }
-        }
+        JsonObject jsonObject = new JsonObject();
+        JsonArray jsonElements = new JsonArray();
+        alarmMessages.forEach(item -> {
+            jsonElements.add(GSON.fromJson(
+                String.format(
+                    this.alarmRulesWatcher.getSlackSettings().getTextTemplate(), item.getAlarmMessage()
+                ), JsonObject.class));
+        });
+        jsonObject.add("blocks", jsonElements);
+        final String requestBody = GSON.toJson(jsonObject);
+        this.alarmRulesWatcher.getSlackSettings().getWebhooks().forEach(
+            url -> httpAlarmSender.send("slack", url, requestBody));
     }
 }
@@ -22,51 +22,29 @@ import com.google.gson.Gson;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
-import io.netty.handler.codec.http.HttpHeaderValues;
-import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
-import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
-import lombok.extern.slf4j.Slf4j;
-import org.apache.http.HttpHeaders;
-import org.apache.http.HttpStatus;
-import org.apache.http.StatusLine;
-import org.apache.http.client.config.RequestConfig;
-import org.apache.http.client.methods.CloseableHttpResponse;
-import org.apache.http.client.methods.HttpPost;
-import org.apache.http.entity.ContentType;
-import org.apache.http.entity.StringEntity;
-import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClients;
-import org.apache.http.util.EntityUtils;
+import java.util.concurrent.CompletableFuture;
 import org.apache.skywalking.oap.server.core.alarm.AlarmCallback;
 import org.apache.skywalking.oap.server.core.alarm.AlarmMessage;
 import org.apache.skywalking.oap.server.core.alarm.provider.AlarmRulesWatcher;
+import org.apache.skywalking.oap.server.core.alarm.provider.HttpAlarmSender;
 
 /**
  * Use SkyWalking alarm WeLink webhook API.
  */
-@Slf4j
 public class WeLinkHookCallback implements AlarmCallback {
 
-    private static final int HTTP_CONNECT_TIMEOUT = 1000;
-    private static final int HTTP_CONNECTION_REQUEST_TIMEOUT = 1000;
-    private static final int HTTP_SOCKET_TIMEOUT = 10000;
     private final AlarmRulesWatcher alarmRulesWatcher;
-    private final RequestConfig requestConfig;
+    private final HttpAlarmSender httpAlarmSender;
 
-    public WeLinkHookCallback(final AlarmRulesWatcher alarmRulesWatcher) {
+    public WeLinkHookCallback(final AlarmRulesWatcher alarmRulesWatcher, final HttpAlarmSender httpAlarmSender) {
         this.alarmRulesWatcher = alarmRulesWatcher;
-        this.requestConfig = RequestConfig.custom()
-                                          .setConnectTimeout(HTTP_CONNECT_TIMEOUT)
-                                          .setConnectionRequestTimeout(HTTP_CONNECTION_REQUEST_TIMEOUT)
-                                          .setSocketTimeout(HTTP_SOCKET_TIMEOUT)
-                                          .build();
+        this.httpAlarmSender = httpAlarmSender;
     }
 
     /**
@@ -81,15 +59,14 @@ public class WeLinkHookCallback implements AlarmCallback {
         }
         WeLinkSettings welinkSettings = this.alarmRulesWatcher.getWeLinkSettings();
         welinkSettings.getWebhooks().forEach(webHookUrl -> {
-            String accessToken = getAccessToken(webHookUrl);
-            alarmMessages.forEach(alarmMessage -> {
+            getAccessToken(webHookUrl).thenAccept(accessToken -> alarmMessages.forEach(alarmMessage -> {
                 String content = String.format(
                     Locale.US,
-                    this.alarmRulesWatcher.getWeLinkSettings().getTextTemplate(),
+                    welinkSettings.getTextTemplate(),
                     alarmMessage.getAlarmMessage()
                 );
                 sendAlarmMessage(webHookUrl, accessToken, content);
-            });
+            }));
         });
     }
 
@@ -113,60 +90,29 @@ public class WeLinkHookCallback implements AlarmCallback {
         ));
         body.addProperty("content_type", 0);
         body.addProperty("client_app_id", "1");
-        sendPostRequest(
-            webHookUrl.getMessageUrl(), Collections.singletonMap("x-wlk-Authorization", accessToken), body.toString());
+        httpAlarmSender.send(
+            "welink", webHookUrl.getMessageUrl(), Collections.singletonMap("x-wlk-Authorization", accessToken),
+            body.toString()
+        );
     }
 
     /**
-     * Get access token from remote endpoint
+     * Get access token from remote endpoint, the messages are sent after the token is returned.
      */
-    private String getAccessToken(WeLinkSettings.WebHookUrl webHookUrl) {
+    private CompletableFuture<String> getAccessToken(WeLinkSettings.WebHookUrl webHookUrl) {
         String accessTokenUrl = webHookUrl.getAccessTokenUrl();
         String clientId = webHookUrl.getClientId();
         String clientSecret = webHookUrl.getClientSecret();
-        String response = sendPostRequest(
-            accessTokenUrl, Collections.emptyMap(),
+        return httpAlarmSender.send(
+            "welink", accessTokenUrl,
             String.format(Locale.US, "{\"client_id\":%s,\"client_secret\":%s}", clientId, clientSecret)
-        );
-        Gson gson = new Gson();
-        JsonObject responseJson = gson.fromJson(response, JsonObject.class);
-        return Optional.ofNullable(responseJson)
-                       .map(r -> r.get("access_token"))
-                       .map(JsonElement::getAsString)
-                       .orElse("");
-    }
-
-    /**
-     * Post rest invoke
-     */
-    private String sendPostRequest(String url, Map<String, String> headers, String requestBody) {
-        String response = "";
-        try (CloseableHttpClient httpClient = HttpClients.createDefault()) {
-            HttpPost post = new HttpPost(url);
-            post.setConfig(requestConfig);
-            post.setHeader(HttpHeaders.ACCEPT, HttpHeaderValues.APPLICATION_JSON.toString());
-            post.setHeader(HttpHeaders.CONTENT_TYPE, HttpHeaderValues.APPLICATION_JSON.toString());
-            headers.forEach(post::setHeader);
-            StringEntity entity = new StringEntity(requestBody, ContentType.APPLICATION_JSON);
-            post.setEntity(entity);
-            try (CloseableHttpResponse httpResponse = httpClient.execute(post)) {
-                StatusLine statusLine = httpResponse.getStatusLine();
-                if (statusLine != null) {
-                    if (statusLine.getStatusCode() != HttpStatus.SC_OK) {
-                        log.error("send to {} failure. Response code: {}, Response content: {}", url,
-                                  statusLine.getStatusCode(),
-                                  EntityUtils.toString(httpResponse.getEntity())
-                        );
-                    } else {
-                        response = EntityUtils.toString(httpResponse.getEntity(), StandardCharsets.UTF_8);
-                    }
-                }
-            } catch (IOException e) {
-                log.error(e.getMessage(), e);
-            }
-        } catch (IOException e) {
-            log.error(e.getMessage(), e);
-        }
-        return response;
+        ).thenApply(response -> {
+            Gson gson = new Gson();
+            JsonObject responseJson = gson.fromJson(response, JsonObject.class);
+            return Optional.ofNullable(responseJson)
+                           .map(r -> r.get("access_token"))
+                           .map(JsonElement::getAsString)
+                           .orElse("");
+        });
     }
 }
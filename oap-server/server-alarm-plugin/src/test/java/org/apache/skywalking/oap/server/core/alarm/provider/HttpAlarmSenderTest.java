@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.alarm.provider;
+
+import com.linecorp.armeria.common.HttpResponse;
+import com.linecorp.armeria.common.HttpStatus;
+import com.linecorp.armeria.common.MediaType;
+import com.linecorp.armeria.server.ServerBuilder;
+import com.linecorp.armeria.testing.junit4.server.ServerRule;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class HttpAlarmSenderTest {
+    private final AtomicInteger flakyCalls = new AtomicInteger();
+    private final AtomicInteger badRequestCalls = new AtomicInteger();
+    private final CountDownLatch slowLatch = new CountDownLatch(1);
+
+    private HttpAlarmSender sender;
+
+    @Rule
+    public final ServerRule server = new ServerRule() {
+        @Override
+        protected void configure(ServerBuilder sb) {
+            sb.service("/flaky", (ctx, req) -> HttpResponse.from(
+                req.aggregate().thenApply(r -> flakyCalls.incrementAndGet() < 3
+                    ? HttpResponse.of(HttpStatus.SERVICE_UNAVAILABLE)
+                    : HttpResponse.of(HttpStatus.OK))
+            ));
+            sb.service("/bad", (ctx, req) -> HttpResponse.from(
+                req.aggregate().thenApply(r -> {
+                    badRequestCalls.incrementAndGet();
+                    return HttpResponse.of(HttpStatus.BAD_REQUEST);
+                })
+            ));
+            sb.service("/down", (ctx, req) -> HttpResponse.of(HttpStatus.INTERNAL_SERVER_ERROR));
+            sb.service("/slow", (ctx, req) -> HttpResponse.from(
+                req.aggregate().thenApplyAsync(r -> {
+                    try {
+                        slowLatch.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return HttpResponse.of(HttpStatus.OK);
+                })
+            ));
+            sb.service("/fast", (ctx, req) -> HttpResponse.of(HttpStatus.OK, MediaType.JSON, "{}"));
+        }
+    };
+
+    @Before
+    public void setUp() {
+        AlarmSettings settings = new AlarmSettings();
+        settings.setHookDeliveryThreads(2);
+        settings.setHookMaxRetries(3);
+        settings.setHookRetryBackoff(10);
+        sender = new HttpAlarmSender(settings);
+    }
+
+    @After
+    public void tearDown() {
+        slowLatch.countDown();
+    }
+
+    @Test
+    public void testRetryUntilSuccess() throws Exception {
+        sender.send("webhook", url("/flaky"), "[]").get(5, TimeUnit.SECONDS);
+        Assert.assertEquals(3, flakyCalls.get());
+    }
+
+    @Test
+    public void testNoRetryOnClientError() throws Exception {
+        CompletableFuture<String> result = sender.send("webhook", url("/bad"), "[]");
+        assertFailed(result);
+        Assert.assertEquals(1, badRequestCalls.get());
+    }
+
+    @Test
+    public void testFailAfterMaxRetries() throws Exception {
+        assertFailed(sender.send("webhook", url("/down"), "[]"));
+    }
+
+    @Test
+    public void testSlowEndpointNotBlockOthers() throws Exception {
+        CompletableFuture<String> slow = sender.send("webhook", url("/slow"), "[]");
+        Assert.assertEquals("{}", sender.send("webhook", url("/fast"), "[]").get(3, TimeUnit.SECONDS));
+        Assert.assertFalse(slow.isDone());
+    }
+
+    @Test
+    public void testRetriesCountedInQueue() throws Exception {
+        AlarmSettings settings = new AlarmSettings();
+        settings.setHookDeliveryQueueSize(1);
+        settings.setHookMaxRetries(3);
+        settings.setHookRetryBackoff(1000);
+        HttpAlarmSender boundedSender = new HttpAlarmSender(settings);
+        CompletableFuture<String> retrying = boundedSender.send("webhook", url("/down"), "[]");
+        // The first request waits for the retry while still holding the only pending slot.
+        assertFailed(boundedSender.send("webhook", url("/fast"), "[]"));
+        Assert.assertFalse(retrying.isDone());
+    }
+
+    private String url(String path) {
+        return "http://127.0.0.1:" + server.httpPort() + path;
+    }
+
+    private void assertFailed(CompletableFuture<String> result) throws Exception {
+        try {
+            result.get(5, TimeUnit.SECONDS);
+            Assert.fail("The delivery should fail");
+        } catch (ExecutionException e) {
+            Assert.assertTrue(result.isCompletedExceptionally());
+        }
+    }
+}
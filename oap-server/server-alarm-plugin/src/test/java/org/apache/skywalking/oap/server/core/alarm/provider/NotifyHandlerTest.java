@@ -317,7 +317,8 @@ public class NotifyHandlerTest {
 
         moduleManager = mock(ModuleManager.class);
 
-        notifyHandler = new NotifyHandler(new AlarmRulesWatcher(rules, null), moduleManager);
+        notifyHandler = new NotifyHandler(
+            new AlarmRulesWatcher(rules, null), moduleManager, mock(HttpAlarmSender.class));
 
         notifyHandler.init(alarmMessageList -> {
             for (AlarmMessage message : alarmMessageList) {
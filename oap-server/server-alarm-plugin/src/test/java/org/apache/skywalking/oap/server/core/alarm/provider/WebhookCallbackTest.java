@@ -26,6 +26,7 @@ import com.linecorp.armeria.server.ServerBuilder;
 import com.linecorp.armeria.testing.junit4.server.ServerRule;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import org.apache.skywalking.oap.server.core.alarm.AlarmMessage;
 import org.apache.skywalking.oap.server.core.source.DefaultScopeDefine;
@@ -56,13 +57,14 @@ public class WebhookCallbackTest {
     };
 
     @Test
-    public void testWebhook() {
+    public void testWebhook() throws InterruptedException {
         List<String> remoteEndpoints = new ArrayList<>();
         remoteEndpoints.add("http://127.0.0.1:" + server.httpPort() + "/webhook/receiveAlarm");
         Rules rules = new Rules();
         rules.setWebhooks(remoteEndpoints);
         AlarmRulesWatcher alarmRulesWatcher = new AlarmRulesWatcher(rules, null);
-        WebhookCallback webhookCallback = new WebhookCallback(alarmRulesWatcher);
+        WebhookCallback webhookCallback = new WebhookCallback(
+            alarmRulesWatcher, new HttpAlarmSender(new AlarmSettings()));
         List<AlarmMessage> alarmMessages = new ArrayList<>(2);
         AlarmMessage alarmMessage = new AlarmMessage();
         alarmMessage.setScopeId(DefaultScopeDefine.SERVICE);
@@ -76,6 +78,9 @@ public class WebhookCallbackTest {
         alarmMessages.add(anotherAlarmMessage);
         webhookCallback.doAlarm(alarmMessages);
 
+        for (int i = 0; i < 50 && !isSuccess.get(); i++) {
+            TimeUnit.MILLISECONDS.sleep(100);
+        }
         Assert.assertTrue(isSuccess.get());
     }
 }
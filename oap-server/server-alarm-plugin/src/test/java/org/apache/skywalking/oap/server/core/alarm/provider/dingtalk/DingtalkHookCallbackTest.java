@@ -26,10 +26,13 @@ import com.linecorp.armeria.server.ServerBuilder;
 import com.linecorp.armeria.testing.junit4.server.ServerRule;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.skywalking.oap.server.core.alarm.AlarmMessage;
 import org.apache.skywalking.oap.server.core.alarm.provider.AlarmRulesWatcher;
+import org.apache.skywalking.oap.server.core.alarm.provider.AlarmSettings;
+import org.apache.skywalking.oap.server.core.alarm.provider.HttpAlarmSender;
 import org.apache.skywalking.oap.server.core.alarm.provider.Rules;
 import org.apache.skywalking.oap.server.core.source.DefaultScopeDefine;
 import org.apache.skywalking.oap.server.library.util.StringUtil;
@@ -74,7 +77,7 @@ public class DingtalkHookCallbackTest {
     };
 
     @Test
-    public void testDingtalkWebhookWithoutSign() {
+    public void testDingtalkWebhookWithoutSign() throws InterruptedException {
         List<DingtalkSettings.WebHookUrl> webHooks = new ArrayList<>();
         webHooks.add(new DingtalkSettings.WebHookUrl("", "http://127.0.0.1:" + server.httpPort() + "/dingtalkhook/receiveAlarm?token=dummy_token"));
         Rules rules = new Rules();
@@ -82,7 +85,8 @@ public class DingtalkHookCallbackTest {
         rules.setDingtalks(DingtalkSettings.builder().webhooks(webHooks).textTemplate(template).build());
 
         AlarmRulesWatcher alarmRulesWatcher = new AlarmRulesWatcher(rules, null);
-        DingtalkHookCallback dingtalkCallBack = new DingtalkHookCallback(alarmRulesWatcher);
+        DingtalkHookCallback dingtalkCallBack = new DingtalkHookCallback(
+            alarmRulesWatcher, new HttpAlarmSender(new AlarmSettings()));
         List<AlarmMessage> alarmMessages = new ArrayList<>(2);
         AlarmMessage alarmMessage = new AlarmMessage();
         alarmMessage.setScopeId(DefaultScopeDefine.SERVICE);
@@ -95,11 +99,14 @@ public class DingtalkHookCallbackTest {
         anotherAlarmMessage.setAlarmMessage("anotherAlarmMessage with [DefaultScopeDefine.Endpoint]");
         alarmMessages.add(anotherAlarmMessage);
         dingtalkCallBack.doAlarm(alarmMessages);
+        for (int i = 0; i < 50 && !isSuccess.get(); i++) {
+            TimeUnit.MILLISECONDS.sleep(100);
+        }
         Assert.assertTrue(isSuccess.get());
     }
 
     @Test
-    public void testDingtalkWebhookWithSign() {
+    public void testDingtalkWebhookWithSign() throws InterruptedException {
         checkSign.set(true);
         List<DingtalkSettings.WebHookUrl> webHooks = new ArrayList<>();
         webHooks.add(new DingtalkSettings.WebHookUrl(secret, "http://127.0.0.1:" + server.httpPort() + "/dingtalkhook/receiveAlarm?token=dummy_token"));
@@ -108,7 +115,8 @@ public class DingtalkHookCallbackTest {
         rules.setDingtalks(DingtalkSettings.builder().webhooks(webHooks).textTemplate(template).build());
 
         AlarmRulesWatcher alarmRulesWatcher = new AlarmRulesWatcher(rules, null);
-        DingtalkHookCallback dingtalkCallBack = new DingtalkHookCallback(alarmRulesWatcher);
+        DingtalkHookCallback dingtalkCallBack = new DingtalkHookCallback(
+            alarmRulesWatcher, new HttpAlarmSender(new AlarmSettings()));
         List<AlarmMessage> alarmMessages = new ArrayList<>(2);
         AlarmMessage alarmMessage = new AlarmMessage();
         alarmMessage.setScopeId(DefaultScopeDefine.SERVICE);
@@ -121,6 +129,9 @@ public class DingtalkHookCallbackTest {
         anotherAlarmMessage.setAlarmMessage("anotherAlarmMessage with [DefaultScopeDefine.Endpoint]");
         alarmMessages.add(anotherAlarmMessage);
         dingtalkCallBack.doAlarm(alarmMessages);
+        for (int i = 0; i < 50 && !isSuccess.get(); i++) {
+            TimeUnit.MILLISECONDS.sleep(100);
+        }
         Assert.assertTrue(isSuccess.get());
     }
 }
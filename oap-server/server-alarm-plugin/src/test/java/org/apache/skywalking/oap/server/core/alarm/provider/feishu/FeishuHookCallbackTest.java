@@ -26,10 +26,13 @@ import com.linecorp.armeria.server.ServerBuilder;
 import com.linecorp.armeria.testing.junit4.server.ServerRule;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.skywalking.oap.server.core.alarm.AlarmMessage;
 import org.apache.skywalking.oap.server.core.alarm.provider.AlarmRulesWatcher;
+import org.apache.skywalking.oap.server.core.alarm.provider.AlarmSettings;
+import org.apache.skywalking.oap.server.core.alarm.provider.HttpAlarmSender;
 import org.apache.skywalking.oap.server.core.alarm.provider.Rules;
 import org.apache.skywalking.oap.server.core.source.DefaultScopeDefine;
 import org.apache.skywalking.oap.server.library.util.StringUtil;
@@ -72,7 +75,7 @@ public class FeishuHookCallbackTest {
     };
 
     @Test
-    public void testFeishuWebhookWithoutSign() {
+    public void testFeishuWebhookWithoutSign() throws InterruptedException {
         List<FeishuSettings.WebHookUrl> webHooks = new ArrayList<>();
         webHooks.add(new FeishuSettings.WebHookUrl("", "http://127.0.0.1:" + server.httpPort() + "/feishuhook/receiveAlarm?token=dummy_token"));
         Rules rules = new Rules();
@@ -80,7 +83,8 @@ public class FeishuHookCallbackTest {
         rules.setFeishus(FeishuSettings.builder().webhooks(webHooks).textTemplate(template).build());
 
         AlarmRulesWatcher alarmRulesWatcher = new AlarmRulesWatcher(rules, null);
-        FeishuHookCallback feishuHookCallback = new FeishuHookCallback(alarmRulesWatcher);
+        FeishuHookCallback feishuHookCallback = new FeishuHookCallback(
+            alarmRulesWatcher, new HttpAlarmSender(new AlarmSettings()));
         List<AlarmMessage> alarmMessages = new ArrayList<>(2);
         AlarmMessage alarmMessage = new AlarmMessage();
         alarmMessage.setScopeId(DefaultScopeDefine.SERVICE);
@@ -93,11 +97,14 @@ public class FeishuHookCallbackTest {
         anotherAlarmMessage.setAlarmMessage("anotherAlarmMessage with [DefaultScopeDefine.Endpoint]");
         alarmMessages.add(anotherAlarmMessage);
         feishuHookCallback.doAlarm(alarmMessages);
+        for (int i = 0; i < 50 && !isSuccess.get(); i++) {
+            TimeUnit.MILLISECONDS.sleep(100);
+        }
         Assert.assertTrue(isSuccess.get());
     }
 
     @Test
-    public void testFeishuWebhookWithSign() {
+    public void testFeishuWebhookWithSign() throws InterruptedException {
         checkSign.set(true);
         List<FeishuSettings.WebHookUrl> webHooks = new ArrayList<>();
         webHooks.add(new FeishuSettings.WebHookUrl(secret, "http://127.0.0.1:" + server.httpPort() + "/feishuhook/receiveAlarm?token=dummy_token"));
@@ -106,7 +113,8 @@ public class FeishuHookCallbackTest {
         rules.setFeishus(FeishuSettings.builder().webhooks(webHooks).textTemplate(template).build());
 
         AlarmRulesWatcher alarmRulesWatcher = new AlarmRulesWatcher(rules, null);
-        FeishuHookCallback feishuHookCallback = new FeishuHookCallback(alarmRulesWatcher);
+        FeishuHookCallback feishuHookCallback = new FeishuHookCallback(
+            alarmRulesWatcher, new HttpAlarmSender(new AlarmSettings()));
         List<AlarmMessage> alarmMessages = new ArrayList<>(2);
         AlarmMessage alarmMessage = new AlarmMessage();
         alarmMessage.setScopeId(DefaultScopeDefine.SERVICE);
@@ -119,11 +127,14 @@ public class FeishuHookCallbackTest {
         anotherAlarmMessage.setAlarmMessage("anotherAlarmMessage with [DefaultScopeDefine.Endpoint]");
         alarmMessages.add(anotherAlarmMessage);
         feishuHookCallback.doAlarm(alarmMessages);
+        for (int i = 0; i < 50 && !isSuccess.get(); i++) {
+            TimeUnit.MILLISECONDS.sleep(100);
+        }
         Assert.assertTrue(isSuccess.get());
     }
 
     @Test
-    public void testFeishuWebhookWithSignAndAt() {
+    public void testFeishuWebhookWithSignAndAt() throws InterruptedException {
         checkSign.set(true);
         List<FeishuSettings.WebHookUrl> webHooks = new ArrayList<>();
         webHooks.add(new FeishuSettings.WebHookUrl(secret, "http://127.0.0.1:" + server.httpPort() + "/feishuhook/receiveAlarm?token=dummy_token"));
@@ -132,7 +143,8 @@ public class FeishuHookCallbackTest {
         rules.setFeishus(FeishuSettings.builder().webhooks(webHooks).textTemplate(template).build());
 
         AlarmRulesWatcher alarmRulesWatcher = new AlarmRulesWatcher(rules, null);
-        FeishuHookCallback feishuHookCallback = new FeishuHookCallback(alarmRulesWatcher);
+        FeishuHookCallback feishuHookCallback = new FeishuHookCallback(
+            alarmRulesWatcher, new HttpAlarmSender(new AlarmSettings()));
         List<AlarmMessage> alarmMessages = new ArrayList<>(2);
         AlarmMessage alarmMessage = new AlarmMessage();
         alarmMessage.setScopeId(DefaultScopeDefine.SERVICE);
@@ -145,6 +157,9 @@ public class FeishuHookCallbackTest {
         anotherAlarmMessage.setAlarmMessage("anotherAlarmMessage with [DefaultScopeDefine.Endpoint]");
         alarmMessages.add(anotherAlarmMessage);
         feishuHookCallback.doAlarm(alarmMessages);
+        for (int i = 0; i < 50 && !isSuccess.get(); i++) {
+            TimeUnit.MILLISECONDS.sleep(100);
+        }
         Assert.assertTrue(isSuccess.get());
     }
 }
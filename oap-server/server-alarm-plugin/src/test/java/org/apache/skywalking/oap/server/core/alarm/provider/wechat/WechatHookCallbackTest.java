@@ -26,10 +26,13 @@ import com.linecorp.armeria.server.ServerBuilder;
 import com.linecorp.armeria.testing.junit4.server.ServerRule;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.skywalking.oap.server.core.alarm.AlarmMessage;
 import org.apache.skywalking.oap.server.core.alarm.provider.AlarmRulesWatcher;
+import org.apache.skywalking.oap.server.core.alarm.provider.AlarmSettings;
+import org.apache.skywalking.oap.server.core.alarm.provider.HttpAlarmSender;
 import org.apache.skywalking.oap.server.core.alarm.provider.Rules;
 import org.apache.skywalking.oap.server.core.source.DefaultScopeDefine;
 import org.junit.Assert;
@@ -64,14 +67,15 @@ public class WechatHookCallbackTest {
     };
 
     @Test
-    public void testWechatWebhook() {
+    public void testWechatWebhook() throws InterruptedException {
         List<String> remoteEndpoints = new ArrayList<>();
         remoteEndpoints.add("http://127.0.0.1:" + server.httpPort() + "/wechathook/receiveAlarm");
         Rules rules = new Rules();
         String template = "{\"msgtype\":\"text\",\"text\":{\"content\":\"Skywaling alarm: %s\"}}";
         rules.setWecchats(WechatSettings.builder().webhooks(remoteEndpoints).textTemplate(template).build());
         AlarmRulesWatcher alarmRulesWatcher = new AlarmRulesWatcher(rules, null);
-        WechatHookCallback wechatHookCallback = new WechatHookCallback(alarmRulesWatcher);
+        WechatHookCallback wechatHookCallback = new WechatHookCallback(
+            alarmRulesWatcher, new HttpAlarmSender(new AlarmSettings()));
         List<AlarmMessage> alarmMessages = new ArrayList<>(2);
         AlarmMessage alarmMessage = new AlarmMessage();
         alarmMessage.setScopeId(DefaultScopeDefine.SERVICE);
@@ -84,6 +88,9 @@ public class WechatHookCallbackTest {
         anotherAlarmMessage.setAlarmMessage("anotherAlarmMessage with [DefaultScopeDefine.Endpoint]");
         alarmMessages.add(anotherAlarmMessage);
         wechatHookCallback.doAlarm(alarmMessages);
+        for (int i = 0; i < 50 && !isSuccess.get(); i++) {
+            TimeUnit.MILLISECONDS.sleep(100);
+        }
         Assert.assertTrue(isSuccess.get());
     }
 }
@@ -27,10 +27,13 @@ import com.linecorp.armeria.server.ServerBuilder;
 import com.linecorp.armeria.testing.junit4.server.ServerRule;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.skywalking.oap.server.core.alarm.AlarmMessage;
 import org.apache.skywalking.oap.server.core.alarm.provider.AlarmRulesWatcher;
+import org.apache.skywalking.oap.server.core.alarm.provider.AlarmSettings;
+import org.apache.skywalking.oap.server.core.alarm.provider.HttpAlarmSender;
 import org.apache.skywalking.oap.server.core.alarm.provider.Rules;
 import org.apache.skywalking.oap.server.core.source.DefaultScopeDefine;
 import org.junit.Assert;
@@ -71,7 +74,7 @@ public class WeLinkHookCallbackTest {
     };
 
     @Test
-    public void testWeLinkDoAlarm() {
+    public void testWeLinkDoAlarm() throws InterruptedException {
         List<WeLinkSettings.WebHookUrl> webHooks = new ArrayList<>();
         webHooks.add(new WeLinkSettings.WebHookUrl("clientId", "clientSecret",
                                                    "http://127.0.0.1:" + server.httpPort() + "/welinkhook/api/auth/v2/tickets",
@@ -83,7 +86,8 @@ public class WeLinkHookCallbackTest {
         rules.setWelinks(WeLinkSettings.builder().webhooks(webHooks).textTemplate(template).build());
 
         AlarmRulesWatcher alarmRulesWatcher = new AlarmRulesWatcher(rules, null);
-        WeLinkHookCallback welinkHookCallback = new WeLinkHookCallback(alarmRulesWatcher);
+        WeLinkHookCallback welinkHookCallback = new WeLinkHookCallback(
+            alarmRulesWatcher, new HttpAlarmSender(new AlarmSettings()));
         List<AlarmMessage> alarmMessages = new ArrayList<>(2);
         AlarmMessage alarmMessage = new AlarmMessage();
         alarmMessage.setScopeId(DefaultScopeDefine.SERVICE);
@@ -96,6 +100,9 @@ public class WeLinkHookCallbackTest {
         anotherAlarmMessage.setAlarmMessage("anotherAlarmMessage with [DefaultScopeDefine.Endpoint]");
         alarmMessages.add(anotherAlarmMessage);
         welinkHookCallback.doAlarm(alarmMessages);
+        for (int i = 0; i < 50 && !isSuccess.get(); i++) {
+            TimeUnit.MILLISECONDS.sleep(100);
+        }
         Assert.assertTrue(isSuccess.get());
     }
 }
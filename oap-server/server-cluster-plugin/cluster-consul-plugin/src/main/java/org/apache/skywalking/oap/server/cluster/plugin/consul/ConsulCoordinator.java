@@ -22,15 +22,18 @@ import com.google.common.base.Strings;
 import com.orbitz.consul.AgentClient;
 import com.orbitz.consul.Consul;
 import com.orbitz.consul.HealthClient;
+import com.orbitz.consul.cache.ServiceHealthCache;
 import com.orbitz.consul.model.agent.ImmutableRegistration;
 import com.orbitz.consul.model.agent.Registration;
 import com.orbitz.consul.model.health.ServiceHealth;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.apache.skywalking.oap.server.core.cluster.ClusterHealthStatus;
 import org.apache.skywalking.oap.server.core.cluster.ClusterNodesQuery;
 import org.apache.skywalking.oap.server.core.cluster.ClusterRegister;
+import org.apache.skywalking.oap.server.core.cluster.ClusterWatcher;
 import org.apache.skywalking.oap.server.core.cluster.OAPNodeChecker;
 import org.apache.skywalking.oap.server.core.cluster.RemoteInstance;
 import org.apache.skywalking.oap.server.core.cluster.ServiceQueryException;
@@ -51,6 +54,8 @@ public class ConsulCoordinator implements ClusterRegister, ClusterNodesQuery {
     private final ClusterModuleConsulConfig config;
     private volatile Address selfAddress;
     private HealthCheckMetrics healthChecker;
+    private final List<ClusterWatcher> watchers = new CopyOnWriteArrayList<>();
+    private ServiceHealthCache nodesCache;
 
     public ConsulCoordinator(final ModuleDefineHolder manager, final ClusterModuleConsulConfig config, final Consul client) {
         this.manager = manager;
@@ -121,6 +126,19 @@ public class ConsulCoordinator implements ClusterRegister, ClusterNodesQuery {
         }
     }
 
+    /**
+     * The nodes are watched through the blocking queries of Consul once the first watcher is registered.
+     */
+    @Override
+    public synchronized void registerWatcher(final ClusterWatcher watcher) {
+        watchers.add(watcher);
+        if (nodesCache == null) {
+            nodesCache = ServiceHealthCache.newCache(client.healthClient(), serviceName);
+            nodesCache.addListener(nodes -> watchers.forEach(ClusterWatcher::onClusterNodesChanged));
+            nodesCache.start();
+        }
+    }
+
     private void initHealthChecker() {
         if (healthChecker == null) {
             MetricsCreator metricCreator = manager.find(TelemetryModule.NAME).provider().getService(MetricsCreator.class);
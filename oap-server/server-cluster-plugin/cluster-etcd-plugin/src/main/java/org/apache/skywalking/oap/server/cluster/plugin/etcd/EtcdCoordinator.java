@@ -25,19 +25,23 @@ import io.etcd.jetcd.Client;
 import io.etcd.jetcd.ClientBuilder;
 import io.etcd.jetcd.KV;
 import io.etcd.jetcd.Lease;
+import io.etcd.jetcd.Watch;
 import io.etcd.jetcd.kv.GetResponse;
 import io.etcd.jetcd.lease.LeaseKeepAliveResponse;
 import io.etcd.jetcd.options.GetOption;
 import io.etcd.jetcd.options.PutOption;
+import io.etcd.jetcd.options.WatchOption;
 import io.grpc.stub.StreamObserver;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.skywalking.oap.server.library.util.StringUtil;
 import org.apache.skywalking.oap.server.core.cluster.ClusterHealthStatus;
 import org.apache.skywalking.oap.server.core.cluster.ClusterNodesQuery;
 import org.apache.skywalking.oap.server.core.cluster.ClusterRegister;
+import org.apache.skywalking.oap.server.core.cluster.ClusterWatcher;
 import org.apache.skywalking.oap.server.core.cluster.OAPNodeChecker;
 import org.apache.skywalking.oap.server.core.cluster.RemoteInstance;
 import org.apache.skywalking.oap.server.core.cluster.ServiceRegisterException;
@@ -60,6 +64,8 @@ public class EtcdCoordinator implements ClusterRegister, ClusterNodesQuery {
     private final Client client;
     private final String serviceName;
     private final ByteSequence serviceNameBS;
+    private final List<ClusterWatcher> watchers = new CopyOnWriteArrayList<>();
+    private Watch.Watcher nodesWatcher;
 
     public EtcdCoordinator(final ModuleDefineHolder manager,
                            final ClusterModuleEtcdConfig config) throws ModuleStartException {
@@ -92,6 +98,7 @@ public class EtcdCoordinator implements ClusterRegister, ClusterNodesQuery {
         List<RemoteInstance> remoteInstances = new ArrayList<>();
         try {
             initHealthChecker();
+            watchNodes();
 
             final KV kvClient = client.getKVClient();
             final GetResponse response = kvClient.get(
@@ -177,6 +184,35 @@ public class EtcdCoordinator implements ClusterRegister, ClusterNodesQuery {
         }
     }
 
+    @Override
+    public void registerWatcher(final ClusterWatcher watcher) {
+        watchers.add(watcher);
+        watchNodes();
+    }
+
+    /**
+     * Watch the keys under the service name, and notify the watchers once any node is put or deleted. The etcd watcher
+     * is closed on error, then the keys are watched again in the next query.
+     */
+    private synchronized void watchNodes() {
+        if (nodesWatcher != null || watchers.isEmpty()) {
+            return;
+        }
+        nodesWatcher = client.getWatchClient().watch(
+            serviceNameBS,
+            WatchOption.newBuilder().withPrefix(serviceNameBS).build(),
+            Watch.listener(
+                response -> watchers.forEach(ClusterWatcher::onClusterNodesChanged),
+                t -> {
+                    log.warn("Failed to watch the cluster nodes in etcd.", t);
+                    synchronized (this) {
+                        nodesWatcher = null;
+                    }
+                }
+            )
+        );
+    }
+
     private static ByteSequence buildKey(String serviceName, Address address, RemoteInstance instance) {
         String key = new StringBuilder(serviceName).append(address.getHost())
                                                    .append("_")
@@ -29,6 +29,7 @@ import org.apache.skywalking.oap.server.library.util.StringUtil;
 import org.apache.skywalking.oap.server.core.CoreModule;
 import org.apache.skywalking.oap.server.core.cluster.ClusterNodesQuery;
 import org.apache.skywalking.oap.server.core.cluster.ClusterRegister;
+import org.apache.skywalking.oap.server.core.cluster.ClusterWatcher;
 import org.apache.skywalking.oap.server.core.cluster.RemoteInstance;
 import org.apache.skywalking.oap.server.core.cluster.ServiceQueryException;
 import org.apache.skywalking.oap.server.core.cluster.ServiceRegisterException;
@@ -99,6 +100,11 @@ public class KubernetesCoordinator implements ClusterRegister, ClusterNodesQuery
         }
     }
 
+    @Override
+    public void registerWatcher(final ClusterWatcher watcher) {
+        NamespacedPodListInformer.INFORMER.addChangeListener(watcher::onClusterNodesChanged);
+    }
+
     private void initHealthChecker() {
         if (healthChecker == null) {
             MetricsCreator metricCreator = manager.find(TelemetryModule.NAME)
@@ -18,6 +18,7 @@
 
 package org.apache.skywalking.oap.server.cluster.plugin.kubernetes;
 
+import io.kubernetes.client.informer.ResourceEventHandler;
 import io.kubernetes.client.informer.SharedIndexInformer;
 import io.kubernetes.client.informer.SharedInformerFactory;
 import io.kubernetes.client.informer.cache.Lister;
@@ -31,6 +32,7 @@ import java.io.IOException;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
@@ -51,6 +53,8 @@ public enum NamespacedPodListInformer {
 
     private SharedInformerFactory factory;
 
+    private final List<Runnable> changeListeners = new CopyOnWriteArrayList<>();
+
     private final ExecutorService executorService = Executors.newSingleThreadExecutor(r -> {
         Thread thread = new Thread(r, "SKYWALKING_KUBERNETES_CLUSTER_INFORMER");
         thread.setDaemon(true);
@@ -91,10 +95,40 @@ public enum NamespacedPodListInformer {
             V1Pod.class, V1PodList.class
         );
 
+        podSharedIndexInformer.addEventHandler(new ResourceEventHandler<V1Pod>() {
+            @Override
+            public void onAdd(final V1Pod pod) {
+                onPodsChanged();
+            }
+
+            @Override
+            public void onUpdate(final V1Pod oldPod, final V1Pod newPod) {
+                if (!Objects.equals(oldPod.getStatus(), newPod.getStatus())) {
+                    onPodsChanged();
+                }
+            }
+
+            @Override
+            public void onDelete(final V1Pod pod, final boolean deletedFinalStateUnknown) {
+                onPodsChanged();
+            }
+        });
+
         factory.startAllRegisteredInformers();
         podLister = new Lister<>(podSharedIndexInformer.getIndexer());
     }
 
+    /**
+     * Add a listener, run in the informer thread, once the pods are added, deleted or their status is changed.
+     */
+    public void addChangeListener(final Runnable listener) {
+        changeListeners.add(listener);
+    }
+
+    private void onPodsChanged() {
+        changeListeners.forEach(Runnable::run);
+    }
+
     public Optional<List<V1Pod>> listPods() {
         if (isNull(podLister)) {
             return Optional.empty();
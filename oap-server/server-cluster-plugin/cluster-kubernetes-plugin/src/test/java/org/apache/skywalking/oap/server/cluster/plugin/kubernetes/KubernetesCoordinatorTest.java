@@ -28,6 +28,7 @@ import java.util.stream.Collectors;
 
 import org.apache.skywalking.oap.server.core.CoreModule;
 import org.apache.skywalking.oap.server.core.CoreModuleConfig;
+import org.apache.skywalking.oap.server.core.cluster.ClusterWatcher;
 import org.apache.skywalking.oap.server.core.cluster.RemoteInstance;
 import org.apache.skywalking.oap.server.core.config.ConfigService;
 import org.apache.skywalking.oap.server.core.remote.client.Address;
@@ -41,6 +42,7 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.powermock.api.mockito.PowerMockito;
 import org.powermock.api.support.membermodification.MemberModifier;
 import org.powermock.core.classloader.annotations.PowerMockIgnore;
@@ -50,6 +52,7 @@ import org.powermock.reflect.Whitebox;
 
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.powermock.api.mockito.PowerMockito.when;
 
 @RunWith(PowerMockRunner.class)
@@ -104,6 +107,17 @@ public class KubernetesCoordinatorTest {
 
     }
 
+    @Test
+    public void notifyWatcherOnPodsChanged() {
+        ClusterWatcher watcher = mock(ClusterWatcher.class);
+        coordinator.registerWatcher(watcher);
+
+        ArgumentCaptor<Runnable> listenerCaptor = ArgumentCaptor.forClass(Runnable.class);
+        verify(informer).addChangeListener(listenerCaptor.capture());
+        listenerCaptor.getValue().run();
+        verify(watcher).onClusterNodesChanged();
+    }
+
     private ModuleManagerTesting getManager() {
         ModuleManagerTesting moduleManagerTesting = new ModuleManagerTesting();
         ModuleDefineTesting coreModuleDefine = new ModuleDefineTesting();
@@ -18,15 +18,19 @@
 
 package org.apache.skywalking.oap.server.cluster.plugin.nacos;
 
+import com.alibaba.nacos.api.exception.NacosException;
 import com.alibaba.nacos.api.naming.NamingService;
 import com.alibaba.nacos.api.naming.pojo.Instance;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import com.google.common.base.Strings;
+import lombok.extern.slf4j.Slf4j;
 import org.apache.skywalking.oap.server.core.cluster.ClusterHealthStatus;
 import org.apache.skywalking.oap.server.core.cluster.ClusterNodesQuery;
 import org.apache.skywalking.oap.server.core.cluster.ClusterRegister;
+import org.apache.skywalking.oap.server.core.cluster.ClusterWatcher;
 import org.apache.skywalking.oap.server.core.cluster.OAPNodeChecker;
 import org.apache.skywalking.oap.server.core.cluster.RemoteInstance;
 import org.apache.skywalking.oap.server.core.cluster.ServiceQueryException;
@@ -39,6 +43,7 @@ import org.apache.skywalking.oap.server.telemetry.api.HealthCheckMetrics;
 import org.apache.skywalking.oap.server.telemetry.api.MetricsCreator;
 import org.apache.skywalking.oap.server.telemetry.api.MetricsTag;
 
+@Slf4j
 public class NacosCoordinator implements ClusterRegister, ClusterNodesQuery {
 
     private final ModuleDefineHolder manager;
@@ -46,6 +51,8 @@ public class NacosCoordinator implements ClusterRegister, ClusterNodesQuery {
     private final ClusterModuleNacosConfig config;
     private volatile Address selfAddress;
     private HealthCheckMetrics healthChecker;
+    private final List<ClusterWatcher> watchers = new CopyOnWriteArrayList<>();
+    private boolean subscribed;
 
     public NacosCoordinator(final ModuleDefineHolder manager, final NamingService namingService, final ClusterModuleNacosConfig config) {
         this.manager = manager;
@@ -58,6 +65,7 @@ public class NacosCoordinator implements ClusterRegister, ClusterNodesQuery {
         List<RemoteInstance> remoteInstances = new ArrayList<>();
         try {
             initHealthChecker();
+            subscribeNodes();
             List<Instance> instances = namingService.selectInstances(config.getServiceName(), true);
             if (CollectionUtils.isNotEmpty(instances)) {
                 instances.forEach(instance -> {
@@ -99,6 +107,29 @@ public class NacosCoordinator implements ClusterRegister, ClusterNodesQuery {
         this.selfAddress = remoteInstance.getAddress();
     }
 
+    @Override
+    public void registerWatcher(final ClusterWatcher watcher) {
+        watchers.add(watcher);
+        subscribeNodes();
+    }
+
+    /**
+     * Subscribe the instances of the service, and notify the watchers once the instances are changed. The subscription
+     * is retried in the next query if failed.
+     */
+    private synchronized void subscribeNodes() {
+        if (subscribed || watchers.isEmpty()) {
+            return;
+        }
+        try {
+            namingService.subscribe(
+                config.getServiceName(), event -> watchers.forEach(ClusterWatcher::onClusterNodesChanged));
+            subscribed = true;
+        } catch (NacosException e) {
+            log.warn("Failed to subscribe the cluster nodes in nacos.", e);
+        }
+    }
+
     private boolean needUsingInternalAddr() {
         return !Strings.isNullOrEmpty(config.getInternalComHost()) && config.getInternalComPort() > 0;
     }
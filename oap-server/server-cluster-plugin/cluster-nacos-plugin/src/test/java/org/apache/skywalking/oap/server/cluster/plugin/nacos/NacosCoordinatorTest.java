@@ -20,10 +20,13 @@ package org.apache.skywalking.oap.server.cluster.plugin.nacos;
 
 import com.alibaba.nacos.api.exception.NacosException;
 import com.alibaba.nacos.api.naming.NamingService;
+import com.alibaba.nacos.api.naming.listener.EventListener;
+import com.alibaba.nacos.api.naming.listener.NamingEvent;
 import com.alibaba.nacos.api.naming.pojo.Instance;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import org.apache.skywalking.oap.server.core.cluster.ClusterWatcher;
 import org.apache.skywalking.oap.server.core.cluster.RemoteInstance;
 import org.apache.skywalking.oap.server.core.remote.client.Address;
 import org.apache.skywalking.oap.server.library.module.ModuleDefineHolder;
@@ -84,6 +87,18 @@ public class NacosCoordinatorTest {
         validate(remoteAddress, notSelfInstance);
     }
 
+    @Test
+    public void notifyWatchersOnInstancesChanged() throws NacosException {
+        ClusterWatcher watcher = mock(ClusterWatcher.class);
+        coordinator.registerWatcher(watcher);
+        coordinator.registerWatcher(mock(ClusterWatcher.class));
+
+        ArgumentCaptor<EventListener> listenerCaptor = ArgumentCaptor.forClass(EventListener.class);
+        verify(namingService).subscribe(anyString(), listenerCaptor.capture());
+        listenerCaptor.getValue().onEvent(new NamingEvent(SERVICE_NAME, Collections.emptyList()));
+        verify(watcher).onClusterNodesChanged();
+    }
+
     @Test
     public void queryRemoteNodesWithNullSelf() throws NacosException {
         List<Instance> instances = mockInstance();
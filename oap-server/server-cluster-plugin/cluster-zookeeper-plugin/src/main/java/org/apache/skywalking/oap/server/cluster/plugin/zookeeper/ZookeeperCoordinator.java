@@ -22,13 +22,18 @@ import com.google.common.base.Strings;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
 
+import org.apache.curator.framework.CuratorFramework;
+import org.apache.curator.framework.state.ConnectionState;
 import org.apache.curator.x.discovery.ServiceCache;
 import org.apache.curator.x.discovery.ServiceDiscovery;
 import org.apache.curator.x.discovery.ServiceInstance;
+import org.apache.curator.x.discovery.details.ServiceCacheListener;
 import org.apache.skywalking.oap.server.core.cluster.ClusterHealthStatus;
 import org.apache.skywalking.oap.server.core.cluster.ClusterNodesQuery;
 import org.apache.skywalking.oap.server.core.cluster.ClusterRegister;
+import org.apache.skywalking.oap.server.core.cluster.ClusterWatcher;
 import org.apache.skywalking.oap.server.core.cluster.OAPNodeChecker;
 import org.apache.skywalking.oap.server.core.cluster.RemoteInstance;
 import org.apache.skywalking.oap.server.core.cluster.ServiceQueryException;
@@ -50,6 +55,7 @@ public class ZookeeperCoordinator implements ClusterRegister, ClusterNodesQuery
     private final ServiceCache<RemoteInstance> serviceCache;
     private volatile Address selfAddress;
     private HealthCheckMetrics healthChecker;
+    private final List<ClusterWatcher> watchers = new CopyOnWriteArrayList<>();
 
     ZookeeperCoordinator(final ModuleDefineHolder manager, final ClusterModuleZookeeperConfig config,
                          final ServiceDiscovery<RemoteInstance> serviceDiscovery) throws Exception {
@@ -57,6 +63,16 @@ public class ZookeeperCoordinator implements ClusterRegister, ClusterNodesQuery
         this.config = config;
         this.serviceDiscovery = serviceDiscovery;
         this.serviceCache = serviceDiscovery.serviceCacheBuilder().name(REMOTE_NAME_PATH).build();
+        this.serviceCache.addListener(new ServiceCacheListener() {
+            @Override
+            public void cacheChanged() {
+                watchers.forEach(ClusterWatcher::onClusterNodesChanged);
+            }
+
+            @Override
+            public void stateChanged(final CuratorFramework client, final ConnectionState newState) {
+            }
+        });
         this.serviceCache.start();
     }
 
@@ -118,6 +134,11 @@ public class ZookeeperCoordinator implements ClusterRegister, ClusterNodesQuery
         return remoteInstances;
     }
 
+    @Override
+    public void registerWatcher(final ClusterWatcher watcher) {
+        watchers.add(watcher);
+    }
+
     private boolean needUsingInternalAddr() {
         return !Strings.isNullOrEmpty(config.getInternalComHost()) && config.getInternalComPort() > 0;
     }
@@ -23,6 +23,8 @@ import org.apache.curator.x.discovery.ServiceCache;
 import org.apache.curator.x.discovery.ServiceCacheBuilder;
 import org.apache.curator.x.discovery.ServiceDiscovery;
 import org.apache.curator.x.discovery.ServiceInstance;
+import org.apache.curator.x.discovery.details.ServiceCacheListener;
+import org.apache.skywalking.oap.server.core.cluster.ClusterWatcher;
 import org.apache.skywalking.oap.server.core.cluster.RemoteInstance;
 import org.apache.skywalking.oap.server.core.remote.client.Address;
 import org.apache.skywalking.oap.server.library.module.ModuleDefineHolder;
@@ -105,6 +107,17 @@ public class ZookeeperCoordinatorTest {
 
     }
 
+    @Test
+    public void notifyWatchersOnCacheChanged() {
+        ArgumentCaptor<ServiceCacheListener> listenerCaptor = ArgumentCaptor.forClass(ServiceCacheListener.class);
+        verify(serviceCache).addListener(listenerCaptor.capture());
+
+        ClusterWatcher watcher = mock(ClusterWatcher.class);
+        coordinator.registerWatcher(watcher);
+        listenerCaptor.getValue().cacheChanged();
+        verify(watcher).onClusterNodesChanged();
+    }
+
     @Test
     public void queryRemoteNodes() {
     }
@@ -23,13 +23,19 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.skywalking.oap.server.library.util.RunnableWithExceptionProtection;
 
 /**
  * The default implementor of Config Watcher register.
+ *
+ * The watchers are synced every {@code syncPeriod} seconds. The implementations, whose config center supports native
+ * watching or long polling, call {@link #notifyConfigChanged()} once a change arrives, so the watchers are synced
+ * immediately and the period sync acts as the fallback.
  */
 @Slf4j
 public abstract class ConfigWatcherRegister implements DynamicConfigurationService {
@@ -39,6 +45,8 @@ public abstract class ConfigWatcherRegister implements DynamicConfigurationServi
     private Register groupConfigChangeWatcherRegister = new Register();
     private volatile boolean isStarted = false;
     private final long syncPeriod;
+    private final AtomicBoolean syncRequested = new AtomicBoolean(false);
+    private ScheduledExecutorService syncExecutor;
 
     public ConfigWatcherRegister() {
         this(60);
@@ -74,16 +82,33 @@ public abstract class ConfigWatcherRegister implements DynamicConfigurationServi
     }
 
     public void start() {
+        syncExecutor = Executors.newSingleThreadScheduledExecutor();
         isStarted = true;
 
         log.info("Current configurations after the bootstrap sync." + LINE_SEPARATOR + singleConfigChangeWatcherRegister.toString());
 
-        Executors.newSingleThreadScheduledExecutor()
-                 .scheduleAtFixedRate(
-                     new RunnableWithExceptionProtection(
-                         this::configSync,
-                         t -> log.error("Sync config center error.", t)
-                     ), 0, syncPeriod, TimeUnit.SECONDS);
+        syncExecutor.scheduleAtFixedRate(
+            new RunnableWithExceptionProtection(
+                this::configSync,
+                t -> log.error("Sync config center error.", t)
+            ), 0, syncPeriod, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Notify that the configurations have been changed in the config center. The sync runs in the same thread as the
+     * period sync, and the notifications arriving before the sync starts are coalesced into one sync.
+     */
+    protected void notifyConfigChanged() {
+        if (!isStarted || !syncRequested.compareAndSet(false, true)) {
+            return;
+        }
+        syncExecutor.execute(new RunnableWithExceptionProtection(
+            () -> {
+                syncRequested.set(false);
+                configSync();
+            },
+            t -> log.error("Sync config center error.", t)
+        ));
     }
 
     void configSync() {
@@ -22,6 +22,8 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import org.apache.skywalking.oap.server.library.module.ModuleConfig;
 import org.apache.skywalking.oap.server.library.module.ModuleDefine;
 import org.apache.skywalking.oap.server.library.module.ModuleProvider;
@@ -127,7 +129,32 @@ public class ConfigWatcherRegisterTest {
         Assert.assertEquals(groupConfigExpected, groupRegisterTable.toString());
     }
 
+    @Test
+    public void testNotifyConfigChanged() throws InterruptedException {
+        final CountDownLatch syncs = new CountDownLatch(2);
+        final ConfigWatcherRegister pushRegister = new MockConfigWatcherRegister(TimeUnit.HOURS.toSeconds(1)) {
+            @Override
+            public Optional<ConfigTable> readConfig(final Set<String> keys) {
+                syncs.countDown();
+                return super.readConfig(keys);
+            }
+        };
+        // Not started yet, the change is ignored.
+        pushRegister.notifyConfigChanged();
+        Assert.assertEquals(2, syncs.getCount());
+
+        pushRegister.start();
+        pushRegister.notifyConfigChanged();
+        Assert.assertTrue(syncs.await(10, TimeUnit.SECONDS));
+    }
+
     public static class MockConfigWatcherRegister extends ConfigWatcherRegister {
+        public MockConfigWatcherRegister() {
+        }
+
+        public MockConfigWatcherRegister(final long syncPeriod) {
+            super(syncPeriod);
+        }
 
         @Override
         public Optional<ConfigTable> readConfig(Set<String> keys) {
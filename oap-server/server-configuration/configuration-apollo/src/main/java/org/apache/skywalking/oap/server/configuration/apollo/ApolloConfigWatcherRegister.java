@@ -52,6 +52,8 @@ public class ApolloConfigWatcherRegister extends ConfigWatcherRegister {
                 LOGGER.info("Read dynamic configs from Apollo namespace: {}", namespace);
             }
         }
+        // Apollo client long polls the config service, sync the watchers once a change is pushed.
+        this.configReader.addChangeListener(changeEvent -> notifyConfigChanged());
     }
 
     @Override
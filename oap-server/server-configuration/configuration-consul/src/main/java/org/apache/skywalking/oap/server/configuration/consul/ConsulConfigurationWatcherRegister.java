@@ -149,6 +149,9 @@ public class ConsulConfigurationWatcherRegister extends ConfigWatcherRegister {
             log.info("Consul config changed: {}: {}", key, value);
         }
 
-        configItemKeyedByName.put(key, Optional.ofNullable(value));
+        final Optional<String> newValue = Optional.ofNullable(value);
+        if (!newValue.equals(configItemKeyedByName.put(key, newValue))) {
+            notifyConfigChanged();
+        }
     }
 }
@@ -22,12 +22,16 @@ import io.etcd.jetcd.Client;
 import io.etcd.jetcd.ClientBuilder;
 import io.etcd.jetcd.KV;
 import io.etcd.jetcd.KeyValue;
+import io.etcd.jetcd.Watch;
 import io.etcd.jetcd.kv.GetResponse;
 import io.etcd.jetcd.options.GetOption;
+import io.etcd.jetcd.options.WatchOption;
 import java.nio.charset.Charset;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.skywalking.oap.server.library.util.StringUtil;
 import org.apache.skywalking.oap.server.configuration.api.ConfigTable;
@@ -39,6 +43,14 @@ public class EtcdConfigWatcherRegister extends ConfigWatcherRegister {
 
     private final KV client;
 
+    private final Watch watchClient;
+
+    /**
+     * The watchers of the single config keys and the group config prefixes, the watchers sync the config once a
+     * change is pushed from etcd.
+     */
+    private final Map<String, Watch.Watcher> watchersByKey = new ConcurrentHashMap<>();
+
     public EtcdConfigWatcherRegister(EtcdServerSettings setting) {
         super(setting.getPeriod());
         ClientBuilder builder = Client.builder()
@@ -52,13 +64,16 @@ public class EtcdConfigWatcherRegister extends ConfigWatcherRegister {
             builder.user(ByteSequence.from(setting.getUser(), Charset.defaultCharset()))
                    .password(ByteSequence.from(setting.getPassword(), Charset.defaultCharset()));
         }
-        client = builder.build().getKVClient();
+        final Client etcd = builder.build();
+        client = etcd.getKVClient();
+        watchClient = etcd.getWatchClient();
     }
 
     @Override
     public Optional<ConfigTable> readConfig(final Set<String> keys) {
         ConfigTable table = new ConfigTable();
         keys.forEach(e -> {
+            watch(e, false);
             try {
                 GetResponse response = client.get(ByteSequence.from(e, Charset.defaultCharset())).get();
 
@@ -85,6 +100,7 @@ public class EtcdConfigWatcherRegister extends ConfigWatcherRegister {
             GroupConfigTable.GroupConfigItems groupConfigItems = new GroupConfigTable.GroupConfigItems(key);
             groupConfigTable.addGroupConfigItems(groupConfigItems);
             String groupKey = key + "/";
+            watch(groupKey, true);
 
             GetOption option = GetOption.newBuilder()
                                         .withPrefix(ByteSequence.from(groupKey, Charset.defaultCharset()))
@@ -113,4 +129,20 @@ public class EtcdConfigWatcherRegister extends ConfigWatcherRegister {
         return Optional.of(groupConfigTable);
     }
 
+    private void watch(final String key, final boolean isPrefix) {
+        watchersByKey.computeIfAbsent(key, k -> {
+            final ByteSequence watchedKey = ByteSequence.from(k, Charset.defaultCharset());
+            final WatchOption option = isPrefix
+                ? WatchOption.newBuilder().withPrefix(watchedKey).build()
+                : WatchOption.DEFAULT;
+            return watchClient.watch(watchedKey, option, Watch.listener(
+                response -> notifyConfigChanged(),
+                t -> {
+                    // The watcher is closed on error, watch the key again in the next period sync.
+                    log.warn("Failed to watch etcd key: {}", k, t);
+                    watchersByKey.remove(k);
+                }
+            ));
+        });
+    }
 }
@@ -35,6 +35,7 @@ public class ConfigmapConfigurationWatcherRegister extends ConfigWatcherRegister
                                                  ConfigurationConfigmapInformer informer) {
         super(settings.getPeriod());
         this.informer = informer;
+        this.informer.addChangeListener(this::notifyConfigChanged);
     }
 
     @Override
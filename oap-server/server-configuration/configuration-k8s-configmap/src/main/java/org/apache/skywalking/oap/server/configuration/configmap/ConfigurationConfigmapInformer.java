@@ -18,6 +18,7 @@
 
 package org.apache.skywalking.oap.server.configuration.configmap;
 
+import io.kubernetes.client.informer.ResourceEventHandler;
 import io.kubernetes.client.informer.SharedIndexInformer;
 import io.kubernetes.client.informer.SharedInformerFactory;
 import io.kubernetes.client.informer.cache.Lister;
@@ -32,6 +33,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
@@ -43,6 +45,8 @@ public class ConfigurationConfigmapInformer {
 
     private SharedInformerFactory factory;
 
+    private final List<Runnable> changeListeners = new CopyOnWriteArrayList<>();
+
     private final ExecutorService executorService = Executors.newSingleThreadExecutor(r -> {
         Thread thread = new Thread(r, "SKYWALKING_KUBERNETES_CONFIGURATION_INFORMER");
         thread.setDaemon(true);
@@ -81,10 +85,40 @@ public class ConfigurationConfigmapInformer {
             V1ConfigMap.class, V1ConfigMapList.class
         );
 
+        configMapSharedIndexInformer.addEventHandler(new ResourceEventHandler<V1ConfigMap>() {
+            @Override
+            public void onAdd(final V1ConfigMap configMap) {
+                onConfigMapChanged();
+            }
+
+            @Override
+            public void onUpdate(final V1ConfigMap oldConfigMap, final V1ConfigMap newConfigMap) {
+                if (!Objects.equals(oldConfigMap.getData(), newConfigMap.getData())) {
+                    onConfigMapChanged();
+                }
+            }
+
+            @Override
+            public void onDelete(final V1ConfigMap configMap, final boolean deletedFinalStateUnknown) {
+                onConfigMapChanged();
+            }
+        });
+
         factory.startAllRegisteredInformers();
         configMapLister = new Lister<>(configMapSharedIndexInformer.getIndexer());
     }
 
+    /**
+     * Add a listener, run in the informer thread, once the data of the watched config maps is changed.
+     */
+    public void addChangeListener(final Runnable listener) {
+        changeListeners.add(listener);
+    }
+
+    private void onConfigMapChanged() {
+        changeListeners.forEach(Runnable::run);
+    }
+
     public Map<String, String> configMapData() {
         Map<String, String> configMapData = new HashMap<>();
         if (configMapLister != null) {
@@ -168,6 +168,9 @@ public class NacosConfigWatcherRegister extends ConfigWatcherRegister {
             log.info("Nacos config changed: {}: {}", dataId, configInfo);
         }
 
-        configItemKeyedByName.put(dataId, Optional.ofNullable(configInfo));
+        final Optional<String> newValue = Optional.ofNullable(configInfo);
+        if (!newValue.equals(configItemKeyedByName.put(dataId, newValue))) {
+            notifyConfigChanged();
+        }
     }
 }
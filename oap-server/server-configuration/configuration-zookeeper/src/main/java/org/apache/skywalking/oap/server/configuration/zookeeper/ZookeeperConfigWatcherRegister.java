@@ -45,6 +45,17 @@ public class ZookeeperConfigWatcherRegister extends ConfigWatcherRegister {
         this.client = CuratorFrameworkFactory.newClient(settings.getHostPort(), retryPolicy);
         client.start();
         this.childrenCache = new PathChildrenCache(client, settings.getNamespace(), true);
+        this.childrenCache.getListenable().addListener((curator, event) -> {
+            switch (event.getType()) {
+                case CHILD_ADDED:
+                case CHILD_UPDATED:
+                case CHILD_REMOVED:
+                    notifyConfigChanged();
+                    break;
+                default:
+                    break;
+            }
+        });
         this.childrenCache.start();
     }
 
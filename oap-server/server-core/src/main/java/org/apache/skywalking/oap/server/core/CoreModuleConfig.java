@@ -67,6 +67,11 @@ public class CoreModuleConfig extends ModuleConfig {
     private boolean enableDataKeeperExecutor = true;
 
     private int dataKeeperExecutePeriod = 5;
+    /**
+     * The max number of models whose expired data are removed concurrently by one OAP node. The models are sharded
+     * across all OAP nodes of the cluster, each node only removes the data of its own shard.
+     */
+    private int dataKeeperDeleteThreads = 2;
     /**
      * The time to live of all metrics data. Unit is day.
      */
@@ -102,6 +107,20 @@ public class CoreModuleConfig extends ModuleConfig {
      * Analyze profile snapshots max size.
      */
     private int maxSizeOfAnalyzeProfileSnapshot = 12000;
+    /**
+     * The max number of points read from the storage for one time-series metrics query. The query over it is read
+     * from the coarser stored downsampling(hour or day) and mapped back to the requested points. 0 means no limit.
+     */
+    private int metricsQueryMaxPoints = 0;
+    /**
+     * The hours after the time in the trace ID, in which the segments of the trace are searched by the trace ID. It
+     * only works for the trace ID generated by the agents including the time. 0 means searching all segments.
+     */
+    private int traceIdQueryTimeWindow = 0;
+    /**
+     * Analyze profile stack tree max node size, the stacks out of the limit are truncated.
+     */
+    private int maxSizeOfAnalyzeProfileStackNode = 100_000;
     /**
      * Query the eBPF Profiling data max duration(second) from database.
      */
@@ -110,6 +129,10 @@ public class CoreModuleConfig extends ModuleConfig {
      * Thread Count of query the eBPF Profiling data.
      */
     private int maxThreadCountOfQueryEBPFProfilingData = Runtime.getRuntime().availableProcessors();
+    /**
+     * The max size of the cached eBPF Profiling analyzed time slices, counted by the stack tree nodes.
+     */
+    private long maxNodeSizeOfEBPFProfilingAnalyzeCache = 1_000_000;
     /**
      * Extra model column are the column defined by {@link ScopeDefaultColumn.DefinedByField#requireDynamicActive()} ==
      * true. These columns of model are not required logically in aggregation or further query, and it will cause more
@@ -167,6 +190,25 @@ public class CoreModuleConfig extends ModuleConfig {
     @Setter
     @Getter
     private int prepareThreads = 2;
+    /**
+     * The buffer size of every channel of the record queue per model. The records are converted to the storage requests
+     * by the consumer threads, and the receivers are blocked when the queue is full. 0 means the records are converted
+     * in the receiver threads.
+     *
+     * @since 9.1.0
+     */
+    @Setter
+    @Getter
+    private int recordPersistentBufferSize = 10000;
+    /**
+     * The number of threads used to install the models to the storage in the boot, if the storage supports installing
+     * the models in parallel.
+     *
+     * @since 9.1.0
+     */
+    @Setter
+    @Getter
+    private int modelInstallationThreads = 4;
 
     @Getter
     @Setter
@@ -20,6 +20,7 @@ package org.apache.skywalking.oap.server.core;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import lombok.extern.slf4j.Slf4j;
 import org.apache.skywalking.oap.server.configuration.api.ConfigurationModule;
 import org.apache.skywalking.oap.server.configuration.api.DynamicConfigurationService;
 import org.apache.skywalking.oap.server.core.analysis.ApdexThresholdConfig;
@@ -29,8 +30,10 @@ import org.apache.skywalking.oap.server.core.analysis.meter.MeterEntity;
 import org.apache.skywalking.oap.server.core.analysis.meter.MeterSystem;
 import org.apache.skywalking.oap.server.core.analysis.metrics.ApdexMetrics;
 import org.apache.skywalking.oap.server.core.analysis.worker.MetricsStreamProcessor;
+import org.apache.skywalking.oap.server.core.analysis.worker.RecordStreamProcessor;
 import org.apache.skywalking.oap.server.core.analysis.worker.TopNStreamProcessor;
 import org.apache.skywalking.oap.server.core.annotation.AnnotationScan;
+import org.apache.skywalking.oap.server.core.annotation.ClassPathCache;
 import org.apache.skywalking.oap.server.core.cache.CacheUpdateTimer;
 import org.apache.skywalking.oap.server.core.cache.NetworkAddressAliasCache;
 import org.apache.skywalking.oap.server.core.cache.ProfileTaskCache;
@@ -110,6 +113,7 @@ import org.apache.skywalking.oap.server.telemetry.api.TelemetryRelatedContext;
  * NOTICE. In our experiences, no one should re-implement the core module service implementations, unless we are very
  * familiar with all mechanisms of SkyWalking.
  */
+@Slf4j
 public class CoreModuleProvider extends ModuleProvider {
 
     private final CoreModuleConfig moduleConfig;
@@ -255,8 +259,10 @@ public class CoreModuleProvider extends ModuleProvider {
 
         this.registerServiceImplementation(TopologyQueryService.class, new TopologyQueryService(getManager()));
         this.registerServiceImplementation(MetricsMetadataQueryService.class, new MetricsMetadataQueryService());
-        this.registerServiceImplementation(MetricsQueryService.class, new MetricsQueryService(getManager()));
-        this.registerServiceImplementation(TraceQueryService.class, new TraceQueryService(getManager()));
+        this.registerServiceImplementation(
+            MetricsQueryService.class, new MetricsQueryService(getManager(), moduleConfig.getMetricsQueryMaxPoints()));
+        this.registerServiceImplementation(
+            TraceQueryService.class, new TraceQueryService(getManager(), moduleConfig.getTraceIdQueryTimeWindow()));
         this.registerServiceImplementation(BrowserLogQueryService.class, new BrowserLogQueryService(getManager()));
         this.registerServiceImplementation(LogQueryService.class, new LogQueryService(getManager()));
         this.registerServiceImplementation(MetadataQueryService.class, new MetadataQueryService(getManager()));
@@ -314,6 +320,8 @@ public class CoreModuleProvider extends ModuleProvider {
         metricsStreamProcessor.setStorageSessionTimeout(moduleConfig.getStorageSessionTimeout());
         metricsStreamProcessor.setMetricsDataTTL(moduleConfig.getMetricsDataTTL());
         TopNStreamProcessor.getInstance().setTopNWorkerReportCycle(moduleConfig.getTopNReportPeriod());
+        RecordStreamProcessor.getInstance().setRecordPersistentBufferSize(moduleConfig.getRecordPersistentBufferSize());
+        storageModels.setCreatingThreads(moduleConfig.getModelInstallationThreads());
         apdexThresholdConfig = new ApdexThresholdConfig(this);
         ApdexMetrics.setDICT(apdexThresholdConfig);
         loggingConfigWatcher = new LoggingConfigWatcher(this);
@@ -329,8 +337,10 @@ public class CoreModuleProvider extends ModuleProvider {
         oalEngineLoaderService.load(DisableOALDefine.INSTANCE);
 
         try {
+            final long startTime = System.currentTimeMillis();
             receiver.scan();
             annotationScan.scan();
+            log.info("Dispatchers and streams are scanned in {} ms.", System.currentTimeMillis() - startTime);
         } catch (IOException | IllegalAccessException | InstantiationException | StorageException e) {
             throw new ModuleStartException(e.getMessage(), e);
         }
@@ -367,6 +377,9 @@ public class CoreModuleProvider extends ModuleProvider {
 
     @Override
     public void notifyAfterCompleted() throws ModuleStartException {
+        // All modules have started, the scans are done.
+        ClassPathCache.INSTANCE.clear();
+
         try {
             grpcServer.start();
             httpServer.start();
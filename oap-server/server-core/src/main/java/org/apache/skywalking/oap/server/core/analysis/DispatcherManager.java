@@ -29,6 +29,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import org.apache.skywalking.oap.server.core.UnexpectedException;
+import org.apache.skywalking.oap.server.core.annotation.ClassPathCache;
 import org.apache.skywalking.oap.server.core.source.ISource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -70,7 +71,7 @@ public class DispatcherManager implements DispatcherDetectorListener {
      * into this DispatcherManager based on the Source definition.
      */
     public void scan() throws IOException, IllegalAccessException, InstantiationException {
-        ClassPath classpath = ClassPath.from(this.getClass().getClassLoader());
+        ClassPath classpath = ClassPathCache.INSTANCE.of(this.getClass().getClassLoader());
         ImmutableSet<ClassPath.ClassInfo> classes = classpath.getTopLevelClassesRecursive("org.apache.skywalking");
         for (ClassPath.ClassInfo classInfo : classes) {
             Class<?> aClass = classInfo.load();
@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.analysis.manual.endpoint;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import org.apache.skywalking.oap.server.core.Const;
+import org.apache.skywalking.oap.server.core.analysis.Stream;
+import org.apache.skywalking.oap.server.core.analysis.metrics.HeavyHitters;
+import org.apache.skywalking.oap.server.core.analysis.metrics.Metrics;
+import org.apache.skywalking.oap.server.core.analysis.worker.MetricsStreamProcessor;
+import org.apache.skywalking.oap.server.core.remote.grpc.proto.RemoteData;
+import org.apache.skywalking.oap.server.core.source.DefaultScopeDefine;
+import org.apache.skywalking.oap.server.core.storage.annotation.BanyanDB;
+import org.apache.skywalking.oap.server.core.storage.annotation.Column;
+import org.apache.skywalking.oap.server.core.storage.type.Convert2Entity;
+import org.apache.skywalking.oap.server.core.storage.type.Convert2Storage;
+import org.apache.skywalking.oap.server.core.storage.type.StorageBuilder;
+
+/**
+ * EndpointCallsTopNMetrics keeps the approximate calls of the most called endpoints of a service, in a {@link
+ * HeavyHitters} keyed by the endpoint ID. It is merged across the OAP nodes and downsampled like other metrics, so the
+ * top N endpoints by calls of a period are read from one row per time bucket, rather than sorting the metrics of all
+ * endpoints.
+ */
+@Stream(name = EndpointCallsTopNMetrics.INDEX_NAME, scopeId = DefaultScopeDefine.SERVICE,
+    builder = EndpointCallsTopNMetrics.Builder.class, processor = MetricsStreamProcessor.class)
+@EqualsAndHashCode(of = {
+    "entityId"
+}, callSuper = true)
+public class EndpointCallsTopNMetrics extends Metrics {
+
+    public static final String INDEX_NAME = "endpoint_calls_topn";
+    public static final String VALUE = "value";
+
+    @Setter
+    @Getter
+    @Column(columnName = ENTITY_ID, length = 512)
+    @BanyanDB.ShardingKey(index = 0)
+    private String entityId;
+    @Setter
+    @Getter
+    @Column(columnName = VALUE, dataType = Column.ValueDataType.LABELED_VALUE, storageOnly = true)
+    private HeavyHitters value = new HeavyHitters();
+
+    @Override
+    protected String id0() {
+        return getTimeBucket() + Const.ID_CONNECTOR + entityId;
+    }
+
+    @Override
+    public boolean combine(Metrics metrics) {
+        value.merge(((EndpointCallsTopNMetrics) metrics).getValue());
+        return true;
+    }
+
+    @Override
+    public void calculate() {
+
+    }
+
+    @Override
+    public Metrics toHour() {
+        EndpointCallsTopNMetrics metrics = new EndpointCallsTopNMetrics();
+        metrics.setTimeBucket(toTimeBucketInHour());
+        metrics.setEntityId(getEntityId());
+        metrics.getValue().copyFrom(getValue());
+        return metrics;
+    }
+
+    @Override
+    public Metrics toDay() {
+        EndpointCallsTopNMetrics metrics = new EndpointCallsTopNMetrics();
+        metrics.setTimeBucket(toTimeBucketInDay());
+        metrics.setEntityId(getEntityId());
+        metrics.getValue().copyFrom(getValue());
+        return metrics;
+    }
+
+    @Override
+    public int remoteHashCode() {
+        int n = 17;
+        n = 31 * n + this.entityId.hashCode();
+        return n;
+    }
+
+    @Override
+    public void deserialize(RemoteData remoteData) {
+        setEntityId(remoteData.getDataStrings(0));
+
+        setTimeBucket(remoteData.getDataLongs(0));
+
+        setValue(new HeavyHitters(remoteData.getDataObjectStrings(0)));
+    }
+
+    @Override
+    public RemoteData.Builder serialize() {
+        RemoteData.Builder remoteBuilder = RemoteData.newBuilder();
+        remoteBuilder.addDataStrings(getEntityId());
+
+        remoteBuilder.addDataLongs(getTimeBucket());
+
+        remoteBuilder.addDataObjectStrings(getValue().toStorageData());
+        return remoteBuilder;
+    }
+
+    public static class Builder implements StorageBuilder<EndpointCallsTopNMetrics> {
+        @Override
+        public EndpointCallsTopNMetrics storage2Entity(final Convert2Entity converter) {
+            EndpointCallsTopNMetrics metrics = new EndpointCallsTopNMetrics();
+            metrics.setEntityId((String) converter.get(ENTITY_ID));
+            metrics.setValue(new HeavyHitters((String) converter.get(VALUE)));
+            metrics.setTimeBucket(((Number) converter.get(TIME_BUCKET)).longValue());
+            return metrics;
+        }
+
+        @Override
+        public void entity2Storage(final EndpointCallsTopNMetrics storageData, final Convert2Storage converter) {
+            converter.accept(ENTITY_ID, storageData.getEntityId());
+            converter.accept(VALUE, storageData.getValue());
+            converter.accept(TIME_BUCKET, storageData.getTimeBucket());
+        }
+    }
+}
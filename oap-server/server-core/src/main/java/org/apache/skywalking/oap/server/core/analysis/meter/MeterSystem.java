@@ -46,6 +46,7 @@ import org.apache.skywalking.oap.server.core.analysis.meter.function.AcceptableV
 import org.apache.skywalking.oap.server.core.analysis.meter.function.MeterFunction;
 import org.apache.skywalking.oap.server.core.analysis.metrics.Metrics;
 import org.apache.skywalking.oap.server.core.analysis.worker.MetricsStreamProcessor;
+import org.apache.skywalking.oap.server.core.annotation.ClassPathCache;
 import org.apache.skywalking.oap.server.core.storage.StorageException;
 import org.apache.skywalking.oap.server.library.module.ModuleManager;
 import org.apache.skywalking.oap.server.library.module.Service;
@@ -74,7 +75,7 @@ public class MeterSystem implements Service {
 
         ClassPath classpath = null;
         try {
-            classpath = ClassPath.from(MeterSystem.class.getClassLoader());
+            classpath = ClassPathCache.INSTANCE.of(MeterSystem.class.getClassLoader());
         } catch (IOException e) {
             throw new UnexpectedException("Load class path failure.");
         }
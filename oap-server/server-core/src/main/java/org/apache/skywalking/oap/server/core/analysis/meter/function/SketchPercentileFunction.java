@@ -0,0 +1,258 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.analysis.meter.function;
+
+import java.util.Objects;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.skywalking.oap.server.core.Const;
+import org.apache.skywalking.oap.server.core.UnexpectedException;
+import org.apache.skywalking.oap.server.core.analysis.meter.Meter;
+import org.apache.skywalking.oap.server.core.analysis.meter.MeterEntity;
+import org.apache.skywalking.oap.server.core.analysis.metrics.DataTable;
+import org.apache.skywalking.oap.server.core.analysis.metrics.IntList;
+import org.apache.skywalking.oap.server.core.analysis.metrics.Metrics;
+import org.apache.skywalking.oap.server.core.analysis.metrics.MultiIntValuesHolder;
+import org.apache.skywalking.oap.server.core.analysis.metrics.QuantileSketch;
+import org.apache.skywalking.oap.server.core.analysis.metrics.SketchPercentileMetrics;
+import org.apache.skywalking.oap.server.core.remote.grpc.proto.RemoteData;
+import org.apache.skywalking.oap.server.core.storage.annotation.BanyanDB;
+import org.apache.skywalking.oap.server.core.storage.annotation.Column;
+import org.apache.skywalking.oap.server.core.storage.type.Convert2Entity;
+import org.apache.skywalking.oap.server.core.storage.type.Convert2Storage;
+import org.apache.skywalking.oap.server.core.storage.type.StorageBuilder;
+
+/**
+ * SketchPercentileFunction is the implementation of {@link SketchPercentileMetrics} in the meter system. The counts of
+ * the histogram buckets are added to a {@link QuantileSketch} at the bucket values, so the sketches of different
+ * bucket layouts could still be merged.
+ *
+ * @since 9.1.0
+ */
+@MeterFunction(functionName = "sketchPercentile")
+@Slf4j
+public abstract class SketchPercentileFunction extends Meter implements AcceptableValue<PercentileArgument>, MultiIntValuesHolder {
+    public static final String SKETCH = "sketch";
+    public static final String RANKS = "ranks";
+    public static final String VALUE = "value";
+
+    @Setter
+    @Getter
+    @Column(columnName = ENTITY_ID, length = 512)
+    @BanyanDB.ShardingKey(index = 0)
+    private String entityId;
+    @Getter
+    @Setter
+    @Column(columnName = VALUE, dataType = Column.ValueDataType.LABELED_VALUE, storageOnly = true)
+    private DataTable percentileValues = new DataTable(10);
+    @Getter
+    @Setter
+    @Column(columnName = SKETCH, storageOnly = true)
+    private QuantileSketch sketch = new QuantileSketch();
+    @Getter
+    @Setter
+    @Column(columnName = RANKS, storageOnly = true)
+    private IntList ranks = new IntList(10);
+
+    private boolean isCalculated = false;
+
+    @Override
+    public void accept(final MeterEntity entity, final PercentileArgument value) {
+        for (final int rank : value.getRanks()) {
+            if (rank <= 0) {
+                throw new IllegalArgumentException("Illegal rank value " + rank + ", must be positive");
+            }
+        }
+        if (ranks.size() > 0) {
+            if (ranks.size() != value.getRanks().length) {
+                throw new IllegalArgumentException(
+                    "Incompatible ranks size = [" + value.getRanks().length + "] for current SketchPercentileFunction["
+                        + ranks.size() + "]");
+            }
+            for (final int rank : value.getRanks()) {
+                if (!ranks.include(rank)) {
+                    throw new IllegalArgumentException(
+                        "Rank " + rank + " doesn't exist in the previous ranks " + ranks);
+                }
+            }
+        } else {
+            for (final int rank : value.getRanks()) {
+                ranks.add(rank);
+            }
+        }
+
+        this.entityId = entity.id();
+
+        final long[] buckets = value.getBucketedValues().getBuckets();
+        final long[] values = value.getBucketedValues().getValues();
+        for (int i = 0; i < values.length; i++) {
+            sketch.add(buckets[i] == Long.MIN_VALUE ? 0 : buckets[i], values[i]);
+        }
+
+        this.isCalculated = false;
+    }
+
+    @Override
+    public boolean combine(final Metrics metrics) {
+        SketchPercentileFunction percentile = (SketchPercentileFunction) metrics;
+
+        if (this.ranks.size() > 0 && !this.ranks.equals(percentile.getRanks())) {
+            log.warn("Incompatible ranks {} for current SketchPercentileFunction[{}], entity {}",
+                     percentile.getRanks(), this.ranks, entityId
+            );
+            return true;
+        }
+
+        this.sketch.merge(percentile.sketch);
+
+        this.isCalculated = false;
+        return true;
+    }
+
+    @Override
+    public void calculate() {
+        if (!isCalculated) {
+            final double[] quantiles = new double[ranks.size()];
+            for (int i = 0; i < ranks.size(); i++) {
+                quantiles[i] = ranks.get(i) / 100.0;
+            }
+            final long[] values = sketch.quantiles(quantiles);
+            for (int i = 0; i < values.length; i++) {
+                percentileValues.put(String.valueOf(ranks.get(i)), values[i]);
+            }
+            isCalculated = true;
+        }
+    }
+
+    @Override
+    public Metrics toHour() {
+        SketchPercentileFunction metrics = (SketchPercentileFunction) createNew();
+        metrics.setEntityId(getEntityId());
+        metrics.setTimeBucket(toTimeBucketInHour());
+        metrics.getSketch().copyFrom(getSketch());
+        metrics.setRanks(getRanks());
+        metrics.setPercentileValues(getPercentileValues());
+        return metrics;
+    }
+
+    @Override
+    public Metrics toDay() {
+        SketchPercentileFunction metrics = (SketchPercentileFunction) createNew();
+        metrics.setEntityId(getEntityId());
+        metrics.setTimeBucket(toTimeBucketInDay());
+        metrics.getSketch().copyFrom(getSketch());
+        metrics.setRanks(getRanks());
+        metrics.setPercentileValues(getPercentileValues());
+        return metrics;
+    }
+
+    @Override
+    public int[] getValues() {
+        final int[] values = new int[ranks.size()];
+        for (int i = 0; i < ranks.size(); i++) {
+            final Long value = percentileValues.get(String.valueOf(ranks.get(i)));
+            values[i] = value == null ? 0 : value.intValue();
+        }
+        return values;
+    }
+
+    @Override
+    public int remoteHashCode() {
+        return entityId.hashCode();
+    }
+
+    @Override
+    public void deserialize(final RemoteData remoteData) {
+        this.setTimeBucket(remoteData.getDataLongs(0));
+
+        this.setEntityId(remoteData.getDataStrings(0));
+
+        this.setSketch(new QuantileSketch(remoteData.getDataObjectStrings(0)));
+        this.setRanks(new IntList(remoteData.getDataObjectStrings(1)));
+        this.setPercentileValues(new DataTable(remoteData.getDataObjectStrings(2)));
+    }
+
+    @Override
+    public RemoteData.Builder serialize() {
+        RemoteData.Builder remoteBuilder = RemoteData.newBuilder();
+        remoteBuilder.addDataLongs(getTimeBucket());
+
+        remoteBuilder.addDataStrings(entityId);
+
+        remoteBuilder.addDataObjectStrings(sketch.toStorageData());
+        remoteBuilder.addDataObjectStrings(ranks.toStorageData());
+        remoteBuilder.addDataObjectStrings(percentileValues.toStorageData());
+
+        return remoteBuilder;
+    }
+
+    @Override
+    protected String id0() {
+        return getTimeBucket() + Const.ID_CONNECTOR + entityId;
+    }
+
+    @Override
+    public Class<? extends StorageBuilder> builder() {
+        return SketchPercentileFunctionBuilder.class;
+    }
+
+    public static class SketchPercentileFunctionBuilder implements StorageBuilder<SketchPercentileFunction> {
+        @Override
+        public SketchPercentileFunction storage2Entity(final Convert2Entity converter) {
+            SketchPercentileFunction metrics = new SketchPercentileFunction() {
+                @Override
+                public AcceptableValue<PercentileArgument> createNew() {
+                    throw new UnexpectedException("createNew should not be called");
+                }
+            };
+            metrics.setSketch(new QuantileSketch((String) converter.get(SKETCH)));
+            metrics.setRanks(new IntList((String) converter.get(RANKS)));
+            metrics.setPercentileValues(new DataTable((String) converter.get(VALUE)));
+            metrics.setTimeBucket(((Number) converter.get(TIME_BUCKET)).longValue());
+            metrics.setEntityId((String) converter.get(ENTITY_ID));
+            return metrics;
+        }
+
+        @Override
+        public void entity2Storage(final SketchPercentileFunction storageData, final Convert2Storage converter) {
+            converter.accept(SKETCH, storageData.getSketch());
+            converter.accept(RANKS, storageData.getRanks());
+            converter.accept(VALUE, storageData.getPercentileValues());
+            converter.accept(TIME_BUCKET, storageData.getTimeBucket());
+            converter.accept(ENTITY_ID, storageData.getEntityId());
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (!(o instanceof SketchPercentileFunction))
+            return false;
+        SketchPercentileFunction function = (SketchPercentileFunction) o;
+        return Objects.equals(entityId, function.entityId) &&
+            getTimeBucket() == function.getTimeBucket();
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(entityId, getTimeBucket());
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.analysis.metrics;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.apache.skywalking.oap.server.core.analysis.metrics.annotation.Entrance;
+import org.apache.skywalking.oap.server.core.analysis.metrics.annotation.MetricsFunction;
+import org.apache.skywalking.oap.server.core.analysis.metrics.annotation.SourceFrom;
+import org.apache.skywalking.oap.server.core.query.sql.Function;
+import org.apache.skywalking.oap.server.core.storage.annotation.Column;
+
+/**
+ * Cardinality counts the distinct values of a string attribute, such as the number of instances calling an endpoint.
+ * The values are counted by a {@link HyperLogLog}, so the memory and storage don't grow with the number of values, and
+ * the count of the hour/day is merged from the minute ones, rather than summed up.
+ *
+ * @since 9.1.0
+ */
+@MetricsFunction(functionName = "cardinality")
+public abstract class CardinalityMetrics extends Metrics implements LongValueHolder {
+    protected static final String VALUE = "value";
+    protected static final String HLL = "hll";
+
+    @Getter
+    @Setter
+    @Column(columnName = VALUE, dataType = Column.ValueDataType.COMMON_VALUE, function = Function.Avg)
+    private long value;
+    @Getter
+    @Setter
+    @Column(columnName = HLL, storageOnly = true)
+    private HyperLogLog hll;
+
+    public CardinalityMetrics() {
+        hll = new HyperLogLog();
+    }
+
+    @Entrance
+    public final void combine(@SourceFrom String value) {
+        hll.add(value);
+    }
+
+    @Override
+    public final boolean combine(Metrics metrics) {
+        CardinalityMetrics cardinalityMetrics = (CardinalityMetrics) metrics;
+        this.hll.merge(cardinalityMetrics.hll);
+        return true;
+    }
+
+    @Override
+    public final void calculate() {
+        value = hll.estimate();
+    }
+
+    @Override
+    public boolean haveDefault() {
+        return true;
+    }
+
+    @Override
+    public boolean isDefaultValue() {
+        return value == 0;
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.analysis.metrics;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.skywalking.oap.server.core.Const;
+import org.apache.skywalking.oap.server.core.storage.type.StorageDataComplexObject;
+
+/**
+ * HeavyHitters keeps the approximate counts of the most frequent keys in a fixed number of counters, by the
+ * Space-Saving algorithm. A new key takes over the counter of the least count once all counters are used, and
+ * inherits the count. So a count is never less than the real one, and is more than that by at most {@code total count
+ * / capacity}. The key with a real count more than that is always kept.
+ *
+ * <p>Two summaries are merged by adding up the counts of the same keys, and keeping the counters of the most counts. A
+ * key missing from a full summary may have been evicted from it, with a real count up to the least count of it, so the
+ * key takes that least count from the summary, to keep the merged count never less than the real one.
+ * The storage data is the same as the {@link DataTable}, so it could be read as a labeled value, the keys must not
+ * include {@link Const#ARRAY_SPLIT} or {@link Const#KEY_VALUE_SPLIT}.
+ */
+public class HeavyHitters implements StorageDataComplexObject<HeavyHitters> {
+    public static final int DEFAULT_CAPACITY = 50;
+
+    private static final Comparator<Map.Entry<String, Counter>> BY_COUNT_DESC =
+        Comparator.comparingLong((Map.Entry<String, Counter> entry) -> entry.getValue().count).reversed();
+
+    private final int capacity;
+    private final Map<String, Counter> counters;
+
+    public HeavyHitters() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public HeavyHitters(int capacity) {
+        this.capacity = capacity;
+        this.counters = new HashMap<>();
+    }
+
+    public HeavyHitters(String data) {
+        this(DEFAULT_CAPACITY);
+        toObject(data);
+    }
+
+    public void add(String key, long count) {
+        final Counter counter = counters.get(key);
+        if (counter != null) {
+            counter.count += count;
+            return;
+        }
+        if (counters.size() < capacity) {
+            counters.put(key, new Counter(count));
+            return;
+        }
+        String minKey = null;
+        Counter min = null;
+        for (final Map.Entry<String, Counter> entry : counters.entrySet()) {
+            if (min == null || entry.getValue().count < min.count) {
+                minKey = entry.getKey();
+                min = entry.getValue();
+            }
+        }
+        counters.remove(minKey);
+        min.count += count;
+        counters.put(key, min);
+    }
+
+    /**
+     * Merge the counts of the given summary into this one.
+     */
+    public HeavyHitters merge(HeavyHitters heavyHitters) {
+        final long minCount = minCount();
+        final long otherMinCount = heavyHitters.minCount();
+        counters.forEach((key, counter) -> {
+            if (!heavyHitters.counters.containsKey(key)) {
+                counter.count += otherMinCount;
+            }
+        });
+        heavyHitters.counters.forEach((key, counter) -> {
+            final Counter current = counters.get(key);
+            if (current == null) {
+                counters.put(key, new Counter(counter.count + minCount));
+            } else {
+                current.count += counter.count;
+            }
+        });
+        if (counters.size() > capacity) {
+            final List<Map.Entry<String, Counter>> entries = new ArrayList<>(counters.entrySet());
+            entries.sort(BY_COUNT_DESC);
+            for (int i = capacity; i < entries.size(); i++) {
+                counters.remove(entries.get(i).getKey());
+            }
+        }
+        return this;
+    }
+
+    /**
+     * @return the least count if all counters are used, otherwise 0, as no key has been evicted.
+     */
+    private long minCount() {
+        if (counters.size() < capacity) {
+            return 0;
+        }
+        long min = Long.MAX_VALUE;
+        for (final Counter counter : counters.values()) {
+            min = Math.min(min, counter.count);
+        }
+        return min;
+    }
+
+    /**
+     * @return the keys and the counts of the top n counts, in the descending order.
+     */
+    public List<Map.Entry<String, Long>> topN(int n) {
+        final List<Map.Entry<String, Counter>> entries = new ArrayList<>(counters.entrySet());
+        entries.sort(BY_COUNT_DESC);
+        final List<Map.Entry<String, Long>> top = new ArrayList<>(Math.min(n, entries.size()));
+        for (int i = 0; i < n && i < entries.size(); i++) {
+            top.add(new AbstractMap.SimpleImmutableEntry<>(entries.get(i).getKey(), entries.get(i).getValue().count));
+        }
+        return top;
+    }
+
+    public Long get(String key) {
+        final Counter counter = counters.get(key);
+        return counter == null ? null : counter.count;
+    }
+
+    public int size() {
+        return counters.size();
+    }
+
+    @Override
+    public String toStorageData() {
+        StringBuilder builder = new StringBuilder();
+        counters.forEach((key, counter) -> {
+            if (builder.length() != 0) {
+                builder.append(Const.ARRAY_SPLIT);
+            }
+            builder.append(key).append(Const.KEY_VALUE_SPLIT).append(counter.count);
+        });
+        return builder.toString();
+    }
+
+    @Override
+    public void toObject(String data) {
+        counters.clear();
+        final String[] keyValues = data.split(Const.ARRAY_PARSER_SPLIT);
+        for (String keyValue : keyValues) {
+            final String[] keyValuePair = keyValue.split(Const.KEY_VALUE_SPLIT);
+            if (keyValuePair.length == 2) {
+                add(keyValuePair[0], Long.parseLong(keyValuePair[1]));
+            }
+        }
+    }
+
+    @Override
+    public void copyFrom(final HeavyHitters source) {
+        this.merge(source);
+    }
+
+    @Override
+    public String toString() {
+        return "HeavyHitters{" + topN(10) + "}";
+    }
+
+    private static class Counter {
+        private long count;
+
+        private Counter(long count) {
+            this.count = count;
+        }
+    }
+}
@@ -0,0 +1,296 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.analysis.metrics;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import org.apache.skywalking.oap.server.core.UnexpectedException;
+import org.apache.skywalking.oap.server.core.storage.type.StorageDataComplexObject;
+
+/**
+ * HyperLogLog estimates the number of distinct values with 4096 registers, the standard error is about 1.6%, no
+ * matter how many values are added. Each value is hashed into 64 bits, the first 12 bits choose the register, and the
+ * register keeps the max position of the leftmost 1-bit in the rest bits.
+ *
+ * <p>Two sketches are merged by the max of every register, the result is the same as the sketch of all values. A
+ * sketch of few values keeps the non-zero registers only in a sorted array, and turns to the full register array once
+ * it grows beyond 1/8 of the registers. The storage data is the base64 encoded binary of the same form.
+ */
+public class HyperLogLog implements StorageDataComplexObject<HyperLogLog> {
+    public static final int PRECISION = 12;
+    public static final int REGISTER_COUNT = 1 << PRECISION;
+
+    private static final HashFunction HASH = Hashing.murmur3_128();
+    private static final int MAX_RANK = Long.SIZE - PRECISION + 1;
+    private static final int RANK_BITS = 6;
+    private static final int RANK_MASK = (1 << RANK_BITS) - 1;
+    private static final int SPARSE_LIMIT = REGISTER_COUNT / 8;
+    private static final double ALPHA = 0.7213 / (1 + 1.079 / REGISTER_COUNT);
+    private static final byte VERSION = 1;
+    private static final byte SPARSE = 0;
+    private static final byte DENSE = 1;
+    private static final int[] EMPTY = new int[0];
+
+    /**
+     * The non-zero registers in the ascending order of the index, as {@code index << 6 | rank}. Not used once the
+     * registers are dense.
+     */
+    private int[] sparse = EMPTY;
+    private int sparseSize;
+    /**
+     * All registers, null until the sketch is dense.
+     */
+    private byte[] registers;
+
+    public HyperLogLog() {
+    }
+
+    public HyperLogLog(String data) {
+        toObject(data);
+    }
+
+    public void add(String value) {
+        if (value == null) {
+            return;
+        }
+        addHash(HASH.hashString(value, StandardCharsets.UTF_8).asLong());
+    }
+
+    public void add(long value) {
+        addHash(HASH.hashLong(value).asLong());
+    }
+
+    /**
+     * Add a value by its 64 bits hash, the hash should be well distributed.
+     */
+    public void addHash(long hash) {
+        final int index = (int) (hash >>> (Long.SIZE - PRECISION));
+        final int rank = Math.min(Long.numberOfLeadingZeros(hash << PRECISION) + 1, MAX_RANK);
+        update(index, rank);
+    }
+
+    /**
+     * Merge the values of the given sketch into this one.
+     */
+    public HyperLogLog merge(HyperLogLog sketch) {
+        if (sketch.registers != null) {
+            toDense();
+            final byte[] other = sketch.registers;
+            for (int i = 0; i < REGISTER_COUNT; i++) {
+                if (other[i] > registers[i]) {
+                    registers[i] = other[i];
+                }
+            }
+            return this;
+        }
+        for (int i = 0; i < sketch.sparseSize; i++) {
+            final int entry = sketch.sparse[i];
+            update(entry >>> RANK_BITS, entry & RANK_MASK);
+        }
+        return this;
+    }
+
+    /**
+     * @return the estimated number of the distinct values.
+     */
+    public long estimate() {
+        double sum = 0;
+        int zeros = 0;
+        if (registers != null) {
+            for (final byte register : registers) {
+                if (register == 0) {
+                    zeros++;
+                }
+                sum += 1.0 / (1L << register);
+            }
+        } else {
+            zeros = REGISTER_COUNT - sparseSize;
+            sum = zeros;
+            for (int i = 0; i < sparseSize; i++) {
+                sum += 1.0 / (1L << (sparse[i] & RANK_MASK));
+            }
+        }
+        final double estimate = ALPHA * REGISTER_COUNT * REGISTER_COUNT / sum;
+        if (estimate <= 2.5 * REGISTER_COUNT && zeros > 0) {
+            // Linear counting is more accurate for the small cardinality.
+            return Math.round(REGISTER_COUNT * Math.log((double) REGISTER_COUNT / zeros));
+        }
+        return Math.round(estimate);
+    }
+
+    public boolean isEmpty() {
+        return registers == null && sparseSize == 0;
+    }
+
+    private void update(int index, int rank) {
+        if (registers != null) {
+            if (rank > registers[index]) {
+                registers[index] = (byte) rank;
+            }
+            return;
+        }
+        final int position = search(index);
+        if (position >= 0) {
+            if (rank > (sparse[position] & RANK_MASK)) {
+                sparse[position] = index << RANK_BITS | rank;
+            }
+            return;
+        }
+        if (sparseSize >= SPARSE_LIMIT) {
+            toDense();
+            registers[index] = (byte) rank;
+            return;
+        }
+        final int insertion = -position - 1;
+        if (sparseSize == sparse.length) {
+            sparse = Arrays.copyOf(sparse, Math.max(8, sparseSize * 2));
+        }
+        System.arraycopy(sparse, insertion, sparse, insertion + 1, sparseSize - insertion);
+        sparse[insertion] = index << RANK_BITS | rank;
+        sparseSize++;
+    }
+
+    private int search(int index) {
+        int low = 0;
+        int high = sparseSize - 1;
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            final int midIndex = sparse[mid] >>> RANK_BITS;
+            if (midIndex < index) {
+                low = mid + 1;
+            } else if (midIndex > index) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private void toDense() {
+        if (registers != null) {
+            return;
+        }
+        registers = new byte[REGISTER_COUNT];
+        for (int i = 0; i < sparseSize; i++) {
+            registers[sparse[i] >>> RANK_BITS] = (byte) (sparse[i] & RANK_MASK);
+        }
+        sparse = EMPTY;
+        sparseSize = 0;
+    }
+
+    @Override
+    public String toStorageData() {
+        if (isEmpty()) {
+            return "";
+        }
+        final byte[] data;
+        if (registers != null) {
+            data = new byte[2 + REGISTER_COUNT];
+            data[1] = DENSE;
+            System.arraycopy(registers, 0, data, 2, REGISTER_COUNT);
+        } else {
+            // The delta of the index is less than 4096, 2 bytes at most in varint, 1 byte for the rank.
+            final byte[] buf = new byte[4 + sparseSize * 3];
+            buf[1] = SPARSE;
+            int pos = writeVarInt(buf, 2, sparseSize);
+            int previous = 0;
+            for (int i = 0; i < sparseSize; i++) {
+                final int index = sparse[i] >>> RANK_BITS;
+                pos = writeVarInt(buf, pos, index - previous);
+                buf[pos++] = (byte) (sparse[i] & RANK_MASK);
+                previous = index;
+            }
+            data = Arrays.copyOf(buf, pos);
+        }
+        data[0] = VERSION;
+        return Base64.getEncoder().encodeToString(data);
+    }
+
+    @Override
+    public void toObject(String data) {
+        sparse = EMPTY;
+        sparseSize = 0;
+        registers = null;
+        if (data == null || data.isEmpty()) {
+            return;
+        }
+        final byte[] buf = Base64.getDecoder().decode(data);
+        if (buf[0] != VERSION) {
+            throw new UnexpectedException("Unknown HyperLogLog version " + buf[0]);
+        }
+        if (buf[1] == DENSE) {
+            registers = Arrays.copyOfRange(buf, 2, 2 + REGISTER_COUNT);
+            return;
+        }
+        final Reader reader = new Reader(buf, 2);
+        final int size = reader.readVarInt();
+        sparse = new int[size];
+        int index = 0;
+        for (int i = 0; i < size; i++) {
+            index += reader.readVarInt();
+            sparse[i] = index << RANK_BITS | reader.buf[reader.pos++];
+        }
+        sparseSize = size;
+    }
+
+    private static int writeVarInt(byte[] buf, int pos, int value) {
+        while ((value & ~0x7F) != 0) {
+            buf[pos++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buf[pos++] = (byte) value;
+        return pos;
+    }
+
+    @Override
+    public void copyFrom(final HyperLogLog source) {
+        this.merge(source);
+    }
+
+    @Override
+    public String toString() {
+        return "HyperLogLog{estimate=" + estimate() + "}";
+    }
+
+    private static class Reader {
+        private final byte[] buf;
+        private int pos;
+
+        private Reader(byte[] buf, int pos) {
+            this.buf = buf;
+            this.pos = pos;
+        }
+
+        private int readVarInt() {
+            int value = 0;
+            for (int shift = 0; shift < 32; shift += 7) {
+                final byte b = buf[pos++];
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new UnexpectedException("Malformed HyperLogLog");
+        }
+    }
+}
@@ -0,0 +1,283 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.analysis.metrics;
+
+import java.util.Arrays;
+import java.util.Base64;
+import org.apache.skywalking.oap.server.core.UnexpectedException;
+import org.apache.skywalking.oap.server.core.storage.type.StorageDataComplexObject;
+
+/**
+ * QuantileSketch is a mergeable quantile sketch of non-negative long values, with 1% relative accuracy. Each value is
+ * counted in a bucket of the logarithmic scale, {@code (gamma^(i-1), gamma^i]}, so the quantile estimated from the
+ * bucket is within 1% of the exact value, whatever the value range is. It is the sketch introduced by DDSketch.
+ *
+ * <p>Two sketches are merged by adding up the buckets, the result is the same as the sketch of all values. The
+ * sketch of the whole long range has at most 2200 buckets, and only the non-empty ones are serialized, as a base64
+ * encoded binary.
+ */
+public class QuantileSketch implements StorageDataComplexObject<QuantileSketch> {
+    public static final double RELATIVE_ACCURACY = 0.01;
+
+    private static final double GAMMA = (1 + RELATIVE_ACCURACY) / (1 - RELATIVE_ACCURACY);
+    private static final double INV_LOG_GAMMA = 1 / Math.log(GAMMA);
+    private static final int MAX_INDEX = index(Long.MAX_VALUE);
+    private static final int GROW_STEP = 32;
+    private static final byte VERSION = 1;
+    private static final long[] EMPTY = new long[0];
+
+    /**
+     * The count of the values less than 1, including 0 and the negative values.
+     */
+    private long zeroCount;
+    /**
+     * bins[i] is the count of the values in the bucket of index {@code offset + i}.
+     */
+    private long[] bins = EMPTY;
+    private int offset;
+    private long count;
+
+    public QuantileSketch() {
+    }
+
+    public QuantileSketch(String data) {
+        toObject(data);
+    }
+
+    public void add(long value) {
+        add(value, 1);
+    }
+
+    /**
+     * Add the value {@code n} times.
+     */
+    public void add(long value, long n) {
+        if (n <= 0) {
+            return;
+        }
+        count += n;
+        if (value < 1) {
+            zeroCount += n;
+            return;
+        }
+        final int index = index(value);
+        ensureCapacity(index);
+        bins[index - offset] += n;
+    }
+
+    /**
+     * Merge the values of the given sketch into this one.
+     */
+    public QuantileSketch merge(QuantileSketch sketch) {
+        if (sketch.count == 0) {
+            return this;
+        }
+        zeroCount += sketch.zeroCount;
+        count += sketch.count;
+        if (sketch.bins.length > 0) {
+            ensureCapacity(sketch.offset);
+            ensureCapacity(sketch.offset + sketch.bins.length - 1);
+            for (int i = 0; i < sketch.bins.length; i++) {
+                bins[sketch.offset + i - offset] += sketch.bins[i];
+            }
+        }
+        return this;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    /**
+     * @param quantile in [0, 1], such as 0.99 for P99.
+     * @return the estimated value of the quantile, 0 if the sketch is empty.
+     */
+    public long quantile(double quantile) {
+        final long[] values = quantiles(quantile);
+        return values[0];
+    }
+
+    /**
+     * Estimate the values of the ascending quantiles in one pass.
+     *
+     * @param quantiles in [0, 1] and in the ascending order.
+     */
+    public long[] quantiles(double... quantiles) {
+        final long[] values = new long[quantiles.length];
+        if (count == 0) {
+            return values;
+        }
+        int q = 0;
+        long accumulated = zeroCount;
+        while (q < quantiles.length && accumulated > rank(quantiles[q])) {
+            values[q++] = 0;
+        }
+        for (int i = 0; i < bins.length && q < quantiles.length; i++) {
+            if (bins[i] == 0) {
+                continue;
+            }
+            accumulated += bins[i];
+            while (q < quantiles.length && accumulated > rank(quantiles[q])) {
+                values[q++] = value(offset + i);
+            }
+        }
+        // Should not happen, the last rank is always less than the count.
+        while (q < quantiles.length) {
+            values[q++] = value(offset + bins.length - 1);
+        }
+        return values;
+    }
+
+    private long rank(double quantile) {
+        return (long) (Math.min(Math.max(quantile, 0), 1) * (count - 1));
+    }
+
+    private static int index(long value) {
+        return (int) Math.ceil(Math.log(value) * INV_LOG_GAMMA);
+    }
+
+    /**
+     * @return the value with the min relative error to all values of the bucket.
+     */
+    private static long value(int index) {
+        return Math.round(2 * Math.pow(GAMMA, index) / (GAMMA + 1));
+    }
+
+    private void ensureCapacity(int index) {
+        if (bins.length == 0) {
+            offset = Math.max(0, index - GROW_STEP / 2);
+            bins = new long[Math.min(GROW_STEP, MAX_INDEX + 1 - offset)];
+            return;
+        }
+        final int end = offset + bins.length;
+        if (index >= offset && index < end) {
+            return;
+        }
+        final int newOffset = index < offset ? Math.max(0, index - GROW_STEP) : offset;
+        final int newEnd = index >= end ? Math.min(MAX_INDEX + 1, index + GROW_STEP) : end;
+        final long[] newBins = new long[newEnd - newOffset];
+        System.arraycopy(bins, 0, newBins, offset - newOffset, bins.length);
+        bins = newBins;
+        offset = newOffset;
+    }
+
+    @Override
+    public String toStorageData() {
+        if (count == 0) {
+            return "";
+        }
+        final Writer writer = new Writer(16 + bins.length * 3);
+        writer.buf[writer.pos++] = VERSION;
+        writer.writeVarLong(zeroCount);
+        int nonEmpty = 0;
+        for (final long bin : bins) {
+            if (bin > 0) {
+                nonEmpty++;
+            }
+        }
+        writer.writeVarLong(nonEmpty);
+        int previous = 0;
+        for (int i = 0; i < bins.length; i++) {
+            if (bins[i] > 0) {
+                writer.writeVarLong(offset + i - previous);
+                writer.writeVarLong(bins[i]);
+                previous = offset + i;
+            }
+        }
+        return Base64.getEncoder().encodeToString(Arrays.copyOf(writer.buf, writer.pos));
+    }
+
+    @Override
+    public void toObject(String data) {
+        zeroCount = 0;
+        count = 0;
+        bins = EMPTY;
+        offset = 0;
+        if (data == null || data.isEmpty()) {
+            return;
+        }
+        final Reader reader = new Reader(Base64.getDecoder().decode(data));
+        final byte version = reader.buf[reader.pos++];
+        if (version != VERSION) {
+            throw new UnexpectedException("Unknown quantile sketch version " + version);
+        }
+        zeroCount = reader.readVarLong();
+        count = zeroCount;
+        final int nonEmpty = (int) reader.readVarLong();
+        int index = 0;
+        for (int i = 0; i < nonEmpty; i++) {
+            index += (int) reader.readVarLong();
+            final long n = reader.readVarLong();
+            ensureCapacity(index);
+            bins[index - offset] += n;
+            count += n;
+        }
+    }
+
+    @Override
+    public void copyFrom(final QuantileSketch source) {
+        this.merge(source);
+    }
+
+    @Override
+    public String toString() {
+        return "QuantileSketch{count=" + count + ", p50=" + quantile(0.5) + ", p99=" + quantile(0.99) + "}";
+    }
+
+    private static class Writer {
+        private byte[] buf;
+        private int pos;
+
+        private Writer(int capacity) {
+            buf = new byte[capacity];
+        }
+
+        private void writeVarLong(long value) {
+            if (pos + 10 > buf.length) {
+                buf = Arrays.copyOf(buf, buf.length * 2 + 10);
+            }
+            while ((value & ~0x7FL) != 0) {
+                buf[pos++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buf[pos++] = (byte) value;
+        }
+    }
+
+    private static class Reader {
+        private final byte[] buf;
+        private int pos;
+
+        private Reader(byte[] buf) {
+            this.buf = buf;
+        }
+
+        private long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                final byte b = buf[pos++];
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new UnexpectedException("Malformed quantile sketch");
+        }
+    }
+}
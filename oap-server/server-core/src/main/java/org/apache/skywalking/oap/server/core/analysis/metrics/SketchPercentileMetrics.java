@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.analysis.metrics;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.apache.skywalking.oap.server.core.analysis.metrics.annotation.Entrance;
+import org.apache.skywalking.oap.server.core.analysis.metrics.annotation.MetricsFunction;
+import org.apache.skywalking.oap.server.core.analysis.metrics.annotation.SourceFrom;
+import org.apache.skywalking.oap.server.core.storage.annotation.Column;
+
+/**
+ * SketchPercentile calculates the P50/75/90/95/99 values like {@link PercentileMetrics}, from a {@link QuantileSketch}
+ * rather than the fixed precision buckets. The values are within 1% of the exact ones for any value range, and the
+ * sketch is smaller and faster to merge than the string keyed dataset.
+ *
+ * @since 9.1.0
+ */
+@MetricsFunction(functionName = "sketchPercentile")
+public abstract class SketchPercentileMetrics extends Metrics implements MultiIntValuesHolder {
+    protected static final String SKETCH = "sketch";
+    protected static final String VALUE = "value";
+
+    private static final double[] RANKS = {
+        0.5,
+        0.75,
+        0.9,
+        0.95,
+        0.99
+    };
+
+    @Getter
+    @Setter
+    @Column(columnName = VALUE, dataType = Column.ValueDataType.LABELED_VALUE, storageOnly = true)
+    private DataTable percentileValues;
+    @Getter
+    @Setter
+    @Column(columnName = SKETCH, storageOnly = true)
+    private QuantileSketch sketch;
+
+    private boolean isCalculated;
+
+    public SketchPercentileMetrics() {
+        percentileValues = new DataTable(RANKS.length);
+        sketch = new QuantileSketch();
+    }
+
+    @Entrance
+    public final void combine(@SourceFrom long value) {
+        this.isCalculated = false;
+        sketch.add(value);
+    }
+
+    @Override
+    public boolean combine(Metrics metrics) {
+        this.isCalculated = false;
+
+        SketchPercentileMetrics sketchPercentileMetrics = (SketchPercentileMetrics) metrics;
+        this.sketch.merge(sketchPercentileMetrics.sketch);
+        return true;
+    }
+
+    @Override
+    public final void calculate() {
+        if (!isCalculated) {
+            final long[] values = sketch.quantiles(RANKS);
+            for (int i = 0; i < values.length; i++) {
+                percentileValues.put(String.valueOf(i), values[i]);
+            }
+            isCalculated = true;
+        }
+    }
+
+    @Override
+    public int[] getValues() {
+        final int[] values = new int[RANKS.length];
+        for (int i = 0; i < RANKS.length; i++) {
+            final Long value = percentileValues.get(String.valueOf(i));
+            values[i] = value == null ? 0 : value.intValue();
+        }
+        return values;
+    }
+}
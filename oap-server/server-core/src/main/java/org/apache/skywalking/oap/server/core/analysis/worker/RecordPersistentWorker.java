@@ -19,6 +19,9 @@
 package org.apache.skywalking.oap.server.core.analysis.worker;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.Properties;
+import org.apache.skywalking.oap.server.core.UnexpectedException;
 import org.apache.skywalking.oap.server.core.analysis.record.Record;
 import org.apache.skywalking.oap.server.core.storage.IBatchDAO;
 import org.apache.skywalking.oap.server.core.storage.IRecordDAO;
@@ -26,10 +29,19 @@ import org.apache.skywalking.oap.server.core.storage.StorageModule;
 import org.apache.skywalking.oap.server.core.storage.model.Model;
 import org.apache.skywalking.oap.server.core.worker.AbstractWorker;
 import org.apache.skywalking.oap.server.library.client.request.InsertRequest;
+import org.apache.skywalking.oap.server.library.datacarrier.DataCarrier;
+import org.apache.skywalking.oap.server.library.datacarrier.consumer.BulkConsumePool;
+import org.apache.skywalking.oap.server.library.datacarrier.consumer.ConsumerPoolFactory;
+import org.apache.skywalking.oap.server.library.datacarrier.consumer.IConsumer;
 import org.apache.skywalking.oap.server.library.module.ModuleDefineHolder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * RecordPersistentWorker converts the records to the insert requests of the storage. When the buffer size is set, the
+ * records are queued per model and converted by the shared consumer pool, rather than the receiver threads. The queue
+ * blocks the receivers when it is full.
+ */
 public class RecordPersistentWorker extends AbstractWorker<Record> {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(RecordPersistentWorker.class);
@@ -37,16 +49,41 @@ public class RecordPersistentWorker extends AbstractWorker<Record> {
     private final Model model;
     private final IRecordDAO recordDAO;
     private final IBatchDAO batchDAO;
+    private final DataCarrier<Record> dataCarrier;
 
-    RecordPersistentWorker(ModuleDefineHolder moduleDefineHolder, Model model, IRecordDAO recordDAO) {
+    RecordPersistentWorker(ModuleDefineHolder moduleDefineHolder, Model model, IRecordDAO recordDAO, int bufferSize) {
         super(moduleDefineHolder);
         this.model = model;
         this.recordDAO = recordDAO;
         this.batchDAO = moduleDefineHolder.find(StorageModule.NAME).provider().getService(IBatchDAO.class);
+
+        if (bufferSize > 0) {
+            String name = "RECORD_PERSISTENT";
+            this.dataCarrier = new DataCarrier<>("RecordPersistentWorker." + model.getName(), name, 2, bufferSize);
+
+            BulkConsumePool.Creator creator = new BulkConsumePool.Creator(
+                name, BulkConsumePool.Creator.recommendMaxSize(), 20);
+            try {
+                ConsumerPoolFactory.INSTANCE.createIfAbsent(name, creator);
+            } catch (Exception e) {
+                throw new UnexpectedException(e.getMessage(), e);
+            }
+            this.dataCarrier.consume(ConsumerPoolFactory.INSTANCE.get(name), new PersistentConsumer());
+        } else {
+            this.dataCarrier = null;
+        }
     }
 
     @Override
     public void in(Record record) {
+        if (dataCarrier != null) {
+            dataCarrier.produce(record);
+        } else {
+            persist(record);
+        }
+    }
+
+    private void persist(Record record) {
         try {
             InsertRequest insertRequest = recordDAO.prepareBatchInsert(model, record);
             batchDAO.insert(insertRequest);
@@ -54,4 +91,24 @@ public class RecordPersistentWorker extends AbstractWorker<Record> {
             LOGGER.error(e.getMessage(), e);
         }
     }
+
+    private class PersistentConsumer implements IConsumer<Record> {
+        @Override
+        public void init(final Properties properties) {
+        }
+
+        @Override
+        public void consume(List<Record> data) {
+            data.forEach(RecordPersistentWorker.this::persist);
+        }
+
+        @Override
+        public void onError(List<Record> data, Throwable t) {
+            LOGGER.error(t.getMessage(), t);
+        }
+
+        @Override
+        public void onExit() {
+        }
+    }
 }
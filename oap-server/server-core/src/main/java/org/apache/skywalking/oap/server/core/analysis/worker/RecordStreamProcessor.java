@@ -21,6 +21,7 @@ package org.apache.skywalking.oap.server.core.analysis.worker;
 import java.lang.reflect.InvocationTargetException;
 import java.util.HashMap;
 import java.util.Map;
+import lombok.Setter;
 import org.apache.skywalking.oap.server.core.CoreModule;
 import org.apache.skywalking.oap.server.core.UnexpectedException;
 import org.apache.skywalking.oap.server.core.analysis.DownSampling;
@@ -44,6 +45,15 @@ public class RecordStreamProcessor implements StreamProcessor<Record> {
 
     private Map<Class<? extends Record>, RecordPersistentWorker> workers = new HashMap<>();
 
+    /**
+     * The buffer size of every channel of the record queue per model, 0 means the records are persisted in the
+     * caller thread.
+     *
+     * @since 9.1.0 from {@link org.apache.skywalking.oap.server.core.CoreModuleConfig#getRecordPersistentBufferSize()}
+     */
+    @Setter
+    private int recordPersistentBufferSize = 0;
+
     public static RecordStreamProcessor getInstance() {
         return PROCESSOR;
     }
@@ -76,7 +86,8 @@ public class RecordStreamProcessor implements StreamProcessor<Record> {
         // Record stream doesn't read data from database during the persistent process. Keep the timeRelativeID == false always.
         Model model = modelSetter.add(
             recordClass, stream.scopeId(), new Storage(stream.name(), false, DownSampling.Second), true);
-        RecordPersistentWorker persistentWorker = new RecordPersistentWorker(moduleDefineHolder, model, recordDAO);
+        RecordPersistentWorker persistentWorker = new RecordPersistentWorker(
+            moduleDefineHolder, model, recordDAO, recordPersistentBufferSize);
 
         workers.put(recordClass, persistentWorker);
     }
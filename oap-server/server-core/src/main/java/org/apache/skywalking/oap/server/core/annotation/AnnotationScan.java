@@ -51,7 +51,7 @@ public class AnnotationScan {
      * Begin to scan classes.
      */
     public void scan() throws IOException, StorageException {
-        ClassPath classpath = ClassPath.from(this.getClass().getClassLoader());
+        ClassPath classpath = ClassPathCache.INSTANCE.of(this.getClass().getClassLoader());
         ImmutableSet<ClassPath.ClassInfo> classes = classpath.getTopLevelClassesRecursive("org.apache.skywalking");
         for (ClassPath.ClassInfo classInfo : classes) {
             Class<?> aClass = classInfo.load();
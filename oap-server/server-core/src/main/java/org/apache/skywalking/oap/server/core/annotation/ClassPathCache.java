@@ -0,0 +1,51 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.annotation;
+
+import com.google.common.reflect.ClassPath;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ClassPathCache reads the classpath once for every class loader, and shares it with all the class scanners in the
+ * boot, such as {@link AnnotationScan}, the dispatcher scan and the function scans. Reading the classpath walks all the
+ * jars, which is one of the slowest steps of the boot.
+ */
+public enum ClassPathCache {
+    INSTANCE;
+
+    private final Map<ClassLoader, ClassPath> classPaths = new ConcurrentHashMap<>();
+
+    public ClassPath of(ClassLoader classLoader) throws IOException {
+        ClassPath classPath = classPaths.get(classLoader);
+        if (classPath == null) {
+            classPath = ClassPath.from(classLoader);
+            classPaths.put(classLoader, classPath);
+        }
+        return classPath;
+    }
+
+    /**
+     * Release the cached classpath after the boot, a later scan reads the classpath again.
+     */
+    public void clear() {
+        classPaths.clear();
+    }
+}
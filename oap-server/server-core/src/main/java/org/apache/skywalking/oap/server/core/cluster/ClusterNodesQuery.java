@@ -24,4 +24,11 @@ import org.apache.skywalking.oap.server.library.module.Service;
 public interface ClusterNodesQuery extends Service {
 
     List<RemoteInstance> queryRemoteNodes();
+
+    /**
+     * Register a watcher to be notified when the OAP node list changed. The coordinators not supporting native watch
+     * ignore the watcher, then the changes are only observed by querying the node list periodically.
+     */
+    default void registerWatcher(ClusterWatcher watcher) {
+    }
 }
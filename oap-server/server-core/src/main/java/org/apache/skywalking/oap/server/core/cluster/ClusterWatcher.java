@@ -0,0 +1,32 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.cluster;
+
+/**
+ * ClusterWatcher is notified once the cluster coordinator observes the OAP node list changed, through the native watch
+ * mechanism of the coordinator, such as Zookeeper service cache or Kubernetes informer.
+ */
+public interface ClusterWatcher {
+    /**
+     * Called when the OAP node list changed. The watcher should query the latest node list through {@link
+     * ClusterNodesQuery#queryRemoteNodes()}. The notifications are triggered by the coordinator's threads, so the
+     * implementation should not block.
+     */
+    void onClusterNodesChanged();
+}
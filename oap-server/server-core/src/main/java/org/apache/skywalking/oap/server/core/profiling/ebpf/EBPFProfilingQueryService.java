@@ -124,7 +124,7 @@ public class EBPFProfilingQueryService implements Service {
     private EBPFProfilingAnalyzer getProfilingAnalyzer() {
         if (profilingAnalyzer == null) {
             this.profilingAnalyzer = new EBPFProfilingAnalyzer(moduleManager, config.getMaxDurationOfQueryEBPFProfilingData(),
-                    config.getMaxThreadCountOfQueryEBPFProfilingData());
+                    config.getMaxThreadCountOfQueryEBPFProfilingData(), config.getMaxNodeSizeOfEBPFProfilingAnalyzeCache());
         }
         return profilingAnalyzer;
     }
@@ -18,13 +18,15 @@
 
 package org.apache.skywalking.oap.server.core.profiling.ebpf.analyze;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.skywalking.oap.server.core.profiling.ebpf.storage.EBPFProfilingDataRecord;
 import org.apache.skywalking.oap.server.core.query.type.EBPFProfilingAnalyzation;
 import org.apache.skywalking.oap.server.core.query.type.EBPFProfilingAnalyzeTimeRange;
-import org.apache.skywalking.oap.server.core.query.type.EBPFProfilingTree;
 import org.apache.skywalking.oap.server.core.storage.StorageModule;
 import org.apache.skywalking.oap.server.core.storage.profiling.ebpf.IEBPFProfilingDataDAO;
 import org.apache.skywalking.oap.server.library.module.ModuleManager;
@@ -32,34 +34,45 @@ import org.apache.skywalking.oap.server.library.util.CollectionUtils;
 
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
-import java.util.Objects;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
  * eBPF Profiling Analyzer working on data query and combine them for generate the Flame Graph.
+ *
+ * The query time ranges are split into time slices aligned by {@link #FETCH_DATA_DURATION}, every slice of every
+ * schedule is fetched and folded into an {@link EBPFProfilingStackAggregator} in parallel, then all of them are merged
+ * as the result. The slices which are fully queried and would not receive new data are cached, so the overlapped
+ * queries only fetch the uncached slices.
  */
 @Slf4j
 public class EBPFProfilingAnalyzer {
 
-    private static final EBPFProfilingAnalyzeCollector ANALYZE_COLLECTOR = new EBPFProfilingAnalyzeCollector();
     private static final Long FETCH_DATA_DURATION = TimeUnit.MINUTES.toMillis(2);
 
     private final ModuleManager moduleManager;
     protected IEBPFProfilingDataDAO dataDAO;
     private long maxQueryTimeoutInSecond;
     private final ExecutorService fetchDataThreadPool;
+    private final Cache<SliceKey, EBPFProfilingStackAggregator> sliceCache;
 
-    public EBPFProfilingAnalyzer(ModuleManager moduleManager, int maxDurationOfQuery, int fetchDataThreadPoolSize) {
+    public EBPFProfilingAnalyzer(ModuleManager moduleManager, int maxDurationOfQuery, int fetchDataThreadPoolSize,
+                                 long maxNodeSizeOfCache) {
         this.moduleManager = moduleManager;
         this.maxQueryTimeoutInSecond = maxDurationOfQuery;
         this.fetchDataThreadPool = Executors.newFixedThreadPool(fetchDataThreadPoolSize);
+        this.sliceCache = CacheBuilder.newBuilder()
+                .maximumWeight(maxNodeSizeOfCache)
+                .weigher((SliceKey key, EBPFProfilingStackAggregator slice) -> slice.getNodeSize() + 1)
+                .expireAfterAccess(10, TimeUnit.MINUTES)
+                .build();
     }
 
     /**
@@ -68,70 +81,107 @@ public class EBPFProfilingAnalyzer {
     public EBPFProfilingAnalyzation analyze(List<String> scheduleIdList, List<EBPFProfilingAnalyzeTimeRange> ranges) throws IOException {
         EBPFProfilingAnalyzation analyzation = new EBPFProfilingAnalyzation();
 
-        // query data
+        // query and aggregate data of every slice
         long queryDataMaxTimestamp = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(maxQueryTimeoutInSecond);
-        final Stream<EBPFProfilingStack> stackStream = buildTimeRanges(ranges).parallelStream().map(r -> {
+        final List<Future<EBPFProfilingStackAggregator>> slices = buildTimeSlices(scheduleIdList, ranges).stream()
+                .map(slice -> fetchDataThreadPool.submit(() -> aggregate(scheduleIdList, slice)))
+                .collect(Collectors.toList());
+
+        // merge slices as the trees
+        final EBPFProfilingStackAggregator result = new EBPFProfilingStackAggregator();
+        for (Future<EBPFProfilingStackAggregator> slice : slices) {
             try {
-                return fetchDataThreadPool.submit(() -> getDataDAO().queryData(scheduleIdList, r.getMinTime(), r.getMaxTime()))
-                        .get(queryDataMaxTimestamp - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+                result.merge(slice.get(queryDataMaxTimestamp - System.currentTimeMillis(), TimeUnit.MILLISECONDS));
             } catch (Exception e) {
                 log.warn(e.getMessage(), e);
-                return Collections.<EBPFProfilingDataRecord>emptyList();
             }
-        }).flatMap(Collection::stream).map(e -> {
-            try {
-                return EBPFProfilingStack.deserialize(e);
-            } catch (Exception ex) {
-                log.warn("could not deserialize the stack", ex);
-                return null;
-            }
-        }).filter(Objects::nonNull).distinct();
-
-        // analyze tree
-        generateTrees(analyzation, stackStream);
+        }
+        analyzation.getTrees().addAll(result.build());
 
         return analyzation;
     }
 
     public void generateTrees(EBPFProfilingAnalyzation analyzation, Stream<EBPFProfilingStack> stackStream) {
-        Collection<EBPFProfilingTree> stackTrees = stackStream
-                // stack list cannot be empty
-                .filter(s -> CollectionUtils.isNotEmpty(s.getSymbols()))
-                // analyze the symbol and combine as trees
-                .collect(Collectors.groupingBy(s -> s.getSymbols()
-                        .get(0), ANALYZE_COLLECTOR)).values();
-
-        analyzation.getTrees().addAll(stackTrees);
+        final EBPFProfilingStackAggregator aggregator = stackStream.collect(
+                EBPFProfilingStackAggregator::new, EBPFProfilingStackAggregator::accumulate,
+                EBPFProfilingStackAggregator::merge
+        );
+
+        analyzation.getTrees().addAll(aggregator.build());
     }
 
-    protected List<TimeRange> buildTimeRanges(List<EBPFProfilingAnalyzeTimeRange> timeRanges) {
-        return timeRanges.parallelStream()
-                .map(r -> buildTimeRanges(r.getStart(), r.getEnd()))
-                .filter(Objects::nonNull)
-                .flatMap(Collection::stream)
-                .collect(Collectors.toList());
+    private EBPFProfilingStackAggregator aggregate(List<String> scheduleIdList, TimeSlice slice) throws Exception {
+        if (!slice.isCacheable()) {
+            return fetchAndAggregate(scheduleIdList, slice);
+        }
+        return sliceCache.get(
+                new SliceKey(slice.getScheduleId(), slice.getMinTime()),
+                () -> fetchAndAggregate(scheduleIdList, slice)
+        );
+    }
+
+    private EBPFProfilingStackAggregator fetchAndAggregate(List<String> scheduleIdList, TimeSlice slice) throws IOException {
+        final List<String> queryScheduleIdList = slice.getScheduleId() == null ?
+                scheduleIdList : Collections.singletonList(slice.getScheduleId());
+        final List<EBPFProfilingDataRecord> records = getDataDAO().queryData(
+                queryScheduleIdList, slice.getMinTime(), slice.getMaxTime());
+
+        final EBPFProfilingStackAggregator aggregator = new EBPFProfilingStackAggregator();
+        for (EBPFProfilingDataRecord record : records) {
+            try {
+                aggregator.accumulate(record);
+            } catch (Exception e) {
+                log.warn("could not deserialize the stack", e);
+            }
+        }
+        return aggregator;
     }
 
     /**
-     * Split time ranges to insure the start time and end time is small then {@link #FETCH_DATA_DURATION}
+     * Merge the overlapped time ranges, and split them to the slices aligned by {@link #FETCH_DATA_DURATION} for every
+     * schedule. A slice is cacheable when the whole slice is queried and it has ended for a {@link
+     * #FETCH_DATA_DURATION}, as the data are reported periodically.
      */
-    protected List<TimeRange> buildTimeRanges(long start, long end) {
-        if (start >= end) {
-            return null;
+    protected List<TimeSlice> buildTimeSlices(List<String> scheduleIdList, List<EBPFProfilingAnalyzeTimeRange> timeRanges) {
+        final List<TimeSlice> slices = new ArrayList<>();
+        final List<String> scheduleIds = CollectionUtils.isEmpty(scheduleIdList) ?
+                Collections.singletonList(null) : scheduleIdList;
+        final long cacheableBefore = System.currentTimeMillis() - FETCH_DATA_DURATION;
+        for (long[] range : mergeTimeRanges(timeRanges)) {
+            for (long sliceStart = range[0] - Math.floorMod(range[0], FETCH_DATA_DURATION); sliceStart < range[1];
+                 sliceStart += FETCH_DATA_DURATION) {
+                final long sliceEnd = sliceStart + FETCH_DATA_DURATION;
+                final long minTime = Math.max(range[0], sliceStart);
+                final long maxTime = Math.min(range[1], sliceEnd);
+                final boolean fullSlice = minTime == sliceStart && maxTime == sliceEnd && sliceEnd <= cacheableBefore;
+                for (String scheduleId : scheduleIds) {
+                    slices.add(new TimeSlice(scheduleId, minTime, maxTime, fullSlice && scheduleId != null));
+                }
+            }
         }
+        return slices;
+    }
 
-        // include latest millisecond
-        end += 1;
-
-        final List<TimeRange> timeRanges = new ArrayList<>();
-        do {
-            long batchEnd = Math.min(start + FETCH_DATA_DURATION, end);
-            timeRanges.add(new TimeRange(start, batchEnd));
-            start = batchEnd;
+    /**
+     * @return the sorted and non-overlapped time ranges, the end time is exclusive.
+     */
+    private List<long[]> mergeTimeRanges(List<EBPFProfilingAnalyzeTimeRange> timeRanges) {
+        final List<long[]> sorted = timeRanges.stream()
+                .filter(r -> r.getStart() < r.getEnd())
+                // include latest millisecond
+                .map(r -> new long[] {r.getStart(), r.getEnd() + 1})
+                .sorted(Comparator.comparingLong(r -> r[0]))
+                .collect(Collectors.toList());
+        final List<long[]> merged = new ArrayList<>(sorted.size());
+        for (long[] range : sorted) {
+            final long[] last = merged.isEmpty() ? null : merged.get(merged.size() - 1);
+            if (last != null && range[0] <= last[1]) {
+                last[1] = Math.max(last[1], range[1]);
+            } else {
+                merged.add(range);
+            }
         }
-        while (start < end);
-
-        return timeRanges;
+        return merged;
     }
 
     protected IEBPFProfilingDataDAO getDataDAO() {
@@ -144,12 +194,21 @@ public class EBPFProfilingAnalyzer {
     }
 
     /**
-     * Split the query time with {@link #FETCH_DATA_DURATION}
+     * The time slice of one schedule to query, the schedule id is null when the query has no schedule.
      */
     @Getter
     @RequiredArgsConstructor
-    private static class TimeRange {
+    protected static class TimeSlice {
+        private final String scheduleId;
         private final long minTime;
         private final long maxTime;
+        private final boolean cacheable;
+    }
+
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    private static class SliceKey {
+        private final String scheduleId;
+        private final long sliceStart;
     }
-}
\ No newline at end of file
+}
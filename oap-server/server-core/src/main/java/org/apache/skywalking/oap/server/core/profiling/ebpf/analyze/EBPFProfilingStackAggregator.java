@@ -0,0 +1,220 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.profiling.ebpf.analyze;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import org.apache.skywalking.apm.network.ebpf.profiling.v3.EBPFProfilingStackMetadata;
+import org.apache.skywalking.oap.server.core.profiling.ebpf.storage.EBPFProfilingDataRecord;
+import org.apache.skywalking.oap.server.core.profiling.ebpf.storage.EBPFProfilingStackType;
+import org.apache.skywalking.oap.server.core.query.type.EBPFProfilingStackElement;
+import org.apache.skywalking.oap.server.core.query.type.EBPFProfilingTree;
+
+/**
+ * Fold the eBPF profiling stacks into prefix trees, the trees are grouped by the first symbol of the stacks. The
+ * symbols are interned once into a dictionary, and the tree nodes only keep the int symbol ids.
+ *
+ * The aggregator is not thread safe, the aggregators built by different threads are combined by {@link
+ * #merge(EBPFProfilingStackAggregator)}, which only reads the merged one.
+ */
+public class EBPFProfilingStackAggregator {
+    private final Map<EBPFProfilingStackType, Map<String, Integer>> symbolIds = new EnumMap<>(
+        EBPFProfilingStackType.class);
+    private final List<String> symbolNames = new ArrayList<>();
+    private final List<EBPFProfilingStackType> symbolTypes = new ArrayList<>();
+    private final Map<Integer, EBPFProfilingStackNode> roots = new LinkedHashMap<>();
+    private int nodeSize;
+    private int[] path = new int[64];
+
+    public void accumulate(EBPFProfilingStack stack) {
+        final List<EBPFProfilingStack.Symbol> symbols = stack.getSymbols();
+        if (symbols == null) {
+            return;
+        }
+        int depth = 0;
+        for (EBPFProfilingStack.Symbol symbol : symbols) {
+            appendPath(depth++, intern(symbol.getName(), symbol.getStackType()));
+        }
+        accumulatePath(depth, stack.getDumpCount());
+    }
+
+    /**
+     * Fold the stacks binary of the record directly, same as {@link EBPFProfilingStack#deserialize(EBPFProfilingDataRecord)}
+     * but no symbol object is created.
+     */
+    public void accumulate(EBPFProfilingDataRecord record) throws IOException {
+        final ByteArrayInputStream stackInput = new ByteArrayInputStream(record.getStacksBinary());
+        int depth = 0;
+        for (EBPFProfilingStackMetadata stack = EBPFProfilingStackMetadata.parseDelimitedFrom(stackInput);
+             stack != null; stack = EBPFProfilingStackMetadata.parseDelimitedFrom(stackInput)) {
+            final EBPFProfilingStackType stackType = EBPFProfilingStackType.valueOf(stack.getStackType());
+            for (int i = 0; i < stack.getStackSymbolsCount(); i++) {
+                appendPath(depth++, intern(stack.getStackSymbols(i), stackType));
+            }
+        }
+        // the symbols are reported from the top of the stack
+        for (int i = 0, j = depth - 1; i < j; i++, j--) {
+            final int symbol = path[i];
+            path[i] = path[j];
+            path[j] = symbol;
+        }
+        accumulatePath(depth, record.getStackDumpCount());
+    }
+
+    /**
+     * Merge the trees of the other aggregator into this one, the other one is not changed.
+     */
+    public EBPFProfilingStackAggregator merge(EBPFProfilingStackAggregator other) {
+        final int[] mapping = new int[other.symbolNames.size()];
+        for (int i = 0; i < mapping.length; i++) {
+            mapping[i] = intern(other.symbolNames.get(i), other.symbolTypes.get(i));
+        }
+
+        // using stack to avoid recursion
+        final LinkedList<EBPFProfilingStackNode> targets = new LinkedList<>();
+        final LinkedList<EBPFProfilingStackNode> sources = new LinkedList<>();
+        for (EBPFProfilingStackNode otherRoot : other.roots.values()) {
+            final int symbol = mapping[otherRoot.getSymbol()];
+            EBPFProfilingStackNode root = roots.get(symbol);
+            if (root == null) {
+                root = new EBPFProfilingStackNode(symbol);
+                roots.put(symbol, root);
+                nodeSize++;
+            }
+            targets.add(root);
+            sources.add(otherRoot);
+        }
+        while (!targets.isEmpty()) {
+            final EBPFProfilingStackNode target = targets.pop();
+            final EBPFProfilingStackNode source = sources.pop();
+            target.detectedBy(source.getDumpCount());
+            for (int i = 0; i < source.getChildrenSize(); i++) {
+                final EBPFProfilingStackNode sourceChild = source.getChild(i);
+                final int symbol = mapping[sourceChild.getSymbol()];
+                EBPFProfilingStackNode targetChild = target.findChild(symbol);
+                if (targetChild == null) {
+                    targetChild = target.addChild(symbol);
+                    nodeSize++;
+                }
+                targets.add(targetChild);
+                sources.add(sourceChild);
+            }
+        }
+        return this;
+    }
+
+    public int getNodeSize() {
+        return nodeSize;
+    }
+
+    /**
+     * Build the GraphQL result, one tree per root symbol, in the order of first detection.
+     */
+    public List<EBPFProfilingTree> build() {
+        final List<EBPFProfilingTree> trees = new ArrayList<>(roots.size());
+        for (EBPFProfilingStackNode root : roots.values()) {
+            trees.add(buildTree(root));
+        }
+        return trees;
+    }
+
+    private EBPFProfilingTree buildTree(EBPFProfilingStackNode root) {
+        final EBPFProfilingTree tree = new EBPFProfilingTree();
+        int idGenerator = 1;
+
+        final LinkedList<EBPFProfilingStackNode> nodes = new LinkedList<>();
+        final LinkedList<EBPFProfilingStackElement> elements = new LinkedList<>();
+        final EBPFProfilingStackElement rootElement = buildElement(root, idGenerator++);
+        tree.getElements().add(rootElement);
+        nodes.add(root);
+        elements.add(rootElement);
+        while (!nodes.isEmpty()) {
+            final EBPFProfilingStackNode node = nodes.pop();
+            final EBPFProfilingStackElement element = elements.pop();
+            for (int i = 0; i < node.getChildrenSize(); i++) {
+                final EBPFProfilingStackNode child = node.getChild(i);
+                final EBPFProfilingStackElement childElement = buildElement(child, idGenerator++);
+                childElement.setParentId(element.getId());
+
+                tree.getElements().add(childElement);
+                nodes.add(child);
+                elements.add(childElement);
+            }
+        }
+        return tree;
+    }
+
+    private EBPFProfilingStackElement buildElement(EBPFProfilingStackNode node, int id) {
+        final EBPFProfilingStackElement element = new EBPFProfilingStackElement();
+        element.setId(id);
+        element.setSymbol(symbolNames.get(node.getSymbol()));
+        element.setStackType(symbolTypes.get(node.getSymbol()));
+        element.setDumpCount(node.getDumpCount());
+        return element;
+    }
+
+    private void accumulatePath(int depth, long dumpCount) {
+        if (depth == 0) {
+            return;
+        }
+        EBPFProfilingStackNode node = roots.get(path[0]);
+        if (node == null) {
+            node = new EBPFProfilingStackNode(path[0]);
+            roots.put(path[0], node);
+            nodeSize++;
+        }
+        node.detectedBy(dumpCount);
+        for (int i = 1; i < depth; i++) {
+            EBPFProfilingStackNode child = node.findChild(path[i]);
+            if (child == null) {
+                child = node.addChild(path[i]);
+                nodeSize++;
+            }
+            child.detectedBy(dumpCount);
+            node = child;
+        }
+    }
+
+    private void appendPath(int depth, int symbol) {
+        if (depth == path.length) {
+            path = Arrays.copyOf(path, depth * 2);
+        }
+        path[depth] = symbol;
+    }
+
+    private int intern(String name, EBPFProfilingStackType stackType) {
+        final Map<String, Integer> ids = symbolIds.computeIfAbsent(stackType, t -> new HashMap<>());
+        Integer symbol = ids.get(name);
+        if (symbol == null) {
+            symbol = symbolNames.size();
+            symbolNames.add(name);
+            symbolTypes.add(stackType);
+            ids.put(name, symbol);
+        }
+        return symbol;
+    }
+}
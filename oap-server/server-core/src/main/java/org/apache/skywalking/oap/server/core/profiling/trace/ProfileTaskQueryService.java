@@ -68,7 +68,7 @@ public class ProfileTaskQueryService implements Service {
         this.moduleManager = moduleManager;
         this.profileAnalyzer = new ProfileAnalyzer(
             moduleManager, moduleConfig.getMaxPageSizeOfQueryProfileSnapshot(),
-            moduleConfig.getMaxSizeOfAnalyzeProfileSnapshot()
+            moduleConfig.getMaxSizeOfAnalyzeProfileSnapshot(), moduleConfig.getMaxSizeOfAnalyzeProfileStackNode()
         );
     }
 
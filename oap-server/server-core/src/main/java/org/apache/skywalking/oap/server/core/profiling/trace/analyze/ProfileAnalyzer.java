@@ -20,45 +20,48 @@ package org.apache.skywalking.oap.server.core.profiling.trace.analyze;
 
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 import org.apache.skywalking.oap.server.core.profiling.trace.ProfileThreadSnapshotRecord;
 import org.apache.skywalking.oap.server.core.query.type.ProfileAnalyzation;
 import org.apache.skywalking.oap.server.core.query.type.ProfileAnalyzeTimeRange;
-import org.apache.skywalking.oap.server.core.query.type.ProfileStackTree;
 import org.apache.skywalking.oap.server.core.storage.StorageModule;
 import org.apache.skywalking.oap.server.core.storage.profiling.trace.IProfileThreadSnapshotQueryDAO;
 import org.apache.skywalking.oap.server.library.module.ModuleManager;
-import org.apache.skywalking.oap.server.library.util.CollectionUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * Analyze {@link ProfileStack} data to {@link ProfileAnalyzation}
  *
+ * The snapshots are queried page by page in the ascending order of sequence, and every page is folded into the
+ * {@link ProfileStackAggregator} before the next one, so the memory doesn't grow with the snapshot count. The next
+ * page is queried while the current one is being folded.
+ *
  * See: https://github.com/apache/skywalking/blob/421ba88dbfba48cdc5845547381aa4763775b4b1/docs/en/guides/backend-profile.md#thread-analyst
  */
 public class ProfileAnalyzer {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ProfileAnalyzer.class);
 
-    private static final ProfileAnalyzeCollector ANALYZE_COLLECTOR = new ProfileAnalyzeCollector();
-
     private final int threadSnapshotAnalyzeBatchSize;
     private final int analyzeSnapshotMaxSize;
+    private final int analyzeStackNodeMaxSize;
 
     private final ModuleManager moduleManager;
     protected IProfileThreadSnapshotQueryDAO profileThreadSnapshotQueryDAO;
 
-    public ProfileAnalyzer(ModuleManager moduleManager, int snapshotAnalyzeBatchSize, int analyzeSnapshotMaxSize) {
+    public ProfileAnalyzer(ModuleManager moduleManager, int snapshotAnalyzeBatchSize, int analyzeSnapshotMaxSize,
+                           int analyzeStackNodeMaxSize) {
         this.moduleManager = moduleManager;
         this.threadSnapshotAnalyzeBatchSize = snapshotAnalyzeBatchSize;
         this.analyzeSnapshotMaxSize = analyzeSnapshotMaxSize;
+        this.analyzeStackNodeMaxSize = analyzeStackNodeMaxSize;
     }
 
     /**
@@ -77,25 +80,53 @@ public class ProfileAnalyzer {
             analyzation.setTip("Out of snapshot analyze limit, " + sequenceSearch.getTotalSequenceCount() + " snapshots found, but analysis first " + analyzeSnapshotMaxSize + " snapshots only.");
         }
 
-        // query snapshots
-        List<ProfileStack> stacks = sequenceSearch.getRanges().parallelStream().map(r -> {
-            try {
-                return getProfileThreadSnapshotQueryDAO().queryRecords(segmentId, r.getMinSequence(), r.getMaxSequence());
-            } catch (IOException e) {
-                LOGGER.warn(e.getMessage(), e);
-                return Collections.<ProfileThreadSnapshotRecord>emptyList();
+        // query and fold snapshots page by page
+        final List<SequenceRange> pages = sequenceSearch.toPages();
+        final ProfileStackAggregator aggregator = new ProfileStackAggregator(analyzeStackNodeMaxSize);
+        CompletableFuture<List<ProfileThreadSnapshotRecord>> nextPage = queryRecordsAsync(segmentId, pages, 0);
+        for (int i = 0; nextPage != null; i++) {
+            final List<ProfileThreadSnapshotRecord> records = nextPage.join();
+            nextPage = queryRecordsAsync(segmentId, pages, i + 1);
+
+            records.sort(Comparator.comparingInt(ProfileThreadSnapshotRecord::getSequence));
+            int lastSequence = -1;
+            for (ProfileThreadSnapshotRecord record : records) {
+                // the same snapshot could be found by several time ranges
+                if (record.getSequence() == lastSequence) {
+                    continue;
+                }
+                lastSequence = record.getSequence();
+                aggregator.accumulate(ProfileStack.deserialize(record));
             }
-        }).flatMap(Collection::stream).map(ProfileStack::deserialize).distinct().collect(Collectors.toList());
+        }
 
-        // analyze
-        final List<ProfileStackTree> trees = analyze(stacks);
-        if (trees != null) {
-            analyzation.getTrees().addAll(trees);
+        if (aggregator.isTruncated()) {
+            final String tip = "Out of stack node analyze limit, analysis first " + analyzeStackNodeMaxSize + " stack nodes only.";
+            analyzation.setTip(analyzation.getTip() == null ? tip : analyzation.getTip() + " " + tip);
         }
+        analyzation.getTrees().addAll(aggregator.build());
 
         return analyzation;
     }
 
+    private CompletableFuture<List<ProfileThreadSnapshotRecord>> queryRecordsAsync(String segmentId,
+                                                                                   List<SequenceRange> pages,
+                                                                                   int index) {
+        if (index >= pages.size()) {
+            return null;
+        }
+        final SequenceRange page = pages.get(index);
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return new ArrayList<>(getProfileThreadSnapshotQueryDAO().queryRecords(
+                    segmentId, page.getMinSequence(), page.getMaxSequence()));
+            } catch (IOException e) {
+                LOGGER.warn(e.getMessage(), e);
+                return Collections.<ProfileThreadSnapshotRecord>emptyList();
+            }
+        });
+    }
+
     protected SequenceSearch getAllSequenceRange(String segmentId, List<ProfileAnalyzeTimeRange> timeRanges) {
         final List<SequenceSearch> searches = timeRanges.parallelStream().map(r -> {
             try {
@@ -133,24 +164,6 @@ public class ProfileAnalyzer {
         return sequenceSearch;
     }
 
-    /**
-     * Analyze records
-     */
-    protected List<ProfileStackTree> analyze(List<ProfileStack> stacks) {
-        if (CollectionUtils.isEmpty(stacks)) {
-            return null;
-        }
-
-        // using parallel stream
-        Map<String, ProfileStackTree> stackTrees = stacks.parallelStream()
-                                                         // stack list cannot be empty
-                                                         .filter(s -> CollectionUtils.isNotEmpty(s.getStack()))
-                                                         .collect(Collectors.groupingBy(s -> s.getStack()
-                                                                                              .get(0), ANALYZE_COLLECTOR));
-
-        return new ArrayList<>(stackTrees.values());
-    }
-
     protected IProfileThreadSnapshotQueryDAO getProfileThreadSnapshotQueryDAO() {
         if (profileThreadSnapshotQueryDAO == null) {
             profileThreadSnapshotQueryDAO = moduleManager.find(StorageModule.NAME)
@@ -181,6 +194,26 @@ public class ProfileAnalyzer {
             this.totalSequenceCount += search.totalSequenceCount;
             return this;
         }
+
+        /**
+         * @return the ranges sorted by sequence, the overlapped parts of the time ranges are removed, so every snapshot
+         * is queried once and in order.
+         */
+        public List<SequenceRange> toPages() {
+            final List<SequenceRange> sorted = ranges.stream()
+                                                     .sorted(Comparator.comparingInt(SequenceRange::getMinSequence))
+                                                     .collect(Collectors.toList());
+            final List<SequenceRange> pages = new ArrayList<>(sorted.size());
+            int covered = Integer.MIN_VALUE;
+            for (SequenceRange range : sorted) {
+                final int min = Math.max(range.getMinSequence(), covered);
+                if (min < range.getMaxSequence()) {
+                    pages.add(new SequenceRange(min, range.getMaxSequence()));
+                }
+                covered = Math.max(covered, range.getMaxSequence());
+            }
+            return pages;
+        }
     }
 
     private static class SequenceRange {
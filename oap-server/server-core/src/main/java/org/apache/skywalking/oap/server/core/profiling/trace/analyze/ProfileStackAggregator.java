@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.profiling.trace.analyze;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import org.apache.skywalking.oap.server.core.query.type.ProfileStackElement;
+import org.apache.skywalking.oap.server.core.query.type.ProfileStackTree;
+import org.apache.skywalking.oap.server.library.util.CollectionUtils;
+
+/**
+ * Fold the {@link ProfileStack}s into prefix trees one by one, the trees are grouped by the first code signature of
+ * the stacks. Every code signature is interned once as a symbol id, the tree nodes only keep the ids.
+ *
+ * The total number of nodes is limited, once the limit is reached, the new code paths are truncated at the deepest
+ * existing node, while the existing nodes keep counting.
+ */
+public class ProfileStackAggregator {
+    private final int maxNodeSize;
+    private final Map<String, Integer> symbolIds = new HashMap<>();
+    private final List<String> symbols = new ArrayList<>();
+    private final Map<Integer, ProfileStackNode> roots = new LinkedHashMap<>();
+    private int nodeSize;
+    private boolean truncated;
+
+    public ProfileStackAggregator(int maxNodeSize) {
+        this.maxNodeSize = maxNodeSize;
+    }
+
+    /**
+     * Accumulate the stack to the trees, the stacks must be accumulated in the ascending order of sequence.
+     */
+    public void accumulate(ProfileStack stack) {
+        final List<String> codeSignatures = stack.getStack();
+        if (CollectionUtils.isEmpty(codeSignatures)) {
+            return;
+        }
+
+        ProfileStackNode node = null;
+        for (int depth = 0; depth < codeSignatures.size(); depth++) {
+            final String codeSignature = codeSignatures.get(depth);
+            final Integer symbol = symbolIds.get(codeSignature);
+            ProfileStackNode current = null;
+            if (symbol != null) {
+                current = node == null ? roots.get(symbol) : node.findChild(symbol);
+            }
+            if (current == null) {
+                if (nodeSize >= maxNodeSize) {
+                    truncated = true;
+                    return;
+                }
+                final int newSymbol = symbol != null ? symbol : intern(codeSignature);
+                if (node == null) {
+                    current = new ProfileStackNode(newSymbol);
+                    roots.put(newSymbol, current);
+                } else {
+                    current = node.addChild(newSymbol);
+                }
+                nodeSize++;
+            }
+            current.detectedBy(stack.getSequence(), stack.getDumpTime());
+            node = current;
+        }
+    }
+
+    /**
+     * @return true if some code paths are dropped because of the node limit.
+     */
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    public int getNodeSize() {
+        return nodeSize;
+    }
+
+    /**
+     * Build the GraphQL result, one tree per root code signature, in the order of first detection.
+     */
+    public List<ProfileStackTree> build() {
+        final List<ProfileStackTree> trees = new ArrayList<>(roots.size());
+        for (ProfileStackNode root : roots.values()) {
+            trees.add(buildTree(root));
+        }
+        return trees;
+    }
+
+    private ProfileStackTree buildTree(ProfileStackNode root) {
+        final ProfileStackTree tree = new ProfileStackTree();
+        int idGenerator = 1;
+
+        // using stack to avoid recursion
+        final LinkedList<ProfileStackNode> nodes = new LinkedList<>();
+        final LinkedList<ProfileStackElement> elements = new LinkedList<>();
+        final ProfileStackElement rootElement = buildElement(root, idGenerator++);
+        tree.getElements().add(rootElement);
+        nodes.add(root);
+        elements.add(rootElement);
+        while (!nodes.isEmpty()) {
+            final ProfileStackNode node = nodes.pop();
+            final ProfileStackElement element = elements.pop();
+
+            int childrenDuration = 0;
+            for (int i = 0; i < node.getChildrenSize(); i++) {
+                final ProfileStackNode child = node.getChild(i);
+                final ProfileStackElement childElement = buildElement(child, idGenerator++);
+                childElement.setParentId(element.getId());
+                childrenDuration += childElement.getDuration();
+
+                tree.getElements().add(childElement);
+                nodes.add(child);
+                elements.add(childElement);
+            }
+            element.setDurationChildExcluded(element.getDuration() - childrenDuration);
+        }
+        return tree;
+    }
+
+    private ProfileStackElement buildElement(ProfileStackNode node, int id) {
+        final ProfileStackElement element = new ProfileStackElement();
+        element.setId(id);
+        element.setCodeSignature(symbols.get(node.getSymbol()));
+        element.setCount(node.getCount());
+        element.setDuration(node.getDuration());
+        return element;
+    }
+
+    private int intern(String codeSignature) {
+        final int symbol = symbols.size();
+        symbols.add(codeSignature);
+        symbolIds.put(codeSignature, symbol);
+        return symbol;
+    }
+}
@@ -18,26 +18,48 @@
 
 package org.apache.skywalking.oap.server.core.query;
 
+import io.vavr.Tuple;
+import io.vavr.Tuple2;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.stream.Collectors;
 import org.apache.skywalking.oap.server.library.util.StringUtil;
 import org.apache.skywalking.oap.server.core.Const;
 import org.apache.skywalking.oap.server.core.analysis.IDManager;
+import org.apache.skywalking.oap.server.core.analysis.manual.endpoint.EndpointCallsTopNMetrics;
 import org.apache.skywalking.oap.server.core.analysis.manual.instance.InstanceTraffic;
+import org.apache.skywalking.oap.server.core.analysis.metrics.CPMMetrics;
+import org.apache.skywalking.oap.server.core.analysis.metrics.HeavyHitters;
+import org.apache.skywalking.oap.server.core.query.enumeration.Order;
+import org.apache.skywalking.oap.server.core.query.enumeration.Scope;
 import org.apache.skywalking.oap.server.core.query.input.Duration;
+import org.apache.skywalking.oap.server.core.query.input.Entity;
+import org.apache.skywalking.oap.server.core.query.input.MetricsCondition;
 import org.apache.skywalking.oap.server.core.query.input.TopNCondition;
+import org.apache.skywalking.oap.server.core.query.type.KVInt;
 import org.apache.skywalking.oap.server.core.query.type.KeyValue;
+import org.apache.skywalking.oap.server.core.query.type.MetricsValues;
 import org.apache.skywalking.oap.server.core.query.type.SelectedRecord;
 import org.apache.skywalking.oap.server.core.storage.StorageModule;
 import org.apache.skywalking.oap.server.core.storage.annotation.ValueColumnMetadata;
 import org.apache.skywalking.oap.server.core.storage.query.IAggregationQueryDAO;
+import org.apache.skywalking.oap.server.core.storage.query.IMetricsQueryDAO;
 import org.apache.skywalking.oap.server.library.module.ModuleManager;
 import org.apache.skywalking.oap.server.library.module.Service;
 
 public class AggregationQueryService implements Service {
+    /**
+     * The metrics ordered the same as the calls of the endpoints, so its top N could be read from the {@link
+     * EndpointCallsTopNMetrics}.
+     */
+    private static final String ENDPOINT_CPM = "endpoint_cpm";
+
     private final ModuleManager moduleManager;
     private IAggregationQueryDAO aggregationQueryDAO;
+    private IMetricsQueryDAO metricsQueryDAO;
 
     public AggregationQueryService(ModuleManager moduleManager) {
         this.moduleManager = moduleManager;
@@ -52,16 +74,29 @@ public class AggregationQueryService implements Service {
         return aggregationQueryDAO;
     }
 
+    private IMetricsQueryDAO getMetricsQueryDAO() {
+        if (metricsQueryDAO == null) {
+            metricsQueryDAO = moduleManager.find(StorageModule.NAME)
+                                           .provider()
+                                           .getService(IMetricsQueryDAO.class);
+        }
+        return metricsQueryDAO;
+    }
+
     public List<SelectedRecord> sortMetrics(TopNCondition condition, Duration duration) throws IOException {
-        final String valueCName = ValueColumnMetadata.INSTANCE.getValueCName(condition.getName());
-        List<KeyValue> additionalConditions = null;
-        if (StringUtil.isNotEmpty(condition.getParentService())) {
-            additionalConditions = new ArrayList<>(1);
-            final String serviceId = IDManager.ServiceID.buildId(condition.getParentService(), condition.isNormal());
-            additionalConditions.add(new KeyValue(InstanceTraffic.SERVICE_ID, serviceId));
+        List<SelectedRecord> selectedRecords = sortEndpointsByCalls(condition, duration);
+        if (selectedRecords.isEmpty()) {
+            final String valueCName = ValueColumnMetadata.INSTANCE.getValueCName(condition.getName());
+            List<KeyValue> additionalConditions = null;
+            if (StringUtil.isNotEmpty(condition.getParentService())) {
+                additionalConditions = new ArrayList<>(1);
+                final String serviceId = IDManager.ServiceID.buildId(
+                    condition.getParentService(), condition.isNormal());
+                additionalConditions.add(new KeyValue(InstanceTraffic.SERVICE_ID, serviceId));
+            }
+            selectedRecords = getAggregationQueryDAO().sortMetrics(
+                condition, valueCName, duration, additionalConditions);
         }
-        final List<SelectedRecord> selectedRecords = getAggregationQueryDAO().sortMetrics(
-            condition, valueCName, duration, additionalConditions);
         selectedRecords.forEach(selectedRecord -> {
             switch (condition.getScope()) {
                 case Service:
@@ -102,4 +137,74 @@ public class AggregationQueryService implements Service {
         });
         return selectedRecords;
     }
+
+    /**
+     * Read the top endpoints of a service by the calls from the {@link EndpointCallsTopNMetrics} of the duration, rather
+     * than sorting the metrics of all endpoints in the storage. The endpoints are sorted by the average calls per minute
+     * of the time buckets having calls, same as sorting the {@code endpoint_cpm} which only has the buckets having data.
+     *
+     * @return empty if the condition is not the top endpoints of a service by calls, or there is no top N data of the
+     * duration, such as the data before upgrading.
+     */
+    private List<SelectedRecord> sortEndpointsByCalls(TopNCondition condition, Duration duration) throws IOException {
+        if (!ENDPOINT_CPM.equals(condition.getName())
+            || condition.getScope() != Scope.Endpoint
+            || StringUtil.isEmpty(condition.getParentService())
+            || condition.getOrder() != Order.DES
+            || condition.getTopN() > HeavyHitters.DEFAULT_CAPACITY) {
+            return Collections.emptyList();
+        }
+        final long minutesOfStep;
+        switch (duration.getStep()) {
+            case MINUTE:
+                minutesOfStep = 1;
+                break;
+            case HOUR:
+                minutesOfStep = 60;
+                break;
+            case DAY:
+                minutesOfStep = 60 * 24;
+                break;
+            default:
+                return Collections.emptyList();
+        }
+
+        final Entity entity = new Entity();
+        entity.setScope(Scope.Service);
+        entity.setServiceName(condition.getParentService());
+        entity.setNormal(condition.isNormal());
+        final MetricsCondition metricsCondition = new MetricsCondition();
+        metricsCondition.setName(EndpointCallsTopNMetrics.INDEX_NAME);
+        metricsCondition.setEntity(entity);
+        final List<MetricsValues> callsOfEndpoints = getMetricsQueryDAO().readLabeledMetricsValues(
+            metricsCondition, EndpointCallsTopNMetrics.VALUE, Collections.emptyList(), duration);
+
+        return callsOfEndpoints.stream()
+                               .map(calls -> Tuple.of(calls.getLabel(), averageCpm(calls, minutesOfStep)))
+                               .filter(cpm -> !Double.isNaN(cpm._2))
+                               .sorted(Comparator.comparingDouble((Tuple2<String, Double> cpm) -> cpm._2).reversed())
+                               .limit(condition.getTopN())
+                               .map(cpm -> {
+                                   final SelectedRecord record = new SelectedRecord();
+                                   record.setId(cpm._1);
+                                   record.setValue(String.valueOf(cpm._2.longValue()));
+                                   return record;
+                               })
+                               .collect(Collectors.toList());
+    }
+
+    /**
+     * @return the average of the calls per minute of the time buckets having calls, the calls per minute of a bucket is
+     * calculated as {@link CPMMetrics#calculate()}. NaN if there is no calls in all buckets.
+     */
+    private static double averageCpm(MetricsValues callsOfBuckets, long minutesOfStep) {
+        return callsOfBuckets.getValues()
+                             .getValues()
+                             .stream()
+                             .mapToLong(KVInt::getValue)
+                             .filter(calls -> calls > 0)
+                             .mapToDouble(calls -> calls / minutesOfStep)
+                             .average()
+                             .orElse(Double.NaN);
+    }
 }
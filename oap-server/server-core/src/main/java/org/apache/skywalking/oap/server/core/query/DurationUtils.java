@@ -91,6 +91,13 @@ public enum DurationUtils {
     }
 
     public List<PointOfTime> getDurationPoints(Step step, long startTimeBucket, long endTimeBucket) {
+        return getDurationPoints(step, startTimeBucket, endTimeBucket, MAX_TIME_RANGE);
+    }
+
+    /**
+     * @param maxTimeRange the max number of steps between the start and the end, 0 means no limit.
+     */
+    public List<PointOfTime> getDurationPoints(Step step, long startTimeBucket, long endTimeBucket, int maxTimeRange) {
         DateTime dateTime = parseToDateTime(step, startTimeBucket);
 
         List<PointOfTime> durations = new LinkedList<>();
@@ -121,12 +128,12 @@ public enum DurationUtils {
                     break;
             }
             i++;
-            if (i > MAX_TIME_RANGE) {
+            if (maxTimeRange > 0 && i > maxTimeRange) {
                 // days, hours, minutes or seconds
                 String stepStr = step.name().toLowerCase() + "s";
                 String errorMsg = String.format(
                         "Duration data error, the range between the start time and the end time can't exceed %d %s",
-                        MAX_TIME_RANGE, stepStr);
+                        maxTimeRange, stepStr);
                 throw new UnexpectedException(errorMsg);
             }
         }
@@ -19,14 +19,27 @@
 package org.apache.skywalking.oap.server.core.query;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.skywalking.oap.server.core.CoreModule;
+import org.apache.skywalking.oap.server.core.analysis.DownSampling;
+import org.apache.skywalking.oap.server.core.query.enumeration.Step;
 import org.apache.skywalking.oap.server.core.query.input.Duration;
 import org.apache.skywalking.oap.server.core.query.input.MetricsCondition;
+import org.apache.skywalking.oap.server.core.query.sql.Function;
 import org.apache.skywalking.oap.server.core.query.type.HeatMap;
+import org.apache.skywalking.oap.server.core.query.type.IntValues;
+import org.apache.skywalking.oap.server.core.query.type.KVInt;
 import org.apache.skywalking.oap.server.core.query.type.MetricsValues;
 import org.apache.skywalking.oap.server.core.storage.StorageModule;
 import org.apache.skywalking.oap.server.core.storage.annotation.ValueColumnMetadata;
+import org.apache.skywalking.oap.server.core.storage.model.IModelManager;
+import org.apache.skywalking.oap.server.core.storage.model.Model;
 import org.apache.skywalking.oap.server.core.storage.query.IMetricsQueryDAO;
 import org.apache.skywalking.oap.server.library.module.ModuleManager;
 import org.apache.skywalking.oap.server.library.module.Service;
@@ -34,10 +47,21 @@ import org.apache.skywalking.oap.server.library.module.Service;
 @Slf4j
 public class MetricsQueryService implements Service {
     private final ModuleManager moduleManager;
+    /**
+     * The max number of points read from the storage for one time-series query, 0 means no limit.
+     * A query over the limit is read from the coarser downsampling, see {@link #selectReadDuration}.
+     */
+    private final int maxPoints;
     private IMetricsQueryDAO metricQueryDAO;
+    private IModelManager modelManager;
 
     public MetricsQueryService(ModuleManager moduleManager) {
+        this(moduleManager, 0);
+    }
+
+    public MetricsQueryService(ModuleManager moduleManager, int maxPoints) {
         this.moduleManager = moduleManager;
+        this.maxPoints = maxPoints;
     }
 
     private IMetricsQueryDAO getMetricQueryDAO() {
@@ -47,6 +71,13 @@ public class MetricsQueryService implements Service {
         return metricQueryDAO;
     }
 
+    private IModelManager getModelManager() {
+        if (modelManager == null) {
+            modelManager = moduleManager.find(CoreModule.NAME).provider().getService(IModelManager.class);
+        }
+        return modelManager;
+    }
+
     /**
      * Read metrics single value in the duration of required metrics
      */
@@ -59,8 +90,13 @@ public class MetricsQueryService implements Service {
      * Read time-series values in the duration of required metrics
      */
     public MetricsValues readMetricsValues(MetricsCondition condition, Duration duration) throws IOException {
-        return getMetricQueryDAO().readMetricsValues(
-            condition, ValueColumnMetadata.INSTANCE.getValueCName(condition.getName()), duration);
+        final Duration readDuration = selectReadDuration(condition.getName(), duration);
+        final MetricsValues values = getMetricQueryDAO().readMetricsValues(
+            condition, ValueColumnMetadata.INSTANCE.getValueCName(condition.getName()), readDuration);
+        if (readDuration == duration) {
+            return values;
+        }
+        return expand(condition, values, readDuration.getStep(), duration);
     }
 
     /**
@@ -71,8 +107,17 @@ public class MetricsQueryService implements Service {
     public List<MetricsValues> readLabeledMetricsValues(MetricsCondition condition,
                                                         List<String> labels,
                                                         Duration duration) throws IOException {
-        return getMetricQueryDAO().readLabeledMetricsValues(
-            condition, ValueColumnMetadata.INSTANCE.getValueCName(condition.getName()), labels, duration);
+        final Duration readDuration = selectReadDuration(condition.getName(), duration);
+        final List<MetricsValues> values = getMetricQueryDAO().readLabeledMetricsValues(
+            condition, ValueColumnMetadata.INSTANCE.getValueCName(condition.getName()), labels, readDuration);
+        if (readDuration == duration) {
+            return values;
+        }
+        final List<MetricsValues> expanded = new ArrayList<>(values.size());
+        for (final MetricsValues labeledValues : values) {
+            expanded.add(expand(condition, labeledValues, readDuration.getStep(), duration));
+        }
+        return expanded;
     }
 
     /**
@@ -82,4 +127,113 @@ public class MetricsQueryService implements Service {
         return getMetricQueryDAO().readHeatMap(
             condition, ValueColumnMetadata.INSTANCE.getValueCName(condition.getName()), duration);
     }
+
+    /**
+     * Choose the duration to read from the storage. When {@link #maxPoints} is set and the requested duration has more
+     * points than that, the finest coarser step whose downsampling is stored for the metrics and fits the limit is
+     * used, or the coarsest stored one if none fits. Otherwise, the given duration is returned as it is.
+     */
+    Duration selectReadDuration(String metricsName, Duration duration) {
+        if (maxPoints <= 0 || duration.getStep() == null) {
+            return duration;
+        }
+        final Step step = duration.getStep();
+        if (!Step.MINUTE.equals(step) && !Step.HOUR.equals(step)) {
+            return duration;
+        }
+        if (countPoints(duration) <= maxPoints) {
+            return duration;
+        }
+
+        Duration selected = duration;
+        for (final Step coarser : Step.MINUTE.equals(step) ? new Step[] {
+            Step.HOUR,
+            Step.DAY
+        } : new Step[] {Step.DAY}) {
+            if (!isDownsamplingStored(metricsName, coarser)) {
+                continue;
+            }
+            selected = duration.toCoarserStep(coarser);
+            if (countPoints(selected) <= maxPoints) {
+                break;
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * Count the points of the duration without assembling them, as {@link Duration#assembleDurationPoints()} rejects a
+     * too long range.
+     */
+    private static long countPoints(Duration duration) {
+        final long stepInMillis;
+        switch (duration.getStep()) {
+            case DAY:
+                stepInMillis = TimeUnit.DAYS.toMillis(1);
+                break;
+            case HOUR:
+                stepInMillis = TimeUnit.HOURS.toMillis(1);
+                break;
+            default:
+                stepInMillis = TimeUnit.MINUTES.toMillis(1);
+        }
+        // Round it, as a day could be 23 or 25 hours around the daylight saving time.
+        return Math.round((double) (duration.getEndTimestamp() - duration.getStartTimestamp()) / stepInMillis);
+    }
+
+    private boolean isDownsamplingStored(String metricsName, Step step) {
+        final DownSampling downSampling = Step.HOUR.equals(step) ? DownSampling.Hour : DownSampling.Day;
+        for (final Model model : getModelManager().allModels()) {
+            if (model.getName().equals(metricsName) && downSampling.equals(model.getDownsampling())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Map the values read at the coarse step back to the points of the requested duration, so the caller gets one value
+     * per requested point as usual. A summed metrics is spread evenly over the requested points inside its coarse
+     * bucket, so a partially requested edge bucket is not divided by the points out of the range. The others repeat the
+     * coarse value. The requested points are not limited by {@link DurationUtils}, as the storage only reads the coarse
+     * ones.
+     */
+    private static MetricsValues expand(MetricsCondition condition,
+                                        MetricsValues coarseValues,
+                                        Step coarseStep,
+                                        Duration requested) {
+        final String entityId = condition.getEntity().buildId();
+        final Optional<ValueColumnMetadata.ValueColumn> valueColumn =
+            ValueColumnMetadata.INSTANCE.readValueColumnDefinition(condition.getName());
+        final int defaultValue = valueColumn.map(ValueColumnMetadata.ValueColumn::getDefaultValue).orElse(0);
+        final boolean isSum = valueColumn.map(column -> Function.Sum.equals(column.getFunction())).orElse(false);
+
+        final long bucketDivisor = Step.MINUTE.equals(requested.getStep()) && Step.DAY.equals(coarseStep) ? 10000 : 100;
+        final List<PointOfTime> points = DurationUtils.INSTANCE.getDurationPoints(
+            requested.getStep(), requested.getStartTimeBucket(), requested.getEndTimeBucket(), 0);
+        final Map<Long, Integer> pointsInBucket = new HashMap<>();
+        for (final PointOfTime pointOfTime : points) {
+            pointsInBucket.merge(pointOfTime.getPoint() / bucketDivisor, 1, Integer::sum);
+        }
+
+        final MetricsValues metricsValues = new MetricsValues();
+        metricsValues.setLabel(coarseValues.getLabel());
+        final IntValues intValues = metricsValues.getValues();
+        final Map<Long, Long> coarseCache = new HashMap<>();
+        for (final PointOfTime pointOfTime : points) {
+            final long coarseBucket = pointOfTime.getPoint() / bucketDivisor;
+            long value = coarseCache.computeIfAbsent(
+                coarseBucket,
+                bucket -> coarseValues.getValues().findValue(new PointOfTime(bucket).id(entityId), defaultValue)
+            );
+            if (isSum && value != defaultValue) {
+                value = value / pointsInBucket.get(coarseBucket);
+            }
+            final KVInt kv = new KVInt();
+            kv.setId(pointOfTime.id(entityId));
+            kv.setValue(value);
+            intValues.addKVInt(kv);
+        }
+        return metricsValues;
+    }
 }
@@ -21,11 +21,15 @@ package org.apache.skywalking.oap.server.core.query;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import org.apache.skywalking.apm.network.language.agent.v3.SegmentObject;
 import org.apache.skywalking.oap.server.core.Const;
 import org.apache.skywalking.oap.server.core.CoreModule;
+import org.apache.skywalking.oap.server.core.analysis.TimeBucket;
 import org.apache.skywalking.oap.server.core.analysis.manual.searchtag.Tag;
 import org.apache.skywalking.oap.server.core.analysis.manual.segment.SegmentRecord;
 import org.apache.skywalking.oap.server.core.config.IComponentLibraryCatalogService;
@@ -50,11 +54,21 @@ import static java.util.Objects.nonNull;
 public class TraceQueryService implements Service {
 
     private final ModuleManager moduleManager;
+    /**
+     * The hours after the time in the trace ID, in which the segments of the trace are searched. 0 means searching all
+     * the segments, see {@link #queryTrace(String)}.
+     */
+    private final int traceIdQueryTimeWindow;
     private ITraceQueryDAO traceQueryDAO;
     private IComponentLibraryCatalogService componentLibraryCatalogService;
 
     public TraceQueryService(ModuleManager moduleManager) {
+        this(moduleManager, 0);
+    }
+
+    public TraceQueryService(ModuleManager moduleManager, int traceIdQueryTimeWindow) {
         this.moduleManager = moduleManager;
+        this.traceIdQueryTimeWindow = traceIdQueryTimeWindow;
     }
 
     private ITraceQueryDAO getTraceQueryDAO() {
@@ -96,7 +110,7 @@ public class TraceQueryService implements Service {
     public Trace queryTrace(final String traceId) throws IOException {
         Trace trace = new Trace();
 
-        List<SegmentRecord> segmentRecords = getTraceQueryDAO().queryByTraceId(traceId);
+        List<SegmentRecord> segmentRecords = querySegments(traceId);
         if (segmentRecords.isEmpty()) {
             trace.getSpans().addAll(getTraceQueryDAO().doFlexibleTraceQuery(traceId));
         } else {
@@ -128,6 +142,74 @@ public class TraceQueryService implements Service {
         return trace;
     }
 
+    /**
+     * The trace ID generated by the agent includes the time it is created. When {@link #traceIdQueryTimeWindow} is
+     * set, the segments are searched from one hour before that time, for the clock skew of the services, to the window
+     * after it. The whole storage is searched if the trace ID doesn't include the time, or the segments found in the
+     * range are not the complete trace, see {@link #isComplete(List, long)}.
+     */
+    private List<SegmentRecord> querySegments(final String traceId) throws IOException {
+        final long timestamp = traceIdQueryTimeWindow > 0 ? parseTraceIdTimestamp(traceId) : 0;
+        if (timestamp > 0) {
+            final long windowEnd = timestamp + TimeUnit.HOURS.toMillis(traceIdQueryTimeWindow);
+            final List<SegmentRecord> segmentRecords = getTraceQueryDAO().queryByTraceId(
+                traceId,
+                TimeBucket.getRecordTimeBucket(timestamp - TimeUnit.HOURS.toMillis(1)),
+                TimeBucket.getRecordTimeBucket(windowEnd)
+            );
+            if (!segmentRecords.isEmpty() && isComplete(segmentRecords, windowEnd)) {
+                return segmentRecords;
+            }
+        }
+        return getTraceQueryDAO().queryByTraceId(traceId);
+    }
+
+    /**
+     * The segments found in the time window are the complete trace, if every parent segment referenced by them is
+     * found too, and none of them ends after the window, which means its children could be created out of it.
+     */
+    static boolean isComplete(final List<SegmentRecord> segmentRecords, final long windowEnd) throws IOException {
+        final Set<String> segmentIds = new HashSet<>();
+        final Set<String> parentSegmentIds = new HashSet<>();
+        for (SegmentRecord segment : segmentRecords) {
+            if (segment == null) {
+                continue;
+            }
+            if (segment.getStartTime() + segment.getLatency() >= windowEnd) {
+                return false;
+            }
+            final SegmentObject segmentObject = SegmentObject.parseFrom(segment.getDataBinary());
+            segmentIds.add(segmentObject.getTraceSegmentId());
+            segmentObject.getSpansList().forEach(
+                spanObject -> spanObject.getRefsList().forEach(
+                    reference -> parentSegmentIds.add(reference.getParentTraceSegmentId())));
+        }
+        return segmentIds.containsAll(parentSegmentIds);
+    }
+
+    /**
+     * Read the creation time of the trace ID in the agent format, `{instance}.{thread}.{timestamp * 10000 + sequence}`.
+     *
+     * @return the timestamp in milliseconds, or 0 if the trace ID isn't in the format.
+     */
+    static long parseTraceIdTimestamp(final String traceId) {
+        final String[] parts = traceId.split("\\.");
+        if (parts.length != 3) {
+            return 0;
+        }
+        final String timeAndSequence = parts[2];
+        // 13 digits timestamp in milliseconds and 4 digits sequence.
+        if (timeAndSequence.length() != 17) {
+            return 0;
+        }
+        for (int i = 0; i < timeAndSequence.length(); i++) {
+            if (!Character.isDigit(timeAndSequence.charAt(i))) {
+                return 0;
+            }
+        }
+        return Long.parseLong(timeAndSequence) / 10000;
+    }
+
     private List<Span> buildSpanList(SegmentObject segmentObject) {
         List<Span> spans = new ArrayList<>();
 
@@ -66,4 +66,18 @@ public class Duration {
     public List<PointOfTime> assembleDurationPoints() {
         return DurationUtils.INSTANCE.getDurationPoints(step, getStartTimeBucket(), getEndTimeBucket());
     }
+
+    /**
+     * Copy this duration at the given coarser step, the {@link #start} and {@link #end} are truncated to its format. This
+     * duration is not changed.
+     */
+    public Duration toCoarserStep(Step coarser) {
+        // The time formats of the steps share the prefix, see DurationUtils.
+        final int length = Step.HOUR.equals(coarser) ? 13 : 10;
+        final Duration coarse = new Duration();
+        coarse.start = start.substring(0, length);
+        coarse.end = end.substring(0, length);
+        coarse.step = coarser;
+        return coarse;
+    }
 }
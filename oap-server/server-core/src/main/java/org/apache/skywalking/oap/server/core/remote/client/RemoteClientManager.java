@@ -30,13 +30,16 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.Setter;
 import org.apache.skywalking.oap.server.core.cluster.ClusterModule;
 import org.apache.skywalking.oap.server.core.cluster.ClusterNodesQuery;
+import org.apache.skywalking.oap.server.core.cluster.ClusterWatcher;
 import org.apache.skywalking.oap.server.core.cluster.RemoteInstance;
 import org.apache.skywalking.oap.server.library.module.ModuleDefineHolder;
 import org.apache.skywalking.oap.server.library.module.Service;
@@ -51,8 +54,11 @@ import org.slf4j.LoggerFactory;
 /**
  * This class manages the connections between OAP servers. There is a task schedule that will automatically query a
  * server list from the cluster module. Such as Zookeeper cluster module or Kubernetes cluster module.
+ * <p>
+ * The cluster modules supporting native watch notify the changes of the server list, then the manager refreshes
+ * immediately rather than waiting for the next scheduled refresh.
  */
-public class RemoteClientManager implements Service {
+public class RemoteClientManager implements Service, ClusterWatcher {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(RemoteClientManager.class);
 
@@ -62,6 +68,8 @@ public class RemoteClientManager implements Service {
     private volatile List<RemoteClient> usingClients;
     private GaugeMetrics gauge;
     private int remoteTimeout;
+    private ScheduledExecutorService refreshExecutor;
+    private final AtomicBoolean refreshRequested = new AtomicBoolean(false);
 
     /**
      * Initial the manager for all remote communication clients.
@@ -93,7 +101,26 @@ public class RemoteClientManager implements Service {
 
     public void start() {
         Optional.ofNullable(sslContext).ifPresent(DynamicSslContext::start);
-        Executors.newSingleThreadScheduledExecutor().scheduleWithFixedDelay(this::refresh, 1, 5, TimeUnit.SECONDS);
+        refreshExecutor = Executors.newSingleThreadScheduledExecutor();
+        refreshExecutor.scheduleWithFixedDelay(this::refresh, 1, 5, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Refresh in the same thread as the scheduled refresh. The notifications arriving before the refresh starts are
+     * coalesced into one refresh.
+     */
+    @Override
+    public void onClusterNodesChanged() {
+        if (refreshExecutor == null || !refreshRequested.compareAndSet(false, true)) {
+            return;
+        }
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Cluster nodes changed, refresh remote nodes collection.");
+        }
+        refreshExecutor.execute(() -> {
+            refreshRequested.set(false);
+            refresh();
+        });
     }
 
     /**
@@ -117,6 +144,7 @@ public class RemoteClientManager implements Service {
                         this.clusterNodesQuery = moduleDefineHolder.find(ClusterModule.NAME)
                                                                    .provider()
                                                                    .getService(ClusterNodesQuery.class);
+                        this.clusterNodesQuery.registerWatcher(this);
                     }
                 }
             }
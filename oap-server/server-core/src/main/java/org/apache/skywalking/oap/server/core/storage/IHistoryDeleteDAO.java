@@ -33,9 +33,20 @@ public interface IHistoryDeleteDAO extends DAO {
      * @param model                data entity.
      * @param timeBucketColumnName column name represents the time. Right now, always {@link Metrics#TIME_BUCKET}
      * @param ttl                  the number of days should be kept
+     * @return the number of removed rows, or a negative value if the storage doesn't remove the data row by row, such
+     * as dropping the whole index.
      * @throws IOException when error happens in the deletion process.
      */
-    void deleteHistory(Model model, String timeBucketColumnName, int ttl) throws IOException;
+    long deleteHistory(Model model, String timeBucketColumnName, int ttl) throws IOException;
+
+    /**
+     * @param model data entity.
+     * @return the name of the physical table holding the data of the model. The models sharing one physical table are
+     * removed one by one in one task, to avoid removing or creating the same table concurrently.
+     */
+    default String getTableName(Model model) {
+        return model.getName();
+    }
 
     /**
      * Inspection is also driven by the TTL timer. This method is optional to implement, typically, this could be used
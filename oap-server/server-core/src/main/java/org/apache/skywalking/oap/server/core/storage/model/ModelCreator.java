@@ -37,5 +37,13 @@ public interface ModelCreator extends Service {
 
     interface CreatingListener {
         void whenCreating(Model model) throws StorageException;
+
+        /**
+         * @return true if {@link #whenCreating(Model)} could be called concurrently for different models, then the
+         * existing models are notified in parallel when the listener is added.
+         */
+        default boolean isConcurrent() {
+            return false;
+        }
     }
 }
@@ -17,12 +17,19 @@
 
 package org.apache.skywalking.oap.server.core.storage.model;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.skywalking.oap.server.core.analysis.FunctionCategory;
 import org.apache.skywalking.oap.server.core.source.DefaultScopeDefine;
@@ -38,15 +45,25 @@ import org.apache.skywalking.oap.server.library.util.StringUtil;
 
 /**
  * StorageModels manages all models detected by the core.
+ *
+ * The models could be added while a listener is being added, when the storage provider starts concurrently with the
+ * other providers. Adding a model and a listener take the snapshot of the listeners and the models under the lock, so
+ * every model is notified to every listener once, while the notifications run outside the lock. A listener not
+ * supporting {@link CreatingListener#isConcurrent() concurrent} notifications is notified one model at a time.
  */
 @Slf4j
 public class StorageModels implements IModelManager, ModelCreator, ModelManipulator {
     private final List<Model> models;
     private final HashMap<String, String> columnNameOverrideRule;
     private final List<CreatingListener> listeners;
+    /**
+     * The max number of threads notifying the existing models to a concurrent listener.
+     */
+    @Setter
+    private int creatingThreads = 1;
 
     public StorageModels() {
-        this.models = new ArrayList<>();
+        this.models = new CopyOnWriteArrayList<>();
         this.columnNameOverrideRule = new HashMap<>();
         this.listeners = new ArrayList<>();
     }
@@ -72,11 +89,15 @@ public class StorageModels implements IModelManager, ModelCreator, ModelManipula
             storage.isTimeRelativeID()
         );
 
-        this.followColumnNameRules(model);
-        models.add(model);
+        final List<CreatingListener> notifiedListeners;
+        synchronized (this) {
+            this.followColumnNameRules(model);
+            models.add(model);
+            notifiedListeners = new ArrayList<>(listeners);
+        }
 
-        for (final CreatingListener listener : listeners) {
-            listener.whenCreating(model);
+        for (final CreatingListener listener : notifiedListeners) {
+            notify(listener, model);
         }
         return model;
     }
@@ -91,9 +112,65 @@ public class StorageModels implements IModelManager, ModelCreator, ModelManipula
      */
     @Override
     public void addModelListener(final CreatingListener listener) throws StorageException {
-        listeners.add(listener);
-        for (Model model : models) {
+        final List<Model> existingModels;
+        synchronized (this) {
+            listeners.add(listener);
+            existingModels = new ArrayList<>(models);
+        }
+        final long startTime = System.currentTimeMillis();
+        if (creatingThreads > 1 && listener.isConcurrent() && existingModels.size() > 1) {
+            notifyConcurrently(listener, existingModels);
+        } else {
+            for (Model model : existingModels) {
+                notify(listener, model);
+            }
+        }
+        log.info("{} models are notified to {} in {} ms.",
+                 existingModels.size(), listener.getClass().getSimpleName(), System.currentTimeMillis() - startTime
+        );
+    }
+
+    private static void notify(final CreatingListener listener, final Model model) throws StorageException {
+        if (listener.isConcurrent()) {
             listener.whenCreating(model);
+            return;
+        }
+        synchronized (listener) {
+            listener.whenCreating(model);
+        }
+    }
+
+    /**
+     * Notify the existing models on a bounded thread pool, and wait until all of them are done, so the models are ready
+     * when the listener is added, as the sequential way.
+     */
+    private void notifyConcurrently(final CreatingListener listener,
+                                    final List<Model> models) throws StorageException {
+        final ExecutorService executor = Executors.newFixedThreadPool(
+            Math.min(creatingThreads, models.size()),
+            new ThreadFactoryBuilder().setDaemon(true).setNameFormat("ModelCreatingListener-%d").build()
+        );
+        try {
+            final List<Future<?>> futures = new ArrayList<>(models.size());
+            for (final Model model : models) {
+                futures.add(executor.submit(() -> {
+                    listener.whenCreating(model);
+                    return null;
+                }));
+            }
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StorageException(e.getMessage(), e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof StorageException) {
+                throw (StorageException) e.getCause();
+            }
+            throw new StorageException(e.getCause().getMessage(), e.getCause());
+        } finally {
+            executor.shutdownNow();
         }
     }
 
@@ -208,7 +285,7 @@ public class StorageModels implements IModelManager, ModelCreator, ModelManipula
     }
 
     @Override
-    public void overrideColumnName(String columnName, String newName) {
+    public synchronized void overrideColumnName(String columnName, String newName) {
         columnNameOverrideRule.put(columnName, newName);
         models.forEach(this::followColumnNameRules);
         ValueColumnMetadata.INSTANCE.overrideColumnName(columnName, newName);
@@ -46,6 +46,19 @@ public interface ITraceQueryDAO extends Service {
 
     List<SegmentRecord> queryByTraceId(String traceId) throws IOException;
 
+    /**
+     * Query the segments of the trace in the given time range only. The storage could skip the indices or partitions
+     * out of the range. By default, the range is ignored and {@link #queryByTraceId(String)} is used.
+     *
+     * @param startSecondTB the earliest possible time bucket of the segments in second precision.
+     * @param endSecondTB   the latest possible time bucket of the segments in second precision.
+     */
+    default List<SegmentRecord> queryByTraceId(String traceId,
+                                               long startSecondTB,
+                                               long endSecondTB) throws IOException {
+        return queryByTraceId(traceId);
+    }
+
     /**
      * This method gives more flexible for 3rd trace without segment concept, which can't search data through {@link #queryByTraceId(String)}
      */
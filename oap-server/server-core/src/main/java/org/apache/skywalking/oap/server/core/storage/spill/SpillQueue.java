@@ -0,0 +1,349 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.storage.spill;
+
+import com.google.common.util.concurrent.RateLimiter;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.skywalking.oap.server.telemetry.api.CounterMetrics;
+import org.apache.skywalking.oap.server.telemetry.api.GaugeMetrics;
+import org.apache.skywalking.oap.server.telemetry.api.MetricsCreator;
+import org.apache.skywalking.oap.server.telemetry.api.MetricsTag;
+import org.apache.skywalking.oap.server.telemetry.none.MetricsCreatorNoop;
+
+/**
+ * SpillQueue is a local append-only queue of the storage requests which can't be written while the storage is
+ * unavailable. The requests are encoded by the storage implementation, kept in segment files under the spill directory,
+ * and replayed in the written order once the storage recovers.
+ *
+ * <p>A record is {@code [length(int)][timestamp(long)][crc32(int)][data]}. The replay is at least once, as a segment is
+ * replayed from its beginning after a restart, and the storage implementation should encode the requests idempotently.
+ * The replayed bytes are limited by the replay rate, so a recovering storage is not flooded by the backlog. The oldest
+ * segments are dropped when the directory exceeds the max size, and the records older than the max age are dropped
+ * instead of replayed.
+ */
+@Slf4j
+public class SpillQueue {
+    private static final String SEGMENT_SUFFIX = ".spill";
+    private static final int RECORD_HEADER_SIZE = 4 + 8 + 4;
+    private static final long MAX_SEGMENT_SIZE = 64 * 1024 * 1024;
+    private static final long REPLAY_PERIOD = TimeUnit.SECONDS.toMillis(5);
+    private static final long REPLAY_TIMEOUT = TimeUnit.MINUTES.toMillis(1);
+
+    /**
+     * Replayer writes one spilled record into the storage.
+     */
+    @FunctionalInterface
+    public interface Replayer {
+        /**
+         * @return a future completed exceptionally if the storage is still unavailable, the record will be replayed again
+         * in the next round.
+         */
+        CompletableFuture<Void> replay(byte[] record);
+    }
+
+    private final String name;
+    private final File directory;
+    private final long maxSize;
+    private final long maxAge;
+    private final long segmentSize;
+    private final RateLimiter replayRateLimiter;
+    private final Deque<Segment> segments = new ArrayDeque<>();
+    private long totalSize;
+    private long nextSegmentId;
+    private FileChannel writer;
+
+    private volatile Replayer replayer;
+    private ScheduledExecutorService replayScheduler;
+    private CounterMetrics spilledBytes = new MetricsCreatorNoop().createCounter("", "", null, null);
+    private CounterMetrics replayedBytes = spilledBytes;
+    private CounterMetrics droppedBytes = spilledBytes;
+    private GaugeMetrics pendingBytes = new MetricsCreatorNoop().createGauge("", "", null, null);
+
+    /**
+     * @param name                 the storage name, used as the tag of the spill metrics.
+     * @param maxSize              the max bytes of the spill directory.
+     * @param maxAge               the max age of the spilled records in milliseconds.
+     * @param replayBytesPerSecond the max bytes replayed into the storage per second.
+     */
+    public SpillQueue(String name, String directory, long maxSize, long maxAge, long replayBytesPerSecond) {
+        this.name = name;
+        this.directory = new File(directory);
+        this.maxSize = maxSize;
+        this.maxAge = maxAge;
+        this.segmentSize = Math.max(1, Math.min(MAX_SEGMENT_SIZE, maxSize / 8));
+        this.replayRateLimiter = RateLimiter.create(replayBytesPerSecond);
+    }
+
+    /**
+     * Load the segments left by the last run and start replaying them.
+     */
+    public synchronized void start(MetricsCreator metricsCreator, Replayer replayer) throws IOException {
+        final MetricsTag.Keys keys = new MetricsTag.Keys("storage");
+        final MetricsTag.Values values = new MetricsTag.Values(name);
+        spilledBytes = metricsCreator.createCounter(
+            "storage_spill_bytes", "The bytes of the requests spilled to the local disk", keys, values);
+        replayedBytes = metricsCreator.createCounter(
+            "storage_spill_replayed_bytes", "The bytes of the spilled requests replayed into the storage", keys, values);
+        droppedBytes = metricsCreator.createCounter(
+            "storage_spill_dropped_bytes", "The bytes of the spilled requests dropped by the size or age limit", keys,
+            values
+        );
+        pendingBytes = metricsCreator.createGauge(
+            "storage_spill_pending_bytes", "The bytes of the spilled requests waiting for replay", keys, values);
+
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Can't create the spill directory " + directory.getAbsolutePath());
+        }
+        final File[] files = directory.listFiles((dir, fileName) -> fileName.endsWith(SEGMENT_SUFFIX));
+        if (files != null) {
+            Arrays.sort(files);
+            for (final File file : files) {
+                final long id = Long.parseLong(file.getName().substring(0, file.getName().length() - SEGMENT_SUFFIX.length()));
+                segments.add(new Segment(file));
+                totalSize += file.length();
+                nextSegmentId = id + 1;
+            }
+        }
+        if (!segments.isEmpty()) {
+            log.info("Found {} bytes of the spilled {} requests, replay them.", totalSize, name);
+        }
+        pendingBytes.setValue(totalSize);
+
+        this.replayer = replayer;
+        replayScheduler = Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder().setDaemon(true).setNameFormat("SpillQueueReplay-" + name + "-%d").build());
+        replayScheduler.scheduleWithFixedDelay(this::replay, REPLAY_PERIOD, REPLAY_PERIOD, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Append a record to the queue. The oldest segments are dropped to make room for it if the queue is full.
+     *
+     * @return false if the record can't be spilled.
+     */
+    public synchronized boolean offer(byte[] record) {
+        final int recordSize = RECORD_HEADER_SIZE + record.length;
+        if (recordSize > maxSize) {
+            droppedBytes.inc(recordSize);
+            return false;
+        }
+        try {
+            while (totalSize + recordSize > maxSize && !segments.isEmpty()) {
+                final Segment oldest = segments.peekFirst();
+                log.warn("The spill directory of {} is full, drop the oldest segment {}.", name, oldest.file);
+                droppedBytes.inc(oldest.size);
+                drop(oldest);
+            }
+            if (writer == null || writer.size() + recordSize > segmentSize) {
+                roll();
+            }
+            final CRC32 crc = new CRC32();
+            crc.update(record);
+            final ByteBuffer buffer = ByteBuffer.allocate(recordSize);
+            buffer.putInt(record.length).putLong(System.currentTimeMillis()).putInt((int) crc.getValue()).put(record);
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                writer.write(buffer);
+            }
+            totalSize += recordSize;
+            segments.peekLast().size += recordSize;
+        } catch (IOException e) {
+            log.error("Failed to spill the {} requests to {}.", name, directory, e);
+            droppedBytes.inc(recordSize);
+            return false;
+        }
+        spilledBytes.inc(recordSize);
+        pendingBytes.setValue(totalSize);
+        return true;
+    }
+
+    public synchronized boolean isEmpty() {
+        return segments.isEmpty();
+    }
+
+    /**
+     * Replay the segments from the oldest one, until the queue is empty or the storage fails again.
+     */
+    void replay() {
+        try {
+            Segment segment;
+            while ((segment = sealOldest()) != null) {
+                if (!replay(segment)) {
+                    return;
+                }
+                synchronized (this) {
+                    if (!segment.dropped) {
+                        // the expired or truncated records
+                        droppedBytes.inc(segment.size);
+                        drop(segment);
+                    }
+                }
+            }
+        } catch (Throwable t) {
+            log.error("Failed to replay the spilled {} requests.", name, t);
+        }
+    }
+
+    private boolean replay(Segment segment) throws IOException {
+        final long expiredTime = System.currentTimeMillis() - maxAge;
+        if (segment.file.lastModified() < expiredTime) {
+            log.warn("The spilled {} requests in {} are expired, drop them.", name, segment.file);
+            return true;
+        }
+        try (FileChannel reader = FileChannel.open(segment.file.toPath(), StandardOpenOption.READ)) {
+            reader.position(segment.replayedOffset);
+            final ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+            while (!segment.dropped) {
+                header.clear();
+                if (!readFully(reader, header)) {
+                    return true;
+                }
+                header.flip();
+                final int length = header.getInt();
+                final long timestamp = header.getLong();
+                final int checksum = header.getInt();
+                final ByteBuffer data = length < 0 || length > segment.file.length() ? null : ByteBuffer.allocate(length);
+                if (data == null || !readFully(reader, data) || checksum != checksum(data.array())) {
+                    // The last record is not completely written before the OAP stops.
+                    log.warn("The spilled {} requests in {} are truncated at {}.", name, segment.file, reader.position());
+                    return true;
+                }
+                if (timestamp >= expiredTime) {
+                    replayRateLimiter.acquire(Math.max(1, length));
+                    try {
+                        replayer.replay(data.array()).get(REPLAY_TIMEOUT, TimeUnit.MILLISECONDS);
+                    } catch (Exception e) {
+                        if (log.isDebugEnabled()) {
+                            log.debug("The {} storage is still unavailable, replay it later.", name, e);
+                        }
+                        return false;
+                    }
+                    replayedBytes.inc(RECORD_HEADER_SIZE + length);
+                } else {
+                    droppedBytes.inc(RECORD_HEADER_SIZE + length);
+                }
+                segment.replayedOffset = reader.position();
+                synchronized (this) {
+                    if (!segment.dropped) {
+                        totalSize -= RECORD_HEADER_SIZE + length;
+                        segment.size -= RECORD_HEADER_SIZE + length;
+                        pendingBytes.setValue(totalSize);
+                    }
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * @return the oldest segment, which is sealed so no record is appended during the replay.
+     */
+    private synchronized Segment sealOldest() throws IOException {
+        final Segment oldest = segments.peekFirst();
+        if (oldest != null && oldest == segments.peekLast() && writer != null) {
+            writer.close();
+            writer = null;
+        }
+        return oldest;
+    }
+
+    private void roll() throws IOException {
+        if (writer != null) {
+            writer.close();
+        }
+        final File file = new File(directory, String.format("%020d%s", nextSegmentId, SEGMENT_SUFFIX));
+        nextSegmentId++;
+        segments.add(new Segment(file));
+        writer = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                  StandardOpenOption.APPEND
+        );
+    }
+
+    private void drop(Segment segment) throws IOException {
+        if (segment.dropped) {
+            return;
+        }
+        if (segment == segments.peekLast() && writer != null) {
+            writer.close();
+            writer = null;
+        }
+        segment.dropped = true;
+        segments.remove(segment);
+        totalSize -= segment.size;
+        pendingBytes.setValue(totalSize);
+        if (!segment.file.delete() && segment.file.exists()) {
+            log.warn("Failed to delete the spill segment {}.", segment.file);
+        }
+    }
+
+    private static boolean readFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int checksum(byte[] data) {
+        final CRC32 crc = new CRC32();
+        crc.update(data);
+        return (int) crc.getValue();
+    }
+
+    public synchronized void shutdown() {
+        if (replayScheduler != null) {
+            replayScheduler.shutdownNow();
+        }
+        try {
+            if (writer != null) {
+                writer.close();
+                writer = null;
+            }
+        } catch (IOException e) {
+            log.error(e.getMessage(), e);
+        }
+    }
+
+    private static class Segment {
+        private final File file;
+        // the bytes not replayed yet
+        private long size;
+        private long replayedOffset;
+        private volatile boolean dropped;
+
+        private Segment(File file) {
+            this.file = file;
+            this.size = file.length();
+        }
+    }
+}
@@ -18,10 +18,20 @@
 
 package org.apache.skywalking.oap.server.core.storage.ttl;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.skywalking.oap.server.library.util.RunnableWithExceptionProtection;
 import org.apache.skywalking.oap.server.core.CoreModule;
@@ -36,6 +46,11 @@ import org.apache.skywalking.oap.server.core.storage.model.IModelManager;
 import org.apache.skywalking.oap.server.core.storage.model.Model;
 import org.apache.skywalking.oap.server.library.module.ModuleManager;
 import org.apache.skywalking.oap.server.library.util.CollectionUtils;
+import org.apache.skywalking.oap.server.telemetry.TelemetryModule;
+import org.apache.skywalking.oap.server.telemetry.api.CounterMetrics;
+import org.apache.skywalking.oap.server.telemetry.api.HistogramMetrics;
+import org.apache.skywalking.oap.server.telemetry.api.MetricsCreator;
+import org.apache.skywalking.oap.server.telemetry.api.MetricsTag;
 
 /**
  * TTL = Time To Live
@@ -52,11 +67,21 @@ public enum DataTTLKeeperTimer {
     private ModuleManager moduleManager;
     private ClusterNodesQuery clusterNodesQuery;
     private CoreModuleConfig moduleConfig;
+    private MetricsCreator metricsCreator;
+    private ExecutorService deleteExecutor;
+    private final Map<String, DeleteMetrics> metricsOfModels = new ConcurrentHashMap<>();
 
     public void start(ModuleManager moduleManager, CoreModuleConfig moduleConfig) {
         this.moduleManager = moduleManager;
         this.clusterNodesQuery = moduleManager.find(ClusterModule.NAME).provider().getService(ClusterNodesQuery.class);
         this.moduleConfig = moduleConfig;
+        this.metricsCreator = moduleManager.find(TelemetryModule.NAME)
+                                           .provider()
+                                           .getService(MetricsCreator.class);
+        this.deleteExecutor = Executors.newFixedThreadPool(
+            Math.max(1, moduleConfig.getDataKeeperDeleteThreads()),
+            new ThreadFactoryBuilder().setDaemon(true).setNameFormat("DataTTLKeeper-%d").build()
+        );
 
         Executors.newSingleThreadScheduledExecutor()
                  .scheduleAtFixedRate(
@@ -68,31 +93,75 @@ public enum DataTTLKeeperTimer {
     }
 
     /**
-     * DataTTLKeeperTimer starts in every OAP node, but the deletion only work when it is as the first node in the OAP
-     * node list from {@link ClusterNodesQuery}.
+     * DataTTLKeeperTimer starts in every OAP node, the physical tables are sharded by the OAP node list from {@link
+     * ClusterNodesQuery}, and every node only removes the expired data of the tables in its own shard. The tables are
+     * removed in parallel, while the models sharing one table are removed one by one. A table may be skipped or removed
+     * twice in one round when the nodes see different node lists, that is fine as the deletion is idempotent and runs
+     * periodically.
      */
     private void delete() {
         IModelManager modelGetter = moduleManager.find(CoreModule.NAME).provider().getService(IModelManager.class);
         List<Model> models = modelGetter.allModels();
+        IHistoryDeleteDAO historyDeleteDAO = moduleManager.find(StorageModule.NAME)
+                                                          .provider()
+                                                          .getService(IHistoryDeleteDAO.class);
 
         try {
-            List<RemoteInstance> remoteInstances = clusterNodesQuery.queryRemoteNodes();
-            if (CollectionUtils.isNotEmpty(remoteInstances) && !remoteInstances.get(0).getAddress().isSelf()) {
-                log.info(
-                    "The selected first getAddress is {}. The remove stage is skipped.",
-                    remoteInstances.get(0).toString()
-                );
+            Map<String, List<Model>> shard = shardOf(
+                models, historyDeleteDAO::getTableName, clusterNodesQuery.queryRemoteNodes());
+            if (shard.isEmpty()) {
+                log.info("No table is assigned to the current node. The remove stage is skipped.");
                 return;
             }
 
-            log.info("Beginning to remove expired metrics from the storage.");
-            models.forEach(this::execute);
+            log.info("Beginning to remove expired data of {} tables from the storage.", shard.size());
+            CompletableFuture.allOf(
+                shard.values()
+                     .stream()
+                     .map(tableModels -> CompletableFuture.runAsync(
+                         () -> tableModels.forEach(this::execute), deleteExecutor))
+                     .toArray(CompletableFuture[]::new)
+            ).join();
         } finally {
             log.info("Beginning to inspect data boundaries.");
             this.inspect(models);
         }
     }
 
+    /**
+     * @param tableNameOf the function to get the name of the physical table holding the data of a model.
+     * @return the time series models that the current node is responsible to remove the expired data, grouped by the
+     * physical table names. The tables are assigned to the nodes by the hash of table name, all tables belong to the
+     * current node if it is not in the cluster node list.
+     */
+    static Map<String, List<Model>> shardOf(List<Model> models,
+                                            Function<Model, String> tableNameOf,
+                                            List<RemoteInstance> remoteInstances) {
+        int shards = 1;
+        int current = 0;
+        if (CollectionUtils.isNotEmpty(remoteInstances)) {
+            List<RemoteInstance> instances = new ArrayList<>(remoteInstances);
+            Collections.sort(instances);
+            for (int i = 0; i < instances.size(); i++) {
+                if (instances.get(i).getAddress().isSelf()) {
+                    shards = instances.size();
+                    current = i;
+                    break;
+                }
+            }
+        }
+        final int total = shards;
+        final int index = current;
+        return models.stream()
+                     .filter(Model::isTimeSeries)
+                     .collect(Collectors.groupingBy(tableNameOf, LinkedHashMap::new, Collectors.toList()))
+                     .entrySet()
+                     .stream()
+                     .filter(table -> Math.floorMod(table.getKey().hashCode(), total) == index)
+                     .collect(Collectors.toMap(
+                         Map.Entry::getKey, Map.Entry::getValue, (a, b) -> a, LinkedHashMap::new));
+    }
+
     private void execute(Model model) {
         try {
             if (!model.isTimeSeries()) {
@@ -105,18 +174,30 @@ public enum DataTTLKeeperTimer {
                     moduleConfig.getRecordDataTTL(),
                     moduleConfig.getMetricsDataTTL());
             }
-            moduleManager.find(StorageModule.NAME)
-                         .provider()
-                         .getService(IHistoryDeleteDAO.class)
-                         .deleteHistory(model, Metrics.TIME_BUCKET,
-                                        model.isRecord() ? moduleConfig.getRecordDataTTL() : moduleConfig.getMetricsDataTTL()
-                         );
-        } catch (IOException e) {
+            final DeleteMetrics metrics = metricsOf(model);
+            long removed;
+            try (HistogramMetrics.Timer ignored = metrics.latency.createTimer()) {
+                removed = moduleManager.find(StorageModule.NAME)
+                                       .provider()
+                                       .getService(IHistoryDeleteDAO.class)
+                                       .deleteHistory(model, Metrics.TIME_BUCKET,
+                                                      model.isRecord() ? moduleConfig.getRecordDataTTL() : moduleConfig.getMetricsDataTTL()
+                                       );
+            }
+            if (removed > 0) {
+                metrics.removedRows.inc(removed);
+            }
+        } catch (Throwable t) {
+            // Keep removing the other models of the same table.
             log.warn("History of {} delete failure", model.getName());
-            log.error(e.getMessage(), e);
+            log.error(t.getMessage(), t);
         }
     }
 
+    private DeleteMetrics metricsOf(Model model) {
+        return metricsOfModels.computeIfAbsent(model.getName(), name -> new DeleteMetrics(metricsCreator, name));
+    }
+
     private void inspect(List<Model> models) {
         try {
             moduleManager.find(StorageModule.NAME)
@@ -127,4 +208,18 @@ public enum DataTTLKeeperTimer {
             log.error(e.getMessage(), e);
         }
     }
+
+    private static class DeleteMetrics {
+        private final HistogramMetrics latency;
+        private final CounterMetrics removedRows;
+
+        private DeleteMetrics(MetricsCreator metricsCreator, String model) {
+            final MetricsTag.Keys keys = new MetricsTag.Keys("model");
+            final MetricsTag.Values values = new MetricsTag.Values(model);
+            latency = metricsCreator.createHistogramMetric(
+                "data_ttl_keeper_delete_latency", "The latency of removing the expired data of a model", keys, values);
+            removedRows = metricsCreator.createCounter(
+                "data_ttl_keeper_removed_rows", "The number of expired rows removed from a model", keys, values);
+        }
+    }
 }
@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.analysis.manual.endpoint;
+
+import java.util.Map;
+import org.apache.skywalking.oap.server.core.analysis.IDManager;
+import org.apache.skywalking.oap.server.core.analysis.metrics.HeavyHitters;
+import org.apache.skywalking.oap.server.core.storage.type.HashMapConverter;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class EndpointCallsTopNMetricsTest {
+    private static final String SERVICE_ID = IDManager.ServiceID.buildId("mock_service", true);
+
+    @Test
+    public void testSerialization() {
+        EndpointCallsTopNMetrics metrics = mockMetrics();
+
+        EndpointCallsTopNMetrics another = new EndpointCallsTopNMetrics();
+        another.deserialize(metrics.serialize().build());
+
+        Assert.assertEquals(metrics, another);
+        Assert.assertEquals(metrics.getValue().topN(2), another.getValue().topN(2));
+    }
+
+    @Test
+    public void testPersistence() {
+        EndpointCallsTopNMetrics metrics = mockMetrics();
+
+        final EndpointCallsTopNMetrics.Builder builder = new EndpointCallsTopNMetrics.Builder();
+        final HashMapConverter.ToStorage toStorage = new HashMapConverter.ToStorage();
+        builder.entity2Storage(metrics, toStorage);
+        final Map<String, Object> map = toStorage.obtain();
+        map.put(
+            EndpointCallsTopNMetrics.VALUE, ((HeavyHitters) map.get(EndpointCallsTopNMetrics.VALUE)).toStorageData());
+        final EndpointCallsTopNMetrics another = builder.storage2Entity(new HashMapConverter.ToEntity(map));
+
+        Assert.assertEquals(metrics, another);
+        Assert.assertEquals(metrics.getValue().topN(2), another.getValue().topN(2));
+    }
+
+    @Test
+    public void testCombineAndDownsampling() {
+        EndpointCallsTopNMetrics metrics = mockMetrics();
+        metrics.combine(mockMetrics());
+
+        EndpointCallsTopNMetrics hour = (EndpointCallsTopNMetrics) metrics.toHour();
+        hour.combine(mockMetrics());
+
+        Assert.assertEquals(202003281400L / 100, hour.getTimeBucket());
+        Assert.assertEquals(6L, hour.getValue().get(endpointId("/a")).longValue());
+        Assert.assertEquals(3L, hour.getValue().get(endpointId("/b")).longValue());
+        // The minute metrics is not changed by the hour one.
+        Assert.assertEquals(4L, metrics.getValue().get(endpointId("/a")).longValue());
+    }
+
+    private static EndpointCallsTopNMetrics mockMetrics() {
+        EndpointCallsTopNMetrics metrics = new EndpointCallsTopNMetrics();
+        metrics.setTimeBucket(202003281420L);
+        metrics.setEntityId(SERVICE_ID);
+        metrics.getValue().add(endpointId("/a"), 2);
+        metrics.getValue().add(endpointId("/b"), 1);
+        return metrics;
+    }
+
+    private static String endpointId(String name) {
+        return IDManager.EndpointID.buildId(SERVICE_ID, name);
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.analysis.meter.function;
+
+import java.util.Map;
+import org.apache.skywalking.oap.server.core.analysis.Layer;
+import org.apache.skywalking.oap.server.core.analysis.meter.MeterEntity;
+import org.apache.skywalking.oap.server.core.analysis.metrics.HyperLogLog;
+import org.apache.skywalking.oap.server.core.config.NamingControl;
+import org.apache.skywalking.oap.server.core.config.group.EndpointNameGrouping;
+import org.apache.skywalking.oap.server.core.storage.type.HashMapConverter;
+import org.apache.skywalking.oap.server.core.storage.type.StorageBuilder;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class DistinctCountFunctionTest {
+
+    @BeforeClass
+    public static void setup() {
+        MeterEntity.setNamingControl(
+            new NamingControl(512, 512, 512, new EndpointNameGrouping()));
+    }
+
+    @AfterClass
+    public static void tearDown() {
+        MeterEntity.setNamingControl(null);
+    }
+
+    @Test
+    public void testAcceptAndCombine() {
+        DistinctCountFunctionInst inst = new DistinctCountFunctionInst();
+        inst.accept(MeterEntity.newService("service-test", Layer.GENERAL), clients(0, 10));
+        inst.accept(MeterEntity.newService("service-test", Layer.GENERAL), clients(5, 15));
+
+        DistinctCountFunctionInst inst2 = new DistinctCountFunctionInst();
+        inst2.accept(MeterEntity.newService("service-test", Layer.GENERAL), clients(10, 20));
+
+        inst.combine(inst2);
+        inst.calculate();
+        // The clients accepted several times are counted once.
+        Assert.assertEquals(20, inst.getValue());
+    }
+
+    @Test
+    public void testDownsampling() {
+        DistinctCountFunctionInst inst = new DistinctCountFunctionInst();
+        inst.accept(MeterEntity.newService("service-test", Layer.GENERAL), clients(0, 10));
+        inst.setTimeBucket(202207041230L);
+        inst.calculate();
+
+        DistinctCountFunctionInst hour = (DistinctCountFunctionInst) inst.toHour();
+        hour.accept(MeterEntity.newService("service-test", Layer.GENERAL), clients(5, 12));
+        hour.calculate();
+
+        Assert.assertEquals(202207041200L / 100, hour.getTimeBucket());
+        Assert.assertEquals(12, hour.getValue());
+        // The minute metrics is not changed by the hour one.
+        inst.calculate();
+        Assert.assertEquals(10, inst.getValue());
+    }
+
+    @Test
+    public void testSerialize() {
+        DistinctCountFunctionInst inst = new DistinctCountFunctionInst();
+        inst.accept(MeterEntity.newService("service-test", Layer.GENERAL), clients(0, 30));
+        inst.calculate();
+
+        DistinctCountFunctionInst inst2 = new DistinctCountFunctionInst();
+        inst2.deserialize(inst.serialize().build());
+
+        Assert.assertEquals(inst, inst2);
+        Assert.assertEquals(inst.getServiceId(), inst2.getServiceId());
+        Assert.assertEquals(inst.getHll().toStorageData(), inst2.getHll().toStorageData());
+        inst2.calculate();
+        Assert.assertEquals(inst.getValue(), inst2.getValue());
+    }
+
+    @Test
+    public void testBuilder() throws IllegalAccessException, InstantiationException {
+        DistinctCountFunctionInst inst = new DistinctCountFunctionInst();
+        inst.accept(MeterEntity.newService("service-test", Layer.GENERAL), clients(0, 30));
+        inst.calculate();
+
+        final StorageBuilder storageBuilder = inst.builder().newInstance();
+
+        final HashMapConverter.ToStorage toStorage = new HashMapConverter.ToStorage();
+        storageBuilder.entity2Storage(inst, toStorage);
+        final Map<String, Object> map = toStorage.obtain();
+        map.put(DistinctCountFunction.HLL, ((HyperLogLog) map.get(DistinctCountFunction.HLL)).toStorageData());
+
+        final DistinctCountFunction inst2 = (DistinctCountFunction) storageBuilder.storage2Entity(
+            new HashMapConverter.ToEntity(map));
+        Assert.assertEquals(inst, inst2);
+        Assert.assertEquals(inst.getValue(), inst2.getValue());
+        Assert.assertEquals(inst.getHll().toStorageData(), inst2.getHll().toStorageData());
+    }
+
+    private static HyperLogLog clients(int from, int to) {
+        final HyperLogLog hll = new HyperLogLog();
+        for (int i = from; i < to; i++) {
+            hll.add("10.0.0." + i);
+        }
+        return hll;
+    }
+
+    private static class DistinctCountFunctionInst extends DistinctCountFunction {
+        @Override
+        public AcceptableValue<HyperLogLog> createNew() {
+            return new DistinctCountFunctionInst();
+        }
+    }
+}
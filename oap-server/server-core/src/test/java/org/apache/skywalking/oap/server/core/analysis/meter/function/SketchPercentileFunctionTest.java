@@ -0,0 +1,185 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.analysis.meter.function;
+
+import java.util.Map;
+import org.apache.skywalking.oap.server.core.analysis.Layer;
+import org.apache.skywalking.oap.server.core.analysis.meter.MeterEntity;
+import org.apache.skywalking.oap.server.core.analysis.metrics.DataTable;
+import org.apache.skywalking.oap.server.core.analysis.metrics.IntList;
+import org.apache.skywalking.oap.server.core.analysis.metrics.QuantileSketch;
+import org.apache.skywalking.oap.server.core.config.NamingControl;
+import org.apache.skywalking.oap.server.core.config.group.EndpointNameGrouping;
+import org.apache.skywalking.oap.server.core.storage.type.HashMapConverter;
+import org.apache.skywalking.oap.server.core.storage.type.StorageBuilder;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class SketchPercentileFunctionTest {
+    private static final long[] BUCKETS = new long[] {
+        0,
+        50,
+        100,
+        250
+    };
+
+    private static final long[] BUCKETS_2ND = new long[] {
+        0,
+        51,
+        100,
+        250
+    };
+
+    private static final int[] RANKS = new int[] {
+        50,
+        90
+    };
+
+    @BeforeClass
+    public static void setup() {
+        MeterEntity.setNamingControl(
+            new NamingControl(512, 512, 512, new EndpointNameGrouping()));
+    }
+
+    @AfterClass
+    public static void tearDown() {
+        MeterEntity.setNamingControl(null);
+    }
+
+    @Test
+    public void testFunction() {
+        SketchPercentileFunctionInst inst = new SketchPercentileFunctionInst();
+        inst.accept(MeterEntity.newService("service-test", Layer.GENERAL), argument(BUCKETS));
+        inst.accept(MeterEntity.newService("service-test", Layer.GENERAL), argument(BUCKETS));
+
+        inst.calculate();
+        /**
+         * Expected sketch, the values are within 1% of the buckets
+         * <pre>
+         *     0  , 20
+         *     50 , 40
+         *     100, 60 <- P50
+         *     250, 80 <- P90
+         * </pre>
+         */
+        assertWithinAccuracy(new int[] {
+            100,
+            250
+        }, inst.getValues());
+    }
+
+    @Test
+    public void testCombineDifferentBuckets() {
+        SketchPercentileFunctionInst inst = new SketchPercentileFunctionInst();
+        inst.accept(MeterEntity.newService("service-test", Layer.GENERAL), argument(BUCKETS));
+        SketchPercentileFunctionInst inst2 = new SketchPercentileFunctionInst();
+        inst2.accept(MeterEntity.newService("service-test", Layer.GENERAL), argument(BUCKETS_2ND));
+
+        inst.combine(inst2);
+        inst.calculate();
+
+        Assert.assertEquals(200, inst.getSketch().count());
+        assertWithinAccuracy(new int[] {
+            100,
+            250
+        }, inst.getValues());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIncompatibleRanks() {
+        SketchPercentileFunctionInst inst = new SketchPercentileFunctionInst();
+        inst.accept(MeterEntity.newService("service-test", Layer.GENERAL), argument(BUCKETS));
+        inst.accept(
+            MeterEntity.newService("service-test", Layer.GENERAL),
+            new PercentileArgument(new BucketedValues(BUCKETS, new long[] {1, 2, 3, 4}), new int[] {99})
+        );
+    }
+
+    @Test
+    public void testSerialization() {
+        SketchPercentileFunctionInst inst = new SketchPercentileFunctionInst();
+        inst.accept(MeterEntity.newService("service-test", Layer.GENERAL), argument(BUCKETS));
+
+        SketchPercentileFunctionInst inst2 = new SketchPercentileFunctionInst();
+        inst2.deserialize(inst.serialize().build());
+
+        Assert.assertEquals(inst, inst2);
+        Assert.assertEquals(inst.getSketch().toStorageData(), inst2.getSketch().toStorageData());
+        Assert.assertEquals(inst.getRanks(), inst2.getRanks());
+        Assert.assertEquals(0, inst2.getPercentileValues().size());
+    }
+
+    @Test
+    public void testBuilder() throws IllegalAccessException, InstantiationException {
+        SketchPercentileFunctionInst inst = new SketchPercentileFunctionInst();
+        inst.accept(MeterEntity.newService("service-test", Layer.GENERAL), argument(BUCKETS));
+        inst.calculate();
+
+        final StorageBuilder storageBuilder = inst.builder().newInstance();
+
+        // Simulate the storage layer do, convert the complex objects to string.
+        final HashMapConverter.ToStorage hashMapConverter = new HashMapConverter.ToStorage();
+        storageBuilder.entity2Storage(inst, hashMapConverter);
+        final Map<String, Object> map = hashMapConverter.obtain();
+        map.put(
+            SketchPercentileFunction.SKETCH,
+            ((QuantileSketch) map.get(SketchPercentileFunction.SKETCH)).toStorageData()
+        );
+        map.put(SketchPercentileFunction.VALUE, ((DataTable) map.get(SketchPercentileFunction.VALUE)).toStorageData());
+        map.put(SketchPercentileFunction.RANKS, ((IntList) map.get(SketchPercentileFunction.RANKS)).toStorageData());
+
+        final SketchPercentileFunction inst2 = (SketchPercentileFunction) storageBuilder.storage2Entity(
+            new HashMapConverter.ToEntity(map));
+        Assert.assertEquals(inst, inst2);
+        Assert.assertEquals(inst.getSketch().toStorageData(), inst2.getSketch().toStorageData());
+        Assert.assertEquals(inst.getPercentileValues(), inst2.getPercentileValues());
+        Assert.assertEquals(inst.getRanks(), inst2.getRanks());
+    }
+
+    private static void assertWithinAccuracy(int[] expected, int[] values) {
+        Assert.assertEquals(expected.length, values.length);
+        for (int i = 0; i < expected.length; i++) {
+            Assert.assertEquals(expected[i], values[i], expected[i] * QuantileSketch.RELATIVE_ACCURACY);
+        }
+    }
+
+    private static PercentileArgument argument(long[] buckets) {
+        return new PercentileArgument(
+            new BucketedValues(
+                buckets,
+                new long[] {
+                    10,
+                    20,
+                    30,
+                    40
+                }
+            ),
+            RANKS
+        );
+    }
+
+    private static class SketchPercentileFunctionInst extends SketchPercentileFunction {
+        @Override
+        public AcceptableValue<PercentileArgument> createNew() {
+            return new SketchPercentileFunctionInst();
+        }
+    }
+}
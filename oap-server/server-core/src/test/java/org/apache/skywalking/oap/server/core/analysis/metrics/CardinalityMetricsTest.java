@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.analysis.metrics;
+
+import org.apache.skywalking.oap.server.core.remote.grpc.proto.RemoteData;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CardinalityMetricsTest {
+
+    @Test
+    public void testCalculate() {
+        CardinalityMetricsMocker metricsMocker = new CardinalityMetricsMocker();
+        for (int i = 0; i < 100; i++) {
+            metricsMocker.combine("instance-" + (i % 20));
+        }
+
+        metricsMocker.calculate();
+
+        Assert.assertEquals(20, metricsMocker.getValue());
+    }
+
+    @Test
+    public void testCombine() {
+        CardinalityMetricsMocker metrics1 = new CardinalityMetricsMocker();
+        CardinalityMetricsMocker metrics2 = new CardinalityMetricsMocker();
+        for (int i = 0; i < 10; i++) {
+            metrics1.combine("instance-" + i);
+            metrics2.combine("instance-" + (i + 5));
+        }
+
+        metrics1.combine(metrics2);
+        metrics1.calculate();
+
+        // The overlapped instances are counted once.
+        Assert.assertEquals(15, metrics1.getValue());
+    }
+
+    @Test
+    public void testStorageData() {
+        CardinalityMetricsMocker metricsMocker = new CardinalityMetricsMocker();
+        for (int i = 0; i < 30; i++) {
+            metricsMocker.combine("instance-" + i);
+        }
+
+        CardinalityMetricsMocker copy = new CardinalityMetricsMocker();
+        copy.setHll(new HyperLogLog(metricsMocker.getHll().toStorageData()));
+        copy.calculate();
+
+        Assert.assertEquals(30, copy.getValue());
+    }
+
+    public class CardinalityMetricsMocker extends CardinalityMetrics {
+
+        @Override
+        protected String id0() {
+            return null;
+        }
+
+        @Override
+        public Metrics toHour() {
+            return null;
+        }
+
+        @Override
+        public Metrics toDay() {
+            return null;
+        }
+
+        @Override
+        public int remoteHashCode() {
+            return 0;
+        }
+
+        @Override
+        public void deserialize(RemoteData remoteData) {
+
+        }
+
+        @Override
+        public RemoteData.Builder serialize() {
+            return null;
+        }
+    }
+}
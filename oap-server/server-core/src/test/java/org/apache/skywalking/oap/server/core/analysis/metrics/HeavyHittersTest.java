@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.analysis.metrics;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class HeavyHittersTest {
+
+    @Test
+    public void testSpaceSaving() {
+        final int keys = 10_000;
+        final int total = 200_000;
+        final long[] real = new long[keys];
+        final HeavyHitters heavyHitters = new HeavyHitters(50);
+        final Random random = new Random(7);
+        for (int i = 0; i < total; i++) {
+            // Zipf like distribution, a few keys take most of the counts.
+            final int key = (int) Math.min(keys - 1, Math.floor(Math.exp(random.nextDouble() * Math.log(keys))) - 1);
+            real[key]++;
+            heavyHitters.add("endpoint-" + key, 1);
+        }
+
+        Assert.assertEquals(50, heavyHitters.size());
+        final long maxError = total / 50;
+        for (int key = 0; key < keys; key++) {
+            final Long count = heavyHitters.get("endpoint-" + key);
+            if (real[key] > maxError) {
+                Assert.assertNotNull("endpoint-" + key + " should be kept", count);
+            }
+            if (count != null) {
+                Assert.assertTrue(count >= real[key]);
+                Assert.assertTrue(count - real[key] <= maxError);
+            }
+        }
+        final List<Map.Entry<String, Long>> top = heavyHitters.topN(3);
+        Assert.assertEquals("endpoint-0", top.get(0).getKey());
+        Assert.assertEquals("endpoint-1", top.get(1).getKey());
+        Assert.assertEquals("endpoint-2", top.get(2).getKey());
+    }
+
+    @Test
+    public void testMerge() {
+        final HeavyHitters node1 = new HeavyHitters(3);
+        node1.add("a", 100);
+        node1.add("b", 50);
+        node1.add("c", 10);
+        final HeavyHitters node2 = new HeavyHitters(3);
+        node2.add("b", 80);
+        node2.add("d", 40);
+        node2.add("e", 5);
+
+        node1.merge(node2);
+
+        Assert.assertEquals(3, node1.size());
+        final List<Map.Entry<String, Long>> top = node1.topN(3);
+        Assert.assertEquals("b", top.get(0).getKey());
+        Assert.assertEquals(130L, top.get(0).getValue().longValue());
+        Assert.assertEquals("a", top.get(1).getKey());
+        Assert.assertEquals("d", top.get(2).getKey());
+    }
+
+    @Test
+    public void testMergeEvictedKey() {
+        // Real counts: a = 10, b = 4 + 6, c = 1, d = 1.
+        final HeavyHitters node1 = new HeavyHitters(2);
+        node1.add("a", 10);
+        node1.add("b", 4);
+        // b is evicted on node1, c inherits its count.
+        node1.add("c", 1);
+        Assert.assertNull(node1.get("b"));
+        final HeavyHitters node2 = new HeavyHitters(2);
+        node2.add("b", 6);
+        node2.add("d", 1);
+
+        node1.merge(node2);
+
+        Assert.assertEquals(2, node1.size());
+        Assert.assertTrue(node1.get("a") >= 10);
+        Assert.assertTrue(node1.get("b") >= 10);
+        Assert.assertEquals(11L, node1.get("b").longValue());
+    }
+
+    @Test
+    public void testStorageData() {
+        final HeavyHitters heavyHitters = new HeavyHitters();
+        heavyHitters.add("YS4x_L2E=", 3);
+        heavyHitters.add("YS4x_L2I=", 7);
+
+        final String data = heavyHitters.toStorageData();
+        final HeavyHitters copy = new HeavyHitters(data);
+        Assert.assertEquals(heavyHitters.topN(2), copy.topN(2));
+
+        // The storage data could be read as a labeled value.
+        final DataTable dataTable = new DataTable(data);
+        Assert.assertEquals(3L, dataTable.get("YS4x_L2E=").longValue());
+        Assert.assertEquals(7L, dataTable.get("YS4x_L2I=").longValue());
+
+        Assert.assertEquals(0, new HeavyHitters("").size());
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.analysis.metrics;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class HyperLogLogTest {
+    /**
+     * 3 times of the standard error, 1.04 / sqrt(4096).
+     */
+    private static final double ERROR_BOUND = 3 * 1.04 / Math.sqrt(HyperLogLog.REGISTER_COUNT);
+
+    @Test
+    public void testErrorBound() {
+        final int[] cardinalities = {10, 300, 1_000, 20_000, 1_000_000};
+        for (final int cardinality : cardinalities) {
+            final HyperLogLog hll = new HyperLogLog();
+            for (int i = 0; i < cardinality; i++) {
+                hll.add("10.0." + (i >> 8) + "." + (i & 0xFF));
+                // Duplicated values are not counted again.
+                hll.add("10.0.0.0");
+            }
+            Assert.assertEquals(
+                "cardinality " + cardinality, cardinality, hll.estimate(), Math.max(1, cardinality * ERROR_BOUND));
+        }
+    }
+
+    @Test
+    public void testMerge() {
+        final HyperLogLog all = new HyperLogLog();
+        final HyperLogLog part1 = new HyperLogLog();
+        final HyperLogLog part2 = new HyperLogLog();
+        for (long i = 0; i < 50_000; i++) {
+            all.add(i);
+            // part1 stays sparse, part2 turns to dense.
+            (i < 100 ? part1 : part2).add(i);
+        }
+
+        final HyperLogLog merged = new HyperLogLog().merge(part1).merge(part2);
+        Assert.assertEquals(all.estimate(), merged.estimate());
+        Assert.assertEquals(all.toStorageData(), merged.toStorageData());
+        Assert.assertEquals(all.toStorageData(), new HyperLogLog().merge(part2).merge(part1).toStorageData());
+    }
+
+    @Test
+    public void testSerialization() {
+        final HyperLogLog sparse = new HyperLogLog();
+        for (int i = 0; i < 100; i++) {
+            sparse.add("instance-" + i);
+        }
+        final String sparseData = sparse.toStorageData();
+        final HyperLogLog sparseCopy = new HyperLogLog(sparseData);
+        Assert.assertEquals(sparse.estimate(), sparseCopy.estimate());
+        Assert.assertEquals(sparseData, sparseCopy.toStorageData());
+
+        final HyperLogLog dense = new HyperLogLog();
+        for (int i = 0; i < 100_000; i++) {
+            dense.add("instance-" + i);
+        }
+        final String denseData = dense.toStorageData();
+        final HyperLogLog denseCopy = new HyperLogLog(denseData);
+        Assert.assertEquals(dense.estimate(), denseCopy.estimate());
+        Assert.assertEquals(denseData, denseCopy.toStorageData());
+        Assert.assertTrue(sparseData.length() < denseData.length());
+    }
+
+    @Test
+    public void testEmpty() {
+        final HyperLogLog hll = new HyperLogLog("");
+        Assert.assertTrue(hll.isEmpty());
+        Assert.assertEquals("", hll.toStorageData());
+        Assert.assertEquals(0, hll.estimate());
+        hll.add((String) null);
+        Assert.assertTrue(hll.isEmpty());
+    }
+}
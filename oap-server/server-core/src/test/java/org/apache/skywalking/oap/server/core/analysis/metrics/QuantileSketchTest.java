@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.analysis.metrics;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class QuantileSketchTest {
+    private static final double[] QUANTILES = {0.5, 0.75, 0.9, 0.95, 0.99};
+
+    @Test
+    public void testRelativeAccuracy() {
+        final Random random = new Random(7);
+        final long[] values = new long[100_000];
+        final QuantileSketch sketch = new QuantileSketch();
+        for (int i = 0; i < values.length; i++) {
+            // Log-normal like latencies, from 1ms to minutes.
+            values[i] = (long) Math.exp(random.nextGaussian() * 2 + 5);
+            sketch.add(values[i]);
+        }
+        Arrays.sort(values);
+
+        final long[] estimated = sketch.quantiles(QUANTILES);
+        for (int i = 0; i < QUANTILES.length; i++) {
+            final long exact = values[(int) (QUANTILES[i] * (values.length - 1))];
+            Assert.assertEquals(exact, estimated[i], Math.max(1, exact * QuantileSketch.RELATIVE_ACCURACY));
+        }
+        Assert.assertEquals(values.length, sketch.count());
+    }
+
+    @Test
+    public void testMerge() {
+        final QuantileSketch all = new QuantileSketch();
+        final QuantileSketch part1 = new QuantileSketch();
+        final QuantileSketch part2 = new QuantileSketch();
+        for (long i = 0; i < 1000; i++) {
+            all.add(i);
+            (i % 2 == 0 ? part1 : part2).add(i);
+        }
+        // The merge is the same whatever the ranges of the two sketches are.
+        part2.add(Long.MAX_VALUE / 2);
+        all.add(Long.MAX_VALUE / 2);
+
+        final QuantileSketch merged = new QuantileSketch().merge(part1).merge(part2);
+        Assert.assertArrayEquals(all.quantiles(QUANTILES), merged.quantiles(QUANTILES));
+        Assert.assertEquals(all.toStorageData(), merged.toStorageData());
+    }
+
+    @Test
+    public void testSerialization() {
+        final QuantileSketch sketch = new QuantileSketch();
+        sketch.add(0, 3);
+        sketch.add(-5);
+        sketch.add(120, 10);
+        sketch.add(124);
+        sketch.add(60_000);
+
+        final QuantileSketch copy = new QuantileSketch(sketch.toStorageData());
+        Assert.assertEquals(sketch.count(), copy.count());
+        Assert.assertArrayEquals(sketch.quantiles(QUANTILES), copy.quantiles(QUANTILES));
+        Assert.assertEquals(sketch.toStorageData(), copy.toStorageData());
+        Assert.assertEquals(0, copy.quantile(0.2));
+        Assert.assertEquals(120, copy.quantile(0.5), 120 * QuantileSketch.RELATIVE_ACCURACY);
+    }
+
+    @Test
+    public void testEmpty() {
+        final QuantileSketch sketch = new QuantileSketch("");
+        Assert.assertEquals("", sketch.toStorageData());
+        Assert.assertArrayEquals(new long[QUANTILES.length], sketch.quantiles(QUANTILES));
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.analysis.metrics;
+
+import org.apache.skywalking.oap.server.core.remote.grpc.proto.RemoteData;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SketchPercentileMetricsTest {
+
+    @Test
+    public void testCalculate() {
+        SketchPercentileMetricsMocker metricsMocker = new SketchPercentileMetricsMocker();
+        for (int i = 1; i <= 100; i++) {
+            metricsMocker.combine(i * 10);
+        }
+
+        metricsMocker.calculate();
+
+        final int[] values = metricsMocker.getValues();
+        final int[] expected = {500, 750, 900, 950, 990};
+        for (int i = 0; i < expected.length; i++) {
+            Assert.assertEquals(expected[i], values[i], expected[i] * QuantileSketch.RELATIVE_ACCURACY);
+        }
+    }
+
+    @Test
+    public void testCombine() {
+        SketchPercentileMetricsMocker metrics1 = new SketchPercentileMetricsMocker();
+        SketchPercentileMetricsMocker metrics2 = new SketchPercentileMetricsMocker();
+        metrics1.combine(0);
+        metrics1.combine(0);
+        metrics1.combine(0);
+        metrics2.combine(1000);
+        metrics2.combine(1000);
+
+        metrics1.combine(metrics2);
+        metrics1.calculate();
+
+        Assert.assertEquals(0, metrics1.getValues()[0]);
+        Assert.assertEquals(1000, metrics1.getValues()[1], 10);
+        Assert.assertEquals(1000, metrics1.getValues()[4], 10);
+    }
+
+    public class SketchPercentileMetricsMocker extends SketchPercentileMetrics {
+
+        @Override
+        protected String id0() {
+            return null;
+        }
+
+        @Override
+        public Metrics toHour() {
+            return null;
+        }
+
+        @Override
+        public Metrics toDay() {
+            return null;
+        }
+
+        @Override
+        public int remoteHashCode() {
+            return 0;
+        }
+
+        @Override
+        public void deserialize(RemoteData remoteData) {
+
+        }
+
+        @Override
+        public RemoteData.Builder serialize() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.analysis.worker;
+
+import java.util.Collections;
+import org.apache.skywalking.oap.server.core.analysis.DownSampling;
+import org.apache.skywalking.oap.server.core.analysis.manual.segment.SegmentRecord;
+import org.apache.skywalking.oap.server.core.source.DefaultScopeDefine;
+import org.apache.skywalking.oap.server.core.storage.IBatchDAO;
+import org.apache.skywalking.oap.server.core.storage.IRecordDAO;
+import org.apache.skywalking.oap.server.core.storage.model.Model;
+import org.apache.skywalking.oap.server.library.client.request.InsertRequest;
+import org.apache.skywalking.oap.server.library.module.ModuleDefineHolder;
+import org.apache.skywalking.oap.server.library.module.ModuleProviderHolder;
+import org.apache.skywalking.oap.server.library.module.ModuleServiceHolder;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+public class RecordPersistentWorkerTest {
+    private final Model model = new Model(
+        SegmentRecord.INDEX_NAME, Collections.emptyList(), DefaultScopeDefine.SEGMENT, DownSampling.Second, true,
+        true, "", false
+    );
+
+    private ModuleDefineHolder moduleDefineHolder;
+    private IRecordDAO recordDAO;
+    private IBatchDAO batchDAO;
+
+    @Before
+    public void setup() throws Exception {
+        moduleDefineHolder = mock(ModuleDefineHolder.class);
+        ModuleServiceHolder moduleServiceHolder = mock(ModuleServiceHolder.class);
+        doReturn((ModuleProviderHolder) () -> moduleServiceHolder).when(moduleDefineHolder).find(anyString());
+        recordDAO = mock(IRecordDAO.class);
+        batchDAO = mock(IBatchDAO.class);
+        doReturn(batchDAO).when(moduleServiceHolder).getService(IBatchDAO.class);
+        doReturn(mock(InsertRequest.class)).when(recordDAO).prepareBatchInsert(any(), any());
+    }
+
+    @Test
+    public void testPersistInCallerThread() throws Exception {
+        final RecordPersistentWorker worker = new RecordPersistentWorker(moduleDefineHolder, model, recordDAO, 0);
+
+        worker.in(new SegmentRecord());
+
+        verify(recordDAO).prepareBatchInsert(any(), any());
+        verify(batchDAO).insert(any());
+    }
+
+    @Test
+    public void testPersistInConsumer() throws Exception {
+        final RecordPersistentWorker worker = new RecordPersistentWorker(moduleDefineHolder, model, recordDAO, 100);
+
+        for (int i = 0; i < 10; i++) {
+            worker.in(new SegmentRecord());
+        }
+
+        verify(recordDAO, timeout(5000).times(10)).prepareBatchInsert(any(), any());
+        verify(batchDAO, timeout(5000).times(10)).insert(any());
+    }
+}
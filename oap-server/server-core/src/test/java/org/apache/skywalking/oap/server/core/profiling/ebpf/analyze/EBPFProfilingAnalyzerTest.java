@@ -18,11 +18,24 @@
 
 package org.apache.skywalking.oap.server.core.profiling.ebpf.analyze;
 
+import org.apache.skywalking.apm.network.ebpf.profiling.v3.EBPFProfilingStackMetadata;
+import org.apache.skywalking.apm.network.ebpf.profiling.v3.EBPFProfilingStackType;
+import org.apache.skywalking.oap.server.core.profiling.ebpf.storage.EBPFProfilingDataRecord;
+import org.apache.skywalking.oap.server.core.query.type.EBPFProfilingAnalyzation;
+import org.apache.skywalking.oap.server.core.query.type.EBPFProfilingAnalyzeTimeRange;
+import org.apache.skywalking.oap.server.core.storage.profiling.ebpf.IEBPFProfilingDataDAO;
+import org.junit.Assert;
 import org.junit.Test;
 import org.yaml.snakeyaml.Yaml;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class EBPFProfilingAnalyzerTest {
 
@@ -39,6 +52,57 @@ public class EBPFProfilingAnalyzerTest {
         }
     }
 
+    @Test
+    public void testReuseCachedTimeSlices() throws IOException {
+        final AtomicInteger queryCount = new AtomicInteger();
+        final EBPFProfilingAnalyzer analyzer = new EBPFProfilingAnalyzer(null, 100, 2, 1000) {
+            @Override
+            protected IEBPFProfilingDataDAO getDataDAO() {
+                return (scheduleIdList, beginTime, endTime) -> {
+                    queryCount.incrementAndGet();
+                    return Collections.singletonList(record(beginTime, "A", "B"));
+                };
+            }
+        };
+        final long slice = TimeUnit.MINUTES.toMillis(2);
+        final long start = (System.currentTimeMillis() - TimeUnit.HOURS.toMillis(1)) / slice * slice;
+        final List<String> schedules = Arrays.asList("schedule1", "schedule2");
+
+        // two slices of two schedules
+        EBPFProfilingAnalyzation analyzation = analyzer.analyze(schedules, range(start, start + 2 * slice - 1));
+        Assert.assertEquals(4, queryCount.get());
+        Assert.assertEquals(1, analyzation.getTrees().size());
+        Assert.assertEquals(4, analyzation.getTrees().get(0).getElements().get(0).getDumpCount());
+
+        // the second slice is reused
+        analyzation = analyzer.analyze(schedules, range(start + slice, start + 3 * slice - 1));
+        Assert.assertEquals(6, queryCount.get());
+        Assert.assertEquals(4, analyzation.getTrees().get(0).getElements().get(0).getDumpCount());
+    }
+
+    private List<EBPFProfilingAnalyzeTimeRange> range(long start, long end) {
+        final EBPFProfilingAnalyzeTimeRange range = new EBPFProfilingAnalyzeTimeRange();
+        range.setStart(start);
+        range.setEnd(end);
+        return Collections.singletonList(range);
+    }
+
+    private EBPFProfilingDataRecord record(long uploadTime, String... symbols) throws IOException {
+        final EBPFProfilingDataRecord record = new EBPFProfilingDataRecord();
+        record.setUploadTime(uploadTime);
+        record.setStackDumpCount(1);
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final List<String> stack = Arrays.asList(symbols);
+        Collections.reverse(stack);
+        EBPFProfilingStackMetadata.newBuilder()
+                .setStackType(EBPFProfilingStackType.PROCESS_USER_SPACE)
+                .addAllStackSymbols(stack)
+                .build()
+                .writeDelimitedTo(output);
+        record.setStacksBinary(output.toByteArray());
+        return record;
+    }
+
     private <T> T loadYaml(String file, Class<T> cls) {
         InputStream expectedInputStream = Thread.currentThread().getContextClassLoader().getResourceAsStream(file);
         return new Yaml().loadAs(expectedInputStream, cls);
@@ -0,0 +1,59 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.profiling.trace.analyze;
+
+import java.util.Arrays;
+import java.util.List;
+import org.apache.skywalking.oap.server.core.query.type.ProfileStackElement;
+import org.apache.skywalking.oap.server.core.query.type.ProfileStackTree;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ProfileStackAggregatorTest {
+
+    @Test
+    public void testTruncateByNodeLimit() {
+        ProfileStackAggregator aggregator = new ProfileStackAggregator(3);
+        aggregator.accumulate(stack(0, "A", "B", "C"));
+        aggregator.accumulate(stack(1, "A", "B", "D"));
+        aggregator.accumulate(stack(2, "A", "B", "C"));
+
+        Assert.assertTrue(aggregator.isTruncated());
+        Assert.assertEquals(3, aggregator.getNodeSize());
+
+        List<ProfileStackTree> trees = aggregator.build();
+        Assert.assertEquals(1, trees.size());
+        List<ProfileStackElement> elements = trees.get(0).getElements();
+        Assert.assertEquals(3, elements.size());
+        // the truncated path is still counted on the existing nodes
+        Assert.assertEquals(3, elements.get(0).getCount());
+        Assert.assertEquals(20, elements.get(0).getDuration());
+        Assert.assertEquals("C", elements.get(2).getCodeSignature());
+        Assert.assertEquals(2, elements.get(2).getCount());
+        Assert.assertEquals(0, elements.get(2).getDuration());
+    }
+
+    private ProfileStack stack(int sequence, String... codeSignatures) {
+        ProfileStack stack = new ProfileStack();
+        stack.setSequence(sequence);
+        stack.setDumpTime(sequence * 10L);
+        stack.setStack(Arrays.asList(codeSignatures));
+        return stack;
+    }
+}
@@ -53,7 +53,7 @@ public class ProfileStackAnalyze {
     }
 
     private ProfileAnalyzer buildAnalyzer(List<ProfileThreadSnapshotRecord> stacks, int maxAnalyzeCount) throws IOException {
-        ProfileAnalyzer analyzer = new ProfileAnalyzer(null, 2, maxAnalyzeCount);
+        ProfileAnalyzer analyzer = new ProfileAnalyzer(null, 2, maxAnalyzeCount, 1000);
         analyzer.profileThreadSnapshotQueryDAO = new ThreadSnapshotDAO(stacks);
         return analyzer;
     }
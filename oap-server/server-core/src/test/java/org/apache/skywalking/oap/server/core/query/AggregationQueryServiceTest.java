@@ -0,0 +1,181 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.query;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.apache.skywalking.oap.server.core.analysis.IDManager;
+import org.apache.skywalking.oap.server.core.query.enumeration.Order;
+import org.apache.skywalking.oap.server.core.query.enumeration.Scope;
+import org.apache.skywalking.oap.server.core.query.enumeration.Step;
+import org.apache.skywalking.oap.server.core.query.input.Duration;
+import org.apache.skywalking.oap.server.core.query.input.MetricsCondition;
+import org.apache.skywalking.oap.server.core.query.input.TopNCondition;
+import org.apache.skywalking.oap.server.core.query.type.KVInt;
+import org.apache.skywalking.oap.server.core.query.type.MetricsValues;
+import org.apache.skywalking.oap.server.core.query.sql.Function;
+import org.apache.skywalking.oap.server.core.query.type.SelectedRecord;
+import org.apache.skywalking.oap.server.core.source.DefaultScopeDefine;
+import org.apache.skywalking.oap.server.core.storage.annotation.Column;
+import org.apache.skywalking.oap.server.core.storage.annotation.ValueColumnMetadata;
+import org.apache.skywalking.oap.server.core.storage.query.IAggregationQueryDAO;
+import org.apache.skywalking.oap.server.core.storage.query.IMetricsQueryDAO;
+import org.apache.skywalking.oap.server.library.module.ModuleManager;
+import org.apache.skywalking.oap.server.library.module.ModuleProviderHolder;
+import org.apache.skywalking.oap.server.library.module.ModuleServiceHolder;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.powermock.reflect.Whitebox;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class AggregationQueryServiceTest {
+    private static final String SERVICE_ID = IDManager.ServiceID.buildId("mock_service", true);
+
+    private IMetricsQueryDAO metricsQueryDAO;
+    private IAggregationQueryDAO aggregationQueryDAO;
+    private AggregationQueryService service;
+
+    @BeforeClass
+    public static void setupMetadata() {
+        ValueColumnMetadata.INSTANCE.putIfAbsent(
+            "endpoint_cpm", "value", Column.ValueDataType.COMMON_VALUE, Function.Avg, 0, DefaultScopeDefine.ENDPOINT);
+        ValueColumnMetadata.INSTANCE.putIfAbsent(
+            "endpoint_resp_time", "value", Column.ValueDataType.COMMON_VALUE, Function.Avg, 0,
+            DefaultScopeDefine.ENDPOINT
+        );
+    }
+
+    @Before
+    public void setup() {
+        metricsQueryDAO = mock(IMetricsQueryDAO.class);
+        aggregationQueryDAO = mock(IAggregationQueryDAO.class);
+        ModuleManager moduleManager = mock(ModuleManager.class);
+        ModuleServiceHolder moduleServiceHolder = mock(ModuleServiceHolder.class);
+        doReturn((ModuleProviderHolder) () -> moduleServiceHolder).when(moduleManager).find(anyString());
+        doReturn(metricsQueryDAO).when(moduleServiceHolder).getService(IMetricsQueryDAO.class);
+        doReturn(aggregationQueryDAO).when(moduleServiceHolder).getService(IAggregationQueryDAO.class);
+        service = new AggregationQueryService(moduleManager);
+    }
+
+    @Test
+    public void testEndpointTopNByCalls() throws Exception {
+        doReturn(Arrays.asList(
+            calls("/a", 100, 200),
+            calls("/b", 500, 700),
+            calls("/c", 0, 20)
+        )).when(metricsQueryDAO).readLabeledMetricsValues(
+            any(MetricsCondition.class), anyString(), any(), any(Duration.class));
+
+        final List<SelectedRecord> records = service.sortMetrics(condition("endpoint_cpm", 2), duration());
+
+        Assert.assertEquals(2, records.size());
+        Assert.assertEquals("/b", records.get(0).getName());
+        // 1200 calls in 2 minutes.
+        Assert.assertEquals("600", records.get(0).getValue());
+        Assert.assertEquals("/a", records.get(1).getName());
+        Assert.assertEquals("150", records.get(1).getValue());
+        verify(aggregationQueryDAO, never()).sortMetrics(any(), any(), any(), any());
+    }
+
+    @Test
+    public void testEndpointTopNAveragedOverBucketsWithCalls() throws Exception {
+        doReturn(Arrays.asList(
+            calls("/a", 100, 100),
+            // Only called in one minute, same as endpoint_cpm having one bucket.
+            calls("/b", 0, 150),
+            calls("/c", 0, 3)
+        )).when(metricsQueryDAO).readLabeledMetricsValues(
+            any(MetricsCondition.class), anyString(), any(), any(Duration.class));
+
+        final List<SelectedRecord> records = service.sortMetrics(condition("endpoint_cpm", 3), duration());
+
+        Assert.assertEquals(3, records.size());
+        Assert.assertEquals("/b", records.get(0).getName());
+        Assert.assertEquals("150", records.get(0).getValue());
+        Assert.assertEquals("/a", records.get(1).getName());
+        Assert.assertEquals("100", records.get(1).getValue());
+        Assert.assertEquals("/c", records.get(2).getName());
+        Assert.assertEquals("3", records.get(2).getValue());
+    }
+
+    @Test
+    public void testFallbackWithoutTopNData() throws Exception {
+        doReturn(Collections.emptyList()).when(metricsQueryDAO).readLabeledMetricsValues(
+            any(MetricsCondition.class), anyString(), any(), any(Duration.class));
+        final SelectedRecord record = new SelectedRecord();
+        record.setId(IDManager.EndpointID.buildId(SERVICE_ID, "/a"));
+        record.setValue("10");
+        doReturn(Collections.singletonList(record)).when(aggregationQueryDAO).sortMetrics(
+            any(), any(), any(), any());
+
+        final List<SelectedRecord> records = service.sortMetrics(condition("endpoint_cpm", 2), duration());
+
+        Assert.assertEquals(1, records.size());
+        Assert.assertEquals("/a", records.get(0).getName());
+    }
+
+    @Test
+    public void testOtherMetricsNotReadFromTopN() throws Exception {
+        doReturn(Collections.emptyList()).when(aggregationQueryDAO).sortMetrics(any(), any(), any(), any());
+
+        service.sortMetrics(condition("endpoint_resp_time", 2), duration());
+
+        verify(metricsQueryDAO, never()).readLabeledMetricsValues(any(), any(), any(), any());
+    }
+
+    private static TopNCondition condition(String name, int topN) {
+        final TopNCondition condition = new TopNCondition();
+        condition.setName(name);
+        condition.setScope(Scope.Endpoint);
+        condition.setParentService("mock_service");
+        condition.setNormal(true);
+        condition.setOrder(Order.DES);
+        condition.setTopN(topN);
+        return condition;
+    }
+
+    private static Duration duration() {
+        final Duration duration = new Duration();
+        Whitebox.setInternalState(duration, "start", "2022-07-04 1200");
+        Whitebox.setInternalState(duration, "end", "2022-07-04 1201");
+        Whitebox.setInternalState(duration, "step", Step.MINUTE);
+        return duration;
+    }
+
+    private static MetricsValues calls(String endpointName, long... callsOfMinutes) {
+        final MetricsValues values = new MetricsValues();
+        values.setLabel(IDManager.EndpointID.buildId(SERVICE_ID, endpointName));
+        for (int i = 0; i < callsOfMinutes.length; i++) {
+            final KVInt kv = new KVInt();
+            kv.setId(String.valueOf(i));
+            kv.setValue(callsOfMinutes[i]);
+            values.getValues().addKVInt(kv);
+        }
+        return values;
+    }
+}
@@ -0,0 +1,245 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.query;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.apache.skywalking.oap.server.core.analysis.DownSampling;
+import org.apache.skywalking.oap.server.core.analysis.IDManager;
+import org.apache.skywalking.oap.server.core.query.enumeration.Scope;
+import org.apache.skywalking.oap.server.core.query.enumeration.Step;
+import org.apache.skywalking.oap.server.core.query.input.Duration;
+import org.apache.skywalking.oap.server.core.query.input.Entity;
+import org.apache.skywalking.oap.server.core.query.input.MetricsCondition;
+import org.apache.skywalking.oap.server.core.query.sql.Function;
+import org.apache.skywalking.oap.server.core.query.type.KVInt;
+import org.apache.skywalking.oap.server.core.query.type.MetricsValues;
+import org.apache.skywalking.oap.server.core.source.DefaultScopeDefine;
+import org.apache.skywalking.oap.server.core.storage.annotation.Column;
+import org.apache.skywalking.oap.server.core.storage.annotation.ValueColumnMetadata;
+import org.apache.skywalking.oap.server.core.storage.model.IModelManager;
+import org.apache.skywalking.oap.server.core.storage.model.Model;
+import org.apache.skywalking.oap.server.core.storage.query.IMetricsQueryDAO;
+import org.apache.skywalking.oap.server.library.module.ModuleManager;
+import org.apache.skywalking.oap.server.library.module.ModuleProviderHolder;
+import org.apache.skywalking.oap.server.library.module.ModuleServiceHolder;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.powermock.reflect.Whitebox;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class MetricsQueryServiceTest {
+    private static final String SERVICE_ID = IDManager.ServiceID.buildId("mock_service", true);
+
+    private IMetricsQueryDAO metricsQueryDAO;
+    private IModelManager modelManager;
+    private ModuleManager moduleManager;
+
+    @BeforeClass
+    public static void setupMetadata() {
+        ValueColumnMetadata.INSTANCE.putIfAbsent(
+            "service_resp_time", "value", Column.ValueDataType.COMMON_VALUE, Function.Avg, 0,
+            DefaultScopeDefine.SERVICE
+        );
+        ValueColumnMetadata.INSTANCE.putIfAbsent(
+            "service_calls_sum", "value", Column.ValueDataType.COMMON_VALUE, Function.Sum, 0,
+            DefaultScopeDefine.SERVICE
+        );
+    }
+
+    @Before
+    public void setup() {
+        metricsQueryDAO = mock(IMetricsQueryDAO.class);
+        modelManager = mock(IModelManager.class);
+        moduleManager = mock(ModuleManager.class);
+        ModuleServiceHolder moduleServiceHolder = mock(ModuleServiceHolder.class);
+        doReturn((ModuleProviderHolder) () -> moduleServiceHolder).when(moduleManager).find(anyString());
+        doReturn(metricsQueryDAO).when(moduleServiceHolder).getService(IMetricsQueryDAO.class);
+        doReturn(modelManager).when(moduleServiceHolder).getService(IModelManager.class);
+        doReturn(Arrays.asList(
+            model("service_resp_time", DownSampling.Minute),
+            model("service_resp_time", DownSampling.Hour),
+            model("service_resp_time", DownSampling.Day),
+            model("service_calls_sum", DownSampling.Minute),
+            model("service_calls_sum", DownSampling.Hour)
+        )).when(modelManager).allModels();
+    }
+
+    @Test
+    public void testNoLimit() throws Exception {
+        final MetricsQueryService service = new MetricsQueryService(moduleManager);
+        final Duration duration = duration("2022-05-01 0000", "2022-05-01 0759", Step.MINUTE);
+
+        Assert.assertSame(duration, service.selectReadDuration("service_resp_time", duration));
+    }
+
+    @Test
+    public void testSelectReadDuration() {
+        final MetricsQueryService service = new MetricsQueryService(moduleManager, 200);
+
+        final Duration small = duration("2022-05-01 0000", "2022-05-01 0059", Step.MINUTE);
+        Assert.assertSame(small, service.selectReadDuration("service_resp_time", small));
+
+        // 480 minutes, 8 hours.
+        final Duration eightHours = service.selectReadDuration(
+            "service_resp_time", duration("2022-05-01 0000", "2022-05-01 0759", Step.MINUTE));
+        Assert.assertEquals(Step.HOUR, eightHours.getStep());
+        Assert.assertEquals("2022-05-01 00", eightHours.getStart());
+        Assert.assertEquals("2022-05-01 07", eightHours.getEnd());
+
+        // 480 hours, 20 days.
+        final Duration twentyDays = service.selectReadDuration(
+            "service_resp_time", duration("2022-05-01 00", "2022-05-20 23", Step.HOUR));
+        Assert.assertEquals(Step.DAY, twentyDays.getStep());
+        Assert.assertEquals("2022-05-01", twentyDays.getStart());
+        Assert.assertEquals("2022-05-20", twentyDays.getEnd());
+
+        // No day downsampling for hour step.
+        final Duration noDay = duration("2022-05-01 00", "2022-05-20 23", Step.HOUR);
+        Assert.assertSame(noDay, service.selectReadDuration("service_calls_sum", noDay));
+
+        // 8 hours are still over the limit, read the day.
+        final Duration coarsest = new MetricsQueryService(moduleManager, 5).selectReadDuration(
+            "service_resp_time", duration("2022-05-01 0000", "2022-05-01 0759", Step.MINUTE));
+        Assert.assertEquals(Step.DAY, coarsest.getStep());
+
+        // No stored downsampling at all.
+        final Duration unknown = duration("2022-05-01 0000", "2022-05-01 0759", Step.MINUTE);
+        Assert.assertSame(unknown, service.selectReadDuration("unknown_metrics", unknown));
+    }
+
+    @Test
+    public void testReadAvgFromHour() throws Exception {
+        final MetricsQueryService service = new MetricsQueryService(moduleManager, 60);
+        doReturn(values(kv("2022050100", 100), kv("2022050101", 200))).when(metricsQueryDAO)
+            .readMetricsValues(any(MetricsCondition.class), anyString(), any(Duration.class));
+
+        final MetricsValues values = service.readMetricsValues(
+            condition("service_resp_time"), duration("2022-05-01 0000", "2022-05-01 0159", Step.MINUTE));
+
+        final ArgumentCaptor<Duration> captor = ArgumentCaptor.forClass(Duration.class);
+        verify(metricsQueryDAO).readMetricsValues(any(MetricsCondition.class), eq("value"), captor.capture());
+        Assert.assertEquals(Step.HOUR, captor.getValue().getStep());
+
+        Assert.assertEquals(100, values.getValues().findValue("202205010000_" + SERVICE_ID, -1));
+        Assert.assertEquals(100, values.getValues().findValue("202205010059_" + SERVICE_ID, -1));
+        Assert.assertEquals(200, values.getValues().findValue("202205010100_" + SERVICE_ID, -1));
+        Assert.assertEquals(200, values.getValues().findValue("202205010159_" + SERVICE_ID, -1));
+    }
+
+    @Test
+    public void testReadSumFromHour() throws Exception {
+        final MetricsQueryService service = new MetricsQueryService(moduleManager, 60);
+        final MetricsValues labeled = values(kv("2022050100", 600), kv("2022050101", 0));
+        labeled.setLabel("200");
+        doReturn(Collections.singletonList(labeled)).when(metricsQueryDAO)
+            .readLabeledMetricsValues(any(MetricsCondition.class), anyString(), any(), any(Duration.class));
+
+        final List<MetricsValues> values = service.readLabeledMetricsValues(
+            condition("service_calls_sum"), Collections.singletonList("200"),
+            duration("2022-05-01 0000", "2022-05-01 0159", Step.MINUTE)
+        );
+
+        Assert.assertEquals(1, values.size());
+        Assert.assertEquals("200", values.get(0).getLabel());
+        Assert.assertEquals(10, values.get(0).getValues().findValue("202205010030_" + SERVICE_ID, -1));
+        Assert.assertEquals(0, values.get(0).getValues().findValue("202205010130_" + SERVICE_ID, -1));
+    }
+
+    @Test
+    public void testReadSumFromHourWithPartialBuckets() throws Exception {
+        final MetricsQueryService service = new MetricsQueryService(moduleManager, 60);
+        doReturn(values(kv("2022050100", 300), kv("2022050101", 600), kv("2022050102", 90))).when(metricsQueryDAO)
+            .readMetricsValues(any(MetricsCondition.class), anyString(), any(Duration.class));
+
+        final MetricsValues values = service.readMetricsValues(
+            condition("service_calls_sum"), duration("2022-05-01 0030", "2022-05-01 0229", Step.MINUTE));
+
+        Assert.assertEquals(120, values.getValues().getValues().size());
+        // 30 requested minutes in the first and the last hour.
+        Assert.assertEquals(10, values.getValues().findValue("202205010030_" + SERVICE_ID, -1));
+        Assert.assertEquals(10, values.getValues().findValue("202205010130_" + SERVICE_ID, -1));
+        Assert.assertEquals(3, values.getValues().findValue("202205010229_" + SERVICE_ID, -1));
+    }
+
+    @Test
+    public void testReadOverMaxTimeRange() throws Exception {
+        final MetricsQueryService service = new MetricsQueryService(moduleManager, 5);
+        doReturn(values(kv("20220501", 100), kv("20220502", 200))).when(metricsQueryDAO)
+            .readMetricsValues(any(MetricsCondition.class), anyString(), any(Duration.class));
+
+        final Duration duration = duration("2022-05-01 0000", "2022-05-02 2359", Step.MINUTE);
+        final MetricsValues values = service.readMetricsValues(condition("service_resp_time"), duration);
+
+        Assert.assertEquals(2880, values.getValues().getValues().size());
+        Assert.assertEquals(100, values.getValues().findValue("202205010000_" + SERVICE_ID, -1));
+        Assert.assertEquals(200, values.getValues().findValue("202205022359_" + SERVICE_ID, -1));
+        // The requested duration is not changed.
+        Assert.assertEquals(Step.MINUTE, duration.getStep());
+        Assert.assertEquals("2022-05-01 0000", duration.getStart());
+    }
+
+    private static Model model(String name, DownSampling downSampling) {
+        return new Model(name, Collections.emptyList(), DefaultScopeDefine.SERVICE, downSampling, false, false, "", true);
+    }
+
+    private static MetricsCondition condition(String name) {
+        final Entity entity = new Entity();
+        entity.setScope(Scope.Service);
+        entity.setServiceName("mock_service");
+        entity.setNormal(true);
+        final MetricsCondition condition = new MetricsCondition();
+        condition.setName(name);
+        condition.setEntity(entity);
+        return condition;
+    }
+
+    private static Duration duration(String start, String end, Step step) {
+        final Duration duration = new Duration();
+        Whitebox.setInternalState(duration, "start", start);
+        Whitebox.setInternalState(duration, "end", end);
+        Whitebox.setInternalState(duration, "step", step);
+        return duration;
+    }
+
+    private static MetricsValues values(KVInt... kvs) {
+        final MetricsValues values = new MetricsValues();
+        for (final KVInt kv : kvs) {
+            values.getValues().addKVInt(kv);
+        }
+        return values;
+    }
+
+    private static KVInt kv(String timeBucket, long value) {
+        final KVInt kv = new KVInt();
+        kv.setId(timeBucket + "_" + SERVICE_ID);
+        kv.setValue(value);
+        return kv;
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.query;
+
+import java.util.Arrays;
+import java.util.Collections;
+import org.apache.skywalking.apm.network.language.agent.v3.RefType;
+import org.apache.skywalking.apm.network.language.agent.v3.SegmentObject;
+import org.apache.skywalking.apm.network.language.agent.v3.SegmentReference;
+import org.apache.skywalking.apm.network.language.agent.v3.SpanObject;
+import org.apache.skywalking.oap.server.core.analysis.TimeBucket;
+import org.apache.skywalking.oap.server.core.analysis.manual.segment.SegmentRecord;
+import org.apache.skywalking.oap.server.core.config.IComponentLibraryCatalogService;
+import org.apache.skywalking.oap.server.core.query.type.Trace;
+import org.apache.skywalking.oap.server.core.storage.query.ITraceQueryDAO;
+import org.apache.skywalking.oap.server.library.module.ModuleManager;
+import org.apache.skywalking.oap.server.library.module.ModuleProviderHolder;
+import org.apache.skywalking.oap.server.library.module.ModuleServiceHolder;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class TraceQueryServiceTest {
+    // Created at 2022-05-01 12:00:00.000 UTC.
+    private static final String TRACE_ID = "2a4fc7e1bb8d4c1a9f3f1cd5a6e0b7d2.45.16514064000000001";
+
+    private ITraceQueryDAO traceQueryDAO;
+    private ModuleManager moduleManager;
+
+    @Before
+    public void setup() {
+        traceQueryDAO = mock(ITraceQueryDAO.class);
+        moduleManager = mock(ModuleManager.class);
+        ModuleServiceHolder moduleServiceHolder = mock(ModuleServiceHolder.class);
+        doReturn((ModuleProviderHolder) () -> moduleServiceHolder).when(moduleManager).find(anyString());
+        doReturn(traceQueryDAO).when(moduleServiceHolder).getService(ITraceQueryDAO.class);
+        doReturn(mock(IComponentLibraryCatalogService.class)).when(moduleServiceHolder)
+                                                             .getService(IComponentLibraryCatalogService.class);
+    }
+
+    @Test
+    public void testParseTraceIdTimestamp() {
+        Assert.assertEquals(1651406400000L, TraceQueryService.parseTraceIdTimestamp(TRACE_ID));
+        Assert.assertEquals(0, TraceQueryService.parseTraceIdTimestamp("2a4fc7e1bb8d4c1a9f3f1cd5a6e0b7d2"));
+        Assert.assertEquals(0, TraceQueryService.parseTraceIdTimestamp("a.b.1651406400000000x"));
+        Assert.assertEquals(0, TraceQueryService.parseTraceIdTimestamp("a.1.123"));
+        Assert.assertEquals(0, TraceQueryService.parseTraceIdTimestamp("463ac35c9f6413ad48485a3953bb6124"));
+    }
+
+    @Test
+    public void testQueryInTimeWindow() throws Exception {
+        doReturn(Collections.singletonList(segment())).when(traceQueryDAO)
+                                                      .queryByTraceId(eq(TRACE_ID), anyLong(), anyLong());
+
+        final Trace trace = new TraceQueryService(moduleManager, 24).queryTrace(TRACE_ID);
+
+        Assert.assertEquals(1, trace.getSpans().size());
+        verify(traceQueryDAO).queryByTraceId(
+            TRACE_ID,
+            TimeBucket.getRecordTimeBucket(1651406400000L - 3600_000L),
+            TimeBucket.getRecordTimeBucket(1651406400000L + 24 * 3600_000L)
+        );
+        verify(traceQueryDAO, never()).queryByTraceId(TRACE_ID);
+    }
+
+    @Test
+    public void testFallbackToAllSegments() throws Exception {
+        doReturn(Collections.emptyList()).when(traceQueryDAO).queryByTraceId(eq(TRACE_ID), anyLong(), anyLong());
+        doReturn(Collections.singletonList(segment())).when(traceQueryDAO).queryByTraceId(TRACE_ID);
+
+        final Trace trace = new TraceQueryService(moduleManager, 24).queryTrace(TRACE_ID);
+
+        Assert.assertEquals(1, trace.getSpans().size());
+        verify(traceQueryDAO).queryByTraceId(TRACE_ID);
+    }
+
+    @Test
+    public void testFallbackForMissingParent() throws Exception {
+        doReturn(Collections.singletonList(segment("child", "parent", 1651406400000L))).when(traceQueryDAO)
+            .queryByTraceId(eq(TRACE_ID), anyLong(), anyLong());
+        doReturn(Arrays.asList(segment("parent", null, 1651406400000L), segment("child", "parent", 1651406400000L)))
+            .when(traceQueryDAO).queryByTraceId(TRACE_ID);
+
+        final Trace trace = new TraceQueryService(moduleManager, 24).queryTrace(TRACE_ID);
+
+        Assert.assertEquals(2, trace.getSpans().size());
+        verify(traceQueryDAO).queryByTraceId(TRACE_ID);
+    }
+
+    @Test
+    public void testIsComplete() throws Exception {
+        final long windowEnd = 1651406400000L + 24 * 3600_000L;
+        Assert.assertTrue(TraceQueryService.isComplete(Arrays.asList(
+            segment("parent", null, 1651406400000L), segment("child", "parent", 1651406400000L)), windowEnd));
+        Assert.assertFalse(TraceQueryService.isComplete(
+            Collections.singletonList(segment("child", "parent", 1651406400000L)), windowEnd));
+        // Its children could be created after the window.
+        Assert.assertFalse(TraceQueryService.isComplete(
+            Collections.singletonList(segment("parent", null, windowEnd - 10)), windowEnd));
+    }
+
+    @Test
+    public void testTimeWindowDisabled() throws Exception {
+        doReturn(Collections.singletonList(segment())).when(traceQueryDAO).queryByTraceId(TRACE_ID);
+
+        new TraceQueryService(moduleManager).queryTrace(TRACE_ID);
+
+        verify(traceQueryDAO, never()).queryByTraceId(eq(TRACE_ID), anyLong(), anyLong());
+    }
+
+    private static SegmentRecord segment() {
+        return segment("segment", null, 0);
+    }
+
+    private static SegmentRecord segment(String segmentId, String parentSegmentId, long startTime) {
+        final SpanObject.Builder span = SpanObject.newBuilder()
+                                                  .setSpanId(0)
+                                                  .setParentSpanId(-1)
+                                                  .setOperationName("/ping");
+        if (parentSegmentId != null) {
+            span.addRefs(SegmentReference.newBuilder()
+                                         .setRefType(RefType.CrossProcess)
+                                         .setTraceId(TRACE_ID)
+                                         .setParentTraceSegmentId(parentSegmentId)
+                                         .setParentSpanId(1));
+        }
+        final SegmentObject segmentObject = SegmentObject.newBuilder()
+                                                         .setTraceId(TRACE_ID)
+                                                         .setTraceSegmentId(segmentId)
+                                                         .setService("service")
+                                                         .setServiceInstance("instance")
+                                                         .addSpans(span)
+                                                         .build();
+        final SegmentRecord record = new SegmentRecord();
+        record.setTraceId(TRACE_ID);
+        record.setSegmentId(segmentId);
+        record.setStartTime(startTime);
+        record.setLatency(100);
+        record.setDataBinary(segmentObject.toByteArray());
+        return record;
+    }
+}
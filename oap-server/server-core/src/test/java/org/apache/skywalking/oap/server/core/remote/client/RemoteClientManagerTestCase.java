@@ -43,6 +43,7 @@ import org.mockito.internal.verification.AtLeast;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -241,4 +242,21 @@ public class RemoteClientManagerTestCase {
         Assert.assertEquals(groupOneRemoteClients.get(0).getAddress(), newGroupOneRemoteClients.get(0).getAddress());
         Assert.assertEquals(newGroupOneRemoteClients.get(3).getAddress().getHost(), "host4");
     }
+
+    @Test
+    public void testRefreshOnClusterNodesChanged() {
+        when(clusterNodesQuery.queryRemoteNodes()).thenReturn(groupOneInstances());
+        clientManager.refresh();
+        verify(clusterNodesQuery).registerWatcher(clientManager);
+
+        // not started yet, the notification is ignored.
+        clientManager.onClusterNodesChanged();
+        verify(clusterNodesQuery).queryRemoteNodes();
+
+        when(clusterNodesQuery.queryRemoteNodes()).thenReturn(groupTwoInstances());
+        clientManager.start();
+        clientManager.onClusterNodesChanged();
+        // refreshed before the first scheduled refresh, which is delayed 1 second.
+        verify(clusterNodesQuery, timeout(500).times(2)).queryRemoteNodes();
+    }
 }
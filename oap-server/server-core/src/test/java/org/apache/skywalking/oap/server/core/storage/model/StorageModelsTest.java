@@ -18,7 +18,11 @@
 
 package org.apache.skywalking.oap.server.core.storage.model;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import org.apache.skywalking.oap.server.core.analysis.DownSampling;
 import org.apache.skywalking.oap.server.core.analysis.Stream;
 import org.apache.skywalking.oap.server.core.analysis.worker.MetricsStreamProcessor;
@@ -32,7 +36,7 @@ import org.apache.skywalking.oap.server.core.storage.type.Convert2Entity;
 import org.apache.skywalking.oap.server.core.storage.type.Convert2Storage;
 import org.apache.skywalking.oap.server.core.storage.type.StorageBuilder;
 import org.junit.Assert;
-import org.junit.BeforeClass;
+import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.powermock.api.mockito.PowerMockito;
@@ -50,8 +54,8 @@ import org.powermock.modules.junit4.PowerMockRunner;
     "org.w3c.*"
 })
 public class StorageModelsTest {
-    @BeforeClass
-    public static void setup() {
+    @Before
+    public void setup() {
         PowerMockito.mockStatic(DefaultScopeDefine.class);
         PowerMockito.when(DefaultScopeDefine.nameOf(-1)).thenReturn("any");
     }
@@ -80,6 +84,86 @@ public class StorageModelsTest {
         }, model.getColumns().get(2).getSqlDatabaseExtension().getIndices().get(1).getColumns());
     }
 
+    @Test
+    public void testConcurrentListener() throws StorageException {
+        StorageModels models = new StorageModels();
+        models.setCreatingThreads(4);
+        for (int i = 0; i < 10; i++) {
+            models.add(TestModel.class, -1, new Storage("StorageModelsTest" + i, false, DownSampling.Hour), false);
+        }
+
+        final Set<String> notified = ConcurrentHashMap.newKeySet();
+        models.addModelListener(new ModelCreator.CreatingListener() {
+            @Override
+            public void whenCreating(final Model model) {
+                notified.add(model.getName());
+            }
+
+            @Override
+            public boolean isConcurrent() {
+                return true;
+            }
+        });
+        Assert.assertEquals(10, notified.size());
+
+        try {
+            models.addModelListener(new ModelCreator.CreatingListener() {
+                @Override
+                public void whenCreating(final Model model) throws StorageException {
+                    if (model.getName().equals("StorageModelsTest5")) {
+                        throw new StorageException("failure");
+                    }
+                }
+
+                @Override
+                public boolean isConcurrent() {
+                    return true;
+                }
+            });
+            Assert.fail("The failure of the listener should be thrown.");
+        } catch (StorageException e) {
+            Assert.assertEquals("failure", e.getMessage());
+        }
+    }
+
+    @Test(timeout = 20000)
+    public void testAddWhileNotifying() throws Exception {
+        StorageModels models = new StorageModels();
+        models.add(TestModel.class, -1, new Storage("StorageModelsTest0", false, DownSampling.Hour), false);
+
+        final List<String> notified = new CopyOnWriteArrayList<>();
+        models.addModelListener(new ModelCreator.CreatingListener() {
+            @Override
+            public void whenCreating(final Model model) throws StorageException {
+                notified.add(model.getName());
+                if (model.getName().equals("StorageModelsTest0")) {
+                    // A model added by another thread is not blocked by the notification of the existing ones.
+                    final Thread adding = new Thread(() -> {
+                        try {
+                            models.add(TestModel.class, -1, new Storage("StorageModelsTest1", false, DownSampling.Hour), false);
+                        } catch (StorageException e) {
+                            throw new IllegalStateException(e);
+                        }
+                    });
+                    adding.start();
+                    try {
+                        adding.join();
+                    } catch (InterruptedException e) {
+                        throw new StorageException(e.getMessage(), e);
+                    }
+                }
+            }
+
+            @Override
+            public boolean isConcurrent() {
+                return true;
+            }
+        });
+
+        Assert.assertEquals(Arrays.asList("StorageModelsTest0", "StorageModelsTest1"), notified);
+        Assert.assertEquals(2, models.allModels().size());
+    }
+
     @Stream(name = "StorageModelsTest", scopeId = -1, builder = TestModel.Builder.class, processor = MetricsStreamProcessor.class)
     private static class TestModel {
         @Column(columnName = "column")
@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.storage.spill;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.apache.skywalking.oap.server.telemetry.none.MetricsCreatorNoop;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class SpillQueueTest {
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private final List<String> replayed = new ArrayList<>();
+    private boolean storageAvailable;
+    private SpillQueue queue;
+
+    @Before
+    public void setUp() throws IOException {
+        queue = start(1024 * 1024, TimeUnit.HOURS.toMillis(1));
+    }
+
+    @After
+    public void tearDown() {
+        queue.shutdown();
+    }
+
+    @Test
+    public void testReplayInOrderAfterRecovery() {
+        assertTrue(queue.offer(bytes("a")));
+        assertTrue(queue.offer(bytes("b")));
+
+        queue.replay();
+        assertTrue(replayed.isEmpty());
+        assertFalse(queue.isEmpty());
+
+        storageAvailable = true;
+        assertTrue(queue.offer(bytes("c")));
+        queue.replay();
+        assertEquals(3, replayed.size());
+        assertArrayEquals(new String[] {"a", "b", "c"}, replayed.toArray());
+        assertTrue(queue.isEmpty());
+        assertEquals(0, folder.getRoot().listFiles().length);
+    }
+
+    @Test
+    public void testReplayAfterRestart() throws IOException {
+        assertTrue(queue.offer(bytes("a")));
+        assertTrue(queue.offer(bytes("b")));
+        queue.shutdown();
+
+        storageAvailable = true;
+        queue = start(1024 * 1024, TimeUnit.HOURS.toMillis(1));
+        assertFalse(queue.isEmpty());
+        assertTrue(queue.offer(bytes("c")));
+        queue.replay();
+        assertArrayEquals(new String[] {"a", "b", "c"}, replayed.toArray());
+    }
+
+    @Test
+    public void testSkipTruncatedRecord() throws IOException {
+        assertTrue(queue.offer(bytes("a")));
+        assertTrue(queue.offer(bytes("b")));
+        queue.shutdown();
+        final File segment = folder.getRoot().listFiles()[0];
+        try (RandomAccessFile file = new RandomAccessFile(segment, "rw")) {
+            file.setLength(file.length() - 1);
+        }
+
+        storageAvailable = true;
+        queue = start(1024 * 1024, TimeUnit.HOURS.toMillis(1));
+        queue.replay();
+        assertArrayEquals(new String[] {"a"}, replayed.toArray());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testDropOldestSegmentsWhenFull() throws IOException {
+        queue.shutdown();
+        // segment size is max size / 8 = 128 bytes, every record is 16 bytes header + 48 bytes data
+        queue = start(1024, TimeUnit.HOURS.toMillis(1));
+        for (int i = 0; i < 20; i++) {
+            assertTrue(queue.offer(bytes(String.format("%048d", i))));
+        }
+        assertFalse(queue.offer(new byte[1024]));
+
+        storageAvailable = true;
+        queue.replay();
+        // 8 segments of 2 records are kept
+        assertEquals(16, replayed.size());
+        assertEquals(String.format("%048d", 4), replayed.get(0));
+        assertEquals(String.format("%048d", 19), replayed.get(15));
+    }
+
+    @Test
+    public void testDropExpiredRecords() throws Exception {
+        queue.shutdown();
+        queue = start(1024 * 1024, 100);
+        assertTrue(queue.offer(bytes("a")));
+        Thread.sleep(200);
+        assertTrue(queue.offer(bytes("b")));
+
+        storageAvailable = true;
+        queue.replay();
+        assertArrayEquals(new String[] {"b"}, replayed.toArray());
+        assertTrue(queue.isEmpty());
+    }
+
+    private SpillQueue start(long maxSize, long maxAge) throws IOException {
+        final SpillQueue spillQueue = new SpillQueue(
+            "test", folder.getRoot().getAbsolutePath(), maxSize, maxAge, Long.MAX_VALUE);
+        spillQueue.start(new MetricsCreatorNoop(), record -> {
+            final CompletableFuture<Void> future = new CompletableFuture<>();
+            if (storageAvailable) {
+                replayed.add(new String(record, StandardCharsets.UTF_8));
+                future.complete(null);
+            } else {
+                future.completeExceptionally(new IOException("storage is unavailable"));
+            }
+            return future;
+        });
+        return spillQueue;
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
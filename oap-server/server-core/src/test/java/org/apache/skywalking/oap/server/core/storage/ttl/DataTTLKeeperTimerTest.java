@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.storage.ttl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import org.apache.skywalking.oap.server.core.analysis.DownSampling;
+import org.apache.skywalking.oap.server.core.cluster.RemoteInstance;
+import org.apache.skywalking.oap.server.core.remote.client.Address;
+import org.apache.skywalking.oap.server.core.storage.model.Model;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DataTTLKeeperTimerTest {
+
+    @Test
+    public void testAllModelsInStandaloneMode() {
+        List<Model> models = models();
+        Map<String, List<Model>> shard = DataTTLKeeperTimer.shardOf(models, Model::getName, Collections.emptyList());
+        Assert.assertEquals(models.size() - 1, shard.size());
+        Assert.assertTrue(shard.values().stream().flatMap(List::stream).allMatch(Model::isTimeSeries));
+    }
+
+    @Test
+    public void testModelsShardedAcrossNodes() {
+        List<Model> models = models();
+        Set<String> assigned = new HashSet<>();
+        int total = 0;
+        for (int self = 0; self < 3; self++) {
+            List<RemoteInstance> instances = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                instances.add(new RemoteInstance(new Address("10.0.0." + i, 11800, i == self)));
+            }
+            // The order of the node list from the cluster coordinator should not matter.
+            Collections.reverse(instances);
+            Map<String, List<Model>> shard = DataTTLKeeperTimer.shardOf(models, Model::getName, instances);
+            total += shard.size();
+            shard.values().forEach(tableModels -> tableModels.forEach(model -> assigned.add(model.getName())));
+        }
+        Assert.assertEquals(models.size() - 1, total);
+        Assert.assertEquals(models.size() - 1, assigned.size());
+    }
+
+    @Test
+    public void testModelsOfOneTableInOneShard() {
+        List<Model> models = models();
+        // service_cpm and endpoint_sla are merged into one physical table.
+        Function<Model, String> tableNameOf = model -> model.getName().endsWith("_cpm")
+            || model.getName().endsWith("_sla") ? "merged" : model.getName();
+        Map<String, List<Model>> shard = DataTTLKeeperTimer.shardOf(models, tableNameOf, Collections.emptyList());
+        Assert.assertEquals(models.size() - 2, shard.size());
+        Assert.assertEquals(2, shard.get("merged").size());
+
+        int owners = 0;
+        for (int self = 0; self < 3; self++) {
+            List<RemoteInstance> instances = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                instances.add(new RemoteInstance(new Address("10.0.0." + i, 11800, i == self)));
+            }
+            Map<String, List<Model>> nodeShard = DataTTLKeeperTimer.shardOf(models, tableNameOf, instances);
+            if (nodeShard.containsKey("merged")) {
+                owners++;
+                Assert.assertEquals(2, nodeShard.get("merged").size());
+            }
+        }
+        Assert.assertEquals(1, owners);
+    }
+
+    private List<Model> models() {
+        List<Model> models = new ArrayList<>();
+        for (String name : Arrays.asList("service_cpm", "endpoint_sla", "instance_jvm_cpu", "segment", "log")) {
+            models.add(new Model(name, Collections.emptyList(), 0, DownSampling.Minute, false, false, "", true));
+        }
+        models.add(new Model("service_traffic", Collections.emptyList(), 0, DownSampling.None, false, false, "", false));
+        return models;
+    }
+}
@@ -18,71 +18,148 @@
 
 package org.apache.skywalking.oap.server.fetcher.prometheus.http;
 
-import io.netty.bootstrap.Bootstrap;
-import io.netty.buffer.Unpooled;
-import io.netty.channel.Channel;
-import io.netty.channel.EventLoopGroup;
-import io.netty.channel.nio.NioEventLoopGroup;
-import io.netty.channel.socket.nio.NioSocketChannel;
-import io.netty.handler.codec.http.DefaultFullHttpRequest;
-import io.netty.handler.codec.http.HttpHeaderNames;
-import io.netty.handler.codec.http.HttpHeaderValues;
-import io.netty.handler.codec.http.HttpMethod;
-import io.netty.handler.codec.http.HttpRequest;
-import io.netty.handler.codec.http.HttpVersion;
-import java.net.URI;
-import java.net.URISyntaxException;
-import java.util.Objects;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.SynchronousQueue;
-import java.util.concurrent.TimeUnit;
-import lombok.Builder;
-import org.apache.skywalking.oap.server.library.server.ssl.HTTPDynamicSslContext;
+import com.linecorp.armeria.client.ClientFactory;
+import com.linecorp.armeria.client.WebClient;
+import com.linecorp.armeria.client.encoding.DecodingClient;
+import com.linecorp.armeria.common.AggregatedHttpResponse;
+import com.linecorp.armeria.common.HttpStatus;
+import java.io.File;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.skywalking.oap.server.library.util.StringUtil;
 
-@Builder
+/**
+ * HTTPClient requests the targets asynchronously, through the connections pooled and kept alive between the scrapes.
+ * The targets sharing the same CA file share a client, which is rebuilt once the CA file is modified.
+ */
+@Slf4j
+@RequiredArgsConstructor
 public class HTTPClient {
+    private static final String NO_CA_FILE = "";
 
-    private final String url;
-
-    private final String caFilePath;
+    /**
+     * The idle connections are kept longer than the scrape interval.
+     */
+    private final Duration idleTimeout;
 
-    public String request() throws URISyntaxException, InterruptedException {
-        URI uri = new URI(url);
-        String scheme = uri.getScheme() == null ? "http" : uri.getScheme();
-        String host = uri.getHost() == null ? "127.0.0.1" : uri.getHost();
-        int port = uri.getPort();
+    private final Map<String, Client> clients = new ConcurrentHashMap<>();
 
-        // Configure SSL context if necessary.
-        final boolean ssl = "https".equalsIgnoreCase(scheme);
-        final HTTPDynamicSslContext sslCtx = ssl ? HTTPDynamicSslContext.forClient(caFilePath) : null;
+    /**
+     * @return the response of the url, completed exceptionally if the request fails, times out, or the status is not
+     * 200.
+     */
+    public CompletableFuture<AggregatedHttpResponse> request(final String url,
+                                                             final String caFilePath,
+                                                             final Duration timeout) {
+        Client client;
+        do {
+            client = client(caFilePath);
+        }
+        while (!client.acquire());
 
-        // Configure the client.
-        EventLoopGroup group = new NioEventLoopGroup();
-        BlockingQueue<String> channel = new SynchronousQueue<>();
+        final Client acquired = client;
         try {
-            Bootstrap b = new Bootstrap();
-            b.group(group)
-                .channel(NioSocketChannel.class)
-                .handler(new HTTPClientInitializer(sslCtx, channel));
+            final CompletableFuture<AggregatedHttpResponse> response = acquired.webClient
+                .prepare()
+                .get(url)
+                .responseTimeout(timeout)
+                .execute()
+                .aggregate();
+            response.whenComplete((r, t) -> acquired.release());
+            return response.thenApply(r -> {
+                if (!HttpStatus.OK.equals(r.status())) {
+                    throw new IllegalStateException("Unexpected response status " + r.status() + " of " + url);
+                }
+                return r;
+            });
+        } catch (Exception e) {
+            acquired.release();
+            final CompletableFuture<AggregatedHttpResponse> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            return failed;
+        }
+    }
 
-            // Make the connection attempt.
-            Channel ch = b.connect(host, port).sync().channel();
+    private Client client(final String caFilePath) {
+        final String key = StringUtil.isBlank(caFilePath) ? NO_CA_FILE : caFilePath;
+        final long lastModified = key.isEmpty() ? 0 : new File(key).lastModified();
+        final Client client = clients.get(key);
+        if (client != null && client.caFileLastModified == lastModified) {
+            return client;
+        }
+        return clients.compute(key, (k, current) -> {
+            if (current != null) {
+                if (current.caFileLastModified == lastModified) {
+                    return current;
+                }
+                log.info("CA file {} is modified, rebuild the client", k);
+                current.retire();
+            }
+            return new Client(k, lastModified, idleTimeout);
+        });
+    }
 
-            // Prepare the HTTP request.
-            HttpRequest request = new DefaultFullHttpRequest(
-                HttpVersion.HTTP_1_1, HttpMethod.GET, uri.getRawPath(), Unpooled.EMPTY_BUFFER);
-            request.headers().set(HttpHeaderNames.HOST, host);
-            request.headers().set(HttpHeaderNames.CONNECTION, HttpHeaderValues.CLOSE);
-            request.headers().set(HttpHeaderNames.ACCEPT_ENCODING, HttpHeaderValues.TEXT_PLAIN);
+    /**
+     * Client is the {@link WebClient} of a CA file. Once the CA file is modified, the client is retired, and its
+     * factory is closed after the requests in flight complete.
+     */
+    static class Client {
+        private final long caFileLastModified;
+        private final ClientFactory factory;
+        private final WebClient webClient;
+        private int inFlight;
+        private boolean retired;
 
-            // Send the HTTP request.
-            ch.writeAndFlush(request);
+        Client(final String caFilePath, final long caFileLastModified, final Duration idleTimeout) {
+            this.caFileLastModified = caFileLastModified;
+            this.factory = ClientFactory.builder()
+                                        .useHttp2Preface(false)
+                                        .idleTimeout(idleTimeout)
+                                        .tlsCustomizer(builder -> {
+                                            if (!caFilePath.isEmpty()) {
+                                                builder.trustManager(new File(caFilePath));
+                                            }
+                                        })
+                                        .build();
+            // The response is aggregated, the size of the metrics is not limited, as before.
+            this.webClient = WebClient.builder()
+                                      .factory(factory)
+                                      .maxResponseLength(0)
+                                      .decorator(DecodingClient.newDecorator())
+                                      .build();
+        }
 
-            return Objects.requireNonNull(channel.poll(10, TimeUnit.SECONDS), "Request timeout");
-        } finally {
-            // Shut down executor threads to exit.
-            group.shutdownGracefully();
+        /**
+         * @return false if the client is retired, a new client should be used.
+         */
+        synchronized boolean acquire() {
+            if (retired) {
+                return false;
+            }
+            inFlight++;
+            return true;
+        }
+
+        synchronized void release() {
+            inFlight--;
+            if (retired && inFlight == 0) {
+                factory.closeAsync();
+            }
         }
-    }
 
+        synchronized void retire() {
+            retired = true;
+            if (inFlight == 0) {
+                factory.closeAsync();
+            }
+        }
+
+        boolean isClosing() {
+            return factory.isClosing();
+        }
+    }
 }
@@ -18,27 +18,31 @@
 
 package org.apache.skywalking.oap.server.fetcher.prometheus.provider;
 
-import com.google.common.collect.Maps;
+import com.google.common.base.Strings;
+import com.linecorp.armeria.common.AggregatedHttpResponse;
 import io.vavr.CheckedFunction1;
-import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.net.URI;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.codec.Charsets;
 import org.apache.skywalking.oap.meter.analyzer.MetricConvert;
 import org.apache.skywalking.oap.meter.analyzer.prometheus.PrometheusMetricConverter;
 import org.apache.skywalking.oap.meter.analyzer.prometheus.rule.Rule;
 import org.apache.skywalking.oap.meter.analyzer.prometheus.rule.Rules;
 import org.apache.skywalking.oap.meter.analyzer.prometheus.rule.StaticConfig;
+import org.apache.skywalking.oap.meter.analyzer.prometheus.rule.Target;
 import org.apache.skywalking.oap.server.core.CoreModule;
 import org.apache.skywalking.oap.server.core.analysis.meter.MeterSystem;
 import org.apache.skywalking.oap.server.fetcher.prometheus.http.HTTPClient;
@@ -62,6 +66,8 @@ import org.apache.skywalking.oap.server.telemetry.api.MetricsTag;
 @Slf4j
 public class PrometheusFetcherProvider extends ModuleProvider {
 
+    private static final Duration DEFAULT_FETCHER_TIMEOUT = Duration.ofSeconds(10);
+
     private final PrometheusFetcherConfig config;
 
     private List<Rule> rules;
@@ -120,11 +126,19 @@ public class PrometheusFetcherProvider extends ModuleProvider {
             return;
         }
         final MeterSystem service = getManager().find(CoreModule.NAME).provider().getService(MeterSystem.class);
+        final long maxInterval = rules.stream()
+                                      .mapToLong(r -> Duration.parse(r.getFetcherInterval()).getSeconds())
+                                      .max()
+                                      .orElse(0);
+        final HTTPClient client = new HTTPClient(Duration.ofSeconds(maxInterval * 2 + 10));
         rules.forEach(r -> {
             ses.scheduleAtFixedRate(new Runnable() {
 
                 private final PrometheusMetricConverter converter = new PrometheusMetricConverter(r, service);
 
+                private final Duration timeout = Strings.isNullOrEmpty(r.getFetcherTimeout())
+                    ? DEFAULT_FETCHER_TIMEOUT : Duration.parse(r.getFetcherTimeout());
+
                 @Override public void run() {
                     try (HistogramMetrics.Timer ignored = histogram.createTimer()) {
                         if (Objects.isNull(r.getStaticConfig())) {
@@ -132,29 +146,36 @@ public class PrometheusFetcherProvider extends ModuleProvider {
                         }
                         StaticConfig sc = r.getStaticConfig();
                         long now = System.currentTimeMillis();
-                        converter.toMeter(sc.getTargets().stream()
-                                .map(CheckedFunction1.liftTry(target -> {
-                                    URI url = new URI(target.getUrl());
-                                    URI targetURL = url.resolve(r.getMetricsPath());
-                                    String content = HTTPClient.builder().url(targetURL.toString()).caFilePath(target.getSslCaFilePath()).build().request();
+                        // Request all targets before reading any response, so a slow target only delays itself,
+                        // until the timeout.
+                        final List<Target> targets = sc.getTargets();
+                        final List<CompletableFuture<AggregatedHttpResponse>> responses =
+                            targets.stream()
+                                   .map(target -> client.request(
+                                       URI.create(target.getUrl()).resolve(r.getMetricsPath()).toString(),
+                                       target.getSslCaFilePath(), timeout
+                                   ))
+                                   .collect(Collectors.toList());
+                        converter.toMeter(IntStream.range(0, targets.size()).boxed()
+                                .map(CheckedFunction1.liftTry(i -> {
+                                    final Target target = targets.get(i);
+                                    final AggregatedHttpResponse response = responses.get(i).join();
+                                    final Map<String, String> extraLabels = new HashMap<>();
+                                    if (Objects.nonNull(sc.getLabels())) {
+                                        extraLabels.putAll(sc.getLabels());
+                                        extraLabels.put("instance", target.getUrl());
+                                    }
                                     List<Metric> result = new ArrayList<>();
-                                    try (InputStream targetStream = new ByteArrayInputStream(content.getBytes(Charsets.UTF_8))) {
+                                    try (InputStream targetStream = response.content().toInputStream()) {
                                         Parser p = Parsers.text(targetStream);
                                         MetricFamily mf;
                                         while ((mf = p.parse(now)) != null) {
-                                            mf.getMetrics().forEach(metric -> {
-                                                if (Objects.isNull(sc.getLabels())) {
-                                                    return;
+                                            mf.getMetrics().forEach(metric -> extraLabels.forEach((key, value) -> {
+                                                if (metric.getLabels().containsKey(key)) {
+                                                    metric.getLabels().put("exported_" + key, metric.getLabels().get(key));
                                                 }
-                                                Map<String, String> extraLabels = Maps.newHashMap(sc.getLabels());
-                                                extraLabels.put("instance", target.getUrl());
-                                                extraLabels.forEach((key, value) -> {
-                                                    if (metric.getLabels().containsKey(key)) {
-                                                        metric.getLabels().put("exported_" + key, metric.getLabels().get(key));
-                                                    }
-                                                    metric.getLabels().put(key, value);
-                                                });
-                                            });
+                                                metric.getLabels().put(key, value);
+                                            }));
                                             result.addAll(mf.getMetrics());
                                         }
                                     }
@@ -163,6 +184,7 @@ public class PrometheusFetcherProvider extends ModuleProvider {
                                     }
                                     return result;
                                 }))
+                                .map(tryIt -> tryIt.onFailure(e -> errorCounter.inc()))
                                 .flatMap(tryIt -> MetricConvert.log(tryIt, "Load metric"))
                                 .flatMap(Collection::stream));
                     } catch (Exception e) {
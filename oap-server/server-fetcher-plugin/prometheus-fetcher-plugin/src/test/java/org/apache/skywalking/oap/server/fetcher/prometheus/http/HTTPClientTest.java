@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.fetcher.prometheus.http;
+
+import com.linecorp.armeria.common.AggregatedHttpResponse;
+import com.linecorp.armeria.common.HttpData;
+import com.linecorp.armeria.common.HttpHeaderNames;
+import com.linecorp.armeria.common.HttpResponse;
+import com.linecorp.armeria.common.HttpStatus;
+import com.linecorp.armeria.common.MediaType;
+import com.linecorp.armeria.common.ResponseHeaders;
+import com.linecorp.armeria.server.Server;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class HTTPClientTest {
+    // Over the default max response length of Armeria, 10MB.
+    private static final int LARGE_SIZE = 11 * 1024 * 1024;
+
+    private Server server;
+
+    private String url;
+
+    @Before
+    public void setup() {
+        server = Server.builder()
+                       .http(0)
+                       .service("/metrics", (ctx, req) -> HttpResponse.of("metric 1\n"))
+                       .service("/slow", (ctx, req) -> HttpResponse.delayed(HttpResponse.of("metric 1\n"), Duration.ofSeconds(3)))
+                       .service("/missing", (ctx, req) -> HttpResponse.of(HttpStatus.NOT_FOUND))
+                       .service("/gzip", (ctx, req) -> HttpResponse.of(
+                           ResponseHeaders.of(HttpStatus.OK, HttpHeaderNames.CONTENT_ENCODING, "gzip"),
+                           HttpData.wrap(gzip("metric 1\n"))
+                       ))
+                       .service("/large", (ctx, req) -> HttpResponse.of(
+                           HttpStatus.OK, MediaType.PLAIN_TEXT_UTF_8, new String(new char[LARGE_SIZE]).replace('\0', '#')))
+                       .build();
+        server.start().join();
+        url = "http://127.0.0.1:" + server.activeLocalPort();
+    }
+
+    private static byte[] gzip(final String content) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+        return bytes.toByteArray();
+    }
+
+    @After
+    public void tearDown() {
+        server.stop().join();
+    }
+
+    @Test
+    public void testSlowTargetOnlyDelaysItself() {
+        final HTTPClient client = new HTTPClient(Duration.ofSeconds(30));
+        final long start = System.nanoTime();
+        final CompletableFuture<AggregatedHttpResponse> slow = client.request(url + "/slow", null, Duration.ofMillis(500));
+        final CompletableFuture<AggregatedHttpResponse> fast = client.request(url + "/metrics", null, Duration.ofMillis(500));
+
+        assertEquals("metric 1\n", fast.join().contentUtf8());
+        try {
+            slow.join();
+            fail("The slow target should time out");
+        } catch (CompletionException expected) {
+        }
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 3000);
+    }
+
+    @Test
+    public void testGzipResponse() {
+        final HTTPClient client = new HTTPClient(Duration.ofSeconds(30));
+
+        assertEquals("metric 1\n", client.request(url + "/gzip", null, Duration.ofSeconds(5)).join().contentUtf8());
+    }
+
+    @Test
+    public void testLargeResponse() {
+        final HTTPClient client = new HTTPClient(Duration.ofSeconds(30));
+
+        assertEquals(LARGE_SIZE, client.request(url + "/large", null, Duration.ofSeconds(10)).join().content().length());
+    }
+
+    @Test
+    public void testRetiredClientClosedAfterRequests() {
+        final HTTPClient.Client client = new HTTPClient.Client("", 0, Duration.ofSeconds(30));
+        assertTrue(client.acquire());
+
+        client.retire();
+        assertFalse(client.isClosing());
+        assertFalse(client.acquire());
+
+        client.release();
+        assertTrue(client.isClosing());
+    }
+
+    @Test(expected = CompletionException.class)
+    public void testUnexpectedStatus() {
+        new HTTPClient(Duration.ofSeconds(30)).request(url + "/missing", null, Duration.ofSeconds(5)).join();
+    }
+
+    @Test(expected = CompletionException.class)
+    public void testInvalidUrl() {
+        new HTTPClient(Duration.ofSeconds(30)).request("not a url", null, Duration.ofSeconds(5)).join();
+    }
+}
@@ -37,6 +37,7 @@ import org.apache.skywalking.oap.server.library.util.StringUtil;
 import org.apache.skywalking.library.elasticsearch.ElasticSearch;
 import org.apache.skywalking.library.elasticsearch.ElasticSearchBuilder;
 import org.apache.skywalking.library.elasticsearch.ElasticSearchVersion;
+import org.apache.skywalking.library.elasticsearch.bulk.BulkFallback;
 import org.apache.skywalking.library.elasticsearch.bulk.BulkProcessor;
 import org.apache.skywalking.library.elasticsearch.requests.search.Query;
 import org.apache.skywalking.library.elasticsearch.requests.search.Search;
@@ -336,10 +337,18 @@ public class ElasticSearchClient implements Client, HealthCheckable {
     public BulkProcessor createBulkProcessor(int bulkActions,
                                              int flushInterval,
                                              int concurrentRequests) {
+        return createBulkProcessor(bulkActions, flushInterval, concurrentRequests, null);
+    }
+
+    public BulkProcessor createBulkProcessor(int bulkActions,
+                                             int flushInterval,
+                                             int concurrentRequests,
+                                             BulkFallback fallback) {
         return BulkProcessor.builder()
                             .bulkActions(bulkActions)
                             .flushInterval(Duration.ofSeconds(flushInterval))
                             .concurrentRequests(concurrentRequests)
+                            .fallback(fallback)
                             .build(es);
     }
 
@@ -0,0 +1,34 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.skywalking.library.elasticsearch.bulk;
+
+/**
+ * BulkFallback takes over the requests of a failed bulk, e.g. keeps them somewhere else and writes them again by
+ * {@link BulkProcessor#replay(byte[])} later. Only the bulks failed by {@link BulkProcessor#isRetryable(Throwable)
+ * retryable} failures are handed over, the others are logged and dropped.
+ */
+@FunctionalInterface
+public interface BulkFallback {
+    /**
+     * @param content the encoded requests failed in the bulk, all of them unless the bulk was executed but some of its
+     *                requests were rejected.
+     * @param cause   the failure of the bulk.
+     * @return true if the requests are taken over, then the futures of the requests complete normally.
+     */
+    boolean onFailure(byte[] content, Throwable cause);
+}
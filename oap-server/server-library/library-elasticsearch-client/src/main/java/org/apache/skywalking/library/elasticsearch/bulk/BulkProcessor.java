@@ -17,26 +17,36 @@
 
 package org.apache.skywalking.library.elasticsearch.bulk;
 
+import com.linecorp.armeria.client.ResponseTimeoutException;
+import com.linecorp.armeria.client.UnprocessedRequestException;
+import com.linecorp.armeria.client.WriteTimeoutException;
+import com.linecorp.armeria.common.ClosedSessionException;
+import com.linecorp.armeria.common.HttpData;
 import com.linecorp.armeria.common.HttpStatus;
 import com.linecorp.armeria.common.util.Exceptions;
-import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.skywalking.library.elasticsearch.ElasticSearch;
+import org.apache.skywalking.library.elasticsearch.ElasticSearchVersion;
 import org.apache.skywalking.library.elasticsearch.requests.IndexRequest;
 import org.apache.skywalking.library.elasticsearch.requests.UpdateRequest;
-import org.apache.skywalking.library.elasticsearch.requests.factory.RequestFactory;
+import org.apache.skywalking.library.elasticsearch.response.BulkResponse;
 import org.apache.skywalking.oap.server.library.util.RunnableWithExceptionProtection;
 
 import static java.util.Objects.requireNonNull;
@@ -48,6 +58,7 @@ public final class BulkProcessor {
     private final AtomicReference<ElasticSearch> es;
     private final int bulkActions;
     private final Semaphore semaphore;
+    private final BulkFallback fallback;
 
     public static BulkProcessorBuilder builder() {
         return new BulkProcessorBuilder();
@@ -55,11 +66,12 @@ public final class BulkProcessor {
 
     BulkProcessor(
         final AtomicReference<ElasticSearch> es, final int bulkActions,
-        final Duration flushInterval, final int concurrentRequests) {
+        final Duration flushInterval, final int concurrentRequests, final BulkFallback fallback) {
         requireNonNull(flushInterval, "flushInterval");
 
         this.es = requireNonNull(es, "es");
         this.bulkActions = bulkActions;
+        this.fallback = fallback;
         this.semaphore = new Semaphore(concurrentRequests > 0 ? concurrentRequests : 1);
         this.requests = new ArrayBlockingQueue<>(bulkActions + 1);
 
@@ -121,6 +133,13 @@ public final class BulkProcessor {
         flush.join();
     }
 
+    /**
+     * Execute an encoded bulk request body directly, the {@link BulkFallback} is not involved if it fails.
+     */
+    public CompletableFuture<Void> replay(byte[] content) {
+        return es.get().version().thenCompose(v -> execute(v, content));
+    }
+
     private CompletableFuture<Void> doFlush(final List<Holder> batch) {
         log.debug("Executing bulk with {} requests", batch.size());
 
@@ -128,37 +147,170 @@ public final class BulkProcessor {
             return CompletableFuture.completedFuture(null);
         }
 
-        final CompletableFuture<Void> future = es.get().version().thenCompose(v -> {
+        final CompletableFuture<ElasticSearchVersion> version = es.get().version();
+        final CompletableFuture<byte[]> content = version.thenApply(v -> {
             try {
-                final RequestFactory rf = v.requestFactory();
-                final List<byte[]> bs = new ArrayList<>();
+                final ByteArrayOutputStream bs = new ByteArrayOutputStream();
                 for (final Holder holder : batch) {
-                    bs.add(v.codec().encode(holder.request));
-                    bs.add("\n".getBytes());
+                    bs.write(v.codec().encode(holder.request));
+                    bs.write('\n');
                 }
-                final ByteBuf content = Unpooled.wrappedBuffer(bs.toArray(new byte[0][]));
-                return es.get().client().execute(rf.bulk().bulk(content))
-                         .aggregate().thenAccept(response -> {
-                        final HttpStatus status = response.status();
-                        if (status != HttpStatus.OK) {
-                            throw new RuntimeException(response.contentUtf8());
-                        }
-                    });
+                return bs.toByteArray();
             } catch (Exception e) {
                 return Exceptions.throwUnsafely(e);
             }
         });
-        future.whenComplete((ignored, exception) -> {
-            if (exception != null) {
+        final CompletableFuture<Void> future = content.thenCompose(
+            bs -> execute(version.join(), bs));
+        return future.handle((ignored, exception) -> {
+            if (exception == null) {
+                log.debug("Succeeded to execute {} requests in bulk", batch.size());
+                batch.stream().map(it -> it.future).forEach(it -> it.complete(null));
+            } else if (fallback != null && !content.isCompletedExceptionally() && isRetryable(exception)
+                && fallback.onFailure(failedContent(exception, content.join()), exception)) {
+                log.warn("Failed to execute bulk of {} requests, the failed ones are taken over by the fallback", batch.size(),
+                         exception
+                );
+                batch.stream().map(it -> it.future).forEach(it -> it.complete(null));
+            } else {
                 batch.stream().map(it -> it.future)
                      .forEach(it -> it.completeExceptionally(exception));
                 log.error("Failed to execute requests in bulk", exception);
-            } else {
-                log.debug("Succeeded to execute {} requests in bulk", batch.size());
-                batch.stream().map(it -> it.future).forEach(it -> it.complete(null));
+                return Exceptions.throwUnsafely(exception);
             }
+            return null;
         });
-        return future;
+    }
+
+    private CompletableFuture<Void> execute(final ElasticSearchVersion v, final byte[] content) {
+        return es.get().client().execute(v.requestFactory().bulk().bulk(Unpooled.wrappedBuffer(content)))
+                 .aggregate().thenAccept(response -> {
+                final HttpStatus status = response.status();
+                if (status != HttpStatus.OK) {
+                    throw new BulkFailureException(status, response.contentUtf8(), content);
+                }
+                final BulkResponse result;
+                try (final HttpData data = response.content();
+                     final InputStream is = data.toInputStream()) {
+                    result = v.codec().decode(is, BulkResponse.class);
+                } catch (Exception e) {
+                    log.warn("Failed to decode the response of bulk, the failed requests in it are unknown", e);
+                    return;
+                }
+                if (result.isErrors()) {
+                    checkItems(result, content);
+                }
+            });
+    }
+
+    /**
+     * ElasticSearch responds 200 even if some requests of the bulk failed, e.g. rejected by a full write queue with
+     * 429. The requests failed by the retryable statuses, 429 and 5xx, are thrown as a {@link
+     * BulkFailureException} carrying only them, so that only they are taken over by the fallback, the others are
+     * logged and dropped.
+     */
+    private static void checkItems(final BulkResponse result, final byte[] content) {
+        final List<Map<String, BulkResponse.Item>> items = result.getItems();
+        final List<Integer> retryable = new ArrayList<>();
+        HttpStatus retryableStatus = null;
+        Map<String, Object> retryableError = null;
+        int dropped = 0;
+        Map<String, Object> droppedError = null;
+        for (int i = 0; i < items.size(); i++) {
+            for (final BulkResponse.Item item : items.get(i).values()) {
+                final HttpStatus status = HttpStatus.valueOf(item.getStatus());
+                if (status.isSuccess()) {
+                    continue;
+                }
+                if (isRetryable(status)) {
+                    retryable.add(i);
+                    retryableStatus = status;
+                    retryableError = item.getError();
+                } else {
+                    dropped++;
+                    droppedError = item.getError();
+                }
+            }
+        }
+        if (dropped > 0) {
+            log.error("{} of {} requests in bulk failed, e.g. {}", dropped, items.size(), droppedError);
+        }
+        if (!retryable.isEmpty()) {
+            throw new BulkFailureException(
+                retryableStatus,
+                retryable.size() + " of " + items.size() + " requests in bulk were rejected, e.g. " + retryableError,
+                requestsAt(content, retryable)
+            );
+        }
+    }
+
+    /**
+     * Every request is encoded as 2 lines, the action and the document, so the request {@code i} of a bulk body is
+     * the lines {@code 2i} and {@code 2i + 1}.
+     */
+    static byte[] requestsAt(final byte[] content, final List<Integer> indexes) {
+        final ByteArrayOutputStream bs = new ByteArrayOutputStream();
+        int line = 0;
+        int from = 0;
+        int next = 0;
+        for (int i = 0; i < content.length && next < indexes.size(); i++) {
+            if (content[i] != '\n') {
+                continue;
+            }
+            if (line / 2 == indexes.get(next)) {
+                bs.write(content, from, i + 1 - from);
+                if (line % 2 == 1) {
+                    next++;
+                }
+            }
+            line++;
+            from = i + 1;
+        }
+        return bs.toByteArray();
+    }
+
+    private static byte[] failedContent(final Throwable failure, final byte[] content) {
+        final Throwable cause = Exceptions.peel(failure);
+        if (cause instanceof BulkFailureException) {
+            return ((BulkFailureException) cause).getContent();
+        }
+        return content;
+    }
+
+    /**
+     * @return true if the bulk failed because ElasticSearch is unreachable or temporarily unavailable, i.e. the
+     * connection errors, 429 and 5xx responses, then executing the same bulk again later may succeed. The other
+     * failures, such as mapping conflicts and other 4xx responses, fail again whenever the bulk is executed.
+     */
+    public static boolean isRetryable(Throwable failure) {
+        final Throwable cause = Exceptions.peel(failure);
+        if (cause instanceof BulkFailureException) {
+            return isRetryable(((BulkFailureException) cause).getStatus());
+        }
+        return cause instanceof IOException
+            || cause instanceof UnprocessedRequestException
+            || cause instanceof ClosedSessionException
+            || cause instanceof ResponseTimeoutException
+            || cause instanceof WriteTimeoutException;
+    }
+
+    private static boolean isRetryable(HttpStatus status) {
+        return status.isServerError() || HttpStatus.TOO_MANY_REQUESTS.equals(status);
+    }
+
+    @Getter
+    static class BulkFailureException extends RuntimeException {
+        private final HttpStatus status;
+        /**
+         * The encoded requests failed in the bulk.
+         */
+        private final byte[] content;
+
+        BulkFailureException(final HttpStatus status, final String message, final byte[] content) {
+            super(message);
+            this.status = status;
+            this.content = content;
+        }
     }
 
     @RequiredArgsConstructor
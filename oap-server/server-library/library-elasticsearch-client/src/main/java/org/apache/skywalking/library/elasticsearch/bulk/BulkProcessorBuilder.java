@@ -32,6 +32,7 @@ public final class BulkProcessorBuilder {
     private int bulkActions = -1;
     private Duration flushInterval;
     private int concurrentRequests = 2;
+    private BulkFallback fallback;
 
     public BulkProcessorBuilder bulkActions(int bulkActions) {
         checkArgument(bulkActions > 0, "bulkActions must be positive");
@@ -50,8 +51,13 @@ public final class BulkProcessorBuilder {
         return this;
     }
 
+    public BulkProcessorBuilder fallback(BulkFallback fallback) {
+        this.fallback = fallback;
+        return this;
+    }
+
     public BulkProcessor build(AtomicReference<ElasticSearch> es) {
         return new BulkProcessor(
-            es, bulkActions, flushInterval, concurrentRequests);
+            es, bulkActions, flushInterval, concurrentRequests, fallback);
     }
 }
@@ -0,0 +1,50 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.library.elasticsearch.response;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * The response of a bulk request, each item is keyed by its action, e.g. {@code index} or {@code update}, and in the
+ * same order as the requests of the bulk.
+ */
+@Getter
+@Setter
+public final class BulkResponse {
+    private boolean errors;
+    private List<Map<String, Item>> items;
+
+    public List<Map<String, Item>> getItems() {
+        if (items != null) {
+            return items;
+        }
+        return Collections.emptyList();
+    }
+
+    @Getter
+    @Setter
+    public static final class Item {
+        private int status;
+        private Map<String, Object> error;
+    }
+}
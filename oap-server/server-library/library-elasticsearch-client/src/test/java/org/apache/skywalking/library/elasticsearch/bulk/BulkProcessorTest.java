@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.library.elasticsearch.bulk;
+
+import com.google.common.collect.ImmutableMap;
+import com.linecorp.armeria.client.UnprocessedRequestException;
+import com.linecorp.armeria.common.HttpResponse;
+import com.linecorp.armeria.common.HttpStatus;
+import com.linecorp.armeria.common.MediaType;
+import com.linecorp.armeria.server.Server;
+import java.net.ConnectException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.apache.skywalking.library.elasticsearch.ElasticSearch;
+import org.apache.skywalking.library.elasticsearch.requests.IndexRequest;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BulkProcessorTest {
+
+    @Test
+    public void testRetryableFailures() {
+        Assert.assertTrue(BulkProcessor.isRetryable(new CompletionException(
+            UnprocessedRequestException.of(new ConnectException("Connection refused")))));
+        Assert.assertTrue(BulkProcessor.isRetryable(new ConnectException("Connection refused")));
+        Assert.assertTrue(BulkProcessor.isRetryable(new CompletionException(
+            new BulkProcessor.BulkFailureException(HttpStatus.SERVICE_UNAVAILABLE, "", new byte[0]))));
+        Assert.assertTrue(BulkProcessor.isRetryable(
+            new BulkProcessor.BulkFailureException(HttpStatus.TOO_MANY_REQUESTS, "", new byte[0])));
+    }
+
+    @Test
+    public void testNonRetryableFailures() {
+        Assert.assertFalse(BulkProcessor.isRetryable(new CompletionException(
+            new BulkProcessor.BulkFailureException(HttpStatus.BAD_REQUEST, "mapper_parsing_exception", new byte[0]))));
+        Assert.assertFalse(BulkProcessor.isRetryable(
+            new BulkProcessor.BulkFailureException(HttpStatus.NOT_FOUND, "", new byte[0])));
+        Assert.assertFalse(BulkProcessor.isRetryable(new IllegalArgumentException()));
+    }
+
+    @Test
+    public void testRequestsAt() {
+        final byte[] content = "{\"index\":0}\n{}\n{\"index\":1}\n{}\n{\"index\":2}\n{}\n".getBytes(StandardCharsets.UTF_8);
+        Assert.assertEquals(
+            "{\"index\":0}\n{}\n{\"index\":2}\n{}\n",
+            new String(BulkProcessor.requestsAt(content, Arrays.asList(0, 2)), StandardCharsets.UTF_8)
+        );
+        Assert.assertEquals(0, BulkProcessor.requestsAt(content, Arrays.asList()).length);
+    }
+
+    @Test
+    public void testRejectedItemsInSuccessfulResponse() throws Exception {
+        final Server server = Server.builder().http(0)
+            .service("/", (ctx, req) -> HttpResponse.of(
+                MediaType.JSON_UTF_8, "{\"version\":{\"number\":\"7.15.0\"}}"))
+            .service("/_cluster/health", (ctx, req) -> HttpResponse.of(
+                MediaType.JSON_UTF_8, "{\"status\":\"green\"}"))
+            .service("/_bulk", (ctx, req) -> HttpResponse.of(
+                MediaType.JSON_UTF_8,
+                "{\"took\":3,\"errors\":true,\"items\":["
+                    + "{\"index\":{\"_index\":\"metrics\",\"_id\":\"a\",\"status\":201}},"
+                    + "{\"index\":{\"_index\":\"metrics\",\"_id\":\"b\",\"status\":429,"
+                    + "\"error\":{\"type\":\"es_rejected_execution_exception\"}}},"
+                    + "{\"index\":{\"_index\":\"metrics\",\"_id\":\"c\",\"status\":400,"
+                    + "\"error\":{\"type\":\"mapper_parsing_exception\"}}}"
+                    + "]}"))
+            .build();
+        server.start().join();
+        final ElasticSearch es = ElasticSearch.builder()
+                                              .endpoints("127.0.0.1:" + server.activeLocalPort())
+                                              .build();
+        try {
+            es.connect().get(10, TimeUnit.SECONDS);
+            final AtomicReference<String> spilled = new AtomicReference<>();
+            final BulkProcessor processor =
+                BulkProcessor.builder()
+                             .bulkActions(3)
+                             .flushInterval(Duration.ofSeconds(60))
+                             .fallback((content, cause) -> {
+                                 spilled.set(new String(content, StandardCharsets.UTF_8));
+                                 return true;
+                             })
+                             .build(new AtomicReference<>(es));
+
+            final CompletableFuture<Void> a = processor.add(request("a"));
+            final CompletableFuture<Void> b = processor.add(request("b"));
+            final CompletableFuture<Void> c = processor.add(request("c"));
+            CompletableFuture.allOf(a, b, c).get(10, TimeUnit.SECONDS);
+
+            Assert.assertEquals("{\"index\":{\"_index\":\"metrics\",\"_id\":\"b\"}}\n{\"id\":\"b\"}\n", spilled.get());
+        } finally {
+            es.close();
+            server.stop().join();
+        }
+    }
+
+    private static IndexRequest request(String id) {
+        return IndexRequest.builder().index("metrics").id(id).doc(ImmutableMap.of("id", id)).build();
+    }
+}
@@ -19,8 +19,15 @@
 package org.apache.skywalking.oap.server.library.module;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.skywalking.oap.server.library.util.CollectionUtils;
 
@@ -36,20 +43,118 @@ class BootstrapFlow {
         makeSequence();
     }
 
-    @SuppressWarnings("unchecked")
+    /**
+     * Start the providers along the dependency graph. A provider starts once all its required modules have started.
+     * The providers not supporting {@link ModuleProvider#isConcurrentStart() concurrent start} keep starting one by one
+     * in the bootstrap sequence on the current thread, while the concurrent ones start in parallel with them. Once a
+     * provider fails, the start fails without waiting for the others, and the concurrent ones still starting are
+     * interrupted.
+     */
     void start(
         ModuleManager moduleManager) throws ModuleNotFoundException, ServiceNotProvidedException, ModuleStartException {
-        for (ModuleProvider provider : startupSequence) {
-            log.info("start the provider {} in {} module.", provider.name(), provider.getModuleName());
+        final long startTime = System.currentTimeMillis();
+        final AtomicInteger threadSeq = new AtomicInteger();
+        final ExecutorService executor = Executors.newCachedThreadPool(r -> {
+            final Thread thread = new Thread(r, "ModuleBootstrap-" + threadSeq.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        final Map<String, CompletableFuture<Void>> startedModules = new HashMap<>();
+        final Map<ModuleProvider, Long> startupCosts = new ConcurrentHashMap<>();
+        // Completed by the first failure of the concurrent providers, so the waits below don't block on the others.
+        final CompletableFuture<Void> failure = new CompletableFuture<>();
+        try {
+            for (ModuleProvider provider : startupSequence) {
+                final List<CompletableFuture<Void>> dependencies = new ArrayList<>();
+                final String[] requiredModules = provider.requiredModules();
+                if (requiredModules != null) {
+                    for (String requiredModule : requiredModules) {
+                        dependencies.add(startedModules.get(requiredModule));
+                    }
+                }
+                final CompletableFuture<Void> required = CompletableFuture.allOf(
+                    dependencies.toArray(new CompletableFuture[0]));
+                final CompletableFuture<Void> started;
+                if (provider.isConcurrentStart()) {
+                    started = required.thenRunAsync(() -> startupCosts.put(provider, startProvider(provider)), executor);
+                    started.whenComplete((ignored, t) -> {
+                        if (t != null) {
+                            failure.completeExceptionally(t);
+                        }
+                    });
+                } else {
+                    await(required, failure);
+                    startupCosts.put(provider, startProvider(provider));
+                    started = CompletableFuture.completedFuture(null);
+                }
+                startedModules.put(provider.getModuleName(), started);
+            }
+            await(CompletableFuture.allOf(startedModules.values().toArray(new CompletableFuture[0])), failure);
+        } catch (CompletionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof ModuleStartException) {
+                throw (ModuleStartException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new ModuleStartException(cause.getMessage(), cause);
+        } finally {
+            startedModules.values().forEach(started -> started.cancel(true));
+            executor.shutdownNow();
+        }
+
+        final StringBuilder report = new StringBuilder();
+        startupCosts.entrySet()
+                    .stream()
+                    .sorted(Map.Entry.<ModuleProvider, Long>comparingByValue().reversed())
+                    .forEach(cost -> report.append(System.lineSeparator())
+                                           .append(cost.getKey().getModuleName())
+                                           .append("/")
+                                           .append(cost.getKey().name())
+                                           .append(cost.getKey().isConcurrentStart() ? " (concurrent)" : "")
+                                           .append(": ")
+                                           .append(cost.getValue())
+                                           .append(" ms"));
+        log.info(
+            "{} providers are started in {} ms, the startup cost of each provider:{}", startupCosts.size(),
+            System.currentTimeMillis() - startTime, report
+        );
+    }
+
+    /**
+     * Wait for the future, or the failure of any concurrent provider.
+     */
+    private static void await(CompletableFuture<Void> future, CompletableFuture<Void> failure) {
+        CompletableFuture.anyOf(future, failure).join();
+    }
+
+    /**
+     * @return the startup cost in milliseconds.
+     */
+    private long startProvider(ModuleProvider provider) {
+        log.info("start the provider {} in {} module.", provider.name(), provider.getModuleName());
+        try {
             provider.requiredCheck(provider.getModule().services());
 
+            final long startTime = System.currentTimeMillis();
             provider.start();
+            final long cost = System.currentTimeMillis() - startTime;
+            log.info(
+                "the provider {} in {} module is started in {} ms.", provider.name(), provider.getModuleName(), cost);
+            return cost;
+        } catch (ModuleStartException e) {
+            throw new CompletionException(e);
         }
     }
 
     void notifyAfterCompleted() throws ServiceNotProvidedException, ModuleStartException {
         for (ModuleProvider provider : startupSequence) {
+            final long startTime = System.currentTimeMillis();
             provider.notifyAfterCompleted();
+            log.info(
+                "the provider {} in {} module is notified in {} ms.", provider.name(), provider.getModuleName(),
+                System.currentTimeMillis() - startTime
+            );
         }
     }
 
@@ -23,10 +23,12 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.ServiceLoader;
+import lombok.extern.slf4j.Slf4j;
 
 /**
  * The <code>ModuleManager</code> takes charge of all {@link ModuleDefine}s in collector.
  */
+@Slf4j
 public class ModuleManager implements ModuleDefineHolder {
     private boolean isInPrepareStage = true;
     private final Map<String, ModuleDefine> loadedModules = new HashMap<>();
@@ -41,6 +43,7 @@ public class ModuleManager implements ModuleDefineHolder {
         ServiceLoader<ModuleProvider> moduleProviderLoader = ServiceLoader.load(ModuleProvider.class);
 
         HashSet<String> moduleSet = new HashSet<>(Arrays.asList(moduleNames));
+        final long prepareStartTime = System.currentTimeMillis();
         for (ModuleDefine module : moduleServiceLoader) {
             if (moduleSet.contains(module.name())) {
                 module.prepare(this, applicationConfiguration.getModuleConfiguration(module.name()), moduleProviderLoader);
@@ -57,8 +60,15 @@ public class ModuleManager implements ModuleDefineHolder {
 
         BootstrapFlow bootstrapFlow = new BootstrapFlow(loadedModules);
 
+        final long startStartTime = System.currentTimeMillis();
         bootstrapFlow.start(this);
+        final long notifyStartTime = System.currentTimeMillis();
         bootstrapFlow.notifyAfterCompleted();
+        log.info(
+            "Modules are prepared in {} ms, started in {} ms, notified in {} ms.",
+            startStartTime - prepareStartTime, notifyStartTime - startStartTime,
+            System.currentTimeMillis() - notifyStartTime
+        );
     }
 
     @Override
@@ -66,6 +66,15 @@ public abstract class ModuleProvider implements ModuleServiceHolder {
      */
     public abstract void start() throws ServiceNotProvidedException, ModuleStartException;
 
+    /**
+     * @return true if {@link #start()} could run in parallel with the other providers once the required modules have
+     * started, which means the start stage doesn't rely on the bootstrap sequence, nor touches the shared states which
+     * are not thread safe. The providers start one by one in the bootstrap sequence by default.
+     */
+    public boolean isConcurrentStart() {
+        return false;
+    }
+
     /**
      * This callback executes after all modules start up successfully.
      */
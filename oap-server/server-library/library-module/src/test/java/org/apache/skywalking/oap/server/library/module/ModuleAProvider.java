@@ -19,6 +19,8 @@
 package org.apache.skywalking.oap.server.library.module;
 
 public class ModuleAProvider extends ModuleProvider {
+    static volatile String START_THREAD;
+
     private ModuleAProviderConfig config = new ModuleAProviderConfig();
 
     @Override
@@ -44,6 +46,7 @@ public class ModuleAProvider extends ModuleProvider {
 
     @Override
     public void start() {
+        START_THREAD = Thread.currentThread().getName();
     }
 
     @Override
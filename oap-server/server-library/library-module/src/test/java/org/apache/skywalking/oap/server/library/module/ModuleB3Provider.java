@@ -18,7 +18,11 @@
 
 package org.apache.skywalking.oap.server.library.module;
 
+import lombok.Getter;
+import lombok.Setter;
+
 public class ModuleB3Provider extends ModuleProvider {
+    private final Config config = new Config();
 
     @Override
     public String name() {
@@ -27,7 +31,7 @@ public class ModuleB3Provider extends ModuleProvider {
 
     @Override
     public ModuleConfig createConfigBeanIfAbsent() {
-        return null;
+        return config;
     }
 
     @Override
@@ -42,7 +46,10 @@ public class ModuleB3Provider extends ModuleProvider {
     }
 
     @Override
-    public void start() {
+    public void start() throws ModuleStartException {
+        if (config.isFailToStart()) {
+            throw new ModuleStartException("P-B3 fails to start");
+        }
     }
 
     @Override
@@ -54,6 +61,9 @@ public class ModuleB3Provider extends ModuleProvider {
         return new String[] {"BaseA"};
     }
 
-    class Config {
+    @Setter
+    @Getter
+    public static class Config extends ModuleConfig {
+        private boolean failToStart;
     }
 }
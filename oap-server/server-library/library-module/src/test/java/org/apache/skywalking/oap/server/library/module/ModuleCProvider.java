@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.library.module;
+
+import lombok.Getter;
+import lombok.Setter;
+
+public class ModuleCProvider extends ModuleProvider {
+    static volatile String START_THREAD;
+
+    private final Config config = new Config();
+
+    @Override
+    public String name() {
+        return "P-C";
+    }
+
+    @Override
+    public ModuleConfig createConfigBeanIfAbsent() {
+        return config;
+    }
+
+    @Override
+    public Class<? extends ModuleDefine> module() {
+        return BaseModuleC.class;
+    }
+
+    @Override
+    public void prepare() {
+    }
+
+    @Override
+    public boolean isConcurrentStart() {
+        return true;
+    }
+
+    @Override
+    public void start() throws ModuleStartException {
+        if (config.isFailToStart()) {
+            throw new ModuleStartException("P-C fails to start");
+        }
+        if (config.getStartDelay() > 0) {
+            try {
+                Thread.sleep(config.getStartDelay());
+            } catch (InterruptedException e) {
+                throw new ModuleStartException("P-C is interrupted", e);
+            }
+        }
+        START_THREAD = Thread.currentThread().getName();
+    }
+
+    @Override
+    public void notifyAfterCompleted() {
+    }
+
+    @Override
+    public String[] requiredModules() {
+        return new String[] {"BaseA"};
+    }
+
+    @Setter
+    @Getter
+    public static class Config extends ModuleConfig {
+        private boolean failToStart;
+        private long startDelay;
+    }
+}
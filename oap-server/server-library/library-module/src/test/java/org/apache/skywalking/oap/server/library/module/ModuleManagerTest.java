@@ -81,4 +81,49 @@ public class ModuleManagerTest {
         ModuleManager manager = new ModuleManager();
         manager.init(configuration);
     }
+
+    @Test
+    public void testConcurrentStart() throws ModuleConfigException, ModuleNotFoundException, ModuleStartException {
+        ApplicationConfiguration configuration = new ApplicationConfiguration();
+        configuration.addModule("BaseA").addProviderConfiguration("P-A", new Properties());
+        configuration.addModule("BaseB").addProviderConfiguration("P-B", new Properties());
+        configuration.addModule("BaseC").addProviderConfiguration("P-C", new Properties());
+
+        ModuleAProvider.START_THREAD = null;
+        ModuleCProvider.START_THREAD = null;
+        ModuleManager manager = new ModuleManager();
+        manager.init(configuration);
+
+        // The sequential providers start on the bootstrap thread as before.
+        Assert.assertEquals(Thread.currentThread().getName(), ModuleAProvider.START_THREAD);
+        Assert.assertNotNull(ModuleCProvider.START_THREAD);
+        Assert.assertTrue(ModuleCProvider.START_THREAD.startsWith("ModuleBootstrap-"));
+    }
+
+    @Test(expected = ModuleStartException.class)
+    public void testConcurrentStartFailure() throws ModuleConfigException, ModuleNotFoundException, ModuleStartException {
+        ApplicationConfiguration configuration = new ApplicationConfiguration();
+        configuration.addModule("BaseA").addProviderConfiguration("P-A", new Properties());
+        final Properties settings = new Properties();
+        settings.put("failToStart", true);
+        configuration.addModule("BaseC").addProviderConfiguration("P-C", settings);
+
+        ModuleManager manager = new ModuleManager();
+        manager.init(configuration);
+    }
+
+    @Test(timeout = 20000, expected = ModuleStartException.class)
+    public void testFailureNotWaitingForSlowProvider() throws ModuleConfigException, ModuleNotFoundException, ModuleStartException {
+        ApplicationConfiguration configuration = new ApplicationConfiguration();
+        configuration.addModule("BaseA").addProviderConfiguration("P-A", new Properties());
+        final Properties failing = new Properties();
+        failing.put("failToStart", true);
+        configuration.addModule("BaseB").addProviderConfiguration("P-B3", failing);
+        final Properties slow = new Properties();
+        slow.put("startDelay", 60000L);
+        configuration.addModule("BaseC").addProviderConfiguration("P-C", slow);
+
+        ModuleManager manager = new ModuleManager();
+        manager.init(configuration);
+    }
 }
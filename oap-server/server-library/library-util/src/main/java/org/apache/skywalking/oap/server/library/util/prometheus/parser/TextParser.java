@@ -22,6 +22,8 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Pattern;
 import org.apache.commons.text.StringEscapeUtils;
 import org.apache.skywalking.oap.server.library.util.prometheus.Parser;
 import org.apache.skywalking.oap.server.library.util.prometheus.metrics.MetricFamily;
@@ -33,12 +35,14 @@ import org.slf4j.LoggerFactory;
 public class TextParser implements Parser {
     private static final Logger LOG = LoggerFactory.getLogger(TextParser.class);
 
+    private static final Pattern COMMENT_SEPARATOR = Pattern.compile("[ \t]+");
+
     private final BufferedReader reader;
 
     private String lastLineReadFromStream;
 
     public TextParser(final InputStream inputStream) {
-        this.reader = new BufferedReader(new InputStreamReader(inputStream));
+        this.reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
     }
 
     @Override
@@ -81,7 +85,7 @@ public class TextParser implements Parser {
             return false;
         }
         if (line.charAt(0) == '#') {
-            String[] parts = line.split("[ \t]+", 4);
+            String[] parts = COMMENT_SEPARATOR.split(line, 4);
             if (parts.length < 3) {
                 return false;
             }
@@ -27,4 +27,13 @@ class Context {
     StringBuilder labelvalue = new StringBuilder();
     StringBuilder value = new StringBuilder();
     Map<String, String> labels = new LinkedHashMap<>();
+
+    Context reset() {
+        name.setLength(0);
+        labelname.setLength(0);
+        labelvalue.setLength(0);
+        value.setLength(0);
+        labels = new LinkedHashMap<>();
+        return this;
+    }
 }
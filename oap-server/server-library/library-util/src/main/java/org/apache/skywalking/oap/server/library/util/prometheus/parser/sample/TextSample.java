@@ -32,8 +32,13 @@ public class TextSample {
     private final String value;
     private final String line;
 
+    /**
+     * The builders are reused by the lines parsed in the same thread.
+     */
+    private static final ThreadLocal<Context> CONTEXT = ThreadLocal.withInitial(Context::new);
+
     public static TextSample parse(String line) {
-        Context ctx = new Context();
+        Context ctx = CONTEXT.get().reset();
         State state = State.NAME;
         for (int c = 0; c < line.length(); c++) {
             char charAt = line.charAt(c);
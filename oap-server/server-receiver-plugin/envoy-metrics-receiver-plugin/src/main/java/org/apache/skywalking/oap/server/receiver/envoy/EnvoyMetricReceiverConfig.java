@@ -37,6 +37,14 @@ public class EnvoyMetricReceiverConfig extends ModuleConfig {
     private String alsTCPAnalysis;
     @Getter
     private String k8sServiceNameRule;
+    /**
+     * The max count of distinct MX peer metadata whose decoded {@link org.apache.skywalking.oap.server.receiver.envoy.als.ServiceMetaInfo}
+     * is cached by the MX analyzers, 0 means no cache.
+     *
+     * @since 9.1.0
+     */
+    @Getter
+    private long alsPeerMetadataCacheSize = 10000;
 
     private final ServiceMetaInfoFactory serviceMetaInfoFactory = new ServiceMetaInfoFactoryImpl();
     @Getter
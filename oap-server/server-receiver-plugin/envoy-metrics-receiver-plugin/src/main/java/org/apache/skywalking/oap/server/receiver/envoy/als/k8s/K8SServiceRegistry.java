@@ -35,8 +35,11 @@ import io.kubernetes.client.openapi.models.V1ServiceList;
 import io.kubernetes.client.util.Config;
 import java.io.IOException;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -50,6 +53,10 @@ import static com.google.common.base.Strings.isNullOrEmpty;
 import static java.util.Objects.isNull;
 import static java.util.Optional.ofNullable;
 
+/**
+ * K8SServiceRegistry maps the pod IPs to the service meta info, by the pods, endpoints and services from the
+ * informers. Every event only resolves the IPs it affects, and only the metadata of the pods and services are kept.
+ */
 @Slf4j
 public class K8SServiceRegistry {
     protected final Map<String/* ip */, ServiceMetaInfo> ipServiceMetaInfoMap;
@@ -60,6 +67,8 @@ public class K8SServiceRegistry {
 
     protected final Map<String/* ip */, String/* namespace:serviceName */> ipServiceMap;
 
+    protected final Map<String/* namespace:serviceName */, Set<String>/* ip */> serviceIpsMap;
+
     protected final ExecutorService executor;
 
     protected final ServiceNameFormatter serviceNameFormatter;
@@ -76,6 +85,7 @@ public class K8SServiceRegistry {
         idServiceMap = new ConcurrentHashMap<>();
         ipPodMap = new ConcurrentHashMap<>();
         ipServiceMap = new ConcurrentHashMap<>();
+        serviceIpsMap = new ConcurrentHashMap<>();
         executor = Executors.newCachedThreadPool(
             new ThreadFactoryBuilder()
                 .setNameFormat("K8SServiceRegistry-%d")
@@ -212,27 +222,65 @@ public class K8SServiceRegistry {
     }
 
     protected void addService(final V1Service service) {
-        ofNullable(service.getMetadata()).ifPresent(
-            metadata -> idServiceMap.put(metadata.getNamespace() + ":" + metadata.getName(), service)
-        );
+        final V1ObjectMeta metadata = service.getMetadata();
+        if (isNull(metadata)) {
+            return;
+        }
+        final String id = metadata.getNamespace() + ":" + metadata.getName();
+        final V1Service slim = new V1Service().metadata(slim(metadata));
 
-        recompose();
+        synchronized (this) {
+            final V1Service previous = idServiceMap.put(id, slim);
+            if (!slim.equals(previous)) {
+                serviceIpsMap.getOrDefault(id, Collections.emptySet()).forEach(this::compose);
+            }
+        }
     }
 
     protected void removeService(final V1Service service) {
-        ofNullable(service.getMetadata()).ifPresent(
-            metadata -> idServiceMap.remove(metadata.getNamespace() + ":" + metadata.getName())
-        );
+        final V1ObjectMeta metadata = service.getMetadata();
+        if (isNull(metadata)) {
+            return;
+        }
+        final String id = metadata.getNamespace() + ":" + metadata.getName();
+
+        synchronized (this) {
+            if (idServiceMap.remove(id) != null) {
+                serviceIpsMap.getOrDefault(id, Collections.emptySet()).forEach(this::compose);
+            }
+        }
     }
 
     protected void addPod(final V1Pod pod) {
-        ofNullable(pod.getStatus()).flatMap(status -> ofNullable(status.getPodIP())).ifPresent(podIP -> ipPodMap.put(podIP, pod));
+        final V1ObjectMeta metadata = pod.getMetadata();
+        final String podIP = isNull(pod.getStatus()) ? null : pod.getStatus().getPodIP();
+        if (isNull(metadata) || isNullOrEmpty(podIP)) {
+            return;
+        }
+        final V1Pod slim = new V1Pod().metadata(slim(metadata));
 
-        recompose();
+        synchronized (this) {
+            if (!slim.equals(ipPodMap.put(podIP, slim))) {
+                compose(podIP);
+            }
+        }
     }
 
     protected void removePod(final V1Pod pod) {
-        ofNullable(pod.getStatus()).flatMap(status -> ofNullable(status.getPodIP())).ifPresent(ipPodMap::remove);
+        final V1ObjectMeta metadata = pod.getMetadata();
+        final String podIP = isNull(pod.getStatus()) ? null : pod.getStatus().getPodIP();
+        if (isNull(metadata) || isNullOrEmpty(podIP)) {
+            return;
+        }
+
+        synchronized (this) {
+            final V1Pod current = ipPodMap.get(podIP);
+            // The IP may have been taken by a new pod already.
+            if (current != null && isSamePod(current.getMetadata(), metadata)) {
+                ipPodMap.remove(podIP);
+                compose(podIP);
+            }
+        }
     }
 
     protected void addEndpoints(final V1Endpoints endpoints) {
@@ -242,24 +290,68 @@ public class K8SServiceRegistry {
             return;
         }
 
-        final String namespace = endpointsMetadata.getNamespace();
-        final String name = endpointsMetadata.getName();
+        final String id = endpointsMetadata.getNamespace() + ":" + endpointsMetadata.getName();
+        final Set<String> ips = addressesOf(endpoints);
 
-        ofNullable(endpoints.getSubsets()).ifPresent(subsets -> subsets.forEach(
-            subset -> ofNullable(subset.getAddresses()).ifPresent(addresses -> addresses.forEach(
-                address -> ofNullable(address.getIp()).ifPresent(ip -> ipServiceMap.put(ip, namespace + ":" + name))
-            ))
-        ));
-
-        recompose();
+        synchronized (this) {
+            final Set<String> previousIps = serviceIpsMap.put(id, ips);
+            if (previousIps != null) {
+                previousIps.stream().filter(ip -> !ips.contains(ip)).forEach(ip -> unbind(ip, id));
+            }
+            ips.forEach(ip -> {
+                if (!id.equals(ipServiceMap.put(ip, id))) {
+                    compose(ip);
+                }
+            });
+        }
     }
 
     protected void removeEndpoints(final V1Endpoints endpoints) {
+        V1ObjectMeta endpointsMetadata = endpoints.getMetadata();
+        if (isNull(endpointsMetadata)) {
+            return;
+        }
+
+        final String id = endpointsMetadata.getNamespace() + ":" + endpointsMetadata.getName();
+
+        synchronized (this) {
+            final Set<String> previousIps = serviceIpsMap.remove(id);
+            if (previousIps != null) {
+                previousIps.forEach(ip -> unbind(ip, id));
+            }
+        }
+    }
+
+    private void unbind(final String ip, final String id) {
+        // The IP may have been taken by another service already.
+        if (ipServiceMap.remove(ip, id)) {
+            compose(ip);
+        }
+    }
+
+    private static Set<String> addressesOf(final V1Endpoints endpoints) {
+        final Set<String> ips = new HashSet<>();
         ofNullable(endpoints.getSubsets()).ifPresent(subsets -> subsets.forEach(
             subset -> ofNullable(subset.getAddresses()).ifPresent(addresses -> addresses.forEach(
-                address -> ofNullable(address.getIp()).ifPresent(ipServiceMap::remove)
+                address -> ofNullable(address.getIp()).ifPresent(ips::add)
             ))
         ));
+        return ips;
+    }
+
+    /**
+     * Only the metadata of the pods and services are kept for {@link ServiceNameFormatter}, the specs and statuses of
+     * the informer objects are dropped.
+     */
+    private static V1ObjectMeta slim(final V1ObjectMeta metadata) {
+        return new V1ObjectMeta().name(metadata.getName())
+                                 .namespace(metadata.getNamespace())
+                                 .labels(metadata.getLabels())
+                                 .annotations(metadata.getAnnotations());
+    }
+
+    private static boolean isSamePod(final V1ObjectMeta a, final V1ObjectMeta b) {
+        return Objects.equals(a.getName(), b.getName()) && Objects.equals(a.getNamespace(), b.getNamespace());
     }
 
     protected List<ServiceMetaInfo.KeyValue> transformLabelsToTags(final Map<String, String> labels) {
@@ -284,42 +376,33 @@ public class K8SServiceRegistry {
         return service;
     }
 
-    protected void recompose() {
-        ipPodMap.forEach((ip, pod) -> {
-            final String namespaceService = ipServiceMap.get(ip);
-            final V1Service service;
-            if (isNullOrEmpty(namespaceService) || isNull(service = idServiceMap.get(namespaceService))) {
-                return;
-            }
+    /**
+     * Resolve the service meta info of the IP again, after the pod, the endpoints or the service of it changed.
+     */
+    protected void compose(final String ip) {
+        final V1Pod pod = ipPodMap.get(ip);
+        final String namespaceService = ipServiceMap.get(ip);
+        final V1Service service;
+        if (isNull(pod) || isNullOrEmpty(namespaceService) || isNull(service = idServiceMap.get(namespaceService))) {
+            ipServiceMetaInfoMap.remove(ip);
+            return;
+        }
 
-            final Map<String, Object> context = ImmutableMap.of("service", service, "pod", pod);
-            final V1ObjectMeta podMetadata = pod.getMetadata();
-            if (isNull(podMetadata)) {
-                log.warn("Pod metadata is null, {}", pod);
-                return;
-            }
+        final Map<String, Object> context = ImmutableMap.of("service", service, "pod", pod);
+        final V1ObjectMeta podMetadata = pod.getMetadata();
+        final ServiceMetaInfo serviceMetaInfo = new ServiceMetaInfo();
 
-            ipServiceMetaInfoMap.computeIfAbsent(ip, unused -> {
-                final ServiceMetaInfo serviceMetaInfo = new ServiceMetaInfo();
-
-                try {
-                    serviceMetaInfo.setServiceName(serviceNameFormatter.format(context));
-                } catch (Exception e) {
-                    log.error("Failed to evaluate service name.", e);
-                    final V1ObjectMeta serviceMetadata = service.getMetadata();
-                    if (isNull(serviceMetadata)) {
-                        log.warn("Service metadata is null, {}", service);
-                        return config.serviceMetaInfoFactory().unknown();
-                    }
-                    serviceMetaInfo.setServiceName(serviceMetadata.getName());
-                }
-                serviceMetaInfo.setServiceInstanceName(
-                    String.format("%s.%s", podMetadata.getName(), podMetadata.getNamespace()));
-                serviceMetaInfo.setTags(transformLabelsToTags(podMetadata.getLabels()));
+        try {
+            serviceMetaInfo.setServiceName(serviceNameFormatter.format(context));
+        } catch (Exception e) {
+            log.error("Failed to evaluate service name.", e);
+            serviceMetaInfo.setServiceName(service.getMetadata().getName());
+        }
+        serviceMetaInfo.setServiceInstanceName(
+            String.format("%s.%s", podMetadata.getName(), podMetadata.getNamespace()));
+        serviceMetaInfo.setTags(transformLabelsToTags(podMetadata.getLabels()));
 
-                return serviceMetaInfo;
-            });
-        });
+        ipServiceMetaInfoMap.put(ip, serviceMetaInfo);
     }
 
     public boolean isEmpty() {
@@ -36,6 +36,8 @@ import org.apache.skywalking.oap.server.receiver.envoy.EnvoyMetricReceiverConfig
 import org.apache.skywalking.oap.server.receiver.envoy.als.AbstractALSAnalyzer;
 import org.apache.skywalking.oap.server.receiver.envoy.als.Role;
 import org.apache.skywalking.oap.server.receiver.envoy.als.ServiceMetaInfo;
+import org.apache.skywalking.oap.server.telemetry.TelemetryModule;
+import org.apache.skywalking.oap.server.telemetry.api.MetricsCreator;
 
 import static org.apache.skywalking.oap.server.library.util.CollectionUtils.isNotEmpty;
 import static org.apache.skywalking.oap.server.receiver.envoy.als.LogEntry2MetricsAdapter.NON_TLS;
@@ -51,6 +53,8 @@ public class MetaExchangeALSHTTPAnalyzer extends AbstractALSAnalyzer {
 
     protected EnvoyMetricReceiverConfig config;
 
+    protected ServiceMetaInfoCache peerMetaInfoCache;
+
     @Override
     public String name() {
         return "mx-mesh";
@@ -64,6 +68,10 @@ public class MetaExchangeALSHTTPAnalyzer extends AbstractALSAnalyzer {
         } catch (final Exception e) {
             throw new ModuleStartException("Failed to load metadata-service-mapping.yaml", e);
         }
+        final MetricsCreator metricsCreator = manager.find(TelemetryModule.NAME)
+                                                     .provider()
+                                                     .getService(MetricsCreator.class);
+        peerMetaInfoCache = new ServiceMetaInfoCache(config.getAlsPeerMetadataCacheSize(), "http", metricsCreator);
     }
 
     @Override
@@ -135,7 +143,7 @@ public class MetaExchangeALSHTTPAnalyzer extends AbstractALSAnalyzer {
     }
 
     protected ServiceMetaInfo adaptToServiceMetaInfo(final Any value) throws Exception {
-        return new ServiceMetaInfoAdapter(value);
+        return peerMetaInfoCache.get(value);
     }
 
     protected ServiceMetaInfo adaptToServiceMetaInfo(final StreamAccessLogsMessage.Identifier identifier) throws Exception {
@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.receiver.envoy.als.mx;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.google.protobuf.Any;
+import com.google.protobuf.ByteString;
+import java.util.concurrent.ExecutionException;
+import org.apache.skywalking.oap.server.receiver.envoy.als.ServiceMetaInfo;
+import org.apache.skywalking.oap.server.telemetry.api.CounterMetrics;
+import org.apache.skywalking.oap.server.telemetry.api.MetricsCreator;
+import org.apache.skywalking.oap.server.telemetry.api.MetricsTag;
+
+/**
+ * Caches the {@link ServiceMetaInfo} adapted from the MX peer metadata, keyed by the raw metadata bytes. The peer
+ * metadata of a mesh is made of a limited set of workloads, so the same blobs repeat in almost every access log entry,
+ * decoding the flat buffer and inflating the fields once per distinct blob saves most of the analysis cost.
+ *
+ * The cached {@link ServiceMetaInfo} instances are shared between entries, and must not be modified by the callers.
+ */
+public class ServiceMetaInfoCache {
+    private final Cache<ByteString, ServiceMetaInfo> cache;
+    private final CounterMetrics hitCounter;
+    private final CounterMetrics missCounter;
+
+    /**
+     * @param maxSize  the max count of distinct peer metadata to keep, {@code 0} disables the cache.
+     * @param protocol the protocol of the access logs, used as the label of the hit / miss metrics.
+     */
+    public ServiceMetaInfoCache(final long maxSize, final String protocol, final MetricsCreator metricsCreator) {
+        this.cache = maxSize > 0 ? CacheBuilder.newBuilder().maximumSize(maxSize).build() : null;
+        this.hitCounter = metricsCreator.createCounter(
+            "envoy_als_peer_metadata_cache_hit_count", "The count of envoy ALS peer metadata resolved from the cache",
+            new MetricsTag.Keys("protocol"), new MetricsTag.Values(protocol)
+        );
+        this.missCounter = metricsCreator.createCounter(
+            "envoy_als_peer_metadata_cache_miss_count", "The count of envoy ALS peer metadata decoded from the raw bytes",
+            new MetricsTag.Keys("protocol"), new MetricsTag.Values(protocol)
+        );
+    }
+
+    /**
+     * Resolve the {@link ServiceMetaInfo} of the peer metadata, decoding the metadata only if it's absent in the cache.
+     *
+     * @param value the peer metadata in the filter state of the access log entry.
+     * @throws Exception if the metadata can not be adapted to a {@link ServiceMetaInfo}, the failure is not cached.
+     */
+    public ServiceMetaInfo get(final Any value) throws Exception {
+        if (cache == null) {
+            missCounter.inc();
+            return new ServiceMetaInfoAdapter(value);
+        }
+        final ByteString key = value.getValue();
+        final ServiceMetaInfo cached = cache.getIfPresent(key);
+        if (cached != null) {
+            hitCounter.inc();
+            return cached;
+        }
+        try {
+            return cache.get(key, () -> {
+                missCounter.inc();
+                return new ServiceMetaInfoAdapter(key);
+            });
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            if (e.getCause() instanceof Exception) {
+                throw (Exception) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    long size() {
+        return cache == null ? 0 : cache.size();
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.receiver.envoy.als.k8s;
+
+import com.google.common.collect.ImmutableMap;
+import io.kubernetes.client.openapi.models.V1EndpointAddress;
+import io.kubernetes.client.openapi.models.V1EndpointSubset;
+import io.kubernetes.client.openapi.models.V1Endpoints;
+import io.kubernetes.client.openapi.models.V1ObjectMeta;
+import io.kubernetes.client.openapi.models.V1Pod;
+import io.kubernetes.client.openapi.models.V1PodStatus;
+import io.kubernetes.client.openapi.models.V1Service;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+import org.apache.skywalking.oap.server.receiver.envoy.EnvoyMetricReceiverConfig;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class K8SServiceRegistryTest {
+    private static final String UNKNOWN = "UNKNOWN";
+
+    private K8SServiceRegistry registry;
+
+    @Before
+    public void setUp() {
+        registry = new K8SServiceRegistry(new EnvoyMetricReceiverConfig() {
+            @Override
+            public String getK8sServiceNameRule() {
+                return "${service.metadata.name}-${pod.metadata.labels.version}";
+            }
+        });
+    }
+
+    @Test
+    public void testResolveInAnyEventOrder() {
+        registry.addPod(pod("reviews-1", "10.0.0.1", "v1"));
+        registry.addEndpoints(endpoints("reviews", "10.0.0.1"));
+        assertEquals(UNKNOWN, registry.findService("10.0.0.1").getServiceName());
+
+        registry.addService(service("reviews"));
+        assertEquals("reviews-v1", registry.findService("10.0.0.1").getServiceName());
+        assertEquals("reviews-1.default", registry.findService("10.0.0.1").getServiceInstanceName());
+    }
+
+    @Test
+    public void testUpdatePod() {
+        registry.addService(service("reviews"));
+        registry.addEndpoints(endpoints("reviews", "10.0.0.1"));
+        registry.addPod(pod("reviews-1", "10.0.0.1", "v1"));
+        registry.addPod(pod("reviews-1", "10.0.0.1", "v2"));
+        assertEquals("reviews-v2", registry.findService("10.0.0.1").getServiceName());
+    }
+
+    @Test
+    public void testReuseIpOfRemovedPod() {
+        registry.addService(service("reviews"));
+        registry.addEndpoints(endpoints("reviews", "10.0.0.1"));
+        registry.addPod(pod("reviews-1", "10.0.0.1", "v1"));
+        registry.addPod(pod("reviews-2", "10.0.0.1", "v2"));
+        registry.removePod(pod("reviews-1", "10.0.0.1", "v1"));
+        assertEquals("reviews-v2", registry.findService("10.0.0.1").getServiceName());
+
+        registry.removePod(pod("reviews-2", "10.0.0.1", "v2"));
+        assertEquals(UNKNOWN, registry.findService("10.0.0.1").getServiceName());
+    }
+
+    @Test
+    public void testUpdateEndpoints() {
+        registry.addService(service("reviews"));
+        registry.addService(service("ratings"));
+        registry.addPod(pod("reviews-1", "10.0.0.1", "v1"));
+        registry.addPod(pod("reviews-2", "10.0.0.2", "v1"));
+        registry.addEndpoints(endpoints("reviews", "10.0.0.1", "10.0.0.2"));
+        assertEquals("reviews-v1", registry.findService("10.0.0.2").getServiceName());
+
+        registry.addEndpoints(endpoints("reviews", "10.0.0.1"));
+        assertEquals("reviews-v1", registry.findService("10.0.0.1").getServiceName());
+        assertEquals(UNKNOWN, registry.findService("10.0.0.2").getServiceName());
+
+        registry.addEndpoints(endpoints("ratings", "10.0.0.1"));
+        registry.removeEndpoints(endpoints("reviews"));
+        assertEquals("ratings-v1", registry.findService("10.0.0.1").getServiceName());
+    }
+
+    private static V1Service service(String name) {
+        return new V1Service().metadata(new V1ObjectMeta().name(name).namespace("default"));
+    }
+
+    private static V1Pod pod(String name, String ip, String version) {
+        return new V1Pod().metadata(new V1ObjectMeta().name(name)
+                                                      .namespace("default")
+                                                      .labels(ImmutableMap.of("version", version)))
+                          .status(new V1PodStatus().podIP(ip));
+    }
+
+    private static V1Endpoints endpoints(String name, String... ips) {
+        return new V1Endpoints().metadata(new V1ObjectMeta().name(name).namespace("default"))
+                                .addSubsetsItem(new V1EndpointSubset().addresses(
+                                    Arrays.stream(ips)
+                                          .map(ip -> new V1EndpointAddress().ip(ip))
+                                          .collect(Collectors.toList())));
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.receiver.envoy.als.mx;
+
+import Wasm.Common.FlatNode;
+import Wasm.Common.KeyVal;
+import com.google.flatbuffers.FlatBufferBuilder;
+import com.google.protobuf.Any;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.BytesValue;
+import org.apache.skywalking.oap.server.receiver.envoy.als.ServiceMetaInfo;
+import org.apache.skywalking.oap.server.telemetry.none.MetricsCreatorNoop;
+import org.junit.Before;
+import org.junit.Test;
+import org.powermock.reflect.Whitebox;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+public class ServiceMetaInfoCacheTest {
+
+    @Before
+    public void setUp() throws Exception {
+        Whitebox.setInternalState(FieldsHelper.SINGLETON, "initialized", false);
+        FieldsHelper.SINGLETON.init("metadata-service-mapping.yaml", ServiceMetaInfo.class);
+    }
+
+    @Test
+    public void testResolveOncePerDistinctMetadata() throws Exception {
+        final ServiceMetaInfoCache cache = new ServiceMetaInfoCache(10, "http", new MetricsCreatorNoop());
+
+        final ServiceMetaInfo productpage = cache.get(peerMetadata("productpage-v1-65576bb7bf-4mzsp", "productpage"));
+        assertEquals("v1.productpage.default", productpage.getServiceName());
+        assertEquals("productpage-v1-65576bb7bf-4mzsp", productpage.getServiceInstanceName());
+        assertSame(productpage, cache.get(peerMetadata("productpage-v1-65576bb7bf-4mzsp", "productpage")));
+
+        final ServiceMetaInfo reviews = cache.get(peerMetadata("reviews-v1-545db77b95-sgsqx", "reviews"));
+        assertEquals("v1.reviews.default", reviews.getServiceName());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void testBoundedSize() throws Exception {
+        final ServiceMetaInfoCache cache = new ServiceMetaInfoCache(2, "http", new MetricsCreatorNoop());
+        for (int i = 0; i < 10; i++) {
+            cache.get(peerMetadata("reviews-" + i, "reviews"));
+        }
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void testDisabled() throws Exception {
+        final ServiceMetaInfoCache cache = new ServiceMetaInfoCache(0, "tcp", new MetricsCreatorNoop());
+        final ServiceMetaInfo first = cache.get(peerMetadata("productpage-v1-65576bb7bf-4mzsp", "productpage"));
+        final ServiceMetaInfo second = cache.get(peerMetadata("productpage-v1-65576bb7bf-4mzsp", "productpage"));
+        assertNotSame(first, second);
+        assertEquals(first, second);
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testFailureNotCached() {
+        final ServiceMetaInfoCache cache = new ServiceMetaInfoCache(10, "http", new MetricsCreatorNoop());
+        final Any malformed = Any.newBuilder().setValue(ByteString.copyFromUtf8("not a bytes value")).build();
+        try {
+            cache.get(malformed);
+            fail("malformed metadata should not be adapted");
+        } catch (Exception ignored) {
+        }
+        assertEquals(0, cache.size());
+    }
+
+    private static Any peerMetadata(final String name, final String canonicalName) {
+        final FlatBufferBuilder builder = new FlatBufferBuilder();
+        final int[] labels = new int[] {
+            KeyVal.createKeyVal(
+                builder, builder.createString("service.istio.io/canonical-name"), builder.createString(canonicalName)),
+            KeyVal.createKeyVal(
+                builder, builder.createString("service.istio.io/canonical-revision"), builder.createString("v1"))
+        };
+        final int nameOffset = builder.createString(name);
+        final int namespaceOffset = builder.createString("default");
+        final int labelsOffset = FlatNode.createLabelsVector(builder, labels);
+        FlatNode.startFlatNode(builder);
+        FlatNode.addName(builder, nameOffset);
+        FlatNode.addNamespace(builder, namespaceOffset);
+        FlatNode.addLabels(builder, labelsOffset);
+        FlatNode.finishFlatNodeBuffer(builder, FlatNode.endFlatNode(builder));
+
+        final BytesValue bytes = BytesValue.of(ByteString.copyFrom(builder.sizedByteArray()));
+        return Any.newBuilder().setValue(bytes.toByteString()).build();
+    }
+}
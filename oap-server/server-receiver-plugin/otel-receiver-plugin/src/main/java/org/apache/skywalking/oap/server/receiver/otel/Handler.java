@@ -26,13 +26,14 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import org.apache.skywalking.oap.server.core.analysis.meter.MeterSystem;
+import org.apache.skywalking.oap.server.core.annotation.ClassPathCache;
 import org.apache.skywalking.oap.server.core.server.GRPCHandlerRegister;
 
 public interface Handler {
     static List<Handler> all() throws HandlerInitializationException {
         ClassPath classpath;
         try {
-            classpath = ClassPath.from(Handler.class.getClassLoader());
+            classpath = ClassPathCache.INSTANCE.of(Handler.class.getClassLoader());
         } catch (IOException e) {
             throw new HandlerInitializationException("failed to load handler classes", e);
         }
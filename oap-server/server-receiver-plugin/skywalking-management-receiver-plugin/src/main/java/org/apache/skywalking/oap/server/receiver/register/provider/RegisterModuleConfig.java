@@ -0,0 +1,37 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.receiver.register.provider;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.apache.skywalking.oap.server.library.module.ModuleConfig;
+
+@Setter
+@Getter
+public class RegisterModuleConfig extends ModuleConfig {
+    /**
+     * The min interval(in seconds) between two emitted heartbeats of the same instance. The heartbeats are always
+     * coalesced inside one minute, as the last ping time of an instance is in minute precision. A larger value
+     * reduces the instance metadata writes further, at the cost of the last ping time lagging up to this interval.
+     * The properties reports are coalesced by the same interval, unless the properties change.
+     *
+     * @since 9.1.0
+     */
+    private int keepAliveCoalescingInterval = 0;
+}
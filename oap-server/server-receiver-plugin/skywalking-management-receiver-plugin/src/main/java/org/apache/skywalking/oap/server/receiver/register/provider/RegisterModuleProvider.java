@@ -27,12 +27,14 @@ import org.apache.skywalking.oap.server.library.module.ModuleConfig;
 import org.apache.skywalking.oap.server.library.module.ModuleDefine;
 import org.apache.skywalking.oap.server.library.module.ModuleProvider;
 import org.apache.skywalking.oap.server.receiver.register.module.RegisterModule;
+import org.apache.skywalking.oap.server.receiver.register.provider.handler.v8.ManagementServiceHandler;
 import org.apache.skywalking.oap.server.receiver.register.provider.handler.v8.grpc.ManagementServiceGRPCHandler;
 import org.apache.skywalking.oap.server.receiver.register.provider.handler.v8.grpc.ManagementServiceGrpcHandlerCompat;
 import org.apache.skywalking.oap.server.receiver.register.provider.handler.v8.rest.ManagementServiceHTTPHandler;
 import org.apache.skywalking.oap.server.receiver.sharing.server.SharingServerModule;
 
 public class RegisterModuleProvider extends ModuleProvider {
+    private final RegisterModuleConfig moduleConfig = new RegisterModuleConfig();
 
     @Override
     public String name() {
@@ -46,7 +48,7 @@ public class RegisterModuleProvider extends ModuleProvider {
 
     @Override
     public ModuleConfig createConfigBeanIfAbsent() {
-        return null;
+        return moduleConfig;
     }
 
     @Override
@@ -58,14 +60,16 @@ public class RegisterModuleProvider extends ModuleProvider {
         GRPCHandlerRegister grpcHandlerRegister = getManager().find(SharingServerModule.NAME)
                                                               .provider()
                                                               .getService(GRPCHandlerRegister.class);
-        ManagementServiceGRPCHandler managementServiceHTTPHandler = new ManagementServiceGRPCHandler(getManager());
+        // The gRPC and HTTP handlers share the same instance last seen table.
+        ManagementServiceHandler managementServiceHandler = new ManagementServiceHandler(getManager(), moduleConfig);
+        ManagementServiceGRPCHandler managementServiceHTTPHandler = new ManagementServiceGRPCHandler(managementServiceHandler);
         grpcHandlerRegister.addHandler(managementServiceHTTPHandler);
         grpcHandlerRegister.addHandler(new ManagementServiceGrpcHandlerCompat(managementServiceHTTPHandler));
 
         HTTPHandlerRegister httpHandlerRegister = getManager().find(SharingServerModule.NAME)
                                                               .provider()
                                                               .getService(HTTPHandlerRegister.class);
-        httpHandlerRegister.addHandler(new ManagementServiceHTTPHandler(getManager()),
+        httpHandlerRegister.addHandler(new ManagementServiceHTTPHandler(managementServiceHandler),
                                        Collections.singletonList(HttpMethod.POST)
         );
     }
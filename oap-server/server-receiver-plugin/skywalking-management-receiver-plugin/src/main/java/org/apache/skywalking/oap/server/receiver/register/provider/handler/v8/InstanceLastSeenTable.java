@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.receiver.register.provider.handler.v8;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.gson.JsonObject;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import org.apache.skywalking.oap.server.core.analysis.Layer;
+
+/**
+ * The last emitted heartbeat and properties of every instance, used to drop the heartbeats and properties reports
+ * which would write exactly the same instance metadata again. An instance is emitted again once its minute time bucket
+ * changes and the coalescing interval has passed, or its layer / properties change.
+ *
+ * The entries expire shortly after the interval, a missing entry only means the next report is emitted.
+ */
+class InstanceLastSeenTable {
+    private final long intervalMillis;
+    private final Cache<String, Seen> heartbeats;
+    private final Cache<String, Seen> properties;
+
+    InstanceLastSeenTable(final int intervalSeconds) {
+        this.intervalMillis = TimeUnit.SECONDS.toMillis(Math.max(0, intervalSeconds));
+        final long expireMillis = intervalMillis + TimeUnit.MINUTES.toMillis(2);
+        this.heartbeats = CacheBuilder.newBuilder().expireAfterWrite(expireMillis, TimeUnit.MILLISECONDS).build();
+        this.properties = CacheBuilder.newBuilder().expireAfterWrite(expireMillis, TimeUnit.MILLISECONDS).build();
+    }
+
+    /**
+     * @return true if the heartbeat should be emitted, and it's recorded as the last emitted one.
+     */
+    boolean heartbeat(final String instanceId, final Layer layer, final long timeBucket, final long now) {
+        return emit(heartbeats, instanceId, new Seen(timeBucket, now, layer));
+    }
+
+    /**
+     * @return true if the properties report should be emitted, and it's recorded as the last emitted one.
+     */
+    boolean properties(final String instanceId, final JsonObject props, final long timeBucket, final long now) {
+        return emit(properties, instanceId, new Seen(timeBucket, now, props));
+    }
+
+    private boolean emit(final Cache<String, Seen> table, final String instanceId, final Seen current) {
+        final Seen last = table.getIfPresent(instanceId);
+        if (last != null && Objects.equals(last.content, current.content)) {
+            if (last.timeBucket == current.timeBucket || current.timestamp - last.timestamp < intervalMillis) {
+                return false;
+            }
+        }
+        table.put(instanceId, current);
+        return true;
+    }
+
+    @RequiredArgsConstructor
+    private static class Seen {
+        private final long timeBucket;
+        private final long timestamp;
+        private final Object content;
+    }
+}
@@ -36,16 +36,19 @@ import org.apache.skywalking.oap.server.core.source.ServiceMeta;
 import org.apache.skywalking.oap.server.core.source.SourceReceiver;
 import org.apache.skywalking.oap.server.library.module.ModuleManager;
 import org.apache.skywalking.oap.server.library.util.StringUtil;
+import org.apache.skywalking.oap.server.receiver.register.provider.RegisterModuleConfig;
 
 public final class ManagementServiceHandler {
     private final SourceReceiver sourceReceiver;
     private final NamingControl namingControl;
+    private final InstanceLastSeenTable lastSeenTable;
 
-    public ManagementServiceHandler(ModuleManager moduleManager) {
+    public ManagementServiceHandler(ModuleManager moduleManager, RegisterModuleConfig config) {
         this.sourceReceiver = moduleManager.find(CoreModule.NAME).provider().getService(SourceReceiver.class);
         this.namingControl = moduleManager.find(CoreModule.NAME)
                                           .provider()
                                           .getService(NamingControl.class);
+        this.lastSeenTable = new InstanceLastSeenTable(config.getKeepAliveCoalescingInterval());
     }
 
     /**
@@ -60,10 +63,13 @@ public final class ManagementServiceHandler {
     }
 
     public Commands reportInstanceProperties(final InstanceProperties request) {
+        final long now = System.currentTimeMillis();
+        final long timeBucket = TimeBucket.getTimeBucket(now, DownSampling.Minute);
         ServiceInstanceUpdate serviceInstanceUpdate = new ServiceInstanceUpdate();
         final String serviceName = namingControl.formatServiceName(request.getService());
         final String instanceName = namingControl.formatInstanceName(request.getServiceInstance());
-        serviceInstanceUpdate.setServiceId(IDManager.ServiceID.buildId(serviceName, true));
+        final String serviceId = IDManager.ServiceID.buildId(serviceName, true);
+        serviceInstanceUpdate.setServiceId(serviceId);
         serviceInstanceUpdate.setName(instanceName);
 
         JsonObject properties = new JsonObject();
@@ -77,21 +83,28 @@ public final class ManagementServiceHandler {
         });
         properties.addProperty(InstanceTraffic.PropertyUtil.IPV4S, String.join(",", ipv4List));
         serviceInstanceUpdate.setProperties(properties);
-        serviceInstanceUpdate.setTimeBucket(
-            TimeBucket.getTimeBucket(System.currentTimeMillis(), DownSampling.Minute));
-        sourceReceiver.receive(serviceInstanceUpdate);
+        serviceInstanceUpdate.setTimeBucket(timeBucket);
+        final String instanceId = IDManager.ServiceInstanceID.buildId(serviceId, instanceName);
+        if (lastSeenTable.properties(instanceId, properties, timeBucket, now)) {
+            sourceReceiver.receive(serviceInstanceUpdate);
+        }
 
         return Commands.newBuilder().build();
     }
 
     public Commands keepAlive(final InstancePingPkg request) {
-        final long timeBucket = TimeBucket.getTimeBucket(System.currentTimeMillis(), DownSampling.Minute);
+        final long now = System.currentTimeMillis();
+        final long timeBucket = TimeBucket.getTimeBucket(now, DownSampling.Minute);
         final String serviceName = namingControl.formatServiceName(request.getService());
         final String instanceName = namingControl.formatInstanceName(request.getServiceInstance());
         final Layer layer = identifyInstanceLayer(request.getLayer());
+        final String serviceId = IDManager.ServiceID.buildId(serviceName, true);
+        if (!lastSeenTable.heartbeat(IDManager.ServiceInstanceID.buildId(serviceId, instanceName), layer, timeBucket, now)) {
+            return Commands.newBuilder().build();
+        }
 
         ServiceInstanceUpdate serviceInstanceUpdate = new ServiceInstanceUpdate();
-        serviceInstanceUpdate.setServiceId(IDManager.ServiceID.buildId(serviceName, true));
+        serviceInstanceUpdate.setServiceId(serviceId);
         serviceInstanceUpdate.setName(instanceName);
         serviceInstanceUpdate.setTimeBucket(timeBucket);
         sourceReceiver.receive(serviceInstanceUpdate);
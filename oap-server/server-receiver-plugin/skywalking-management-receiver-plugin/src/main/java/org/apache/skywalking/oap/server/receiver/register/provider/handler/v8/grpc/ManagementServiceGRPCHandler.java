@@ -23,15 +23,14 @@ import org.apache.skywalking.apm.network.common.v3.Commands;
 import org.apache.skywalking.apm.network.management.v3.InstancePingPkg;
 import org.apache.skywalking.apm.network.management.v3.InstanceProperties;
 import org.apache.skywalking.apm.network.management.v3.ManagementServiceGrpc;
-import org.apache.skywalking.oap.server.library.module.ModuleManager;
 import org.apache.skywalking.oap.server.library.server.grpc.GRPCHandler;
 import org.apache.skywalking.oap.server.receiver.register.provider.handler.v8.ManagementServiceHandler;
 
 public class ManagementServiceGRPCHandler extends ManagementServiceGrpc.ManagementServiceImplBase implements GRPCHandler {
     private final ManagementServiceHandler handler;
 
-    public ManagementServiceGRPCHandler(ModuleManager moduleManager) {
-        handler = new ManagementServiceHandler(moduleManager);
+    public ManagementServiceGRPCHandler(ManagementServiceHandler handler) {
+        this.handler = handler;
     }
 
     @Override
@@ -22,14 +22,13 @@ import com.linecorp.armeria.server.annotation.Post;
 import org.apache.skywalking.apm.network.common.v3.Commands;
 import org.apache.skywalking.apm.network.management.v3.InstancePingPkg;
 import org.apache.skywalking.apm.network.management.v3.InstanceProperties;
-import org.apache.skywalking.oap.server.library.module.ModuleManager;
 import org.apache.skywalking.oap.server.receiver.register.provider.handler.v8.ManagementServiceHandler;
 
 public class ManagementServiceHTTPHandler {
     private final ManagementServiceHandler handler;
 
-    public ManagementServiceHTTPHandler(ModuleManager moduleManager) {
-        handler = new ManagementServiceHandler(moduleManager);
+    public ManagementServiceHTTPHandler(ManagementServiceHandler handler) {
+        this.handler = handler;
     }
 
     @Post("/v3/management/keepAlive")
@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.receiver.register.provider.handler.v8;
+
+import com.google.gson.JsonObject;
+import org.apache.skywalking.oap.server.core.analysis.Layer;
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class InstanceLastSeenTableTest {
+
+    @Test
+    public void testHeartbeatsCoalescedInMinute() {
+        final InstanceLastSeenTable table = new InstanceLastSeenTable(0);
+        assertTrue(table.heartbeat("instance", Layer.GENERAL, 202206011200L, 0));
+        assertFalse(table.heartbeat("instance", Layer.GENERAL, 202206011200L, 30_000));
+        assertTrue(table.heartbeat("another", Layer.GENERAL, 202206011200L, 30_000));
+        assertTrue(table.heartbeat("instance", Layer.GENERAL, 202206011201L, 60_000));
+    }
+
+    @Test
+    public void testHeartbeatsCoalescedInInterval() {
+        final InstanceLastSeenTable table = new InstanceLastSeenTable(120);
+        assertTrue(table.heartbeat("instance", Layer.GENERAL, 202206011200L, 0));
+        assertFalse(table.heartbeat("instance", Layer.GENERAL, 202206011201L, 60_000));
+        assertTrue(table.heartbeat("instance", Layer.GENERAL, 202206011202L, 120_000));
+    }
+
+    @Test
+    public void testLayerChanged() {
+        final InstanceLastSeenTable table = new InstanceLastSeenTable(120);
+        assertTrue(table.heartbeat("instance", Layer.GENERAL, 202206011200L, 0));
+        assertTrue(table.heartbeat("instance", Layer.FAAS, 202206011200L, 30_000));
+    }
+
+    @Test
+    public void testPropertiesChanged() {
+        final InstanceLastSeenTable table = new InstanceLastSeenTable(600);
+        final JsonObject properties = new JsonObject();
+        properties.addProperty("os_name", "Linux");
+        assertTrue(table.properties("instance", properties, 202206011200L, 0));
+
+        final JsonObject same = new JsonObject();
+        same.addProperty("os_name", "Linux");
+        assertFalse(table.properties("instance", same, 202206011205L, 300_000));
+
+        final JsonObject changed = new JsonObject();
+        changed.addProperty("os_name", "Windows");
+        assertTrue(table.properties("instance", changed, 202206011205L, 300_000));
+    }
+}
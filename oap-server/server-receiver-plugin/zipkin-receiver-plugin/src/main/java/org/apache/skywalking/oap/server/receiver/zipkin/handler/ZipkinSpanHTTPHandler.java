@@ -46,16 +46,14 @@ import static java.util.Objects.nonNull;
 
 @Slf4j
 public class ZipkinSpanHTTPHandler {
-    private final ZipkinReceiverConfig config;
-    private final SourceReceiver sourceReceiver;
-    private final NamingControl namingControl;
+    private final SpanForward spanForward;
     private final HistogramMetrics histogram;
     private final CounterMetrics errorCounter;
 
     public ZipkinSpanHTTPHandler(ZipkinReceiverConfig config, ModuleManager manager) {
-        sourceReceiver = manager.find(CoreModule.NAME).provider().getService(SourceReceiver.class);
-        namingControl = manager.find(CoreModule.NAME).provider().getService(NamingControl.class);
-        this.config = config;
+        final SourceReceiver sourceReceiver = manager.find(CoreModule.NAME).provider().getService(SourceReceiver.class);
+        final NamingControl namingControl = manager.find(CoreModule.NAME).provider().getService(NamingControl.class);
+        spanForward = new SpanForward(namingControl, sourceReceiver, config);
         MetricsCreator metricsCreator = manager.find(TelemetryModule.NAME)
                                                .provider()
                                                .getService(MetricsCreator.class);
@@ -110,8 +108,7 @@ public class ZipkinSpanHTTPHandler {
         final HttpResponse response = HttpResponse.from(req.aggregate().thenApply(request -> {
             final HttpData httpData = UnzippingBytesRequestConverter.convertRequest(ctx, request);
             final List<Span> spanList = decoder.decodeList(httpData.byteBuf().nioBuffer());
-            final SpanForward forward = new SpanForward(namingControl, sourceReceiver, config);
-            forward.send(spanList);
+            spanForward.send(spanList);
             return HttpResponse.of(HttpStatus.OK);
         }));
         response.whenComplete().handle((unused, throwable) -> {
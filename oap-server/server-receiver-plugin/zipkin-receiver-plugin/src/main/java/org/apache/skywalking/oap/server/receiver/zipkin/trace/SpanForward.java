@@ -19,36 +19,60 @@
 package org.apache.skywalking.oap.server.receiver.zipkin.trace;
 
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-
-import lombok.RequiredArgsConstructor;
+import java.util.Map;
+import java.util.Set;
 import org.apache.skywalking.oap.server.core.Const;
-import org.apache.skywalking.oap.server.core.analysis.Layer;
-import org.apache.skywalking.oap.server.core.analysis.manual.searchtag.TagType;
-import org.apache.skywalking.oap.server.core.source.TagAutocomplete;
-import org.apache.skywalking.oap.server.library.util.StringUtil;
 import org.apache.skywalking.oap.server.core.analysis.IDManager;
+import org.apache.skywalking.oap.server.core.analysis.Layer;
 import org.apache.skywalking.oap.server.core.analysis.TimeBucket;
+import org.apache.skywalking.oap.server.core.analysis.manual.searchtag.TagType;
 import org.apache.skywalking.oap.server.core.config.NamingControl;
 import org.apache.skywalking.oap.server.core.source.EndpointMeta;
 import org.apache.skywalking.oap.server.core.source.ServiceMeta;
 import org.apache.skywalking.oap.server.core.source.SourceReceiver;
+import org.apache.skywalking.oap.server.core.source.TagAutocomplete;
 import org.apache.skywalking.oap.server.library.util.BooleanUtils;
+import org.apache.skywalking.oap.server.library.util.StringUtil;
 import org.apache.skywalking.oap.server.receiver.zipkin.ZipkinReceiverConfig;
 import org.apache.skywalking.oap.server.receiver.zipkin.handler.SpanEncode;
 import org.apache.skywalking.oap.server.storage.plugin.zipkin.ZipkinSpan;
 import zipkin2.Span;
 import zipkin2.codec.SpanBytesEncoder;
 
-@RequiredArgsConstructor
+/**
+ * SpanForward converts the Zipkin spans to {@link ZipkinSpan} records and the metadata sources. The forward is
+ * stateless and shared by all requests, the configurations are resolved once at construction.
+ */
 public class SpanForward {
     private static final String DEFAULT_SERVICE_INSTANCE_NAME = "unknown_instance";
     private final NamingControl namingControl;
     private final SourceReceiver receiver;
-    private final ZipkinReceiverConfig config;
+    private final List<String> instanceNameRule;
+    private final Set<String> searchTagKeys;
+
+    public SpanForward(final NamingControl namingControl,
+                       final SourceReceiver receiver,
+                       final ZipkinReceiverConfig config) {
+        this.namingControl = namingControl;
+        this.receiver = receiver;
+        this.instanceNameRule = config.getInstanceNameRule();
+        this.searchTagKeys = new HashSet<>(Arrays.asList(config.getSearchableTracesTags().split(Const.COMMA)));
+    }
 
+    /**
+     * Forward the spans of one request. The spans of a request mostly share a few services, endpoints and tags, so the
+     * service ids and the metadata sources are resolved once per distinct value in the request, rather than per span.
+     */
     public void send(List<Span> spanList) {
-        spanList.forEach(span -> {
+        final Map<String, String> serviceIds = new HashMap<>();
+        final Set<String> serviceMetas = new HashSet<>();
+        final Set<String> endpointMetas = new HashSet<>();
+        final Set<String> autocompleteTags = new HashSet<>();
+
+        for (final Span span : spanList) {
             ZipkinSpan zipkinSpan = new ZipkinSpan();
             zipkinSpan.setTraceId(span.traceId());
             zipkinSpan.setSpanId(span.id());
@@ -57,7 +81,7 @@ public class SpanForward {
                 serviceName = "Unknown";
             }
             serviceName = namingControl.formatServiceName(serviceName);
-            String serviceId = IDManager.ServiceID.buildId(serviceName, true);
+            String serviceId = serviceIds.computeIfAbsent(serviceName, name -> IDManager.ServiceID.buildId(name, true));
             zipkinSpan.setServiceId(serviceId);
             String serviceInstanceName = this.getServiceInstanceName(span);
             serviceInstanceName = namingControl.formatInstanceName(serviceInstanceName);
@@ -68,7 +92,7 @@ public class SpanForward {
             long timeBucket = TimeBucket.getRecordTimeBucket(zipkinSpan.getStartTime());
             zipkinSpan.setTimeBucket(timeBucket);
             long minuteTimeBucket = TimeBucket.getMinuteTimeBucket(zipkinSpan.getStartTime());
-            
+
             String spanName = span.name();
             if (!StringUtil.isEmpty(spanName)) {
                 final String endpointName = namingControl.formatEndpointName(serviceName, spanName);
@@ -76,11 +100,13 @@ public class SpanForward {
                 zipkinSpan.setEndpointId(IDManager.EndpointID.buildId(zipkinSpan.getServiceId(), endpointName));
 
                 //Create endpoint meta for the server side span
-                EndpointMeta endpointMeta = new EndpointMeta();
-                endpointMeta.setServiceName(serviceName);
-                endpointMeta.setEndpoint(endpointName);
-                endpointMeta.setTimeBucket(minuteTimeBucket);
-                receiver.receive(endpointMeta);
+                if (endpointMetas.add(minuteTimeBucket + Const.ID_CONNECTOR + zipkinSpan.getEndpointId())) {
+                    EndpointMeta endpointMeta = new EndpointMeta();
+                    endpointMeta.setServiceName(serviceName);
+                    endpointMeta.setEndpoint(endpointName);
+                    endpointMeta.setTimeBucket(minuteTimeBucket);
+                    receiver.receive(endpointMeta);
+                }
             }
             long latency = span.durationAsLong() / 1000;
 
@@ -90,12 +116,13 @@ public class SpanForward {
             zipkinSpan.setLatency((int) latency);
             zipkinSpan.setDataBinary(SpanBytesEncoder.PROTO3.encode(span));
 
-            List<String> searchTagKeys = Arrays.asList(config.getSearchableTracesTags().split(Const.COMMA));
             span.tags().forEach((key, value) -> {
                 if (searchTagKeys.contains(key)) {
                     String tagString = key + "=" + value;
                     zipkinSpan.getTags().add(tagString);
-                    addAutocompleteTags(minuteTimeBucket, key, value);
+                    if (autocompleteTags.add(minuteTimeBucket + Const.ID_CONNECTOR + tagString)) {
+                        addAutocompleteTags(minuteTimeBucket, key, value);
+                    }
                 }
             });
 
@@ -103,12 +130,14 @@ public class SpanForward {
 
             // Create the metadata source
             // No instance name is required in the Zipkin model.
-            ServiceMeta serviceMeta = new ServiceMeta();
-            serviceMeta.setName(serviceName);
-            serviceMeta.setTimeBucket(minuteTimeBucket);
-            serviceMeta.setLayer(Layer.GENERAL);
-            receiver.receive(serviceMeta);
-        });
+            if (serviceMetas.add(minuteTimeBucket + Const.ID_CONNECTOR + serviceId)) {
+                ServiceMeta serviceMeta = new ServiceMeta();
+                serviceMeta.setName(serviceName);
+                serviceMeta.setTimeBucket(minuteTimeBucket);
+                serviceMeta.setLayer(Layer.GENERAL);
+                receiver.receive(serviceMeta);
+            }
+        }
     }
 
     private void addAutocompleteTags(final long minuteTimeBucket, final String key, final String value) {
@@ -121,7 +150,7 @@ public class SpanForward {
     }
 
     private String getServiceInstanceName(Span span) {
-        for (String tagName : config.getInstanceNameRule()) {
+        for (String tagName : instanceNameRule) {
             String serviceInstanceName = span.tags().get(tagName);
             if (StringUtil.isNotEmpty(serviceInstanceName)) {
                 return serviceInstanceName;
@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.receiver.zipkin.trace;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.apache.skywalking.oap.server.core.analysis.IDManager;
+import org.apache.skywalking.oap.server.core.analysis.TimeBucket;
+import org.apache.skywalking.oap.server.core.config.NamingControl;
+import org.apache.skywalking.oap.server.core.config.group.EndpointNameGrouping;
+import org.apache.skywalking.oap.server.core.source.EndpointMeta;
+import org.apache.skywalking.oap.server.core.source.ISource;
+import org.apache.skywalking.oap.server.core.source.ServiceMeta;
+import org.apache.skywalking.oap.server.core.source.SourceReceiver;
+import org.apache.skywalking.oap.server.core.source.TagAutocomplete;
+import org.apache.skywalking.oap.server.receiver.zipkin.ZipkinReceiverConfig;
+import org.apache.skywalking.oap.server.storage.plugin.zipkin.ZipkinSpan;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import zipkin2.Endpoint;
+import zipkin2.Span;
+import zipkin2.codec.SpanBytesDecoder;
+
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class SpanForwardTest {
+    // 2022-05-01 12:00:00.000 UTC in microseconds.
+    private static final long TIMESTAMP = 1651406400000000L;
+
+    private SourceReceiver receiver;
+    private SpanForward forward;
+
+    @Before
+    public void setup() {
+        receiver = mock(SourceReceiver.class);
+        final ZipkinReceiverConfig config = new ZipkinReceiverConfig();
+        config.setInstanceNameRule(Collections.singletonList("instance"));
+        forward = new SpanForward(new NamingControl(512, 512, 512, new EndpointNameGrouping()), receiver, config);
+    }
+
+    @Test
+    public void testMetadataOncePerRequest() {
+        forward.send(Arrays.asList(
+            span("1", "service", "/order"),
+            span("2", "service", "/order"),
+            span("3", "service", "/order")
+        ));
+
+        final List<ISource> sources = received();
+        Assert.assertEquals(3, count(sources, ZipkinSpan.class));
+        Assert.assertEquals(1, count(sources, ServiceMeta.class));
+        Assert.assertEquals(1, count(sources, EndpointMeta.class));
+        Assert.assertEquals(1, count(sources, TagAutocomplete.class));
+
+        final String serviceId = IDManager.ServiceID.buildId("service", true);
+        for (final ISource source : sources) {
+            if (source instanceof ZipkinSpan) {
+                Assert.assertEquals(serviceId, ((ZipkinSpan) source).getServiceId());
+                Assert.assertEquals(IDManager.EndpointID.buildId(serviceId, "/order"), ((ZipkinSpan) source).getEndpointId());
+            }
+        }
+    }
+
+    @Test
+    public void testMetadataPerDistinctService() {
+        forward.send(Arrays.asList(
+            span("1", "service", "/order"),
+            span("2", "other", "/order"),
+            span("3", "service", "/pay")
+        ));
+
+        final List<ISource> sources = received();
+        Assert.assertEquals(2, count(sources, ServiceMeta.class));
+        Assert.assertEquals(3, count(sources, EndpointMeta.class));
+    }
+
+    @Test
+    public void testMetadataOfEveryRequest() {
+        forward.send(Collections.singletonList(span("1", "service", "/order")));
+        forward.send(Collections.singletonList(span("2", "service", "/order")));
+
+        Assert.assertEquals(2, count(received(), ServiceMeta.class));
+    }
+
+    @Test
+    public void testForwardedSpan() {
+        final Span span = span("1", "service", "/order");
+        forward.send(Collections.singletonList(span));
+
+        final ZipkinSpan zipkinSpan = (ZipkinSpan) received().stream()
+                                                            .filter(ZipkinSpan.class::isInstance)
+                                                            .findFirst()
+                                                            .orElseThrow(AssertionError::new);
+        final String serviceId = IDManager.ServiceID.buildId("service", true);
+        Assert.assertEquals(span.traceId(), zipkinSpan.getTraceId());
+        Assert.assertEquals(span.id(), zipkinSpan.getSpanId());
+        Assert.assertEquals(serviceId, zipkinSpan.getServiceId());
+        Assert.assertEquals(
+            IDManager.ServiceInstanceID.buildId(serviceId, "instance-1"), zipkinSpan.getServiceInstanceId());
+        Assert.assertEquals("/order", zipkinSpan.getEndpointName());
+        Assert.assertEquals(TIMESTAMP / 1000, zipkinSpan.getStartTime());
+        Assert.assertEquals(TIMESTAMP / 1000 + 20, zipkinSpan.getEndTime());
+        Assert.assertEquals(20, zipkinSpan.getLatency());
+        Assert.assertEquals(TimeBucket.getRecordTimeBucket(TIMESTAMP / 1000), zipkinSpan.getTimeBucket());
+        Assert.assertEquals(Collections.singletonList("http.method=GET"), zipkinSpan.getTags());
+        Assert.assertEquals(span, SpanBytesDecoder.PROTO3.decodeOne(zipkinSpan.getDataBinary()));
+    }
+
+    private List<ISource> received() {
+        final ArgumentCaptor<ISource> captor = ArgumentCaptor.forClass(ISource.class);
+        verify(receiver, atLeastOnce()).receive(captor.capture());
+        return captor.getAllValues();
+    }
+
+    private static long count(final List<ISource> sources, final Class<? extends ISource> type) {
+        return sources.stream().filter(type::isInstance).count();
+    }
+
+    private static Span span(final String id, final String service, final String name) {
+        return Span.newBuilder()
+                   .traceId("463ac35c9f6413ad48485a3953bb6124")
+                   .id(id)
+                   .name(name)
+                   .kind(Span.Kind.SERVER)
+                   .localEndpoint(Endpoint.newBuilder().serviceName(service).build())
+                   .timestamp(TIMESTAMP)
+                   .duration(20_000L)
+                   .putTag("http.method", "GET")
+                   .putTag("instance", "instance-1")
+                   .build();
+    }
+}
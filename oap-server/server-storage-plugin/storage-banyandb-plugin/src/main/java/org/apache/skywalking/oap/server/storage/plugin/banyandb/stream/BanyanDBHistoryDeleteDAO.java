@@ -25,7 +25,8 @@ import java.io.IOException;
 
 public class BanyanDBHistoryDeleteDAO implements IHistoryDeleteDAO {
     @Override
-    public void deleteHistory(Model model, String timeBucketColumnName, int ttl) throws IOException {
+    public long deleteHistory(Model model, String timeBucketColumnName, int ttl) throws IOException {
         // do thing since we currently do not support deletion
+        return 0;
     }
 }
@@ -166,7 +166,17 @@ public class BanyanDBTraceQueryDAO extends AbstractBanyanDBDAO implements ITrace
 
     @Override
     public List<SegmentRecord> queryByTraceId(String traceId) throws IOException {
-        StreamQueryResponse resp = query(SegmentRecord.INDEX_NAME, TAGS,
+        return queryByTraceId(traceId, 0, 0);
+    }
+
+    @Override
+    public List<SegmentRecord> queryByTraceId(String traceId, long startSecondTB, long endSecondTB) throws IOException {
+        TimestampRange tsRange = null;
+        if (startSecondTB > 0 && endSecondTB > 0) {
+            tsRange = new TimestampRange(TimeBucket.getTimestamp(startSecondTB), TimeBucket.getTimestamp(endSecondTB));
+        }
+
+        StreamQueryResponse resp = query(SegmentRecord.INDEX_NAME, TAGS, tsRange,
                 new QueryBuilder<StreamQuery>() {
                     @Override
                     public void apply(StreamQuery query) {
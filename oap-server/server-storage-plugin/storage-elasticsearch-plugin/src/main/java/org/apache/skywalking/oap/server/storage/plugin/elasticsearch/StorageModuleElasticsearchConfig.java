@@ -18,11 +18,14 @@
 
 package org.apache.skywalking.oap.server.storage.plugin.elasticsearch;
 
+import java.util.concurrent.TimeUnit;
 import lombok.Getter;
 import lombok.Setter;
 import org.apache.skywalking.oap.server.core.storage.annotation.ElasticSearch;
 import org.apache.skywalking.oap.server.core.storage.annotation.SuperDataset;
+import org.apache.skywalking.oap.server.core.storage.spill.SpillQueue;
 import org.apache.skywalking.oap.server.library.module.ModuleConfig;
+import org.apache.skywalking.oap.server.library.util.StringUtil;
 
 @Getter
 @Setter
@@ -90,6 +93,23 @@ public class StorageModuleElasticsearchConfig extends ModuleConfig {
      */
     private int flushInterval = 15;
     private int concurrentRequests = 2;
+    /**
+     * @since 9.1.0 The directory of the local spill queue. The failed bulk requests are spilled into it while
+     * ElasticSearch is unavailable, and replayed after it recovers. Empty means the spill queue is disabled.
+     */
+    private String spillPath = "";
+    /**
+     * @since 9.1.0 The max size of the spill queue in MB, the oldest requests are dropped when it's full.
+     */
+    private int spillMaxSize = 1024;
+    /**
+     * @since 9.1.0 The spilled requests older than it are dropped instead of replayed. Unit is minute.
+     */
+    private int spillMaxAge = 60;
+    /**
+     * @since 9.1.0 The max rate of replaying the spilled requests in KB per second.
+     */
+    private int spillReplayRate = 4096;
     /**
      * @since 7.0.0 This could be managed inside {@link #secretsManagementFile}
      */
@@ -136,4 +156,17 @@ public class StorageModuleElasticsearchConfig extends ModuleConfig {
      * If the value is <= 0, the number of available processors will be used.
      */
     private int numHttpClientThread;
+
+    /**
+     * @return the spill queue of the bulk processor, or null if it's disabled.
+     */
+    public SpillQueue spillQueue() {
+        if (StringUtil.isEmpty(spillPath)) {
+            return null;
+        }
+        return new SpillQueue(
+            "elasticsearch", spillPath, spillMaxSize * 1024L * 1024L, TimeUnit.MINUTES.toMillis(spillMaxAge),
+            spillReplayRate * 1024L
+        );
+    }
 }
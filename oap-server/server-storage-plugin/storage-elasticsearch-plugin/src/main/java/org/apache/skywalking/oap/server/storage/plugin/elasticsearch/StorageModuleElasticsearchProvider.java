@@ -95,6 +95,7 @@ public class StorageModuleElasticsearchProvider extends ModuleProvider {
 
     protected final StorageModuleElasticsearchConfig config;
     protected ElasticSearchClient elasticSearchClient;
+    protected BatchProcessEsDAO batchDAO;
 
     public StorageModuleElasticsearchProvider() {
         super();
@@ -169,11 +170,9 @@ public class StorageModuleElasticsearchProvider extends ModuleProvider {
             config.getSocketTimeout(), config.getResponseTimeout(),
             config.getNumHttpClientThread()
         );
-        this.registerServiceImplementation(
-            IBatchDAO.class,
-            new BatchProcessEsDAO(elasticSearchClient, config.getBulkActions(), config
-                .getFlushInterval(), config.getConcurrentRequests())
-        );
+        batchDAO = new BatchProcessEsDAO(elasticSearchClient, config.getBulkActions(), config
+            .getFlushInterval(), config.getConcurrentRequests(), config.spillQueue());
+        this.registerServiceImplementation(IBatchDAO.class, batchDAO);
         this.registerServiceImplementation(StorageDAO.class, new StorageEsDAO(elasticSearchClient));
         this.registerServiceImplementation(
             IHistoryDeleteDAO.class, new HistoryDeleteEsDAO(elasticSearchClient));
@@ -215,6 +214,15 @@ public class StorageModuleElasticsearchProvider extends ModuleProvider {
             ITagAutoCompleteQueryDAO.class, new TagAutoCompleteQueryDAO(elasticSearchClient));
     }
 
+    /**
+     * Connecting the cluster and installing the indices take most of the startup time, they only rely on the core, and
+     * the models added by the other providers meanwhile are notified to the installer through the {@link ModelCreator}.
+     */
+    @Override
+    public boolean isConcurrentStart() {
+        return true;
+    }
+
     @Override
     public void start() throws ModuleStartException {
         MetricsCreator metricCreator = getManager().find(TelemetryModule.NAME)
@@ -228,6 +236,8 @@ public class StorageModuleElasticsearchProvider extends ModuleProvider {
             StorageEsInstaller installer = new StorageEsInstaller(elasticSearchClient, getManager(), config);
 
             getManager().find(CoreModule.NAME).provider().getService(ModelCreator.class).addModelListener(installer);
+
+            batchDAO.start(metricCreator);
         } catch (Exception e) {
             throw new ModuleStartException(e.getMessage(), e);
         }
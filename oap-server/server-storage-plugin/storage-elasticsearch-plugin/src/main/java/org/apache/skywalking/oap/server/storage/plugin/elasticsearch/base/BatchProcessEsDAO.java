@@ -18,57 +18,90 @@
 
 package org.apache.skywalking.oap.server.storage.plugin.elasticsearch.base;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.skywalking.library.elasticsearch.bulk.BulkProcessor;
 import org.apache.skywalking.oap.server.core.storage.IBatchDAO;
+import org.apache.skywalking.oap.server.core.storage.spill.SpillQueue;
 import org.apache.skywalking.oap.server.library.client.elasticsearch.ElasticSearchClient;
 import org.apache.skywalking.oap.server.library.client.elasticsearch.IndexRequestWrapper;
 import org.apache.skywalking.oap.server.library.client.elasticsearch.UpdateRequestWrapper;
 import org.apache.skywalking.oap.server.library.client.request.InsertRequest;
 import org.apache.skywalking.oap.server.library.client.request.PrepareRequest;
 import org.apache.skywalking.oap.server.library.util.CollectionUtils;
+import org.apache.skywalking.oap.server.telemetry.api.MetricsCreator;
 
+/**
+ * The bulk requests are spilled into the {@link SpillQueue} if it's enabled and the bulk fails because ElasticSearch is
+ * unreachable or temporarily unavailable, then replayed by the queue after ElasticSearch recovers. The other failed
+ * bulks, such as mapping conflicts, are dropped as replaying them can't succeed either.
+ * <p>
+ * The requests are written with the document id, so replaying a bulk more than once is harmless. But a replayed
+ * metrics document overrides the value of the same id written after the failure, even the time bucket is closed, so the
+ * spilled requests are only kept for the max age.
+ */
 @Slf4j
 public class BatchProcessEsDAO extends EsDAO implements IBatchDAO {
     private volatile BulkProcessor bulkProcessor;
     private final int bulkActions;
     private final int flushInterval;
     private final int concurrentRequests;
+    private final SpillQueue spillQueue;
 
     public BatchProcessEsDAO(ElasticSearchClient client,
                              int bulkActions,
                              int flushInterval,
                              int concurrentRequests) {
+        this(client, bulkActions, flushInterval, concurrentRequests, null);
+    }
+
+    public BatchProcessEsDAO(ElasticSearchClient client,
+                             int bulkActions,
+                             int flushInterval,
+                             int concurrentRequests,
+                             SpillQueue spillQueue) {
         super(client);
         this.bulkActions = bulkActions;
         this.flushInterval = flushInterval;
         this.concurrentRequests = concurrentRequests;
+        this.spillQueue = spillQueue;
     }
 
-    @Override
-    public void insert(InsertRequest insertRequest) {
-        if (bulkProcessor == null) {
-            synchronized (this) {
-                if (bulkProcessor == null) {
-                    this.bulkProcessor = getClient().createBulkProcessor(bulkActions, flushInterval, concurrentRequests);
-                }
-            }
+    /**
+     * Start replaying the spilled requests, if the spill queue is enabled.
+     */
+    public void start(MetricsCreator metricsCreator) throws IOException {
+        if (spillQueue != null) {
+            spillQueue.start(metricsCreator, this::replay);
         }
+    }
 
-        this.bulkProcessor.add(((IndexRequestWrapper) insertRequest).getRequest());
+    private CompletableFuture<Void> replay(byte[] content) {
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+        getBulkProcessor().replay(content).whenComplete((ignored, t) -> {
+            if (t == null) {
+                future.complete(null);
+            } else if (BulkProcessor.isRetryable(t)) {
+                future.completeExceptionally(t);
+            } else {
+                // Replaying it again can't make it succeed, don't block the requests behind it.
+                log.warn("Failed to replay the spilled bulk requests, discard them.", t);
+                future.complete(null);
+            }
+        });
+        return future;
+    }
+
+    @Override
+    public void insert(InsertRequest insertRequest) {
+        getBulkProcessor().add(((IndexRequestWrapper) insertRequest).getRequest());
     }
 
     @Override
     public CompletableFuture<Void> flush(List<PrepareRequest> prepareRequests) {
-        if (bulkProcessor == null) {
-            synchronized (this) {
-                if (bulkProcessor == null) {
-                    this.bulkProcessor = getClient().createBulkProcessor(bulkActions, flushInterval, concurrentRequests);
-                }
-            }
-        }
+        final BulkProcessor bulkProcessor = getBulkProcessor();
 
         if (CollectionUtils.isNotEmpty(prepareRequests)) {
             return CompletableFuture.allOf(prepareRequests.stream().map(prepareRequest -> {
@@ -81,4 +114,18 @@ public class BatchProcessEsDAO extends EsDAO implements IBatchDAO {
         }
         return CompletableFuture.completedFuture(null);
     }
+
+    private BulkProcessor getBulkProcessor() {
+        if (bulkProcessor == null) {
+            synchronized (this) {
+                if (bulkProcessor == null) {
+                    this.bulkProcessor = getClient().createBulkProcessor(
+                        bulkActions, flushInterval, concurrentRequests,
+                        spillQueue == null ? null : (content, cause) -> spillQueue.offer(content)
+                    );
+                }
+            }
+        }
+        return bulkProcessor;
+    }
 }
@@ -37,7 +37,7 @@ public class HistoryDeleteEsDAO extends EsDAO implements IHistoryDeleteDAO {
     }
 
     @Override
-    public void deleteHistory(Model model, String timeBucketColumnName, int ttl) {
+    public long deleteHistory(Model model, String timeBucketColumnName, int ttl) {
         ElasticSearchClient client = getClient();
 
         if (!model.isRecord()) {
@@ -47,7 +47,7 @@ public class HistoryDeleteEsDAO extends EsDAO implements IHistoryDeleteDAO {
                  * As all metrics data in different down sampling rule of one day are in the same index, the deletion operation
                  * is only required to run once.
                  */
-                return;
+                return -1;
             }
         }
         long deadline = Long.parseLong(new DateTime().plusDays(-ttl).toString("yyyyMMdd"));
@@ -79,6 +79,15 @@ public class HistoryDeleteEsDAO extends EsDAO implements IHistoryDeleteDAO {
         if (!leftIndices.contains(formattedLatestIndex)) {
             client.createIndex(latestIndex);
         }
+        return -1;
+    }
+
+    /**
+     * The metrics models of one aggregation function are merged into one physical index.
+     */
+    @Override
+    public String getTableName(Model model) {
+        return IndexController.INSTANCE.getTableName(model);
     }
 
     @Override
@@ -21,6 +21,7 @@ package org.apache.skywalking.oap.server.storage.plugin.elasticsearch.base;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import org.apache.skywalking.library.elasticsearch.response.Mappings;
 import org.apache.skywalking.oap.server.library.client.elasticsearch.ElasticSearchClient;
@@ -29,7 +30,7 @@ public class IndexStructures {
     private final Map<String, Fields> structures;
 
     public IndexStructures() {
-        this.structures = new HashMap<>();
+        this.structures = new ConcurrentHashMap<>();
     }
 
     public Mappings getMapping(String tableName) {
@@ -24,6 +24,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.skywalking.library.elasticsearch.response.Index;
 import org.apache.skywalking.library.elasticsearch.response.IndexTemplate;
@@ -48,6 +49,10 @@ public class StorageEsInstaller extends ModelInstaller {
      * The mappings of the template .
      */
     private final IndexStructures structures;
+    /**
+     * The models sharing one index, such as the merged metrics index, are installed one by one.
+     */
+    private final Map<String, Object> tableLocks = new ConcurrentHashMap<>();
 
     public StorageEsInstaller(Client client,
                               ModuleManager moduleManager,
@@ -62,6 +67,19 @@ public class StorageEsInstaller extends ModelInstaller {
         return new IndexStructures();
     }
 
+    @Override
+    public void whenCreating(Model model) throws StorageException {
+        final String tableName = IndexController.INSTANCE.getTableName(model);
+        synchronized (tableLocks.computeIfAbsent(tableName, name -> new Object())) {
+            super.whenCreating(model);
+        }
+    }
+
+    @Override
+    public boolean isConcurrent() {
+        return true;
+    }
+
     @Override
     protected boolean isExists(Model model) {
         ElasticSearchClient esClient = (ElasticSearchClient) client;
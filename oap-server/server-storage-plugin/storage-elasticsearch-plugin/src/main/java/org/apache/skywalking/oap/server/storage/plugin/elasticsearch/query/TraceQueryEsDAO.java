@@ -158,15 +158,25 @@ public class TraceQueryEsDAO extends EsDAO implements ITraceQueryDAO {
 
     @Override
     public List<SegmentRecord> queryByTraceId(String traceId) throws IOException {
-        final String index =
-            IndexController.LogicIndicesRegister.getPhysicalTableName(SegmentRecord.INDEX_NAME);
+        return queryByTraceId(traceId, 0, 0);
+    }
 
+    @Override
+    public List<SegmentRecord> queryByTraceId(String traceId,
+                                              long startSecondTB,
+                                              long endSecondTB) throws IOException {
         final SearchBuilder search =
             Search.builder()
                   .query(Query.term(SegmentRecord.TRACE_ID, traceId))
                   .size(segmentQueryMaxSize);
 
-        final SearchResponse response = getClient().search(index, search.build());
+        // Only the daily indices in the time range are searched, or the whole alias when the range is not set.
+        final SearchResponse response = getClient().search(
+            new TimeRangeIndexNameGenerator(
+                IndexController.LogicIndicesRegister.getPhysicalTableName(SegmentRecord.INDEX_NAME),
+                startSecondTB,
+                endSecondTB
+            ), search.build());
 
         List<SegmentRecord> segmentRecords = new ArrayList<>();
         for (SearchHit searchHit : response.getHits().getHits()) {
@@ -23,6 +23,7 @@ import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.util.List;
 import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import org.apache.skywalking.oap.server.library.client.request.InsertRequest;
 import org.apache.skywalking.oap.server.library.client.request.UpdateRequest;
 import org.slf4j.Logger;
@@ -37,6 +38,7 @@ public class SQLExecutor implements InsertRequest, UpdateRequest {
     private static final Logger LOGGER = LoggerFactory.getLogger(SQLExecutor.class);
 
     private String sql;
+    @Getter
     private List<Object> param;
 
     public SQLExecutor(String sql, List<Object> param) {
@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.storage.plugin.jdbc;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.skywalking.oap.server.library.client.request.PrepareRequest;
+
+/**
+ * Encode the {@link SQLExecutor}s of the same SQL into bytes, to keep them in the spill queue.
+ */
+public final class SQLExecutorCodec {
+    private static final byte TYPE_NULL = 0;
+    private static final byte TYPE_STRING = 1;
+    private static final byte TYPE_INT = 2;
+    private static final byte TYPE_LONG = 3;
+    private static final byte TYPE_DOUBLE = 4;
+    private static final byte TYPE_BYTES = 5;
+    private static final byte TYPE_BOOLEAN = 6;
+
+    private SQLExecutorCodec() {
+    }
+
+    /**
+     * @throws IOException if a parameter type is not supported.
+     */
+    public static byte[] encode(List<PrepareRequest> sqlExecutors) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream out = new DataOutputStream(bytes);
+        writeBytes(out, sqlExecutors.get(0).toString().getBytes(StandardCharsets.UTF_8));
+        out.writeInt(sqlExecutors.size());
+        for (final PrepareRequest request : sqlExecutors) {
+            final List<Object> params = ((SQLExecutor) request).getParam();
+            out.writeInt(params.size());
+            for (final Object param : params) {
+                write(out, param);
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    public static List<PrepareRequest> decode(byte[] bytes) throws IOException {
+        final DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+        final String sql = new String(readBytes(in), StandardCharsets.UTF_8);
+        final int size = in.readInt();
+        final List<PrepareRequest> sqlExecutors = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            final int paramSize = in.readInt();
+            final List<Object> params = new ArrayList<>(paramSize);
+            for (int j = 0; j < paramSize; j++) {
+                params.add(read(in));
+            }
+            sqlExecutors.add(new SQLExecutor(sql, params));
+        }
+        return sqlExecutors;
+    }
+
+    private static void write(DataOutputStream out, Object param) throws IOException {
+        if (param == null) {
+            out.writeByte(TYPE_NULL);
+        } else if (param instanceof String) {
+            out.writeByte(TYPE_STRING);
+            // DataOutput#writeUTF is limited to 64KB
+            writeBytes(out, ((String) param).getBytes(StandardCharsets.UTF_8));
+        } else if (param instanceof Integer) {
+            out.writeByte(TYPE_INT);
+            out.writeInt((Integer) param);
+        } else if (param instanceof Long) {
+            out.writeByte(TYPE_LONG);
+            out.writeLong((Long) param);
+        } else if (param instanceof Double) {
+            out.writeByte(TYPE_DOUBLE);
+            out.writeDouble((Double) param);
+        } else if (param instanceof byte[]) {
+            out.writeByte(TYPE_BYTES);
+            writeBytes(out, (byte[]) param);
+        } else if (param instanceof Boolean) {
+            out.writeByte(TYPE_BOOLEAN);
+            out.writeBoolean((Boolean) param);
+        } else {
+            throw new IOException("Unsupported SQL parameter type: " + param.getClass());
+        }
+    }
+
+    private static Object read(DataInputStream in) throws IOException {
+        final byte type = in.readByte();
+        switch (type) {
+            case TYPE_NULL:
+                return null;
+            case TYPE_STRING:
+                return new String(readBytes(in), StandardCharsets.UTF_8);
+            case TYPE_INT:
+                return in.readInt();
+            case TYPE_LONG:
+                return in.readLong();
+            case TYPE_DOUBLE:
+                return in.readDouble();
+            case TYPE_BYTES:
+                return readBytes(in);
+            case TYPE_BOOLEAN:
+                return in.readBoolean();
+            default:
+                throw new IOException("Unknown SQL parameter type: " + type);
+        }
+    }
+
+    private static void writeBytes(DataOutputStream out, byte[] value) throws IOException {
+        out.writeInt(value.length);
+        out.write(value);
+    }
+
+    private static byte[] readBytes(DataInputStream in) throws IOException {
+        final byte[] value = new byte[in.readInt()];
+        in.readFully(value);
+        return value;
+    }
+}
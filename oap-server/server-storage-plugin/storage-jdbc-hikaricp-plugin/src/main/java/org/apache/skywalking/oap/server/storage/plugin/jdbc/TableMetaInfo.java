@@ -18,12 +18,12 @@
 
 package org.apache.skywalking.oap.server.storage.plugin.jdbc;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.apache.skywalking.oap.server.core.storage.model.Model;
 
 public class TableMetaInfo {
-    private static Map<String, Model> TABLES = new HashMap<>();
+    private static Map<String, Model> TABLES = new ConcurrentHashMap<>();
 
     public static void addModel(Model model) {
         TABLES.put(model.getName(), model);
@@ -18,8 +18,13 @@
 
 package org.apache.skywalking.oap.server.storage.plugin.jdbc.h2.dao;
 
+import java.io.IOException;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientConnectionException;
+import java.util.Collections;
 import java.util.List;
 import java.util.Properties;
 import java.util.Map;
@@ -30,21 +35,37 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.skywalking.oap.server.library.datacarrier.DataCarrier;
 import org.apache.skywalking.oap.server.library.datacarrier.consumer.IConsumer;
 import org.apache.skywalking.oap.server.core.storage.IBatchDAO;
+import org.apache.skywalking.oap.server.core.storage.spill.SpillQueue;
 import org.apache.skywalking.oap.server.library.client.jdbc.JDBCClientException;
 import org.apache.skywalking.oap.server.library.client.jdbc.hikaricp.JDBCHikariCPClient;
 import org.apache.skywalking.oap.server.library.client.request.InsertRequest;
 import org.apache.skywalking.oap.server.library.client.request.PrepareRequest;
 import org.apache.skywalking.oap.server.library.util.CollectionUtils;
 import org.apache.skywalking.oap.server.storage.plugin.jdbc.BatchSQLExecutor;
+import org.apache.skywalking.oap.server.storage.plugin.jdbc.SQLExecutorCodec;
+import org.apache.skywalking.oap.server.telemetry.api.MetricsCreator;
 
+/**
+ * The SQL statements failed by the connection errors are spilled into the {@link SpillQueue} if it's enabled, then
+ * replayed by the queue after the database recovers.
+ */
 @Slf4j
 public class H2BatchDAO implements IBatchDAO {
     private JDBCHikariCPClient h2Client;
     private final DataCarrier<PrepareRequest> dataCarrier;
     private final int maxBatchSqlSize;
+    private final SpillQueue spillQueue;
 
     public H2BatchDAO(JDBCHikariCPClient h2Client, int maxBatchSqlSize, int asyncBatchPersistentPoolSize) {
+        this(h2Client, maxBatchSqlSize, asyncBatchPersistentPoolSize, null);
+    }
+
+    public H2BatchDAO(JDBCHikariCPClient h2Client,
+                      int maxBatchSqlSize,
+                      int asyncBatchPersistentPoolSize,
+                      SpillQueue spillQueue) {
         this.h2Client = h2Client;
+        this.spillQueue = spillQueue;
         String name = "H2_ASYNCHRONOUS_BATCH_PERSISTENT";
         if (log.isDebugEnabled()) {
             log.debug("H2_ASYNCHRONOUS_BATCH_PERSISTENT poolSize: {}, maxBatchSqlSize:{}", asyncBatchPersistentPoolSize, maxBatchSqlSize);
@@ -71,12 +92,21 @@ public class H2BatchDAO implements IBatchDAO {
                             new BatchSQLExecutor(requests);
                     batchSQLExecutor.invoke(connection, maxBatchSqlSize);
                 } catch (SQLException e) {
+                    if (isConnectionFailure(e) && spill(requests)) {
+                        log.warn("execute sql failed, spill data size: {}", requests.size(), e);
+                        return;
+                    }
                     // Just avoid one execution failure makes the rest of batch failure.
                     log.error(e.getMessage(), e);
                 }
             });
         } catch (SQLException | JDBCClientException e) {
-            log.warn("execute sql failed, discard data size: {}", prepareRequests.size(), e);
+            if (spillQueue != null) {
+                log.warn("execute sql failed, spill data size: {}", prepareRequests.size(), e);
+                batchRequestMap.values().forEach(this::spill);
+            } else {
+                log.warn("execute sql failed, discard data size: {}", prepareRequests.size(), e);
+            }
         }
         if (log.isDebugEnabled()) {
             log.debug("execute sql statements done, data size: {}, maxBatchSqlSize: {}", prepareRequests.size(), maxBatchSqlSize);
@@ -89,6 +119,94 @@ public class H2BatchDAO implements IBatchDAO {
         this.dataCarrier.produce(insertRequest);
     }
 
+    /**
+     * Start replaying the spilled SQL statements, if the spill queue is enabled.
+     */
+    public void start(MetricsCreator metricsCreator) throws IOException {
+        if (spillQueue != null) {
+            spillQueue.start(metricsCreator, this::replay);
+        }
+    }
+
+    private boolean spill(List<PrepareRequest> requests) {
+        if (spillQueue == null) {
+            return false;
+        }
+        try {
+            return spillQueue.offer(SQLExecutorCodec.encode(requests));
+        } catch (IOException e) {
+            log.error("Failed to spill the sql statements, discard data size: {}", requests.size(), e);
+            return false;
+        }
+    }
+
+    /**
+     * Replay a spilled group of statements in the chunks of {@link #maxBatchSqlSize}, as the flush sent them. Some
+     * chunks may have been written before the connection failed, or by the replay interrupted by a restart. So a chunk
+     * failed by a non-connection error, e.g. a duplicate key, is executed statement by statement, and only the failed
+     * statements are discarded.
+     */
+    CompletableFuture<Void> replay(byte[] record) {
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+        final List<PrepareRequest> requests;
+        try {
+            requests = SQLExecutorCodec.decode(record);
+        } catch (IOException e) {
+            log.error("Failed to decode the spilled sql statements, discard them.", e);
+            future.complete(null);
+            return future;
+        }
+        try (Connection connection = h2Client.getConnection()) {
+            int discarded = 0;
+            for (int from = 0; from < requests.size(); from += maxBatchSqlSize) {
+                final List<PrepareRequest> chunk = requests.subList(from, Math.min(from + maxBatchSqlSize, requests.size()));
+                try {
+                    new BatchSQLExecutor(chunk).invoke(connection, maxBatchSqlSize);
+                } catch (SQLException e) {
+                    if (isConnectionFailure(e)) {
+                        throw e;
+                    }
+                    discarded += replayOneByOne(connection, chunk);
+                }
+            }
+            if (discarded > 0) {
+                log.warn("{} of {} spilled sql statements failed to replay, discard them.", discarded, requests.size());
+            }
+            future.complete(null);
+        } catch (SQLException | JDBCClientException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * @return the number of the statements failed by non-connection errors.
+     */
+    private int replayOneByOne(Connection connection, List<PrepareRequest> chunk) throws SQLException {
+        int failed = 0;
+        for (final PrepareRequest request : chunk) {
+            try {
+                new BatchSQLExecutor(Collections.singletonList(request)).invoke(connection, maxBatchSqlSize);
+            } catch (SQLException e) {
+                if (isConnectionFailure(e)) {
+                    throw e;
+                }
+                if (log.isDebugEnabled()) {
+                    log.debug("Failed to replay the spilled sql statement {}, discard it.", request, e);
+                }
+                failed++;
+            }
+        }
+        return failed;
+    }
+
+    private static boolean isConnectionFailure(SQLException e) {
+        return e instanceof SQLTransientConnectionException
+            || e instanceof SQLNonTransientConnectionException
+            || e instanceof SQLRecoverableException
+            || (e.getSQLState() != null && e.getSQLState().startsWith("08"));
+    }
+
     private class H2BatchConsumer implements IConsumer<PrepareRequest> {
 
         private final H2BatchDAO h2BatchDAO;
@@ -20,14 +20,23 @@ package org.apache.skywalking.oap.server.storage.plugin.jdbc.h2.dao;
 
 import java.io.IOException;
 import java.sql.Connection;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import lombok.extern.slf4j.Slf4j;
 import org.apache.skywalking.oap.server.core.storage.IHistoryDeleteDAO;
 import org.apache.skywalking.oap.server.core.storage.model.Model;
 import org.apache.skywalking.oap.server.library.client.jdbc.JDBCClientException;
 import org.apache.skywalking.oap.server.library.client.jdbc.hikaricp.JDBCHikariCPClient;
 import org.apache.skywalking.oap.server.storage.plugin.jdbc.SQLBuilder;
 import org.joda.time.DateTime;
+import org.joda.time.Period;
+import org.joda.time.format.DateTimeFormat;
 
+/**
+ * Remove the expired rows chunk by chunk, every chunk covers a fixed time range starting from the oldest existing time
+ * bucket, so one statement never locks or scans the whole expired range of a large table.
+ */
+@Slf4j
 public class H2HistoryDeleteDAO implements IHistoryDeleteDAO {
 
     private final JDBCHikariCPClient client;
@@ -37,39 +46,84 @@ public class H2HistoryDeleteDAO implements IHistoryDeleteDAO {
     }
 
     @Override
-    public void deleteHistory(Model model, String timeBucketColumnName, int ttl) throws IOException {
+    public long deleteHistory(Model model, String timeBucketColumnName, int ttl) throws IOException {
+        SQLBuilder oldestSQL = new SQLBuilder("select min(" + timeBucketColumnName + ") from " + model.getName() + " where ")
+            .append(timeBucketColumnName).append("<= ? ")
+            .append(" and ")
+            .append(timeBucketColumnName).append(">= ? ");
         SQLBuilder dataDeleteSQL = new SQLBuilder("delete from " + model.getName() + " where ")
             .append(timeBucketColumnName).append("<= ? ")
             .append(" and ")
             .append(timeBucketColumnName).append(">= ? ");
 
+        final String pattern;
+        final Period chunk;
+        long minTime;
+        if (model.isRecord()) {
+            pattern = "yyyyMMddHHmmss";
+            chunk = Period.hours(1);
+            minTime = 1000_00_00_00_00_00L;
+        } else {
+            switch (model.getDownsampling()) {
+                case Minute:
+                    pattern = "yyyyMMddHHmm";
+                    chunk = Period.hours(1);
+                    minTime = 1000_00_00_00_00L;
+                    break;
+                case Hour:
+                    pattern = "yyyyMMddHH";
+                    chunk = Period.days(1);
+                    minTime = 1000_00_00_00L;
+                    break;
+                case Day:
+                    pattern = "yyyyMMdd";
+                    chunk = Period.days(30);
+                    minTime = 1000_00_00L;
+                    break;
+                default:
+                    return 0;
+            }
+        }
+        final long deadline = Long.parseLong(new DateTime().plusDays(-ttl).toString(pattern));
+
+        long removed = 0;
         try (Connection connection = client.getConnection()) {
-            long deadline;
-            long minTime;
-            if (model.isRecord()) {
-                deadline = Long.parseLong(new DateTime().plusDays(-ttl).toString("yyyyMMddHHmmss"));
-                minTime = 1000_00_00_00_00_00L;
-            } else {
-                switch (model.getDownsampling()) {
-                    case Minute:
-                        deadline = Long.parseLong(new DateTime().plusDays(-ttl).toString("yyyyMMddHHmm"));
-                        minTime = 1000_00_00_00_00L;
-                        break;
-                    case Hour:
-                        deadline = Long.parseLong(new DateTime().plusDays(-ttl).toString("yyyyMMddHH"));
-                        minTime = 1000_00_00_00L;
-                        break;
-                    case Day:
-                        deadline = Long.parseLong(new DateTime().plusDays(-ttl).toString("yyyyMMdd"));
-                        minTime = 1000_00_00L;
-                        break;
-                    default:
-                        return;
-                }
+            long oldest;
+            while ((oldest = oldestTimeBucket(connection, oldestSQL.toString(), deadline, minTime)) > 0) {
+                final long chunkEnd = Math.min(nextChunk(oldest, pattern, chunk) - 1, deadline);
+                removed += client.executeUpdate(connection, dataDeleteSQL.toString(), chunkEnd, oldest);
+                minTime = chunkEnd + 1;
             }
-            client.executeUpdate(connection, dataDeleteSQL.toString(), deadline, minTime);
         } catch (JDBCClientException | SQLException e) {
             throw new IOException(e.getMessage(), e);
         }
+        return removed;
+    }
+
+    /**
+     * @return the oldest time bucket in the range, or 0 if there is no data.
+     */
+    private long oldestTimeBucket(Connection connection, String sql, long deadline,
+                                  long minTime) throws JDBCClientException, SQLException {
+        try (ResultSet resultSet = client.executeQuery(connection, sql, deadline, minTime)) {
+            if (resultSet.next()) {
+                return resultSet.getLong(1);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * @return the first time bucket of the next chunk, or {@link Long#MAX_VALUE} if the time bucket is malformed, then
+     * the rest of the expired data are removed at once.
+     */
+    private static long nextChunk(long timeBucket, String pattern, Period chunk) {
+        try {
+            return Long.parseLong(
+                DateTimeFormat.forPattern(pattern).parseDateTime(String.valueOf(timeBucket)).plus(chunk).toString(pattern));
+        } catch (IllegalArgumentException e) {
+            log.warn("Unexpected time bucket {}, remove the expired data without chunks.", timeBucket);
+            return Long.MAX_VALUE;
+        }
     }
 }
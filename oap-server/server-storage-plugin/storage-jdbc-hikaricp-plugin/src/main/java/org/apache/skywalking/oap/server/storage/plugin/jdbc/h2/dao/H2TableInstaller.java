@@ -65,6 +65,14 @@ public class H2TableInstaller extends ModelInstaller {
         return false;
     }
 
+    /**
+     * Every model has its own table, the tables could be created in parallel.
+     */
+    @Override
+    public boolean isConcurrent() {
+        return true;
+    }
+
     @Override
     protected void createTable(Model model) throws StorageException {
         JDBCHikariCPClient jdbcHikariCPClient = (JDBCHikariCPClient) client;
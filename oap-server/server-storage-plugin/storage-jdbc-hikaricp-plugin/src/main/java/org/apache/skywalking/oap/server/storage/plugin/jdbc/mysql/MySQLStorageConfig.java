@@ -19,9 +19,12 @@
 package org.apache.skywalking.oap.server.storage.plugin.jdbc.mysql;
 
 import java.util.Properties;
+import java.util.concurrent.TimeUnit;
 import lombok.Getter;
 import lombok.Setter;
+import org.apache.skywalking.oap.server.core.storage.spill.SpillQueue;
 import org.apache.skywalking.oap.server.library.module.ModuleConfig;
+import org.apache.skywalking.oap.server.library.util.StringUtil;
 
 @Setter
 @Getter
@@ -52,4 +55,42 @@ public class MySQLStorageConfig extends ModuleConfig {
      */
     private int asyncBatchPersistentPoolSize  = 4;
     private Properties properties;
+    /**
+     * The directory of the local spill queue. The SQL statements failed by the connection errors are spilled into it
+     * while the database is unavailable, and replayed after it recovers. Empty means the spill queue is disabled.
+     *
+     * @since 9.1.0
+     */
+    private String spillPath = "";
+    /**
+     * The max size of the spill queue in MB, the oldest statements are dropped when it's full.
+     *
+     * @since 9.1.0
+     */
+    private int spillMaxSize = 1024;
+    /**
+     * The spilled statements older than it are dropped instead of replayed. Unit is minute.
+     *
+     * @since 9.1.0
+     */
+    private int spillMaxAge = 60;
+    /**
+     * The max rate of replaying the spilled statements in KB per second.
+     *
+     * @since 9.1.0
+     */
+    private int spillReplayRate = 4096;
+
+    /**
+     * @return the spill queue of the batch DAO, or null if it's disabled.
+     */
+    public SpillQueue spillQueue(String storage) {
+        if (StringUtil.isEmpty(spillPath)) {
+            return null;
+        }
+        return new SpillQueue(
+            storage, spillPath, spillMaxSize * 1024L * 1024L, TimeUnit.MINUTES.toMillis(spillMaxAge),
+            spillReplayRate * 1024L
+        );
+    }
 }
@@ -18,6 +18,7 @@
 
 package org.apache.skywalking.oap.server.storage.plugin.jdbc.mysql;
 
+import java.io.IOException;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.skywalking.oap.server.core.Const;
 import org.apache.skywalking.oap.server.core.CoreModule;
@@ -73,6 +74,8 @@ import org.apache.skywalking.oap.server.storage.plugin.jdbc.h2.dao.H2TagAutoComp
 import org.apache.skywalking.oap.server.storage.plugin.jdbc.h2.dao.H2TopNRecordsQueryDAO;
 import org.apache.skywalking.oap.server.storage.plugin.jdbc.h2.dao.H2TopologyQueryDAO;
 import org.apache.skywalking.oap.server.storage.plugin.jdbc.h2.dao.H2UITemplateManagementDAO;
+import org.apache.skywalking.oap.server.telemetry.TelemetryModule;
+import org.apache.skywalking.oap.server.telemetry.api.MetricsCreator;
 
 /**
  * MySQL storage provider should be secondary choice for production usage as SkyWalking storage solution. It enhanced
@@ -87,6 +90,7 @@ public class MySQLStorageProvider extends ModuleProvider {
 
     private MySQLStorageConfig config;
     private JDBCHikariCPClient mysqlClient;
+    private H2BatchDAO batchDAO;
 
     public MySQLStorageProvider() {
         config = new MySQLStorageConfig();
@@ -113,7 +117,9 @@ public class MySQLStorageProvider extends ModuleProvider {
 
         mysqlClient = new JDBCHikariCPClient(config.getProperties());
 
-        this.registerServiceImplementation(IBatchDAO.class, new H2BatchDAO(mysqlClient, config.getMaxSizeOfBatchSql(), config.getAsyncBatchPersistentPoolSize()));
+        batchDAO = new H2BatchDAO(
+            mysqlClient, config.getMaxSizeOfBatchSql(), config.getAsyncBatchPersistentPoolSize(), config.spillQueue("mysql"));
+        this.registerServiceImplementation(IBatchDAO.class, batchDAO);
         this.registerServiceImplementation(
             StorageDAO.class,
             new H2StorageDAO(
@@ -204,7 +210,9 @@ public class MySQLStorageProvider extends ModuleProvider {
                 mysqlClient, getManager(), config.getMaxSizeOfArrayColumn(), config.getNumOfSearchableValuesPerTag()
             );
             getManager().find(CoreModule.NAME).provider().getService(ModelCreator.class).addModelListener(installer);
-        } catch (StorageException e) {
+
+            batchDAO.start(getManager().find(TelemetryModule.NAME).provider().getService(MetricsCreator.class));
+        } catch (StorageException | IOException e) {
             throw new ModuleStartException(e.getMessage(), e);
         }
     }
@@ -18,6 +18,7 @@
 
 package org.apache.skywalking.oap.server.storage.plugin.jdbc.postgresql;
 
+import java.io.IOException;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.skywalking.oap.server.core.Const;
 import org.apache.skywalking.oap.server.core.CoreModule;
@@ -79,6 +80,8 @@ import org.apache.skywalking.oap.server.storage.plugin.jdbc.postgresql.dao.Postg
 import org.apache.skywalking.oap.server.storage.plugin.jdbc.postgresql.dao.PostgreSQLLogQueryDAO;
 import org.apache.skywalking.oap.server.storage.plugin.jdbc.postgresql.dao.PostgreSQLMetricsQueryDAO;
 import org.apache.skywalking.oap.server.storage.plugin.jdbc.postgresql.dao.PostgreSQLTraceQueryDAO;
+import org.apache.skywalking.oap.server.telemetry.TelemetryModule;
+import org.apache.skywalking.oap.server.telemetry.api.MetricsCreator;
 
 /**
  * PostgreSQL storage enhanced and came from MySQLStorageProvider to support PostgreSQL.
@@ -87,6 +90,7 @@ import org.apache.skywalking.oap.server.storage.plugin.jdbc.postgresql.dao.Postg
 public class PostgreSQLStorageProvider extends ModuleProvider {
     private PostgreSQLStorageConfig config;
     private JDBCHikariCPClient postgresqlClient;
+    private H2BatchDAO batchDAO;
 
     public PostgreSQLStorageProvider() {
         config = new PostgreSQLStorageConfig();
@@ -113,7 +117,9 @@ public class PostgreSQLStorageProvider extends ModuleProvider {
 
         postgresqlClient = new JDBCHikariCPClient(config.getProperties());
 
-        this.registerServiceImplementation(IBatchDAO.class, new H2BatchDAO(postgresqlClient, config.getMaxSizeOfBatchSql(), config.getAsyncBatchPersistentPoolSize()));
+        batchDAO = new H2BatchDAO(
+            postgresqlClient, config.getMaxSizeOfBatchSql(), config.getAsyncBatchPersistentPoolSize(), config.spillQueue("postgresql"));
+        this.registerServiceImplementation(IBatchDAO.class, batchDAO);
         this.registerServiceImplementation(
                 StorageDAO.class,
                 new H2StorageDAO(
@@ -204,7 +210,9 @@ public class PostgreSQLStorageProvider extends ModuleProvider {
                     postgresqlClient, getManager(), config.getMaxSizeOfArrayColumn(), config.getNumOfSearchableValuesPerTag()
             );
             getManager().find(CoreModule.NAME).provider().getService(ModelCreator.class).addModelListener(installer);
-        } catch (StorageException e) {
+
+            batchDAO.start(getManager().find(TelemetryModule.NAME).provider().getService(MetricsCreator.class));
+        } catch (StorageException | IOException e) {
             throw new ModuleStartException(e.getMessage(), e);
         }
     }
@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.storage.plugin.jdbc;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.apache.skywalking.oap.server.library.client.request.PrepareRequest;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class SQLExecutorCodecTest {
+    @Test
+    public void testEncodeAndDecode() throws IOException {
+        final String sql = "insert into service_cpm(id, value, name, bytes, flag, ratio, time_bucket) values(?,?,?,?,?,?,?)";
+        final List<PrepareRequest> requests = Arrays.asList(
+            new SQLExecutor(sql, Arrays.asList("id-1", 10L, "caf\u00e9", new byte[] {1, 2}, true, 0.5, 202207011200L)),
+            new SQLExecutor(sql, Arrays.asList("id-2", 20, null, new byte[0], false, 1.5, 202207011201L))
+        );
+
+        final List<PrepareRequest> decoded = SQLExecutorCodec.decode(SQLExecutorCodec.encode(requests));
+        assertEquals(2, decoded.size());
+        for (int i = 0; i < requests.size(); i++) {
+            final SQLExecutor expected = (SQLExecutor) requests.get(i);
+            final SQLExecutor actual = (SQLExecutor) decoded.get(i);
+            assertEquals(expected.toString(), actual.toString());
+            assertEquals(expected.getParam().size(), actual.getParam().size());
+            for (int j = 0; j < expected.getParam().size(); j++) {
+                if (expected.getParam().get(j) instanceof byte[]) {
+                    assertArrayEquals((byte[]) expected.getParam().get(j), (byte[]) actual.getParam().get(j));
+                } else {
+                    assertEquals(expected.getParam().get(j), actual.getParam().get(j));
+                }
+            }
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testUnsupportedParameter() throws IOException {
+        SQLExecutorCodec.encode(Collections.singletonList(
+            new SQLExecutor("select ?", Collections.singletonList(new Object()))));
+    }
+}
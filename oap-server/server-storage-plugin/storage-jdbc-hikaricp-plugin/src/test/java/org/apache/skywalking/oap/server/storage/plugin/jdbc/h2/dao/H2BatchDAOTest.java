@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.storage.plugin.jdbc.h2.dao;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import org.apache.skywalking.oap.server.library.client.jdbc.hikaricp.JDBCHikariCPClient;
+import org.apache.skywalking.oap.server.library.client.request.PrepareRequest;
+import org.apache.skywalking.oap.server.storage.plugin.jdbc.SQLExecutor;
+import org.apache.skywalking.oap.server.storage.plugin.jdbc.SQLExecutorCodec;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class H2BatchDAOTest {
+    private static final String INSERT = "insert into service_cpm values (?, ?)";
+
+    private JDBCHikariCPClient client;
+
+    @Before
+    public void setUp() throws Exception {
+        Properties settings = new Properties();
+        settings.setProperty("dataSourceClassName", "org.h2.jdbcx.JdbcDataSource");
+        settings.setProperty("dataSource.url", "jdbc:h2:mem:batch-test;DB_CLOSE_DELAY=-1");
+        settings.setProperty("dataSource.user", "sa");
+        settings.setProperty("dataSource.password", "");
+        client = new JDBCHikariCPClient(settings);
+        client.connect();
+        try (Connection connection = client.getConnection()) {
+            client.execute(connection, "create table service_cpm (id varchar(64) primary key, cpm bigint)");
+        }
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        try (Connection connection = client.getConnection()) {
+            client.execute(connection, "drop table service_cpm");
+        }
+        client.shutdown();
+    }
+
+    @Test
+    public void testReplayWrittenChunk() throws Exception {
+        final List<PrepareRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            requests.add(new SQLExecutor(INSERT, Arrays.asList("id-" + i, (long) i)));
+        }
+        // The first chunk was written before the connection failed.
+        try (Connection connection = client.getConnection()) {
+            client.executeUpdate(connection, INSERT, "id-0", 0L);
+            client.executeUpdate(connection, INSERT, "id-1", 1L);
+        }
+
+        final H2BatchDAO dao = new H2BatchDAO(client, 2, 1);
+        dao.replay(SQLExecutorCodec.encode(requests)).join();
+
+        Assert.assertEquals(5, count());
+    }
+
+    @Test
+    public void testReplayPartiallyWrittenChunk() throws Exception {
+        final List<PrepareRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            requests.add(new SQLExecutor(INSERT, Arrays.asList("id-" + i, (long) i)));
+        }
+        try (Connection connection = client.getConnection()) {
+            client.executeUpdate(connection, INSERT, "id-1", 1L);
+        }
+
+        final H2BatchDAO dao = new H2BatchDAO(client, 4, 1);
+        dao.replay(SQLExecutorCodec.encode(requests)).join();
+
+        Assert.assertEquals(4, count());
+    }
+
+    private long count() throws Exception {
+        try (Connection connection = client.getConnection();
+             ResultSet resultSet = client.executeQuery(connection, "select count(1) from service_cpm")) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.skywalking.oap.server.storage.plugin.jdbc.h2.dao;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.util.Collections;
+import java.util.Properties;
+import org.apache.skywalking.oap.server.core.analysis.DownSampling;
+import org.apache.skywalking.oap.server.core.storage.model.Model;
+import org.apache.skywalking.oap.server.library.client.jdbc.hikaricp.JDBCHikariCPClient;
+import org.joda.time.DateTime;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class H2HistoryDeleteDAOTest {
+    private JDBCHikariCPClient client;
+
+    @Before
+    public void setUp() throws Exception {
+        Properties settings = new Properties();
+        settings.setProperty("dataSourceClassName", "org.h2.jdbcx.JdbcDataSource");
+        settings.setProperty("dataSource.url", "jdbc:h2:mem:ttl-test;DB_CLOSE_DELAY=-1");
+        settings.setProperty("dataSource.user", "sa");
+        settings.setProperty("dataSource.password", "");
+        client = new JDBCHikariCPClient(settings);
+        client.connect();
+        try (Connection connection = client.getConnection()) {
+            client.execute(connection, "create table service_cpm (id varchar(64), time_bucket bigint)");
+        }
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        try (Connection connection = client.getConnection()) {
+            client.execute(connection, "drop table service_cpm");
+        }
+        client.shutdown();
+    }
+
+    @Test
+    public void testDeleteExpiredDataInChunks() throws Exception {
+        DateTime now = new DateTime();
+        try (Connection connection = client.getConnection()) {
+            // Expired data spread over several hours and days, with a gap between them.
+            for (int day = 10; day <= 12; day++) {
+                for (int minute = 0; minute < 180; minute += 20) {
+                    insert(connection, now.minusDays(day).plusMinutes(minute));
+                }
+            }
+            insert(connection, now.minusDays(1));
+            insert(connection, now);
+        }
+
+        H2HistoryDeleteDAO dao = new H2HistoryDeleteDAO(client);
+        Model model = new Model(
+            "service_cpm", Collections.emptyList(), 0, DownSampling.Minute, false, false, "", true);
+        Assert.assertEquals(27, dao.deleteHistory(model, "time_bucket", 3));
+        Assert.assertEquals(2, count());
+        Assert.assertEquals(0, dao.deleteHistory(model, "time_bucket", 3));
+    }
+
+    private void insert(Connection connection, DateTime time) throws Exception {
+        client.executeUpdate(
+            connection, "insert into service_cpm values (?, ?)", "id", Long.parseLong(time.toString("yyyyMMddHHmm")));
+    }
+
+    private long count() throws Exception {
+        try (Connection connection = client.getConnection();
+             ResultSet resultSet = client.executeQuery(connection, "select count(1) from service_cpm")) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+}
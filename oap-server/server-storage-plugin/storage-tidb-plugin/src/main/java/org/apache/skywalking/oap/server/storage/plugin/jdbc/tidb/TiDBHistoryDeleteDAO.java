@@ -37,7 +37,7 @@ public class TiDBHistoryDeleteDAO implements IHistoryDeleteDAO {
     }
 
     @Override
-    public void deleteHistory(Model model, String timeBucketColumnName, int ttl) throws IOException {
+    public long deleteHistory(Model model, String timeBucketColumnName, int ttl) throws IOException {
         SQLBuilder dataDeleteSQL = new SQLBuilder("delete from " + model.getName() + " where ")
             .append(timeBucketColumnName).append("<= ? ")
             .append(" and ")
@@ -65,11 +65,15 @@ public class TiDBHistoryDeleteDAO implements IHistoryDeleteDAO {
                         minTime = 1000_00_00L;
                         break;
                     default:
-                        return;
+                        return 0;
                 }
             }
-            while (client.executeUpdate(connection, dataDeleteSQL.toString(), deadline, minTime) > 0) {
+            long removed = 0;
+            int count;
+            while ((count = client.executeUpdate(connection, dataDeleteSQL.toString(), deadline, minTime)) > 0) {
+                removed += count;
             }
+            return removed;
         } catch (JDBCClientException | SQLException e) {
             throw new IOException(e.getMessage(), e);
         }
@@ -18,6 +18,7 @@
 
 package org.apache.skywalking.oap.server.storage.plugin.jdbc.tidb;
 
+import java.io.IOException;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.skywalking.oap.server.core.Const;
 import org.apache.skywalking.oap.server.core.CoreModule;
@@ -79,6 +80,8 @@ import org.apache.skywalking.oap.server.storage.plugin.jdbc.mysql.MySQLLogQueryD
 import org.apache.skywalking.oap.server.storage.plugin.jdbc.mysql.MySQLTableInstaller;
 import org.apache.skywalking.oap.server.storage.plugin.jdbc.mysql.MySQLTraceQueryDAO;
 import org.apache.skywalking.oap.server.storage.plugin.jdbc.mysql.MysqlBrowserLogQueryDAO;
+import org.apache.skywalking.oap.server.telemetry.TelemetryModule;
+import org.apache.skywalking.oap.server.telemetry.api.MetricsCreator;
 
 /**
  * TiDB storage enhanced and came from MySQLStorageProvider to support TiDB.
@@ -90,6 +93,7 @@ public class TiDBStorageProvider extends ModuleProvider {
 
     private TiDBStorageConfig config;
     private JDBCHikariCPClient mysqlClient;
+    private H2BatchDAO batchDAO;
 
     public TiDBStorageProvider() {
         config = new TiDBStorageConfig();
@@ -116,7 +120,9 @@ public class TiDBStorageProvider extends ModuleProvider {
         
         mysqlClient = new JDBCHikariCPClient(config.getProperties());
 
-        this.registerServiceImplementation(IBatchDAO.class, new H2BatchDAO(mysqlClient, config.getMaxSizeOfBatchSql(), config.getAsyncBatchPersistentPoolSize()));
+        batchDAO = new H2BatchDAO(
+            mysqlClient, config.getMaxSizeOfBatchSql(), config.getAsyncBatchPersistentPoolSize(), config.spillQueue("tidb"));
+        this.registerServiceImplementation(IBatchDAO.class, batchDAO);
         this.registerServiceImplementation(
             StorageDAO.class,
             new H2StorageDAO(
@@ -209,7 +215,9 @@ public class TiDBStorageProvider extends ModuleProvider {
                 mysqlClient, getManager(), config.getMaxSizeOfArrayColumn(), config.getNumOfSearchableValuesPerTag()
             );
             getManager().find(CoreModule.NAME).provider().getService(ModelCreator.class).addModelListener(installer);
-        } catch (StorageException e) {
+
+            batchDAO.start(getManager().find(TelemetryModule.NAME).provider().getService(MetricsCreator.class));
+        } catch (StorageException | IOException e) {
             throw new ModuleStartException(e.getMessage(), e);
         }
     }
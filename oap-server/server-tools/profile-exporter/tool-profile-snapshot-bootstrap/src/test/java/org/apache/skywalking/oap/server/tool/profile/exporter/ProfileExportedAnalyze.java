@@ -145,7 +145,8 @@ public class ProfileExportedAnalyze {
         private final IProfileThreadSnapshotQueryDAO dao;
 
         public Analyzer(List<ThreadSnapshot> snapshots) {
-            super(null, new CoreModuleConfig().getMaxPageSizeOfQueryProfileSnapshot(), new CoreModuleConfig().getMaxSizeOfAnalyzeProfileSnapshot());
+            super(null, new CoreModuleConfig().getMaxPageSizeOfQueryProfileSnapshot(), new CoreModuleConfig().getMaxSizeOfAnalyzeProfileSnapshot(),
+                new CoreModuleConfig().getMaxSizeOfAnalyzeProfileStackNode());
             this.dao = new ProfileAnalyzeSnapshotDAO(snapshots);
         }
 